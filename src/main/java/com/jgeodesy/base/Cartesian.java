@@ -1,9 +1,9 @@
 package com.jgeodesy.base;
 
-import com.jgeodesy.coordinate.Coordinate;
 import com.jgeodesy.coordinate.Latitude;
 import com.jgeodesy.coordinate.Longitude;
 import com.jgeodesy.shape.Datum;
+import com.jgeodesy.shape.Ellipsoid;
 import org.apache.commons.lang3.builder.ToStringBuilder;
 
 /**
@@ -28,43 +28,50 @@ public class Cartesian extends Vector3D {
      * @return EllipsoidalPoint Latitude/longitude point defined by cartesian coordinates, on given ellipsoid.
      */
     public static EllipsoidalPoint convertToPoint(final Vector3D vector3D, Datum pointDatum) {
-        double x = vector3D.getX();
-        double y = vector3D.getY();
-        double z = vector3D.getZ();
-
         // TODO Check datum type then what?
 //        if (pointDatum.getEllipsoid() == Ellipsoid.WGS84) {
 //        }
 //            Ellipsoid currentEllipsoid = Ellipsoid.getEllipsoid(pointDatum.getEllipsoid().getName());
 //            if (currentEllipsoid != Ellipsoid.WGS84)
 //        }
-        double a = pointDatum.getEllipsoid().getA();
-        double b = pointDatum.getEllipsoid().getB();
-        double f = pointDatum.getEllipsoid().getF();
-
-        double e2 = 2.0 * f - f * f; // 1st eccentricity squared (a²−b²)/a²
-        double epsilon2 = e2 / (1.0 - e2); // 2nd eccentricity squared ≡ (a²−b²)/b²
-        double p = Math.sqrt(x * x + y * y); // distance from minor axis
-        double r = Math.sqrt(p * p + z * z); // polar radius
-
-        // parametric latitude (Bowring eqn 17, replacing tanBeta = z�a / p�b)
-        double tanBeta = (b * z) / (a * p) * (1.0 + epsilon2 * b / r);
-        double sinBeta = tanBeta / Math.sqrt(1 + tanBeta * tanBeta);
-        double cosBeta = sinBeta / tanBeta;
-
-        // geodetic latitude (Bowring eqn 18)
-        double phi = Double.isNaN(cosBeta) ? 0 : Math.atan2(z + epsilon2 * b * sinBeta * sinBeta * sinBeta, p - e2 * a * cosBeta * cosBeta * cosBeta);
+        return convertToPoint(vector3D, pointDatum, GeodeticAlgorithm.BOWRING);
+    }
 
-        // longitude
-        double lambda = Math.atan2(y, x);
+    /**
+     * Converts ‘this’ cartesian (x/y/z) coordinate to (geodetic) latitude/longitude point on specified ellipsoid.
+     * @param vector3D   3D vector
+     * @param pointDatum point datum
+     * @param algorithm  conversion algorithm
+     * @return EllipsoidalPoint Latitude/longitude point defined by cartesian coordinates, on given ellipsoid.
+     */
+    public static EllipsoidalPoint convertToPoint(final Vector3D vector3D, final Datum pointDatum, final GeodeticAlgorithm algorithm) {
+        Ellipsoid ellipsoid = pointDatum.getEllipsoid();
+        double[] lat = new double[1];
+        double[] lon = new double[1];
+        double[] h = new double[1];
+        algorithm.toGeodetic(vector3D.getX(), vector3D.getY(), vector3D.getZ(), ellipsoid.getA(), ellipsoid.getF(), lat, lon, h, 0);
 
-        // height above ellipsoid (Bowring eqn 7) [not currently used]
-        double sinPhi = Math.sin(phi);
-        double cosPhi = Math.cos(phi);
-        double nu = a / Math.sqrt(1 - e2 * sinPhi * sinPhi); // Length of the normal terminated by the minor axis
-        double h = p * cosPhi + z * sinPhi - (a * a / nu);
+        EllipsoidalPoint point = new EllipsoidalPoint(new Latitude(lat[0]), new Longitude(lon[0]), h[0]);
+        point.setDatum(pointDatum);
+        return point;
+    }
 
-        return new EllipsoidalPoint(new Latitude(Coordinate.toDegrees(phi)), new Longitude(Coordinate.toDegrees(lambda)), h);
+    /**
+     * Converts a batch of cartesian (x/y/z) coordinates to (geodetic) latitude/longitude/height on specified datum.
+     * @param x          x coordinates in metres
+     * @param y          y coordinates in metres
+     * @param z          z coordinates in metres
+     * @param pointDatum datum of the resulting coordinates
+     * @param algorithm  conversion algorithm
+     * @param latitudes  receives latitudes in degrees
+     * @param longitudes receives longitudes in degrees
+     * @param heights    receives ellipsoidal heights in metres
+     * @param count      number of points
+     */
+    public static void convertToPoints(final double[] x, final double[] y, final double[] z, final Datum pointDatum,
+                                       final GeodeticAlgorithm algorithm, final double[] latitudes,
+                                       final double[] longitudes, final double[] heights, final int count) {
+        algorithm.toGeodetic(x, y, z, pointDatum.getEllipsoid(), latitudes, longitudes, heights, count);
     }
 
     @Override
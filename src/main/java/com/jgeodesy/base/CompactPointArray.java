@@ -0,0 +1,212 @@
+package com.jgeodesy.base;
+
+import com.jgeodesy.coordinate.Latitude;
+import com.jgeodesy.coordinate.Longitude;
+import com.jgeodesy.util.SphericalMath;
+import org.apache.commons.lang3.builder.ToStringBuilder;
+
+import java.util.Arrays;
+
+/**
+ * Growable array of spherical points stored as fixed-point integers of 1e-7 degree (about 1.1 cm at the equator),
+ * latitude and longitude interleaved in one int[]: 8 bytes per point against several dozen for a
+ * {@link SphericalPoint} with its coordinate objects. Distance and bearing kernels decode on the fly and agree
+ * with {@link SphericalPoint#distanceTo(SphericalPoint, double)} and
+ * {@link SphericalPoint#initialBearingTo(SphericalPoint)} up to the storage quantisation.
+ * Not thread-safe for concurrent writes.
+ */
+public class CompactPointArray {
+
+    /**
+     * Fixed-point units per degree
+     */
+    public static final double SCALE = 1e7;
+
+    private static final double RADIANS_PER_UNIT = Math.PI / 180.0 / SCALE;
+
+    private int[] values;
+    private int size;
+
+    public CompactPointArray() {
+        this(16);
+    }
+
+    /**
+     * @param capacity initial number of points
+     */
+    public CompactPointArray(final int capacity) {
+        this.values = new int[Math.max(capacity, 1) * 2];
+    }
+
+    /**
+     * Encodes degrees to fixed point
+     * @param degrees degrees, -180..+180
+     * @return Fixed-point value
+     */
+    public static int encode(final double degrees) {
+        if (!(degrees >= -180.0 && degrees <= 180.0))
+            throw new IllegalArgumentException("Degrees out of range: " + degrees);
+        return (int) Math.round(degrees * SCALE);
+    }
+
+    /**
+     * Appends a point
+     * @param latitude  latitude in degrees
+     * @param longitude longitude in degrees, -180..+180
+     * @return Index of the point
+     */
+    public int add(final double latitude, final double longitude) {
+        if (size * 2 == values.length)
+            values = Arrays.copyOf(values, values.length * 2);
+        values[size * 2] = encode(latitude);
+        values[size * 2 + 1] = encode(longitude);
+        return size++;
+    }
+
+    /**
+     * Appends a point
+     * @param point point
+     * @return Index of the point
+     */
+    public int add(final Point point) {
+        return add(point.getLatitude().getDegrees(), point.getLongitude().getDegrees());
+    }
+
+    /**
+     * Replaces a point
+     * @param index     index of the point
+     * @param latitude  latitude in degrees
+     * @param longitude longitude in degrees, -180..+180
+     */
+    public void set(final int index, final double latitude, final double longitude) {
+        checkIndex(index);
+        values[index * 2] = encode(latitude);
+        values[index * 2 + 1] = encode(longitude);
+    }
+
+    public double getLatitude(final int index) {
+        checkIndex(index);
+        return values[index * 2] / SCALE;
+    }
+
+    public double getLongitude(final int index) {
+        checkIndex(index);
+        return values[index * 2 + 1] / SCALE;
+    }
+
+    /**
+     * Decodes a point into a new object
+     * @param index index of the point
+     * @return Spherical point
+     */
+    public SphericalPoint get(final int index) {
+        return new SphericalPoint(new Latitude(getLatitude(index)), new Longitude(getLongitude(index)));
+    }
+
+    /**
+     * Haversine distance between two stored points
+     * @param i      index of the first point
+     * @param j      index of the second point
+     * @param radius radius of earth
+     * @return Distance in the units of radius
+     */
+    public double distance(final int i, final int j, final double radius) {
+        checkIndex(i);
+        checkIndex(j);
+        return radius * SphericalMath.angularDistance(values[i * 2] * RADIANS_PER_UNIT, values[i * 2 + 1] * RADIANS_PER_UNIT,
+                values[j * 2] * RADIANS_PER_UNIT, values[j * 2 + 1] * RADIANS_PER_UNIT);
+    }
+
+    /**
+     * Initial bearing from one stored point to another
+     * @param i index of the start point
+     * @param j index of the destination point
+     * @return Bearing in degrees from north, 0..360
+     */
+    public double initialBearing(final int i, final int j) {
+        checkIndex(i);
+        checkIndex(j);
+        return SphericalMath.initialBearing(values[i * 2] * RADIANS_PER_UNIT, values[i * 2 + 1] * RADIANS_PER_UNIT,
+                values[j * 2] * RADIANS_PER_UNIT, values[j * 2 + 1] * RADIANS_PER_UNIT);
+    }
+
+    /**
+     * Haversine distances from a reference point to every stored point
+     * @param latitude  reference latitude in degrees
+     * @param longitude reference longitude in degrees
+     * @param radius    radius of earth
+     * @param result    receives distances in the units of radius, at least size() elements
+     */
+    public void distances(final double latitude, final double longitude, final double radius, final double[] result) {
+        double phi1 = Math.toRadians(latitude);
+        double cosPhi1 = Math.cos(phi1);
+        double lambda1 = Math.toRadians(longitude);
+        int[] v = values;
+        for (int i = 0, n = size; i < n; i++) {
+            result[i] = radius * SphericalMath.angularDistance(phi1, cosPhi1, lambda1,
+                    v[i * 2] * RADIANS_PER_UNIT, v[i * 2 + 1] * RADIANS_PER_UNIT);
+        }
+    }
+
+    /**
+     * Finds the stored point closest to a reference point
+     * @param latitude  reference latitude in degrees
+     * @param longitude reference longitude in degrees
+     * @return Index of the nearest point, -1 when empty
+     */
+    public int nearest(final double latitude, final double longitude) {
+        double phi1 = Math.toRadians(latitude);
+        double cosPhi1 = Math.cos(phi1);
+        double lambda1 = Math.toRadians(longitude);
+        int[] v = values;
+        int best = -1;
+        double bestDistance = Double.MAX_VALUE;
+        for (int i = 0, n = size; i < n; i++) {
+            double distance = SphericalMath.angularDistance(phi1, cosPhi1, lambda1,
+                    v[i * 2] * RADIANS_PER_UNIT, v[i * 2 + 1] * RADIANS_PER_UNIT);
+            if (distance < bestDistance) {
+                bestDistance = distance;
+                best = i;
+            }
+        }
+        return best;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Removes all points, keeping the capacity
+     */
+    public void clear() {
+        size = 0;
+    }
+
+    /**
+     * Shrinks the backing array to the number of points
+     */
+    public void trimToSize() {
+        values = Arrays.copyOf(values, Math.max(size, 1) * 2);
+    }
+
+    /**
+     * @return Bytes held by the backing array
+     */
+    public long getMemoryBytes() {
+        return 4L * values.length;
+    }
+
+    private void checkIndex(final int index) {
+        if (index < 0 || index >= size)
+            throw new IndexOutOfBoundsException("Index: " + index + ", size: " + size);
+    }
+
+    @Override
+    public String toString() {
+        return new ToStringBuilder(this)
+                .append("size", size)
+                .append("capacity", values.length / 2)
+                .toString();
+    }
+}
@@ -1,7 +1,11 @@
 package com.jgeodesy.base;
 
+import com.jgeodesy.coordinate.Coordinate;
 import com.jgeodesy.coordinate.Latitude;
 import com.jgeodesy.coordinate.Longitude;
+import com.jgeodesy.metrics.GeodesyEvents;
+import com.jgeodesy.metrics.Metrics;
+import com.jgeodesy.metrics.Operation;
 import com.jgeodesy.shape.Datum;
 import com.jgeodesy.shape.Ellipsoid;
 import org.apache.commons.lang3.builder.EqualsBuilder;
@@ -92,22 +96,125 @@ public class EllipsoidalPoint extends Point {
         if (currentDatum == toDatum)
             return this;
 
+        Datum wgs84 = Datum.getDatum(WGS84);
         Transform transform;
-        if (currentDatum == Datum.getDatums().get(WGS84)) {
+        if (currentDatum == wgs84) {
             // Converting from WGS 84
             transform = toDatum.getTransform();
-        } else if (toDatum == Datum.getDatums().get(WGS84)) {
+        } else if (toDatum == wgs84) {
             // Converting to WGS 84; use inverse transform (don't overwrite original!)
-            transform = currentDatum.getTransform();
-        } else{
+            transform = currentDatum.getTransform().inverse();
+        } else {
             // Neither this datum nor toDatum are WGS84: convert this to WGS84 first
-            this.convertToDatum(Datum.getDatums().get(WGS84));
-            transform = toDatum.getTransform();
+            return this.convertToDatum(wgs84).convertToDatum(toDatum);
         }
 
+        long start = Metrics.start();
+        Object event = GeodesyEvents.beginDatumConversion(currentDatum, toDatum);
         Vector3D oldCartesian = this.convertToCartesianPoint(); // Convert polar to Cartesian
-        Transform.applyTransform(oldCartesian, transform);
-        return Cartesian.convertToPoint(oldCartesian, toDatum); // ...and convert Cartesian to polar
+        Vector3D newCartesian = Transform.applyTransform(oldCartesian, transform); // Apply transform
+        EllipsoidalPoint point = Cartesian.convertToPoint(newCartesian, toDatum); // ...and convert Cartesian to polar
+        GeodesyEvents.endDatumConversion(event, GeodeticAlgorithm.BOWRING.name(), GeodeticAlgorithm.BOWRING.getIterations());
+        Metrics.stop(Operation.DATUM_CONVERSION, start);
+        return point;
+    }
+
+    /**
+     * Converts a batch of points to another datum in place, giving the same result as
+     * {@link #convertToDatum(Datum)} for each point without creating intermediate objects.
+     * @param fromDatum  datum of the given coordinates
+     * @param toDatum    datum the coordinates are to be converted to
+     * @param latitudes  latitudes in degrees, replaced by the converted ones
+     * @param longitudes longitudes in degrees, replaced by the converted ones
+     * @param heights    ellipsoidal heights in metres, replaced by the converted ones
+     * @param count      number of points
+     */
+    public static void convertToDatum(final Datum fromDatum, final Datum toDatum, final double[] latitudes,
+                                      final double[] longitudes, final double[] heights, final int count) {
+        if (fromDatum == toDatum)
+            return;
+
+        Datum wgs84 = Datum.getDatum(WGS84);
+        Transform transform;
+        if (fromDatum == wgs84) {
+            transform = toDatum.getTransform();
+        } else if (toDatum == wgs84) {
+            transform = fromDatum.getTransform().inverse();
+        } else {
+            convertToDatum(fromDatum, wgs84, latitudes, longitudes, heights, count);
+            convertToDatum(wgs84, toDatum, latitudes, longitudes, heights, count);
+            return;
+        }
+
+        long start = Metrics.start();
+        GeodeticAlgorithm algorithm = GeodeticAlgorithm.BOWRING;
+        Object event = GeodesyEvents.beginBatch(Operation.DATUM_CONVERSION_BATCH, algorithm.name(), count);
+        double a1 = fromDatum.getEllipsoid().getA();
+        double f1 = fromDatum.getEllipsoid().getF();
+        double eSq = 2.0 * f1 - f1 * f1;
+        double a2 = toDatum.getEllipsoid().getA();
+        double f2 = toDatum.getEllipsoid().getF();
+        double tx = transform.getTx();
+        double ty = transform.getTy();
+        double tz = transform.getTz();
+        double rx = transform.getRx();
+        double ry = transform.getRy();
+        double rz = transform.getRz();
+        double s1 = transform.getS1();
+
+        for (int i = 0; i < count; i++) {
+            double phi = Coordinate.toRadians(latitudes[i]);
+            double lambda = Coordinate.toRadians(longitudes[i]);
+            double h = heights[i];
+            double sinPhi = Math.sin(phi);
+            double cosPhi = Math.cos(phi);
+            double nu = a1 / Math.sqrt(1.0 - eSq * sinPhi * sinPhi);
+            double x1 = (nu + h) * cosPhi * Math.cos(lambda);
+            double y1 = (nu + h) * cosPhi * Math.sin(lambda);
+            double z1 = (nu * (1.0 - eSq) + h) * sinPhi;
+
+            double x2 = tx + x1 * s1 - y1 * rz + z1 * ry;
+            double y2 = ty + x1 * rz + y1 * s1 - z1 * rx;
+            double z2 = tz - x1 * ry + y1 * rx + z1 * s1;
+            algorithm.toGeodetic(x2, y2, z2, a2, f2, latitudes, longitudes, heights, i);
+        }
+        GeodesyEvents.endBatch(event, (long) algorithm.getIterations() * count);
+        Metrics.stop(Operation.DATUM_CONVERSION_BATCH, start, count);
+    }
+
+    /**
+     * Returns the distance along a rhumb line on the ellipsoid of ‘this’ point's datum
+     * @param destinationPoint destination, taken to be on the same datum
+     * @return Distance in metres
+     */
+    public double rhumbDistanceTo(final EllipsoidalPoint destinationPoint) {
+        return EllipsoidalRhumb.of(datum.getEllipsoid()).distance(getLatitude().getDegrees(), getLongitude().getDegrees(),
+                destinationPoint.getLatitude().getDegrees(), destinationPoint.getLongitude().getDegrees());
+    }
+
+    /**
+     * Returns the bearing along a rhumb line on the ellipsoid of ‘this’ point's datum
+     * @param destinationPoint destination, taken to be on the same datum
+     * @return Bearing in degrees from north, 0..360
+     */
+    public double rhumbBearingTo(final EllipsoidalPoint destinationPoint) {
+        return EllipsoidalRhumb.of(datum.getEllipsoid()).bearing(getLatitude().getDegrees(), getLongitude().getDegrees(),
+                destinationPoint.getLatitude().getDegrees(), destinationPoint.getLongitude().getDegrees());
+    }
+
+    /**
+     * Returns the destination point having travelled along a rhumb line on the ellipsoid of ‘this’ point's datum
+     * @param distance distance travelled in metres
+     * @param bearing  bearing in degrees from north
+     * @return Destination point on the same datum and at the same height
+     */
+    public EllipsoidalPoint rhumbDestinationPoint(final double distance, final double bearing) {
+        double[] result = new double[2];
+        EllipsoidalRhumb.of(datum.getEllipsoid()).destination(getLatitude().getDegrees(), getLongitude().getDegrees(),
+                distance, bearing, result);
+        EllipsoidalPoint point = new EllipsoidalPoint(new Latitude(result[0]), new Longitude(result[1]), height);
+        point.setDatum(datum);
+        return point;
     }
 
     @Override
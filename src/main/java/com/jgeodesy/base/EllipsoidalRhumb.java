@@ -0,0 +1,208 @@
+package com.jgeodesy.base;
+
+import com.jgeodesy.shape.Ellipsoid;
+import com.jgeodesy.util.SphericalMath;
+import org.apache.commons.lang3.builder.ToStringBuilder;
+
+/**
+ * Rhumb lines on an ellipsoid. A rhumb line is straight on the Mercator projection, so its bearing follows from the
+ * differences of longitude and isometric latitude ψ = atanh(sin φ) − e·atanh(e·sin φ), and its length from the
+ * difference of meridian distance divided by the cosine of the bearing. Meridian distance and its inverse use the
+ * rectifying latitude series to fourth order in n, accurate to well under a millimetre. One instance per ellipsoid
+ * with all coefficients computed once; immutable and thread-safe.
+ */
+public final class EllipsoidalRhumb {
+
+    private static final EllipsoidalRhumb[] INSTANCES = new EllipsoidalRhumb[Ellipsoid.values().length];
+
+    static {
+        for (Ellipsoid ellipsoid : Ellipsoid.values())
+            INSTANCES[ellipsoid.ordinal()] = new EllipsoidalRhumb(ellipsoid);
+    }
+
+    private final Ellipsoid ellipsoid;
+    private final double a;
+    private final double e;
+    private final double eSq;
+    /**
+     * Rectifying radius: meridian distance = rectifyingRadius × rectifying latitude
+     */
+    private final double rectifyingRadius;
+    private final double d1, d2, d3, d4;
+    private final double i1, i2, i3, i4;
+
+    private EllipsoidalRhumb(final Ellipsoid ellipsoid) {
+        this.ellipsoid = ellipsoid;
+        this.a = ellipsoid.getA();
+        double f = ellipsoid.getF();
+        this.eSq = f * (2.0 - f);
+        this.e = Math.sqrt(eSq);
+        double n = f / (2.0 - f);
+        double n2 = n * n, n3 = n * n2, n4 = n * n3;
+        this.rectifyingRadius = a / (1.0 + n) * (1.0 + n2 / 4.0 + n4 / 64.0);
+        // geodetic to rectifying latitude
+        this.d1 = -3.0 / 2.0 * n + 9.0 / 16.0 * n3;
+        this.d2 = 15.0 / 16.0 * n2 - 15.0 / 32.0 * n4;
+        this.d3 = -35.0 / 48.0 * n3;
+        this.d4 = 315.0 / 512.0 * n4;
+        // rectifying to geodetic latitude
+        this.i1 = 3.0 / 2.0 * n - 27.0 / 32.0 * n3;
+        this.i2 = 21.0 / 16.0 * n2 - 55.0 / 32.0 * n4;
+        this.i3 = 151.0 / 96.0 * n3;
+        this.i4 = 1097.0 / 512.0 * n4;
+    }
+
+    /**
+     * @param ellipsoid ellipsoid
+     * @return Shared instance for the ellipsoid
+     */
+    public static EllipsoidalRhumb of(final Ellipsoid ellipsoid) {
+        return INSTANCES[ellipsoid.ordinal()];
+    }
+
+    /**
+     * Rhumb line distance
+     * @param latitude1  latitude of the start in degrees
+     * @param longitude1 longitude of the start in degrees
+     * @param latitude2  latitude of the end in degrees
+     * @param longitude2 longitude of the end in degrees
+     * @return Distance in the units of the ellipsoid axes, taking the shorter way across the anti-meridian
+     */
+    public double distance(final double latitude1, final double longitude1, final double latitude2, final double longitude2) {
+        double phi1 = Math.toRadians(latitude1);
+        double phi2 = Math.toRadians(latitude2);
+        return distance(phi1, isometricLatitude(phi1), meridianDistance(phi1), Math.toRadians(longitude1),
+                phi2, isometricLatitude(phi2), meridianDistance(phi2), Math.toRadians(longitude2));
+    }
+
+    /**
+     * Rhumb line bearing
+     * @param latitude1  latitude of the start in degrees
+     * @param longitude1 longitude of the start in degrees
+     * @param latitude2  latitude of the end in degrees
+     * @param longitude2 longitude of the end in degrees
+     * @return Bearing in degrees from north, 0..360
+     */
+    public double bearing(final double latitude1, final double longitude1, final double latitude2, final double longitude2) {
+        return SphericalMath.rhumbBearing(isometricLatitude(Math.toRadians(latitude1)), Math.toRadians(longitude1),
+                isometricLatitude(Math.toRadians(latitude2)), Math.toRadians(longitude2));
+    }
+
+    /**
+     * Destination along a rhumb line
+     * @param latitude  latitude of the start in degrees
+     * @param longitude longitude of the start in degrees
+     * @param distance  distance travelled, in the units of the ellipsoid axes
+     * @param bearing   bearing in degrees from north
+     * @param result    receives latitude and longitude in degrees, longitude -180..+180
+     */
+    public void destination(final double latitude, final double longitude, final double distance, final double bearing,
+                            final double[] result) {
+        double phi = Math.toRadians(latitude);
+        destination(phi, isometricLatitude(phi), meridianDistance(phi), Math.toRadians(longitude), distance,
+                Math.toRadians(bearing), result, 0);
+    }
+
+    /**
+     * Isometric latitude of the ellipsoid
+     * @param phi latitude in radians
+     * @return ψ in radians, infinite at the poles
+     */
+    public double isometricLatitude(final double phi) {
+        double sinPhi = Math.sin(phi);
+        return atanh(sinPhi) - e * atanh(e * sinPhi);
+    }
+
+    /**
+     * Distance along the meridian from the equator
+     * @param phi latitude in radians
+     * @return Signed distance in the units of the ellipsoid axes
+     */
+    public double meridianDistance(final double phi) {
+        return rectifyingRadius * series(phi, d1, d2, d3, d4);
+    }
+
+    /**
+     * Inverse of {@link #meridianDistance(double)}
+     * @param meridianDistance distance along the meridian from the equator, at most a quarter meridian
+     * @return Latitude in radians
+     */
+    public double latitudeOf(final double meridianDistance) {
+        return series(meridianDistance / rectifyingRadius, i1, i2, i3, i4);
+    }
+
+    /**
+     * @return Length of a quarter meridian, equator to pole
+     */
+    public double getQuarterMeridian() {
+        return rectifyingRadius * Math.PI / 2.0;
+    }
+
+    public Ellipsoid getEllipsoid() {
+        return ellipsoid;
+    }
+
+    /**
+     * Distance kernel on precomputed isometric latitudes and meridian distances
+     */
+    double distance(final double phi1, final double psi1, final double m1, final double lambda1,
+                    final double phi2, final double psi2, final double m2, final double lambda2) {
+        double deltaM = m2 - m1;
+        double deltaLambda = SphericalMath.wrapPi(lambda2 - lambda1);
+        double deltaPsi = psi2 - psi1;
+        // q = dM/dψ, the parallel's radius ν·cos φ along an E-W line where ΔM/Δψ is 0/0
+        double q = Math.abs(deltaPsi) > 10e-12 ? deltaM / deltaPsi : parallelRadius(phi1);
+        return Math.sqrt(deltaM * deltaM + q * q * deltaLambda * deltaLambda);
+    }
+
+    /**
+     * Destination kernel on precomputed isometric latitude and meridian distance, writing latitude and longitude in
+     * degrees at result[index] and result[index + 1]
+     */
+    void destination(final double phi1, final double psi1, final double m1, final double lambda1,
+                     final double distance, final double theta, final double[] result, final int index) {
+        double deltaM = distance * Math.cos(theta);
+        double m2 = m1 + deltaM;
+        double quarter = getQuarterMeridian();
+        // Passing a pole: reflect back as on the sphere
+        if (Math.abs(m2) > quarter)
+            m2 = m2 > 0 ? 2.0 * quarter - m2 : -2.0 * quarter - m2;
+        double phi2 = latitudeOf(m2);
+        double deltaPsi = isometricLatitude(phi2) - psi1;
+        double q = Math.abs(deltaPsi) > 10e-12 ? deltaM / deltaPsi : parallelRadius(phi1);
+        double lambda2 = lambda1 + distance * Math.sin(theta) / q;
+        result[index] = Math.toDegrees(phi2);
+        result[index + 1] = SphericalMath.wrap180(Math.toDegrees(lambda2));
+    }
+
+    private double parallelRadius(final double phi) {
+        double sinPhi = Math.sin(phi);
+        return a * Math.cos(phi) / Math.sqrt(1.0 - eSq * sinPhi * sinPhi);
+    }
+
+    /**
+     * x + c1·sin 2x + c2·sin 4x + c3·sin 6x + c4·sin 8x, with the harmonics from a multiple-angle recurrence
+     */
+    private static double series(final double x, final double c1, final double c2, final double c3, final double c4) {
+        double sin2 = Math.sin(2.0 * x);
+        double cos2 = Math.cos(2.0 * x);
+        double sin4 = 2.0 * sin2 * cos2;
+        double cos4 = 1.0 - 2.0 * sin2 * sin2;
+        double sin6 = sin4 * cos2 + cos4 * sin2;
+        double cos6 = cos4 * cos2 - sin4 * sin2;
+        double sin8 = sin6 * cos2 + cos6 * sin2;
+        return x + c1 * sin2 + c2 * sin4 + c3 * sin6 + c4 * sin8;
+    }
+
+    private static double atanh(final double x) {
+        return 0.5 * Math.log((1.0 + x) / (1.0 - x));
+    }
+
+    @Override
+    public String toString() {
+        return new ToStringBuilder(this)
+                .append("ellipsoid", ellipsoid)
+                .append("quarterMeridian", getQuarterMeridian())
+                .toString();
+    }
+}
@@ -0,0 +1,330 @@
+package com.jgeodesy.base;
+
+import com.jgeodesy.coordinate.Latitude;
+import com.jgeodesy.coordinate.Longitude;
+import com.jgeodesy.metrics.GeodesyEvents;
+import com.jgeodesy.metrics.Metrics;
+import com.jgeodesy.metrics.Operation;
+import com.jgeodesy.util.SphericalMath;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Range rings and segment buffers as polygons in primitive buffers. A ring is built from the centre's unit vector
+ * and its north and east unit vectors scaled by the sine of the angular radius, and each vertex follows by rotating
+ * the bearing's cosine and sine pair: one sin/cos pair per ring against the full
+ * {@link SphericalPoint#destinationPoint} solution per vertex, with which vertices agree to rounding error.
+ * Vertices run clockwise from north. {@link #toPolygon} adapts a ring for {@link SphericalPoint#areaOf} and
+ * {@link #contains} tests points against it.
+ */
+public final class GeodesicBuffer {
+
+    private GeodesicBuffer() {
+    }
+
+    /**
+     * Range ring around a centre
+     * @param latitude      latitude of the centre in degrees
+     * @param longitude     longitude of the centre in degrees
+     * @param distance      ring radius, in the units of radius
+     * @param radius        radius of earth
+     * @param vertices      number of vertices, at least 3
+     * @param outLatitudes  receives latitudes in degrees
+     * @param outLongitudes receives longitudes in degrees -180..+180
+     * @param offset        index of the first vertex in the output arrays
+     * @return Number of vertices written
+     */
+    public static int circle(final double latitude, final double longitude, final double distance, final double radius,
+                             final int vertices, final double[] outLatitudes, final double[] outLongitudes, final int offset) {
+        checkVertices(vertices, 3);
+        long start = Metrics.start();
+        double step = 2.0 * Math.PI / vertices;
+        ring(latitude, longitude, distance / radius, vertices, Math.cos(step), Math.sin(step), outLatitudes, outLongitudes, offset);
+        Metrics.stop(Operation.BUFFER_GENERATION, start, 1);
+        return vertices;
+    }
+
+    /**
+     * Range rings around many centres, each ring written as a block of vertices
+     * @param latitudes     latitudes of the centres in degrees
+     * @param longitudes    longitudes of the centres in degrees
+     * @param distances     ring radius per centre, in the units of radius
+     * @param count         number of centres
+     * @param radius        radius of earth
+     * @param vertices      vertices per ring, at least 3
+     * @param outLatitudes  receives latitudes, ring i from index i * vertices
+     * @param outLongitudes receives longitudes in degrees -180..+180
+     */
+    public static void circles(final double[] latitudes, final double[] longitudes, final double[] distances, final int count,
+                               final double radius, final int vertices, final double[] outLatitudes, final double[] outLongitudes) {
+        checkVertices(vertices, 3);
+        long start = Metrics.start();
+        Object event = GeodesyEvents.beginBatch(Operation.BUFFER_GENERATION, null, count);
+        double step = 2.0 * Math.PI / vertices;
+        double cosStep = Math.cos(step);
+        double sinStep = Math.sin(step);
+        for (int i = 0; i < count; i++) {
+            ring(latitudes[i], longitudes[i], distances[i] / radius, vertices, cosStep, sinStep,
+                    outLatitudes, outLongitudes, i * vertices);
+        }
+        GeodesyEvents.endBatch(event, 0L);
+        Metrics.stop(Operation.BUFFER_GENERATION, start, count);
+    }
+
+    /**
+     * Number of vertices of a segment buffer
+     * @param capVertices vertices per end cap
+     * @return Vertices written by {@link #segment}
+     */
+    public static int segmentVertices(final int capVertices) {
+        return 2 * capVertices;
+    }
+
+    /**
+     * Buffer of a great circle segment: the points within a distance of the segment, bounded by a half ring
+     * around each end joined by great circle edges. The edges sag towards the segment in the middle by about
+     * distance * (1 - cos(length / 2 / radius)), 0.003% of the distance for a 100 km segment.
+     * @param latitude1     latitude of the start in degrees
+     * @param longitude1    longitude of the start in degrees
+     * @param latitude2     latitude of the end in degrees
+     * @param longitude2    longitude of the end in degrees
+     * @param distance      buffer distance, in the units of radius
+     * @param radius        radius of earth
+     * @param capVertices   vertices per half ring including both its ends, at least 2
+     * @param outLatitudes  receives latitudes in degrees
+     * @param outLongitudes receives longitudes in degrees -180..+180
+     * @param offset        index of the first vertex in the output arrays
+     * @return Number of vertices written
+     */
+    public static int segment(final double latitude1, final double longitude1, final double latitude2, final double longitude2,
+                              final double distance, final double radius, final int capVertices,
+                              final double[] outLatitudes, final double[] outLongitudes, final int offset) {
+        checkVertices(capVertices, 2);
+        long start = Metrics.start();
+        capsule(latitude1, longitude1, latitude2, longitude2, distance / radius, capVertices, outLatitudes, outLongitudes, offset);
+        Metrics.stop(Operation.BUFFER_GENERATION, start, 1);
+        return 2 * capVertices;
+    }
+
+    /**
+     * Buffers of every segment of a polyline, each written as a block of {@link #segmentVertices} vertices. The
+     * buffer of the polyline is approximated by the union of the segment buffers, to within the sag of their great
+     * circle edges described at {@link #segment}: points that far inside the distance may fall outside all of them.
+     * @param latitudes     latitudes in degrees
+     * @param longitudes    longitudes in degrees
+     * @param count         number of polyline vertices
+     * @param distance      buffer distance, in the units of radius
+     * @param radius        radius of earth
+     * @param capVertices   vertices per half ring, at least 2
+     * @param outLatitudes  receives latitudes, segment i from index i * segmentVertices(capVertices)
+     * @param outLongitudes receives longitudes in degrees -180..+180
+     * @return Number of segment buffers written
+     */
+    public static int polyline(final double[] latitudes, final double[] longitudes, final int count, final double distance,
+                               final double radius, final int capVertices, final double[] outLatitudes, final double[] outLongitudes) {
+        checkVertices(capVertices, 2);
+        int segments = Math.max(0, count - 1);
+        long start = Metrics.start();
+        Object event = GeodesyEvents.beginBatch(Operation.BUFFER_GENERATION, null, segments);
+        double sigma = distance / radius;
+        for (int i = 0; i < segments; i++) {
+            capsule(latitudes[i], longitudes[i], latitudes[i + 1], longitudes[i + 1], sigma, capVertices,
+                    outLatitudes, outLongitudes, i * 2 * capVertices);
+        }
+        GeodesyEvents.endBatch(event, 0L);
+        Metrics.stop(Operation.BUFFER_GENERATION, start, segments);
+        return segments;
+    }
+
+    /**
+     * Whether a point is inside a polygon with great circle edges, its interior to the right of the edges as for the
+     * clockwise rings built here, so a ring of any radius encloses its centre and not its antipode. The signed
+     * angles atan2(p·(a×b), a·b - (p·a)(p·b)) the edges subtend at the point sum to -2π or +2π when the edges
+     * separate the point from its antipode, on the right or left, and to 0 when both lie on one side; then the
+     * signed triangle areas from the point to each edge sum to the area left of the edges, less 4π when the
+     * point is there.
+     * @param latitudes  polygon latitudes in degrees
+     * @param longitudes polygon longitudes in degrees
+     * @param offset     index of the first vertex
+     * @param vertices   number of vertices; the polygon is closed implicitly
+     * @param latitude   latitude of the point in degrees
+     * @param longitude  longitude of the point in degrees
+     * @return True when the point is enclosed
+     */
+    public static boolean contains(final double[] latitudes, final double[] longitudes, final int offset, final int vertices,
+                                   final double latitude, final double longitude) {
+        double[] p = new double[3];
+        SphericalMath.toVector(latitude, longitude, p, 0);
+        double px = p[0];
+        double py = p[1];
+        double pz = p[2];
+
+        double[] a = new double[3];
+        double[] b = new double[3];
+        // Normal of the closing edge, for the turn at the first vertex
+        SphericalMath.toVector(latitudes[offset + vertices - 1], longitudes[offset + vertices - 1], a, 0);
+        SphericalMath.toVector(latitudes[offset], longitudes[offset], b, 0);
+        double nx = a[1] * b[2] - a[2] * b[1];
+        double ny = a[2] * b[0] - a[0] * b[2];
+        double nz = a[0] * b[1] - a[1] * b[0];
+
+        double winding = 0.0;
+        double triangles = 0.0;
+        double turning = 0.0;
+        for (int i = 0; i < vertices; i++) {
+            double[] swap = a;
+            a = b;
+            b = swap;
+            int next = i + 1 < vertices ? offset + i + 1 : offset;
+            SphericalMath.toVector(latitudes[next], longitudes[next], b, 0);
+            double cx = a[1] * b[2] - a[2] * b[1];
+            double cy = a[2] * b[0] - a[0] * b[2];
+            double cz = a[0] * b[1] - a[1] * b[0];
+
+            // Turn at a from the previous edge's normal to this one's, positive to the left
+            double tx = ny * cz - nz * cy;
+            double ty = nz * cx - nx * cz;
+            double tz = nx * cy - ny * cx;
+            turning += Math.atan2(a[0] * tx + a[1] * ty + a[2] * tz, nx * cx + ny * cy + nz * cz);
+            nx = cx;
+            ny = cy;
+            nz = cz;
+
+            double triple = px * cx + py * cy + pz * cz;
+            double pa = px * a[0] + py * a[1] + pz * a[2];
+            double pb = px * b[0] + py * b[1] + pz * b[2];
+            double ab = a[0] * b[0] + a[1] * b[1] + a[2] * b[2];
+            winding += Math.atan2(triple, ab - pa * pb);
+            // Van Oosterom-Strackee signed area of the triangle p, a, b
+            triangles += 2.0 * Math.atan2(triple, 1.0 + pa + pb + ab);
+        }
+        if (winding < -Math.PI)
+            return true;
+        if (winding > Math.PI)
+            return false;
+        // Area left of the edges by Gauss-Bonnet; the triangles miss it by 4π when the antipode is on the left,
+        // and then the point is too
+        double left = 2.0 * Math.PI - turning;
+        return triangles > left - 2.0 * Math.PI;
+    }
+
+    /**
+     * Copies a polygon out of the primitive buffers, for {@link SphericalPoint#areaOf}
+     * @param latitudes  latitudes in degrees
+     * @param longitudes longitudes in degrees
+     * @param offset     index of the first vertex
+     * @param vertices   number of vertices
+     * @return New mutable list of points
+     */
+    public static List<SphericalPoint> toPolygon(final double[] latitudes, final double[] longitudes, final int offset,
+                                                 final int vertices) {
+        List<SphericalPoint> polygon = new ArrayList<>(vertices + 1);
+        for (int i = offset; i < offset + vertices; i++)
+            polygon.add(new SphericalPoint(new Latitude(latitudes[i]), new Longitude(longitudes[i])));
+        return polygon;
+    }
+
+    private static void ring(final double latitude, final double longitude, final double sigma, final int vertices,
+                             final double cosStep, final double sinStep,
+                             final double[] outLatitudes, final double[] outLongitudes, final int offset) {
+        double phi = Math.toRadians(latitude);
+        double lambda = Math.toRadians(longitude);
+        double sinPhi = Math.sin(phi);
+        double cosPhi = Math.cos(phi);
+        double sinLambda = Math.sin(lambda);
+        double cosLambda = Math.cos(lambda);
+        double cosSigma = Math.cos(sigma);
+        double sinSigma = Math.sin(sigma);
+
+        // Centre scaled by cos σ; north and east unit vectors at the centre scaled by sin σ
+        double cx = cosSigma * cosPhi * cosLambda;
+        double cy = cosSigma * cosPhi * sinLambda;
+        double cz = cosSigma * sinPhi;
+        double nx = -sinSigma * sinPhi * cosLambda;
+        double ny = -sinSigma * sinPhi * sinLambda;
+        double nz = sinSigma * cosPhi;
+        double ex = -sinSigma * sinLambda;
+        double ey = sinSigma * cosLambda;
+
+        double cos = 1.0;
+        double sin = 0.0;
+        for (int k = 0; k < vertices; k++) {
+            write(cx + cos * nx + sin * ex, cy + cos * ny + sin * ey, cz + cos * nz, outLatitudes, outLongitudes, offset + k);
+            double nextCos = cos * cosStep - sin * sinStep;
+            sin = sin * cosStep + cos * sinStep;
+            cos = nextCos;
+        }
+    }
+
+    private static void capsule(final double latitude1, final double longitude1, final double latitude2, final double longitude2,
+                                final double sigma, final int capVertices,
+                                final double[] outLatitudes, final double[] outLongitudes, final int offset) {
+        double[] a = new double[3];
+        double[] b = new double[3];
+        SphericalMath.toVector(latitude1, longitude1, a, 0);
+        SphericalMath.toVector(latitude2, longitude2, b, 0);
+        double nx = a[1] * b[2] - a[2] * b[1];
+        double ny = a[2] * b[0] - a[0] * b[2];
+        double nz = a[0] * b[1] - a[1] * b[0];
+        double norm = Math.sqrt(nx * nx + ny * ny + nz * nz);
+        if (norm < 1e-15) {
+            if (a[0] * b[0] + a[1] * b[1] + a[2] * b[2] < 0.0)
+                throw new IllegalArgumentException("Segment joins antipodal points");
+            double step = 2.0 * Math.PI / (2 * capVertices);
+            ring(latitude1, longitude1, sigma, 2 * capVertices, Math.cos(step), Math.sin(step), outLatitudes, outLongitudes, offset);
+            return;
+        }
+        // Unit normal, pointing to the left of the direction of travel
+        double cx = nx / norm;
+        double cy = ny / norm;
+        double cz = nz / norm;
+        double step = Math.PI / (capVertices - 1);
+        double cosStep = Math.cos(step);
+        double sinStep = Math.sin(step);
+        // End cap from left through ahead to right, then start cap from right through behind to left
+        halfRing(b, cx, cy, cz, 1.0, sigma, capVertices, cosStep, sinStep, outLatitudes, outLongitudes, offset);
+        halfRing(a, cx, cy, cz, -1.0, sigma, capVertices, cosStep, sinStep, outLatitudes, outLongitudes, offset + capVertices);
+    }
+
+    private static void halfRing(final double[] centre, final double cx, final double cy, final double cz, final double side,
+                                 final double sigma, final int vertices, final double cosStep, final double sinStep,
+                                 final double[] outLatitudes, final double[] outLongitudes, final int offset) {
+        double cosSigma = Math.cos(sigma);
+        double sinSigma = Math.sin(sigma);
+        // Side unit vector ±c and direction of travel c × centre, times sin σ
+        double ux = side * sinSigma * cx;
+        double uy = side * sinSigma * cy;
+        double uz = side * sinSigma * cz;
+        double tx = side * sinSigma * (cy * centre[2] - cz * centre[1]);
+        double ty = side * sinSigma * (cz * centre[0] - cx * centre[2]);
+        double tz = side * sinSigma * (cx * centre[1] - cy * centre[0]);
+        double ox = cosSigma * centre[0];
+        double oy = cosSigma * centre[1];
+        double oz = cosSigma * centre[2];
+
+        double cos = 1.0;
+        double sin = 0.0;
+        for (int k = 0; k < vertices; k++) {
+            write(ox + cos * ux + sin * tx, oy + cos * uy + sin * ty, oz + cos * uz + sin * tz,
+                    outLatitudes, outLongitudes, offset + k);
+            double nextCos = cos * cosStep - sin * sinStep;
+            sin = sin * cosStep + cos * sinStep;
+            cos = nextCos;
+        }
+    }
+
+    private static void write(final double x, final double y, final double z,
+                              final double[] outLatitudes, final double[] outLongitudes, final int index) {
+        outLatitudes[index] = Math.toDegrees(Math.atan2(z, Math.sqrt(x * x + y * y)));
+        outLongitudes[index] = Math.toDegrees(Math.atan2(y, x));
+    }
+
+    /**
+     * Rejects vertex counts below the minimum a polygon or half ring needs
+     */
+    private static void checkVertices(final int vertices, final int minimum) {
+        if (vertices < minimum)
+            throw new IllegalArgumentException("At least " + minimum + " vertices required: " + vertices);
+    }
+}
@@ -0,0 +1,146 @@
+package com.jgeodesy.base;
+
+import com.jgeodesy.coordinate.Coordinate;
+import com.jgeodesy.metrics.GeodesyEvents;
+import com.jgeodesy.metrics.Metrics;
+import com.jgeodesy.metrics.Operation;
+import com.jgeodesy.shape.Ellipsoid;
+
+/**
+ * Algorithms converting geocentric cartesian (x/y/z) coordinates to geodetic latitude/longitude/height.
+ */
+public enum GeodeticAlgorithm {
+
+    /**
+     * Bowring (1985) with a single iteration of the parametric latitude; micrometre precision for points near the
+     * ellipsoid surface, degrading slowly with height. Costs a sqrt-heavy step plus sin/cos for the height.
+     */
+    BOWRING(1) {
+        @Override
+        public void toGeodetic(final double x, final double y, final double z, final double a, final double f,
+                               final double[] latitudes, final double[] longitudes, final double[] heights, final int index) {
+            double b = a * (1.0 - f);
+            double e2 = 2.0 * f - f * f; // 1st eccentricity squared (a²−b²)/a²
+            double epsilon2 = e2 / (1.0 - e2); // 2nd eccentricity squared ≡ (a²−b²)/b²
+            double p = Math.sqrt(x * x + y * y); // distance from minor axis
+            double r = Math.sqrt(p * p + z * z); // polar radius
+
+            // parametric latitude (Bowring eqn 17, replacing tanBeta = z·a / p·b)
+            double tanBeta = (b * z) / (a * p) * (1.0 + epsilon2 * b / r);
+            double sinBeta = tanBeta / Math.sqrt(1 + tanBeta * tanBeta);
+            double cosBeta = sinBeta / tanBeta;
+
+            // geodetic latitude (Bowring eqn 18)
+            double phi = Double.isNaN(cosBeta) ? 0 : Math.atan2(z + epsilon2 * b * sinBeta * sinBeta * sinBeta, p - e2 * a * cosBeta * cosBeta * cosBeta);
+
+            // height above ellipsoid (Bowring eqn 7)
+            double sinPhi = Math.sin(phi);
+            double cosPhi = Math.cos(phi);
+            double nu = a / Math.sqrt(1 - e2 * sinPhi * sinPhi); // Length of the normal terminated by the minor axis
+
+            latitudes[index] = Coordinate.toDegrees(phi);
+            longitudes[index] = Coordinate.toDegrees(Math.atan2(y, x));
+            heights[index] = p * cosPhi + z * sinPhi - (a * a / nu);
+        }
+    },
+
+    /**
+     * Vermeille (2011) closed form: no iteration and no sin/cos, exact to rounding error (nanometres) for points
+     * outside the evolute of the ellipsoid, i.e. anywhere farther than about 43 km from the earth's centre.
+     */
+    VERMEILLE(0) {
+        @Override
+        public void toGeodetic(final double x, final double y, final double z, final double a, final double f,
+                               final double[] latitudes, final double[] longitudes, final double[] heights, final int index) {
+            double e2 = 2.0 * f - f * f;
+            double e4 = e2 * e2;
+            double inverseASq = 1.0 / (a * a);
+            double rho2 = x * x + y * y;
+            double rho = Math.sqrt(rho2);
+
+            double p = rho2 * inverseASq;
+            double q = (1.0 - e2) * inverseASq * z * z;
+            double r = (p + q - e4) * (1.0 / 6.0);
+            double s = e4 * p * q / (4.0 * r * r * r);
+            double t = cbrt(1.0 + s + Math.sqrt(s * (2.0 + s)));
+            double u = r * (1.0 + t + 1.0 / t);
+            double v = Math.sqrt(u * u + e4 * q);
+            double w = e2 * (u + v - q) / (2.0 * v);
+            double k = Math.sqrt(u + v + w * w) - w;
+            double d = k * rho / (k + e2);
+            double dz = Math.sqrt(d * d + z * z);
+
+            // φ = 2·atan(z / (D + √(D²+z²))) simplifies to atan2(z, D)
+            latitudes[index] = Coordinate.toDegrees(Math.atan2(z, d));
+            longitudes[index] = Coordinate.toDegrees(Math.atan2(y, x));
+            heights[index] = (k + e2 - 1.0) / k * dz;
+        }
+    };
+
+    /**
+     * Solver iterations per point
+     */
+    private final int iterations;
+
+    GeodeticAlgorithm(int iterations) {
+        this.iterations = iterations;
+    }
+
+    /**
+     * @return Solver iterations per point, 0 for closed-form algorithms
+     */
+    public int getIterations() {
+        return iterations;
+    }
+
+    /**
+     * Cube root of a positive number: bit-level initial estimate refined by three Halley steps to full double
+     * precision
+     */
+    static double cbrt(final double x) {
+        double y = Double.longBitsToDouble(Double.doubleToRawLongBits(x) / 3 + 0x2A9F7893782DA1CEL);
+        for (int i = 0; i < 3; i++) {
+            double y3 = y * y * y;
+            y = y * (y3 + 2.0 * x) / (2.0 * y3 + x);
+        }
+        return y;
+    }
+
+    /**
+     * Converts one cartesian point
+     * @param x          x in metres
+     * @param y          y in metres
+     * @param z          z in metres
+     * @param a          ellipsoid major axis in metres
+     * @param f          ellipsoid flattening
+     * @param latitudes  receives latitude in degrees at index
+     * @param longitudes receives longitude in degrees at index
+     * @param heights    receives ellipsoidal height in metres at index
+     * @param index      index to write
+     */
+    public abstract void toGeodetic(double x, double y, double z, double a, double f,
+                                    double[] latitudes, double[] longitudes, double[] heights, int index);
+
+    /**
+     * Converts a batch of cartesian points
+     * @param x          x coordinates in metres
+     * @param y          y coordinates in metres
+     * @param z          z coordinates in metres
+     * @param ellipsoid  ellipsoid the geodetic coordinates refer to
+     * @param latitudes  receives latitudes in degrees
+     * @param longitudes receives longitudes in degrees
+     * @param heights    receives ellipsoidal heights in metres
+     * @param count      number of points
+     */
+    public void toGeodetic(final double[] x, final double[] y, final double[] z, final Ellipsoid ellipsoid,
+                           final double[] latitudes, final double[] longitudes, final double[] heights, final int count) {
+        long start = Metrics.start();
+        Object event = GeodesyEvents.beginBatch(Operation.CARTESIAN_TO_GEODETIC_BATCH, name(), count);
+        double a = ellipsoid.getA();
+        double f = ellipsoid.getF();
+        for (int i = 0; i < count; i++)
+            toGeodetic(x[i], y[i], z[i], a, f, latitudes, longitudes, heights, i);
+        GeodesyEvents.endBatch(event, (long) iterations * count);
+        Metrics.stop(Operation.CARTESIAN_TO_GEODETIC_BATCH, start, count);
+    }
+}
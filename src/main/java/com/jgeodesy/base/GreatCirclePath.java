@@ -0,0 +1,184 @@
+package com.jgeodesy.base;
+
+import com.jgeodesy.metrics.GeodesyEvents;
+import com.jgeodesy.metrics.Metrics;
+import com.jgeodesy.metrics.Operation;
+import com.jgeodesy.util.SphericalMath;
+import org.apache.commons.lang3.builder.ToStringBuilder;
+
+/**
+ * Great circle path between two points with everything that does not depend on the tested point computed once:
+ * the start as a unit vector, the unit normal of the great circle, the direction of travel at the start, the
+ * angular length and the initial bearing. A cross-track test is then a dot product and an asin, against two
+ * haversines and two bearings per call for {@link SphericalPoint#crossTrackDistanceTo}, with which the results
+ * agree to rounding error for points within a quarter circle of the start. Immutable and thread-safe.
+ */
+public final class GreatCirclePath {
+
+    private final SphericalPoint start;
+    private final SphericalPoint end;
+
+    private final double ax, ay, az;
+    private final double bx, by, bz;
+    private final double cx, cy, cz;
+    private final double tx, ty, tz;
+    private final double length;
+    private final double initialBearing;
+
+    /**
+     * @param start start of the path
+     * @param end   end of the path, not equal or antipodal to the start
+     */
+    public GreatCirclePath(final SphericalPoint start, final SphericalPoint end) {
+        this.start = start;
+        this.end = end;
+        double cosPhi1 = start.getLatitude().getCos();
+        ax = cosPhi1 * start.getLongitude().getCos();
+        ay = cosPhi1 * start.getLongitude().getSin();
+        az = start.getLatitude().getSin();
+        double cosPhi2 = end.getLatitude().getCos();
+        bx = cosPhi2 * end.getLongitude().getCos();
+        by = cosPhi2 * end.getLongitude().getSin();
+        bz = end.getLatitude().getSin();
+
+        double nx = ay * bz - az * by;
+        double ny = az * bx - ax * bz;
+        double nz = ax * by - ay * bx;
+        double sinLength = Math.sqrt(nx * nx + ny * ny + nz * nz);
+        if (sinLength < 1e-15)
+            throw new IllegalArgumentException("Path start and end are equal or antipodal");
+        cx = nx / sinLength;
+        cy = ny / sinLength;
+        cz = nz / sinLength;
+        tx = cy * az - cz * ay;
+        ty = cz * ax - cx * az;
+        tz = cx * ay - cy * ax;
+        length = Math.atan2(sinLength, ax * bx + ay * by + az * bz);
+        initialBearing = start.initialBearingTo(end);
+    }
+
+    /**
+     * Distance of a point from the great circle of the path
+     * @param point  point
+     * @param radius radius of earth
+     * @return Distance in the units of radius, negative to the left of the direction of travel
+     */
+    public double crossTrackDistanceTo(final SphericalPoint point, final double radius) {
+        double cosPhi = point.getLatitude().getCos();
+        return crossTrack(cosPhi * point.getLongitude().getCos(), cosPhi * point.getLongitude().getSin(),
+                point.getLatitude().getSin()) * radius;
+    }
+
+    /**
+     * Distance from the start of the path to the foot of the perpendicular from a point
+     * @param point  point
+     * @param radius radius of earth
+     * @return Distance in the units of radius, negative when the foot is behind the start
+     */
+    public double alongTrackDistanceTo(final SphericalPoint point, final double radius) {
+        double cosPhi = point.getLatitude().getCos();
+        return alongTrack(cosPhi * point.getLongitude().getCos(), cosPhi * point.getLongitude().getSin(),
+                point.getLatitude().getSin()) * radius;
+    }
+
+    /**
+     * Cross-track and along-track distances of a batch of points
+     * @param latitudes  latitudes in degrees
+     * @param longitudes longitudes in degrees
+     * @param radius     radius of earth
+     * @param crossTrack receives cross-track distances, negative to the left; may be null
+     * @param alongTrack receives along-track distances, negative behind the start; may be null
+     * @param count      number of points
+     */
+    public void trackDistances(final double[] latitudes, final double[] longitudes, final double radius,
+                               final double[] crossTrack, final double[] alongTrack, final int count) {
+        long started = Metrics.start();
+        Object event = GeodesyEvents.beginBatch(Operation.GREAT_CIRCLE_PATH_BATCH, null, count);
+        double[] p = new double[3];
+        for (int i = 0; i < count; i++) {
+            SphericalMath.toVector(latitudes[i], longitudes[i], p, 0);
+            double px = p[0];
+            double py = p[1];
+            double pz = p[2];
+            if (crossTrack != null)
+                crossTrack[i] = crossTrack(px, py, pz) * radius;
+            if (alongTrack != null)
+                alongTrack[i] = alongTrack(px, py, pz) * radius;
+        }
+        GeodesyEvents.endBatch(event, 0L);
+        Metrics.stop(Operation.GREAT_CIRCLE_PATH_BATCH, started, count);
+    }
+
+    /**
+     * Corridor test: whether points are within a distance of the path segment between start and end, measured
+     * to the segment itself rather than its great circle, so the corridor has rounded ends
+     * @param latitudes  latitudes in degrees
+     * @param longitudes longitudes in degrees
+     * @param halfWidth  corridor half width, in the units of radius
+     * @param radius     radius of earth
+     * @param result     receives true for points inside the corridor
+     * @param count      number of points
+     * @return Number of points inside
+     */
+    public int withinCorridor(final double[] latitudes, final double[] longitudes, final double halfWidth,
+                              final double radius, final boolean[] result, final int count) {
+        long started = Metrics.start();
+        Object event = GeodesyEvents.beginBatch(Operation.GREAT_CIRCLE_PATH_BATCH, null, count);
+        double halfChord = 2.0 * Math.sin(Math.min(halfWidth / radius, Math.PI) * 0.5);
+        double maxChordSquared = halfChord * halfChord;
+        double[] p = new double[3];
+        int inside = 0;
+        for (int i = 0; i < count; i++) {
+            SphericalMath.toVector(latitudes[i], longitudes[i], p, 0);
+            boolean within = SphericalMath.segmentChordSquared(p[0], p[1], p[2], ax, ay, az, bx, by, bz,
+                    cx, cy, cz, 1.0) <= maxChordSquared;
+            result[i] = within;
+            if (within)
+                inside++;
+        }
+        GeodesyEvents.endBatch(event, 0L);
+        Metrics.stop(Operation.GREAT_CIRCLE_PATH_BATCH, started, count);
+        return inside;
+    }
+
+    private double crossTrack(final double px, final double py, final double pz) {
+        return -Math.asin(Math.max(-1.0, Math.min(1.0, px * cx + py * cy + pz * cz)));
+    }
+
+    private double alongTrack(final double px, final double py, final double pz) {
+        return Math.atan2(px * tx + py * ty + pz * tz, px * ax + py * ay + pz * az);
+    }
+
+    public SphericalPoint getStart() {
+        return start;
+    }
+
+    public SphericalPoint getEnd() {
+        return end;
+    }
+
+    /**
+     * @param radius radius of earth
+     * @return Length of the path in the units of radius
+     */
+    public double getLength(final double radius) {
+        return length * radius;
+    }
+
+    /**
+     * @return Initial bearing from start to end in degrees, as {@link SphericalPoint#initialBearingTo}
+     */
+    public double getInitialBearing() {
+        return initialBearing;
+    }
+
+    @Override
+    public String toString() {
+        return new ToStringBuilder(this)
+                .append("start", start)
+                .append("end", end)
+                .append("length", length)
+                .append("initialBearing", initialBearing)
+                .toString();
+    }
+}
@@ -0,0 +1,250 @@
+package com.jgeodesy.base;
+
+import com.jgeodesy.metrics.GeodesyEvents;
+import com.jgeodesy.metrics.Metrics;
+import com.jgeodesy.metrics.Operation;
+import com.jgeodesy.shape.Ellipsoid;
+import com.jgeodesy.util.SphericalMath;
+import org.apache.commons.lang3.builder.ToStringBuilder;
+
+import java.util.Arrays;
+
+/**
+ * Growable array of positions for batch rhumb line work, such as the legs of a whole fleet re-evaluated every few
+ * seconds. Each position's latitude and longitude in radians and its isometric latitude are computed when it is
+ * set, plus its meridian distance on an ellipsoid, so a rhumb distance or bearing between stored positions costs
+ * no logarithms. Spherical results agree with {@link SphericalPoint#rhumbDistanceTo},
+ * {@link SphericalPoint#rhumbBearingTo} and {@link SphericalPoint#rhumbDestinationPoint}; ellipsoidal ones with
+ * {@link EllipsoidalRhumb}. Not thread-safe for concurrent writes.
+ */
+public class RhumbPoints {
+
+    private final double radius;
+    private final EllipsoidalRhumb rhumb;
+
+    private double[] phi;
+    private double[] lambda;
+    private double[] psi;
+    private double[] meridian;
+    private int size;
+
+    /**
+     * Positions on a sphere
+     * @param capacity initial number of positions
+     * @param radius   radius of earth; distances are in its units
+     */
+    public RhumbPoints(final int capacity, final double radius) {
+        this(capacity, radius, null);
+    }
+
+    /**
+     * Positions on an ellipsoid
+     * @param capacity  initial number of positions
+     * @param ellipsoid ellipsoid; distances are in the units of its axes
+     */
+    public RhumbPoints(final int capacity, final Ellipsoid ellipsoid) {
+        this(capacity, Double.NaN, EllipsoidalRhumb.of(ellipsoid));
+    }
+
+    private RhumbPoints(final int capacity, final double radius, final EllipsoidalRhumb rhumb) {
+        int length = Math.max(capacity, 1);
+        this.radius = radius;
+        this.rhumb = rhumb;
+        this.phi = new double[length];
+        this.lambda = new double[length];
+        this.psi = new double[length];
+        this.meridian = rhumb == null ? null : new double[length];
+    }
+
+    /**
+     * Appends a position
+     * @param latitude  latitude in degrees
+     * @param longitude longitude in degrees
+     * @return Index of the position
+     */
+    public int add(final double latitude, final double longitude) {
+        if (size == phi.length) {
+            int length = phi.length * 2;
+            phi = Arrays.copyOf(phi, length);
+            lambda = Arrays.copyOf(lambda, length);
+            psi = Arrays.copyOf(psi, length);
+            if (meridian != null)
+                meridian = Arrays.copyOf(meridian, length);
+        }
+        store(size, latitude, longitude);
+        return size++;
+    }
+
+    /**
+     * Replaces a position, as when a new fix arrives
+     * @param index     index of the position
+     * @param latitude  latitude in degrees
+     * @param longitude longitude in degrees
+     */
+    public void set(final int index, final double latitude, final double longitude) {
+        checkIndex(index);
+        store(index, latitude, longitude);
+    }
+
+    public double getLatitude(final int index) {
+        checkIndex(index);
+        return Math.toDegrees(phi[index]);
+    }
+
+    public double getLongitude(final int index) {
+        checkIndex(index);
+        return Math.toDegrees(lambda[index]);
+    }
+
+    /**
+     * Rhumb distances from each position to the position of the same index in another array
+     * @param to     destinations, on the same sphere or ellipsoid and with at least size() positions
+     * @param result receives distances, at least size() elements
+     */
+    public void distances(final RhumbPoints to, final double[] result) {
+        checkPaired(to);
+        long start = Metrics.start();
+        Object event = GeodesyEvents.beginBatch(Operation.RHUMB_BATCH, rhumb == null ? "spherical" : "ellipsoidal", size);
+        for (int i = 0, n = size; i < n; i++)
+            result[i] = distance(i, to.phi[i], to.psi[i], to.meridian == null ? 0.0 : to.meridian[i], to.lambda[i]);
+        GeodesyEvents.endBatch(event, 0L);
+        Metrics.stop(Operation.RHUMB_BATCH, start, size);
+    }
+
+    /**
+     * Rhumb bearings from each position to the position of the same index in another array
+     * @param to     destinations, on the same sphere or ellipsoid and with at least size() positions
+     * @param result receives bearings in degrees from north, 0..360
+     */
+    public void bearings(final RhumbPoints to, final double[] result) {
+        checkPaired(to);
+        long start = Metrics.start();
+        Object event = GeodesyEvents.beginBatch(Operation.RHUMB_BATCH, rhumb == null ? "spherical" : "ellipsoidal", size);
+        for (int i = 0, n = size; i < n; i++)
+            result[i] = SphericalMath.rhumbBearing(psi[i], lambda[i], to.psi[i], to.lambda[i]);
+        GeodesyEvents.endBatch(event, 0L);
+        Metrics.stop(Operation.RHUMB_BATCH, start, size);
+    }
+
+    /**
+     * Rhumb distances from every position to one destination
+     * @param latitude  latitude of the destination in degrees
+     * @param longitude longitude of the destination in degrees
+     * @param result    receives distances, at least size() elements
+     */
+    public void distancesTo(final double latitude, final double longitude, final double[] result) {
+        long start = Metrics.start();
+        Object event = GeodesyEvents.beginBatch(Operation.RHUMB_BATCH, rhumb == null ? "spherical" : "ellipsoidal", size);
+        double phi2 = Math.toRadians(latitude);
+        double lambda2 = Math.toRadians(longitude);
+        double psi2 = isometricLatitude(phi2);
+        double m2 = rhumb == null ? 0.0 : rhumb.meridianDistance(phi2);
+        for (int i = 0, n = size; i < n; i++)
+            result[i] = distance(i, phi2, psi2, m2, lambda2);
+        GeodesyEvents.endBatch(event, 0L);
+        Metrics.stop(Operation.RHUMB_BATCH, start, size);
+    }
+
+    /**
+     * Rhumb bearings from every position to one destination
+     * @param latitude  latitude of the destination in degrees
+     * @param longitude longitude of the destination in degrees
+     * @param result    receives bearings in degrees from north, 0..360
+     */
+    public void bearingsTo(final double latitude, final double longitude, final double[] result) {
+        long start = Metrics.start();
+        Object event = GeodesyEvents.beginBatch(Operation.RHUMB_BATCH, rhumb == null ? "spherical" : "ellipsoidal", size);
+        double lambda2 = Math.toRadians(longitude);
+        double psi2 = isometricLatitude(Math.toRadians(latitude));
+        for (int i = 0, n = size; i < n; i++)
+            result[i] = SphericalMath.rhumbBearing(psi[i], lambda[i], psi2, lambda2);
+        GeodesyEvents.endBatch(event, 0L);
+        Metrics.stop(Operation.RHUMB_BATCH, start, size);
+    }
+
+    /**
+     * Positions reached from every position along rhumb lines, as dead reckoning
+     * @param distances     distance travelled per position
+     * @param bearings      bearing per position in degrees from north
+     * @param outLatitudes  receives latitudes in degrees
+     * @param outLongitudes receives longitudes in degrees -180..+180
+     */
+    public void destinations(final double[] distances, final double[] bearings,
+                             final double[] outLatitudes, final double[] outLongitudes) {
+        long start = Metrics.start();
+        Object event = GeodesyEvents.beginBatch(Operation.RHUMB_BATCH, rhumb == null ? "spherical" : "ellipsoidal", size);
+        double[] point = new double[2];
+        for (int i = 0, n = size; i < n; i++) {
+            double theta = Math.toRadians(bearings[i]);
+            if (rhumb != null) {
+                rhumb.destination(phi[i], psi[i], meridian[i], lambda[i], distances[i], theta, point, 0);
+            } else {
+                // As SphericalPoint.rhumbDestinationPoint
+                double sigma = distances[i] / radius;
+                double deltaPhi = sigma * Math.cos(theta);
+                double phi2 = phi[i] + deltaPhi;
+                if (Math.abs(phi2) > Math.PI / 2.0)
+                    phi2 = phi2 > 0 ? Math.PI - phi2 : -Math.PI - phi2;
+                double deltaPsi = SphericalMath.isometricLatitude(phi2) - psi[i];
+                double q = Math.abs(deltaPsi) > 10e-12 ? deltaPhi / deltaPsi : Math.cos(phi[i]);
+                point[0] = Math.toDegrees(phi2);
+                point[1] = SphericalMath.wrap180(Math.toDegrees(lambda[i] + sigma * Math.sin(theta) / q));
+            }
+            outLatitudes[i] = point[0];
+            outLongitudes[i] = point[1];
+        }
+        GeodesyEvents.endBatch(event, 0L);
+        Metrics.stop(Operation.RHUMB_BATCH, start, size);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Removes all positions, keeping the capacity
+     */
+    public void clear() {
+        size = 0;
+    }
+
+    private double distance(final int i, final double phi2, final double psi2, final double m2, final double lambda2) {
+        if (rhumb != null)
+            return rhumb.distance(phi[i], psi[i], meridian[i], lambda[i], phi2, psi2, m2, lambda2);
+        return radius * SphericalMath.rhumbAngularDistance(phi[i], psi[i], lambda[i], phi2, psi2, lambda2);
+    }
+
+    private double isometricLatitude(final double phi) {
+        return rhumb == null ? SphericalMath.isometricLatitude(phi) : rhumb.isometricLatitude(phi);
+    }
+
+    private void store(final int index, final double latitude, final double longitude) {
+        double phiValue = Math.toRadians(latitude);
+        phi[index] = phiValue;
+        lambda[index] = Math.toRadians(longitude);
+        psi[index] = isometricLatitude(phiValue);
+        if (meridian != null)
+            meridian[index] = rhumb.meridianDistance(phiValue);
+    }
+
+    private void checkPaired(final RhumbPoints to) {
+        if (to.rhumb != rhumb || Double.compare(to.radius, radius) != 0)
+            throw new IllegalArgumentException("Positions are on different spheres or ellipsoids");
+        if (to.size < size)
+            throw new IllegalArgumentException("Destinations hold " + to.size + " positions, " + size + " required");
+    }
+
+    private void checkIndex(final int index) {
+        if (index < 0 || index >= size)
+            throw new IndexOutOfBoundsException("Index: " + index + ", size: " + size);
+    }
+
+    @Override
+    public String toString() {
+        return new ToStringBuilder(this)
+                .append("size", size)
+                .append("radius", radius)
+                .append("ellipsoid", rhumb == null ? null : rhumb.getEllipsoid())
+                .toString();
+    }
+}
@@ -3,7 +3,10 @@ package com.jgeodesy.base;
 import com.jgeodesy.coordinate.Coordinate;
 import com.jgeodesy.coordinate.Latitude;
 import com.jgeodesy.coordinate.Longitude;
+import com.jgeodesy.metrics.Metrics;
+import com.jgeodesy.metrics.Operation;
 import com.jgeodesy.util.GeodesyUtil;
+import com.jgeodesy.util.SphericalMath;
 import org.apache.commons.lang3.builder.ToStringBuilder;
 
 import java.util.HashMap;
@@ -40,6 +43,17 @@ public class SphericalPoint extends Point {
      * @return Distance between this point and destination point, in same units as radius
      */
     public Double distanceTo(final SphericalPoint sphericalPoint, double radius) {
+        long start = Metrics.start();
+        double c = angleTo(sphericalPoint);
+        Metrics.stop(Operation.SPHERICAL_DISTANCE, start);
+        return radius * c;
+    }
+
+    /**
+     * Uninstrumented haversine kernel of {@link #distanceTo(SphericalPoint, double)}, for methods that record
+     * their own operation
+     */
+    private double angleTo(final SphericalPoint sphericalPoint) {
         // see mathforum.org/library/drmath/view/51879.html for derivation
         double phi1 = getLatitude().getRadians();
         double lambda1 = getLongitude().getRadians();
@@ -47,10 +61,11 @@ public class SphericalPoint extends Point {
         double lambda2 = sphericalPoint.getLongitude().getRadians();
         double deltaPhi = phi2 - phi1;
         double deltaLambda = lambda2 - lambda1;
-        double a = Math.sin(deltaPhi / 2.0) * Math.sin(deltaPhi / 2.0) +
-                Math.cos(phi1) * Math.cos(phi2) * Math.sin(deltaLambda / 2.0) * Math.sin(deltaLambda / 2.0);
-        double c = 2.0 * Math.atan2(Math.sqrt(a), Math.sqrt(1.0 - a));
-        return radius * c;
+        double sinHalfDeltaPhi = Math.sin(deltaPhi / 2.0);
+        double sinHalfDeltaLambda = Math.sin(deltaLambda / 2.0);
+        double a = sinHalfDeltaPhi * sinHalfDeltaPhi + getLatitude().getCos() * sphericalPoint.getLatitude().getCos()
+                * sinHalfDeltaLambda * sinHalfDeltaLambda;
+        return 2.0 * Math.atan2(Math.sqrt(a), Math.sqrt(1.0 - a));
     }
 
     /**
@@ -59,12 +74,26 @@ public class SphericalPoint extends Point {
      * @return Initial bearing in degrees from north (0°..360°)
      */
     public Double initialBearingTo(final SphericalPoint sphericalPoint) {
+        long start = Metrics.start();
+        double bearing = bearingTo(sphericalPoint);
+        Metrics.stop(Operation.SPHERICAL_BEARING, start);
+        return bearing;
+    }
+
+    /**
+     * Uninstrumented kernel of {@link #initialBearingTo(SphericalPoint)}, for methods that record their own operation
+     */
+    private double bearingTo(final SphericalPoint sphericalPoint) {
         // see mathforum.org/library/drmath/view/55417.html for derivation
-        double phi1 = getLatitude().getRadians();
-        double phi2 = sphericalPoint.getLatitude().getRadians();
-        double deltaLambda = sphericalPoint.getLongitude().getRadians()- getLongitude().getRadians();
-        double y = Math.sin(deltaLambda) * Math.cos(phi2);
-        double x = Math.cos(phi1) * Math.sin(phi2) - Math.sin(phi1) * Math.cos(phi2) * Math.cos(deltaLambda);
+        Latitude latitude1 = getLatitude();
+        Latitude latitude2 = sphericalPoint.getLatitude();
+        // sin/cos Δλ from the cached longitude values by the angle difference identities
+        Longitude longitude1 = getLongitude();
+        Longitude longitude2 = sphericalPoint.getLongitude();
+        double sinDeltaLambda = longitude2.getSin() * longitude1.getCos() - longitude2.getCos() * longitude1.getSin();
+        double cosDeltaLambda = longitude2.getCos() * longitude1.getCos() + longitude2.getSin() * longitude1.getSin();
+        double y = sinDeltaLambda * latitude2.getCos();
+        double x = latitude1.getCos() * latitude2.getSin() - latitude1.getSin() * latitude2.getCos() * cosDeltaLambda;
         double theta = Math.atan2(y, x);
         return GeodesyUtil.wrapTo360(Coordinate.toDegrees(theta));
     }
@@ -90,19 +119,18 @@ public class SphericalPoint extends Point {
         // φm = atan2( sinφ1 + sinφ2, √( (cosφ1 + cosφ2⋅cosΔλ)² + cos²φ2⋅sin²Δλ ) )
         // λm = λ1 + atan2(cosφ2⋅sinΔλ, cosφ1 + cosφ2⋅cosΔλ)
         // midpoint is sum of vectors to two points: mathforum.org/library/drmath/view/51822.html
-        double phi1 = getLatitude().getRadians();
         double lambda1 = getLongitude().getRadians();
-        double phi2 = sphericalPoint.getLatitude().getRadians();
         double deltaLambda = sphericalPoint.getLongitude().getRadians() - getLongitude().getRadians();
+        double cosPhi2 = sphericalPoint.getLatitude().getCos();
 
         // get cartesian coordinates for the two points
-        double bX = Math.cos(phi2) * Math.cos(deltaLambda);
-        double bY = Math.cos(phi2) * Math.sin(deltaLambda);
-        double bZ = Math.sin(phi2);
+        double bX = cosPhi2 * Math.cos(deltaLambda);
+        double bY = cosPhi2 * Math.sin(deltaLambda);
+        double bZ = sphericalPoint.getLatitude().getSin();
 
-        double aX = Math.cos(phi1);
+        double aX = getLatitude().getCos();
         double aY = 0.0;
-        double aZ = Math.sin(phi1);
+        double aZ = getLatitude().getSin();
 
         double cX = aX + bX;
         double cY = aY + bY;
@@ -124,6 +152,7 @@ public class SphericalPoint extends Point {
      * @return Intermediate point between this point and destination point
      */
     public SphericalPoint intermediatePointTo(final SphericalPoint sphericalPoint, final Double fraction) {
+        long start = Metrics.start();
         double phi1 = getLatitude().getRadians();
         double phi2 = sphericalPoint.getLatitude().getRadians();
         double lambda1 = getLongitude().getRadians();
@@ -133,21 +162,23 @@ public class SphericalPoint extends Point {
         double deltaPhi = phi2 - phi1;
         double deltaLambda = lambda2 - lambda1;
 
-        double a = Math.sin(deltaPhi / 2.0) * Math.sin(deltaPhi / 2.0) +
-                Math.cos(phi1) * Math.cos(phi2) * Math.sin(deltaLambda / 2.0) * Math.sin(deltaLambda / 2.0);
+        double sinPhi1 = getLatitude().getSin();
+        double sinPhi2 = sphericalPoint.getLatitude().getSin();
+        double sinLambda1 = getLongitude().getSin();
+        double sinLambda2 = sphericalPoint.getLongitude().getSin();
+        double cosLambda1 = getLongitude().getCos();
+        double cosLambda2 = sphericalPoint.getLongitude().getCos();
+        double cosPhi1 = getLatitude().getCos();
+        double cosPhi2 = sphericalPoint.getLatitude().getCos();
+
+        double sinHalfDeltaPhi = Math.sin(deltaPhi / 2.0);
+        double sinHalfDeltaLambda = Math.sin(deltaLambda / 2.0);
+        double a = sinHalfDeltaPhi * sinHalfDeltaPhi + cosPhi1 * cosPhi2 * sinHalfDeltaLambda * sinHalfDeltaLambda;
         double sigma = 2.0 * Math.atan2(Math.sqrt(a), Math.sqrt(1.0 - a));
 
-        double A = Math.sin((1.0 - fraction) * sigma) / Math.sin(sigma);
-        double B = Math.sin(fraction * sigma) / Math.sin(sigma);
-
-        double sinPhi1 = Math.sin(phi1);
-        double sinPhi2 = Math.sin(phi2);
-        double sinLambda1 = Math.sin(lambda1);
-        double sinLambda2 = Math.sin(lambda2);
-        double cosLambda1 = Math.cos(lambda1);
-        double cosLambda2 = Math.cos(lambda2);
-        double cosPhi1 = Math.cos(phi1);
-        double cosPhi2 = Math.cos(phi2);
+        double sinSigma = Math.sin(sigma);
+        double A = Math.sin((1.0 - fraction) * sigma) / sinSigma;
+        double B = Math.sin(fraction * sigma) / sinSigma;
 
         double x = A * cosPhi1 * cosLambda1 + B * cosPhi2 * cosLambda2;
         double y = A * cosPhi1 * sinLambda1 + B * cosPhi2 * sinLambda2;
@@ -158,6 +189,7 @@ public class SphericalPoint extends Point {
 
         double lat = Coordinate.toDegrees(phi3);
         double lon = Coordinate.toDegrees(lambda3);
+        Metrics.stop(Operation.SPHERICAL_INTERMEDIATE, start);
         return new SphericalPoint(new Latitude(lat), new Longitude(lon));
     }
 
@@ -173,16 +205,16 @@ public class SphericalPoint extends Point {
         // sinφ2 = sinφ1⋅cosδ + cosφ1⋅sinδ⋅cosθ
         // tanΔλ = sinθ⋅sinδ⋅cosφ1 / cosδ−sinφ1⋅sinφ2
         // see mathforum.org/library/drmath/view/52049.html for derivation
+        long start = Metrics.start();
 
         double sigma = distance / radius; // angular distance in radians
         double theta = Coordinate.toRadians(bearing);
 
-        double phi1 = getLatitude().getRadians();
         double lambda1 = getLongitude().getRadians();
 
-        double sinPhi1 = Math.sin(phi1);
+        double sinPhi1 = getLatitude().getSin();
         double cosSigma = Math.cos(sigma);
-        double cosPhi1 = Math.cos(phi1);
+        double cosPhi1 = getLatitude().getCos();
         double sinSigma = Math.sin(sigma);
         double cosTheta = Math.cos(theta);
         double sinTheta = Math.sin(theta);
@@ -196,6 +228,7 @@ public class SphericalPoint extends Point {
         double lat = Coordinate.toDegrees(phi2);
         double lon = Coordinate.toDegrees(lambda2);
 
+        Metrics.stop(Operation.SPHERICAL_DESTINATION, start);
         return new SphericalPoint(new Latitude(lat), new Longitude(lon));
     }
 
@@ -264,10 +297,12 @@ public class SphericalPoint extends Point {
      * @return Distance to great circle (-ve if to left, +ve if to right of path)
      */
     public double crossTrackDistanceTo(final SphericalPoint pathStart, final SphericalPoint pathEnd, final double radius) {
-        double d13 = pathStart.distanceTo(this, radius) / radius;
-        double theta13 = Coordinate.toRadians(pathStart.initialBearingTo(this));
-        double theta12 = Coordinate.toRadians(pathStart.initialBearingTo(pathEnd));
+        long start = Metrics.start();
+        double d13 = pathStart.angleTo(this);
+        double theta13 = Coordinate.toRadians(pathStart.bearingTo(this));
+        double theta12 = Coordinate.toRadians(pathStart.bearingTo(pathEnd));
         double xt = Math.asin(Math.sin(d13) * Math.sin(theta13 - theta12));
+        Metrics.stop(Operation.SPHERICAL_CROSS_TRACK, start);
         return xt * radius;
     }
 
@@ -281,13 +316,15 @@ public class SphericalPoint extends Point {
      * @return Distance along great circle to point nearest ‘this’ point
      */
     public double alongTrackDistanceTo(final SphericalPoint pathStart, final SphericalPoint pathEnd, final double radius) {
-        double d13 = pathStart.distanceTo(this, radius) / radius;
-        double theta13 = Coordinate.toRadians(pathStart.initialBearingTo(this));
-        double theta12 = Coordinate.toRadians(pathStart.initialBearingTo(pathEnd));
+        long start = Metrics.start();
+        double d13 = pathStart.angleTo(this);
+        double theta13 = Coordinate.toRadians(pathStart.bearingTo(this));
+        double theta12 = Coordinate.toRadians(pathStart.bearingTo(pathEnd));
 
         double xt = Math.asin(Math.sin(d13) * Math.sin(theta13 - theta12));
         double at = Math.acos(Math.cos(d13) / Math.abs(Math.cos(xt)));
         double cosTheta = Math.cos(theta12 - theta13);
+        Metrics.stop(Operation.SPHERICAL_ALONG_TRACK, start);
         if (cosTheta == 0.0)
             return 0.0;
         double dist = at * radius;
@@ -316,22 +353,14 @@ public class SphericalPoint extends Point {
      */
     public double rhumbDistanceTo(final SphericalPoint destinationPoint, final double radius) {
         // see www.edwilliams.org/avform.htm#Rhumb
-        double phi1 = this.getLatitude().getRadians();
-        double phi2 = destinationPoint.getLatitude().getRadians();
-        double deltaPhi = phi2 - phi1;
-        double deltaLambda = Math.abs(destinationPoint.getLongitude().getRadians() - this.getLongitude().getRadians());
-
-        // If dLon over 180� take shorter rhumb line across the anti-meridian:
-        if (deltaLambda > Math.PI)
-            deltaLambda -= 2.0 * Math.PI;
-
-        // On Mercator projection, longitude distances shrink by latitude; q is the 'stretch factor'
-        // q becomes ill-conditioned along E-W line (0/0); use empirical tolerance to avoid it
-        double deltaPsi = Math.log(Math.tan(phi2 / 2.0 + Math.PI / 4.0) / Math.tan(phi1 / 2.0 + Math.PI / 4.0));
-        double q = Math.abs(deltaPsi) > 10e-12 ? deltaPhi / deltaPsi : Math.cos(phi1);
-
-        // Distance is Pythagoras on 'stretched' Mercator projection
-        double sigma = Math.sqrt(deltaPhi * deltaPhi + q * q * deltaLambda * deltaLambda); // angular distance in radians
+        long start = Metrics.start();
+        // On Mercator projection, longitude distances shrink by latitude; distance is Pythagoras on 'stretched'
+        // Mercator projection, with the isometric latitudes cached on the latitudes
+        double sigma = SphericalMath.rhumbAngularDistance(
+                this.getLatitude().getRadians(), this.getLatitude().getIsometric(), this.getLongitude().getRadians(),
+                destinationPoint.getLatitude().getRadians(), destinationPoint.getLatitude().getIsometric(),
+                destinationPoint.getLongitude().getRadians()); // angular distance in radians
+        Metrics.stop(Operation.SPHERICAL_RHUMB_DISTANCE, start);
         return sigma * radius;
     }
 
@@ -341,19 +370,11 @@ public class SphericalPoint extends Point {
      * @return Bearing in degrees from north
      */
     public double rhumbBearingTo(SphericalPoint destinationPoint) {
-        double phi1 = this.getLatitude().getRadians();
-        double phi2 = destinationPoint.getLatitude().getRadians();
-        double deltaLambda = destinationPoint.getLongitude().getRadians() - this.getLongitude().getRadians();
-        // If dLon over 180� take shorter rhumb line across the anti-meridian:
-        if (deltaLambda > Math.PI)
-            deltaLambda -= 2.0 * Math.PI;
-
-        if (deltaLambda < -Math.PI)
-            deltaLambda += 2.0 * Math.PI;
-
-        double deltaPsi = Math.log(Math.tan(phi2 / 2.0 + Math.PI / 4.0) / Math.tan(phi1 / 2.0 + Math.PI / 4.0));
-        double theta = Math.atan2(deltaLambda, deltaPsi);
-        return GeodesyUtil.wrapTo360(Coordinate.toDegrees(theta));
+        long start = Metrics.start();
+        double bearing = SphericalMath.rhumbBearing(this.getLatitude().getIsometric(), this.getLongitude().getRadians(),
+                destinationPoint.getLatitude().getIsometric(), destinationPoint.getLongitude().getRadians());
+        Metrics.stop(Operation.SPHERICAL_RHUMB_BEARING, start);
+        return bearing;
     }
 
     /**
@@ -375,7 +396,7 @@ public class SphericalPoint extends Point {
         if (Math.abs(phi2) > GeodesyUtil.getHalfPi())
             phi2 = phi2 > 0 ? Math.PI - phi2 : -Math.PI - phi2;
 
-        double deltaPsi = Math.log(Math.tan(phi2 / 2.0 + GeodesyUtil.getQuarterPi()) / Math.tan(phi1 / 2.0 + GeodesyUtil.getQuarterPi()));
+        double deltaPsi = SphericalMath.isometricLatitude(phi2) - this.getLatitude().getIsometric();
         // E-W course becomes ill-conditioned with 0/0
         double q = Math.abs(deltaPsi) > 10e-12 ? deltaPhi / deltaPsi : Math.cos(phi1);
         double deltaLambda = sigma * Math.sin(theta) / q;
@@ -403,10 +424,10 @@ public class SphericalPoint extends Point {
             lambda1 += GeodesyUtil.getPiTimes2(); // crossing anti-meridian
 
         double phi3 = (phi1 + phi2) / 2;
-        double f1 = Math.tan(GeodesyUtil.getQuarterPi() + phi1 / 2.0);
-        double f2 = Math.tan(GeodesyUtil.getQuarterPi() + phi2 / 2.0);
-        double f3 = Math.tan(GeodesyUtil.getQuarterPi() + phi3 / 2.0);
-        double lambda3 = ((lambda2 - lambda1) * Math.log(f3) + lambda1 * Math.log(f2) - lambda2 * Math.log(f1)) / Math.log(f2 / f1);
+        double psi1 = this.getLatitude().getIsometric();
+        double psi2 = secondPoint.getLatitude().getIsometric();
+        double psi3 = SphericalMath.isometricLatitude(phi3);
+        double lambda3 = ((lambda2 - lambda1) * psi3 + lambda1 * psi2 - lambda2 * psi1) / (psi2 - psi1);
 
         if (!Double.isFinite(lambda3))
             lambda3 = (lambda1 + lambda2) / 2.0; // parallel of latitude
@@ -430,6 +451,7 @@ public class SphericalPoint extends Point {
 
         if (polygon.size() < 3)
             return 0.0;
+        long start = Metrics.start();
 
         // Close polygon so that last point equals first point
         boolean closed = polygon.get(0) == polygon.get(polygon.size() - 1);
@@ -438,11 +460,10 @@ public class SphericalPoint extends Point {
 
         double s = 0.0; // spherical excess in steradians
         for (int v = 0; v < polygon.size() - 1; v++) {
-            double phi1 = polygon.get(v).getLatitude().getRadians();
-            double phi2 = polygon.get(v + 1).getLatitude().getRadians();
+            double tanHalfPhi1 = polygon.get(v).getLatitude().getTanHalf();
+            double tanHalfPhi2 = polygon.get(v + 1).getLatitude().getTanHalf();
             double deltaLambda = polygon.get(v + 1).getLongitude().getRadians() - polygon.get(v).getLongitude().getRadians();
-            double e = 2.0 * Math.atan2(Math.tan(deltaLambda / 2.0) * (Math.tan(phi1 / 2.0) + Math.tan(phi2 / 2.0)),
-            1.0 + Math.tan(phi1 / 2.0) * Math.tan(phi2 / 2.0));
+            double e = 2.0 * Math.atan2(Math.tan(deltaLambda / 2.0) * (tanHalfPhi1 + tanHalfPhi2), 1.0 + tanHalfPhi1 * tanHalfPhi2);
             s += e;
         }
 
@@ -450,23 +471,24 @@ public class SphericalPoint extends Point {
         // normal ±360°: blog.element84.com/determining-if-a-spherical-polygon-contains-a-pole.html
         // TODO: any better test than this?
         double sigmaDelta = 0.0;
-        double previousBearing = polygon.get(0).initialBearingTo(polygon.get(1));
+        double previousBearing = polygon.get(0).bearingTo(polygon.get(1));
         for (int v = 0; v < polygon.size() - 1; v++) {
-            double initBearing = polygon.get(v).initialBearingTo(polygon.get(v + 1));
-            double finalBearing = polygon.get(v).finalBearingTo(polygon.get(v + 1));
+            double initBearing = polygon.get(v).bearingTo(polygon.get(v + 1));
+            double finalBearing = GeodesyUtil.wrapTo360(polygon.get(v + 1).bearingTo(polygon.get(v)) + 180);
             // TODO check wrapTo180 method
             sigmaDelta += GeodesyUtil.wrapTo180(initBearing - previousBearing);
             sigmaDelta += GeodesyUtil.wrapTo180(finalBearing - initBearing);
             previousBearing = finalBearing;
         }
 
-        double initBearing = polygon.get(0).initialBearingTo(polygon.get(1));
+        double initBearing = polygon.get(0).bearingTo(polygon.get(1));
         // TODO check wrapTo180 method
         sigmaDelta += GeodesyUtil.wrapTo180(initBearing - previousBearing);
 
         // TODO: fix (intermittent) edge crossing pole - eg (85,90), (85,0), (85,-90)
         if (Math.abs(sigmaDelta) < 90.0) // 0°-ish
             s = Math.abs(s) - GeodesyUtil.getPiTimes2();
+        Metrics.stop(Operation.SPHERICAL_AREA, start, polygon.size() - 1);
         return Math.abs(s * radius * radius); // area in units of radius
     }
 
@@ -484,16 +506,23 @@ public class SphericalPoint extends Point {
 
         double phi = Coordinate.toRadians(latitude);
 
-        double phi1 = firstPoint.getLatitude().getRadians();
         double lambda1 = firstPoint.getLongitude().getRadians();
-        double phi2 = secondPoint.getLatitude().getRadians();
         double lambda2 = secondPoint.getLongitude().getRadians();
 
         double deltaLambda = lambda2 - lambda1;
 
-        double x = Math.sin(phi1) * Math.cos(phi2) * Math.cos(phi) * Math.sin(deltaLambda);
-        double y = Math.sin(phi1) * Math.cos(phi2) * Math.cos(phi) * Math.cos(deltaLambda) - Math.cos(phi1) * Math.sin(phi2) * Math.cos(phi);
-        double z = Math.cos(phi1) * Math.cos(phi2) * Math.sin(phi) * Math.sin(deltaLambda);
+        double sinPhi1 = firstPoint.getLatitude().getSin();
+        double cosPhi1 = firstPoint.getLatitude().getCos();
+        double sinPhi2 = secondPoint.getLatitude().getSin();
+        double cosPhi2 = secondPoint.getLatitude().getCos();
+        double sinPhi = Math.sin(phi);
+        double cosPhi = Math.cos(phi);
+        double sinDeltaLambda = Math.sin(deltaLambda);
+        double cosDeltaLambda = Math.cos(deltaLambda);
+
+        double x = sinPhi1 * cosPhi2 * cosPhi * sinDeltaLambda;
+        double y = sinPhi1 * cosPhi2 * cosPhi * cosDeltaLambda - cosPhi1 * sinPhi2 * cosPhi;
+        double z = cosPhi1 * cosPhi2 * sinPhi * sinDeltaLambda;
 
         if (z * z > x * x + y * y)
             return null; // great circle doesn't reach latitude
@@ -4,84 +4,91 @@ import org.apache.commons.lang3.builder.EqualsBuilder;
 import org.apache.commons.lang3.builder.HashCodeBuilder;
 import org.apache.commons.lang3.builder.ToStringBuilder;
 
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * Created by omeruluoglu on 23.10.2019.
  */
-public class Transform {
+public final class Transform {
 
-    private static Map<String, Transform> transforms = new HashMap<>();
+    /**
+     * Immutable snapshot of the registered transforms; replaced as a whole on registration so readers never lock
+     */
+    private static final AtomicReference<Map<String, Transform>> transforms = new AtomicReference<>();
 
     static {
-        transforms.put("BD72", new Transform("BD72", 106.868628, -52.297783, 103.723893, -0.33657, -0.456955, -1.84218, 1.2727));
-        transforms.put("Bessel1841", new Transform("Bessel1841", -582.0, -105.0, -414.0, -1.04, -0.35, 3.08, -8.3));
-        transforms.put("Clarke1866", new Transform("Clarke1866", 8, -160, -176, 0.0, 0.0, 0.0, 0.0));
-        transforms.put("DHDN", new Transform("DHDN", -591.28, -81.35, -396.39, 1.477, -0.0736, -1.458, -9.82));
-        transforms.put("ED50", new Transform("ED50", 89.5, 93.8, 123.1, 0.0, 0.0, 0.156, -1.2));
-        transforms.put("ETRS89", new Transform("ETRS89", 0.0, 0.0, 0.0, 0.0, 0.0, 0.0, 0.0));
-        transforms.put("Irl1975", new Transform("Irl1975", -482.530, 130.596, -564.557, 1.042, 0.214, 0.631, -8.150));
-        transforms.put("Krassowsky1940", new Transform("Krassowsky1940", -24.0, 123.0, 94.0, -0.02, 0.26, 0.13, -2.423));
-        transforms.put("MGI", new Transform("MGI",-577.326,-90.129,-463.920,5.137,1.474,5.297,-2.423));
-        transforms.put("NAD27", new Transform("NAD27",8,-160,-176,0.0,0.0,0.0,0.0));
-        transforms.put("NAD83", new Transform("NAD83",1.004,-1.910,-0.515,0.0267,0.00034,0.011,-0.00150));
-        transforms.put("NTF", new Transform("NTF",-168,-60,320,0.0,0.0,0.0,0.0));
-        transforms.put("OSGB36", new Transform("OSGB36",-446.448,125.157,-542.060,-0.1502,-0.2470,-0.8421,20.4894));
-        transforms.put("Potsdam", new Transform("Potsdam",-582.0,-105.0,-414.0,1.04,0.35,-3.08,-8.3));
-        transforms.put("TokyoJapan", new Transform("TokyoJapan",148.0, -507.0, -685.0, 0.0, 0.0, 0.0, 0.0));
-        transforms.put("WGS72", new Transform("WGS72", -4.5, 0.554, -0.22, 0.0, 0.0, 0.0, 0.0));
-        transforms.put("WGS84", new Transform("WGS84"));
+        Map<String, Transform> builtIn = new HashMap<>();
+        builtIn.put("BD72", new Transform("BD72", 106.868628, -52.297783, 103.723893, -0.33657, -0.456955, -1.84218, 1.2727));
+        builtIn.put("Bessel1841", new Transform("Bessel1841", -582.0, -105.0, -414.0, -1.04, -0.35, 3.08, -8.3));
+        builtIn.put("Clarke1866", new Transform("Clarke1866", 8, -160, -176, 0.0, 0.0, 0.0, 0.0));
+        builtIn.put("DHDN", new Transform("DHDN", -591.28, -81.35, -396.39, 1.477, -0.0736, -1.458, -9.82));
+        builtIn.put("ED50", new Transform("ED50", 89.5, 93.8, 123.1, 0.0, 0.0, 0.156, -1.2));
+        builtIn.put("ETRS89", new Transform("ETRS89", 0.0, 0.0, 0.0, 0.0, 0.0, 0.0, 0.0));
+        builtIn.put("Irl1975", new Transform("Irl1975", -482.530, 130.596, -564.557, 1.042, 0.214, 0.631, -8.150));
+        builtIn.put("Krassowsky1940", new Transform("Krassowsky1940", -24.0, 123.0, 94.0, -0.02, 0.26, 0.13, -2.423));
+        builtIn.put("MGI", new Transform("MGI",-577.326,-90.129,-463.920,5.137,1.474,5.297,-2.423));
+        builtIn.put("NAD27", new Transform("NAD27",8,-160,-176,0.0,0.0,0.0,0.0));
+        builtIn.put("NAD83", new Transform("NAD83",1.004,-1.910,-0.515,0.0267,0.00034,0.011,-0.00150));
+        builtIn.put("NTF", new Transform("NTF",-168,-60,320,0.0,0.0,0.0,0.0));
+        builtIn.put("OSGB36", new Transform("OSGB36",-446.448,125.157,-542.060,-0.1502,-0.2470,-0.8421,20.4894));
+        builtIn.put("Potsdam", new Transform("Potsdam",-582.0,-105.0,-414.0,1.04,0.35,-3.08,-8.3));
+        builtIn.put("TokyoJapan", new Transform("TokyoJapan",148.0, -507.0, -685.0, 0.0, 0.0, 0.0, 0.0));
+        builtIn.put("WGS72", new Transform("WGS72", -4.5, 0.554, -0.22, 0.0, 0.0, 0.0, 0.0));
+        builtIn.put("WGS84", new Transform("WGS84"));
+        transforms.set(Collections.unmodifiableMap(builtIn));
     }
 
     /**
      * Unique transform name
      */
-    private String name;
+    private final String name;
     /**
      * X translation, (meter)
      */
-    private Double tx;
+    private final double tx;
     /**
      * Y translation, (meter)
      */
-    private Double ty;
+    private final double ty;
     /**
      * Z translation, (meter)
      */
-    private Double tz;
+    private final double tz;
     /**
      * X rotation, (radian)
      */
-    private Double rx;
+    private final double rx;
     /**
      * Y rotation, (radian)
      */
-    private Double ry;
+    private final double ry;
     /**
      * Z rotation, (radian)
      */
-    private Double rz;
+    private final double rz;
     /**
      * Scale parts-per notation (ppm)
      */
-    private Double s;
+    private final double s;
     /**
      * Scale +1
      */
-    private Double s1;
+    private final double s1;
     /**
      * X rotation, (degree arc seconds)
      */
-    private Double sx;
+    private final double sx;
     /**
      * Y rotation, (degree arc seconds)
      */
-    private Double sy;
+    private final double sy;
     /**
      * Z rotation, (degree arc seconds)
      */
-    private Double sz;
+    private final double sz;
 
     /**
      * Helmert transformation
@@ -129,8 +136,39 @@ public class Transform {
         this.s1 = s * 1.e-6 + 1;
     }
 
+    /**
+     * Registered transforms by name
+     * @return Unmodifiable snapshot, safe to read from any thread
+     */
     public static Map<String, Transform> getTransforms() {
-        return transforms;
+        return transforms.get();
+    }
+
+    /**
+     * Returns a registered transform
+     * @param name transform name
+     * @return Transform, or null if not registered
+     */
+    public static Transform getTransform(String name) {
+        return transforms.get().get(name);
+    }
+
+    /**
+     * Registers a custom transform under its name; readers see either the old or the new snapshot
+     * @param transform transform to register
+     * @throws IllegalArgumentException if a transform with the same name is already registered
+     */
+    public static void register(final Transform transform) {
+        while (true) {
+            Map<String, Transform> current = transforms.get();
+            if (current.containsKey(transform.getName()))
+                throw new IllegalArgumentException("Transform already registered: " + transform.getName());
+
+            Map<String, Transform> next = new HashMap<>(current);
+            next.put(transform.getName(), transform);
+            if (transforms.compareAndSet(current, Collections.unmodifiableMap(next)))
+                return;
+        }
     }
 
     /**
@@ -165,98 +203,50 @@ public class Transform {
         return name;
     }
 
-    public void setName(String name) {
-        this.name = name;
-    }
-
-    public Double getTx() {
+    public double getTx() {
         return tx;
     }
 
-    public void setTx(Double tx) {
-        this.tx = tx;
-    }
-
-    public Double getTy() {
+    public double getTy() {
         return ty;
     }
 
-    public void setTy(Double ty) {
-        this.ty = ty;
-    }
-
-    public Double getTz() {
+    public double getTz() {
         return tz;
     }
 
-    public void setTz(Double tz) {
-        this.tz = tz;
-    }
-
-    public Double getRx() {
+    public double getRx() {
         return rx;
     }
 
-    public void setRx(Double rx) {
-        this.rx = rx;
-    }
-
-    public Double getRy() {
+    public double getRy() {
         return ry;
     }
 
-    public void setRy(Double ry) {
-        this.ry = ry;
-    }
-
-    public Double getRz() {
+    public double getRz() {
         return rz;
     }
 
-    public void setRz(Double rz) {
-        this.rz = rz;
-    }
-
-    public Double getS() {
+    public double getS() {
         return s;
     }
 
-    public void setS(Double s) {
-        this.s = s;
-    }
-
-    public Double getS1() {
+    public double getS1() {
         return s1;
     }
 
-    public void setS1(Double s1) {
-        this.s1 = s1;
-    }
-
-    public Double getSx() {
+    public double getSx() {
         return sx;
     }
 
-    public void setSx(Double sx) {
-        this.sx = sx;
-    }
-
-    public Double getSy() {
+    public double getSy() {
         return sy;
     }
 
-    public void setSy(Double sy) {
-        this.sy = sy;
-    }
-
-    public Double getSz() {
+    public double getSz() {
         return sz;
     }
 
-    public void setSz(Double sz) {
-        this.sz = sz;
-    }
-
     @Override
     public boolean equals(Object o) {
         if (this == o)
@@ -0,0 +1,252 @@
+package com.jgeodesy.cache;
+
+import com.jgeodesy.base.EllipsoidalPoint;
+import com.jgeodesy.coordinate.Latitude;
+import com.jgeodesy.coordinate.Longitude;
+import com.jgeodesy.metrics.GeodesyEvents;
+import com.jgeodesy.shape.Datum;
+import org.apache.commons.lang3.builder.ToStringBuilder;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded cache of {@link EllipsoidalPoint#convertToDatum(Datum)} results for inputs that repeat, such as fixed
+ * stations. Keys are the source point quantised to 1e-7 degree and 1 mm of height plus the datum pair, so points
+ * closer than about a centimetre share a result.
+ * <p>
+ * The cache is split into independently locked segments. Each segment is an LRU list with TinyLFU admission:
+ * when the segment is full, a new entry only replaces the least recently used one if the sketch has seen it more
+ * often, which keeps one-off points from flushing the popular ones. Conversions run outside the locks.
+ */
+public class DatumConversionCache {
+
+    private static final String CACHE_NAME = "DatumConversionCache";
+
+    private final Segment[] segments;
+    private final int segmentMask;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder rejections = new LongAdder();
+
+    /**
+     * @param capacity maximum number of cached conversions
+     */
+    public DatumConversionCache(final int capacity) {
+        this(capacity, Runtime.getRuntime().availableProcessors() * 4);
+    }
+
+    /**
+     * @param capacity    maximum number of cached conversions
+     * @param concurrency expected number of concurrently accessing threads, rounded up to a power of two segments
+     *                    but no more segments than the capacity allows
+     */
+    public DatumConversionCache(final int capacity, final int concurrency) {
+        if (capacity < 1)
+            throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        int count = Math.min(Integer.highestOneBit(Math.max(1, concurrency) * 2 - 1), Integer.highestOneBit(capacity));
+        segments = new Segment[count];
+        // Split the capacity exactly, so the segments together never hold more than asked for
+        for (int i = 0; i < count; i++)
+            segments[i] = new Segment(capacity / count + (i < capacity % count ? 1 : 0));
+        segmentMask = count - 1;
+    }
+
+    /**
+     * Converts a point to another datum, reusing a cached result when available
+     * @param point   point to convert, with its datum set
+     * @param toDatum target datum
+     * @return New point on the target datum
+     */
+    public EllipsoidalPoint convert(final EllipsoidalPoint point, final Datum toDatum) {
+        Key key = new Key(point, toDatum);
+        int hash = key.hashCode();
+        Segment segment = segments[(hash >>> 16 ^ hash) & segmentMask];
+
+        double[] value = segment.get(key, hash);
+        GeodesyEvents.cacheAccess(CACHE_NAME, value != null);
+        if (value != null) {
+            hits.increment();
+        } else {
+            misses.increment();
+            EllipsoidalPoint converted = point.convertToDatum(toDatum);
+            value = new double[]{converted.getLatitude().getDegrees(), converted.getLongitude().getDegrees(),
+                    converted.getHeight()};
+            segment.put(key, hash, value, this);
+        }
+
+        EllipsoidalPoint result = new EllipsoidalPoint(new Latitude(value[0]), new Longitude(value[1]), value[2]);
+        result.setDatum(toDatum);
+        return result;
+    }
+
+    /**
+     * @return Point-in-time statistics
+     */
+    public Stats getStats() {
+        long size = 0;
+        for (Segment segment : segments)
+            size += segment.size();
+        return new Stats(hits.sum(), misses.sum(), evictions.sum(), rejections.sum(), size);
+    }
+
+    /**
+     * Removes all entries; statistics are kept
+     */
+    public void clear() {
+        for (Segment segment : segments)
+            segment.clear();
+    }
+
+    private static final class Segment {
+
+        private final int capacity;
+        private final FrequencySketch sketch;
+        private final LinkedHashMap<Key, double[]> entries;
+
+        Segment(int capacity) {
+            this.capacity = capacity;
+            this.sketch = new FrequencySketch(capacity);
+            this.entries = new LinkedHashMap<>(capacity * 4 / 3 + 1, 0.75f, true);
+        }
+
+        synchronized double[] get(final Key key, final int hash) {
+            sketch.increment(hash);
+            return entries.get(key);
+        }
+
+        synchronized void put(final Key key, final int hash, final double[] value, final DatumConversionCache cache) {
+            if (entries.containsKey(key))
+                return;
+            if (entries.size() >= capacity) {
+                Iterator<Map.Entry<Key, double[]>> eldest = entries.entrySet().iterator();
+                Key victim = eldest.next().getKey();
+                if (sketch.frequency(hash) <= sketch.frequency(victim.hashCode())) {
+                    cache.rejections.increment();
+                    return;
+                }
+                eldest.remove();
+                cache.evictions.increment();
+            }
+            entries.put(key, value);
+        }
+
+        synchronized int size() {
+            return entries.size();
+        }
+
+        synchronized void clear() {
+            entries.clear();
+        }
+    }
+
+    private static final class Key {
+
+        private final int latitude;
+        private final int longitude;
+        private final long height;
+        private final Datum from;
+        private final Datum to;
+        private final int hash;
+
+        Key(EllipsoidalPoint point, Datum to) {
+            this.latitude = (int) Math.round(point.getLatitude().getDegrees() * 1e7);
+            this.longitude = (int) Math.round(point.getLongitude().getDegrees() * 1e7);
+            this.height = Math.round(point.getHeight() * 1e3);
+            this.from = point.getDatum();
+            this.to = to;
+            int h = latitude;
+            h = h * 31 + longitude;
+            h = h * 31 + Long.hashCode(height);
+            h = h * 31 + System.identityHashCode(from);
+            h = h * 31 + System.identityHashCode(to);
+            this.hash = h * 0x9E3779B9;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o)
+                return true;
+            if (!(o instanceof Key))
+                return false;
+            Key key = (Key) o;
+            return latitude == key.latitude && longitude == key.longitude && height == key.height
+                    && from == key.from && to == key.to;
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    /**
+     * Cache statistics
+     */
+    public static final class Stats {
+
+        private final long hits;
+        private final long misses;
+        private final long evictions;
+        private final long rejections;
+        private final long size;
+
+        Stats(long hits, long misses, long evictions, long rejections, long size) {
+            this.hits = hits;
+            this.misses = misses;
+            this.evictions = evictions;
+            this.rejections = rejections;
+            this.size = size;
+        }
+
+        public long getHits() {
+            return hits;
+        }
+
+        public long getMisses() {
+            return misses;
+        }
+
+        /**
+         * @return Entries removed to make room for more frequent ones
+         */
+        public long getEvictions() {
+            return evictions;
+        }
+
+        /**
+         * @return Computed results not admitted because they were less frequent than the eviction candidate
+         */
+        public long getRejections() {
+            return rejections;
+        }
+
+        public long getSize() {
+            return size;
+        }
+
+        /**
+         * @return Hits divided by lookups, 0 before the first lookup
+         */
+        public double getHitRate() {
+            long requests = hits + misses;
+            return requests == 0 ? 0.0 : (double) hits / requests;
+        }
+
+        @Override
+        public String toString() {
+            return new ToStringBuilder(this)
+                    .append("hits", hits)
+                    .append("misses", misses)
+                    .append("evictions", evictions)
+                    .append("rejections", rejections)
+                    .append("size", size)
+                    .append("hitRate", getHitRate())
+                    .toString();
+        }
+    }
+}
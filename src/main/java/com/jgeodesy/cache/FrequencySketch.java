@@ -0,0 +1,60 @@
+package com.jgeodesy.cache;
+
+/**
+ * Count-min sketch of recent access frequencies (TinyLFU): four hashed byte counters per key, 16-32 counters per
+ * cache entry, saturating at 15 and halved once the number of recorded accesses reaches ten times the cache
+ * capacity, so old popularity decays.
+ * Not thread-safe; guarded by the owning segment's lock.
+ */
+final class FrequencySketch {
+
+    private static final int DEPTH = 4;
+    private static final int MAX_COUNT = 15;
+    private static final long[] SEEDS = {0x9E3779B97F4A7C15L, 0xC2B2AE3D27D4EB4FL, 0x165667B19E3779F9L, 0xD6E8FEB86659FD93L};
+
+    private final byte[] counters;
+    private final int mask;
+    private final int sampleSize;
+    private int additions;
+
+    /**
+     * @param capacity number of entries of the cache being sized for
+     */
+    FrequencySketch(final int capacity) {
+        int width = Integer.highestOneBit(Math.max(capacity, 8) * 32 - 1);
+        this.counters = new byte[width];
+        this.mask = width - 1;
+        this.sampleSize = Math.max(capacity, 8) * 10;
+    }
+
+    void increment(final int hash) {
+        boolean added = false;
+        for (int i = 0; i < DEPTH; i++) {
+            int index = index(hash, i);
+            if (counters[index] < MAX_COUNT) {
+                counters[index]++;
+                added = true;
+            }
+        }
+        if (added && ++additions >= sampleSize)
+            reset();
+    }
+
+    int frequency(final int hash) {
+        int frequency = MAX_COUNT;
+        for (int i = 0; i < DEPTH; i++)
+            frequency = Math.min(frequency, counters[index(hash, i)]);
+        return frequency;
+    }
+
+    private int index(final int hash, final int i) {
+        long h = (hash + SEEDS[i]) * SEEDS[i];
+        return (int) (h >>> 32) & mask;
+    }
+
+    private void reset() {
+        for (int i = 0; i < counters.length; i++)
+            counters[i] >>>= 1;
+        additions >>>= 1;
+    }
+}
@@ -11,6 +11,15 @@ public class Coordinate {
     private static double radiansInDegree = Math.PI / 180.0;
     private double degrees;
     private double radians;
+    /**
+     * Sine and cosine of radians, computed together on first use and dropped when the angle changes
+     */
+    private Trig trig;
+    /**
+     * Tangent of half the angle, computed on first use and dropped when the angle changes; boxed, so a racing
+     * thread either sees it whole or computes its own
+     */
+    private Double tanHalf;
 
     /**
      * @param degrees degrees
@@ -44,6 +53,8 @@ public class Coordinate {
 
     public void setDegrees(double degrees) {
         this.degrees = degrees;
+        this.trig = null;
+        this.tanHalf = null;
     }
 
     public double getRadians() {
@@ -52,6 +63,54 @@ public class Coordinate {
 
     public void setRadians(double radians) {
         this.radians = radians;
+        this.trig = null;
+        this.tanHalf = null;
+    }
+
+    /**
+     * @return Sine of the angle, cached
+     */
+    public double getSin() {
+        return trig().sin;
+    }
+
+    /**
+     * @return Cosine of the angle, cached
+     */
+    public double getCos() {
+        return trig().cos;
+    }
+
+    /**
+     * @return Tangent of half the angle, cached
+     */
+    public double getTanHalf() {
+        Double current = tanHalf;
+        if (current == null) {
+            current = Math.tan(radians * 0.5);
+            tanHalf = current;
+        }
+        return current;
+    }
+
+    private Trig trig() {
+        // Trig is immutable, so a racing thread either sees a complete instance or computes its own
+        Trig current = trig;
+        if (current == null) {
+            current = new Trig(radians);
+            trig = current;
+        }
+        return current;
+    }
+
+    private static final class Trig {
+        private final double sin;
+        private final double cos;
+
+        Trig(double radians) {
+            this.sin = Math.sin(radians);
+            this.cos = Math.cos(radians);
+        }
     }
 
     @Override
@@ -1,6 +1,7 @@
 package com.jgeodesy.coordinate;
 
 import jdk.nashorn.internal.runtime.regexp.joni.exception.ValueException;
+import com.jgeodesy.util.SphericalMath;
 import org.apache.commons.lang3.builder.ToStringBuilder;
 
 /**
@@ -8,6 +9,13 @@ import org.apache.commons.lang3.builder.ToStringBuilder;
  */
 public class Latitude extends Coordinate {
 
+    /**
+     * Isometric latitude ψ = ln(tan(π/4 + φ/2)) of the sphere, computed on first use and dropped when the angle
+     * changes. A boxed value is immutable, so a racing thread either sees it whole or computes its own, and
+     * construction writes nothing
+     */
+    private Double isometric;
+
     /**
      *
      * @param degrees degrees
@@ -19,6 +27,30 @@ public class Latitude extends Coordinate {
         }
     }
 
+    @Override
+    public void setDegrees(double degrees) {
+        super.setDegrees(degrees);
+        isometric = null;
+    }
+
+    @Override
+    public void setRadians(double radians) {
+        super.setRadians(radians);
+        isometric = null;
+    }
+
+    /**
+     * @return Isometric (Mercator stretched) latitude of the sphere in radians, cached; infinite at the poles
+     */
+    public double getIsometric() {
+        Double current = isometric;
+        if (current == null) {
+            current = SphericalMath.isometricLatitude(getRadians());
+            isometric = current;
+        }
+        return current;
+    }
+
     @Override
     public String toString() {
         return new ToStringBuilder(this)
@@ -0,0 +1,156 @@
+package com.jgeodesy.frame;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Graph of reference frames connected by time-dependent Helmert transforms. Conversions between frames without a
+ * direct transform follow the shortest chain of known transforms, inverting edges as needed.
+ * Lookups read an immutable snapshot; registration replaces it copy-on-write.
+ */
+public final class FrameGraph {
+
+    public static final String ITRF2014 = "ITRF2014";
+    public static final String ITRF2008 = "ITRF2008";
+    public static final String ITRF2005 = "ITRF2005";
+    public static final String ITRF2000 = "ITRF2000";
+    public static final String ITRF97 = "ITRF97";
+    public static final String ETRF2000 = "ETRF2000";
+    public static final String GDA2020 = "GDA2020";
+    public static final String GDA94 = "GDA94";
+
+    private static final FrameGraph STANDARD = new FrameGraph();
+
+    static {
+        // IERS ITRF2014 to past ITRFs, reference epoch 2010.0
+        STANDARD.register(new FrameTransform(ITRF2014, ITRF2008, 2010.0,
+                new double[]{1.6, 1.9, 2.4, -0.02, 0.0, 0.0, 0.0},
+                new double[]{0.0, 0.0, -0.1, 0.03, 0.0, 0.0, 0.0}));
+        STANDARD.register(new FrameTransform(ITRF2014, ITRF2005, 2010.0,
+                new double[]{2.6, 1.0, -2.3, 0.92, 0.0, 0.0, 0.0},
+                new double[]{0.3, 0.0, -0.1, 0.03, 0.0, 0.0, 0.0}));
+        STANDARD.register(new FrameTransform(ITRF2014, ITRF2000, 2010.0,
+                new double[]{0.7, 1.2, -26.1, 2.12, 0.0, 0.0, 0.0},
+                new double[]{0.1, 0.1, -1.9, 0.11, 0.0, 0.0, 0.0}));
+        STANDARD.register(new FrameTransform(ITRF2014, ITRF97, 2010.0,
+                new double[]{7.4, -0.5, -62.8, 3.80, 0.0, 0.0, 0.26},
+                new double[]{0.1, -0.5, -3.3, 0.12, 0.0, 0.0, 0.02}));
+        // EUREF TN-1, ITRF2014 to ETRF2000
+        STANDARD.register(new FrameTransform(ITRF2014, ETRF2000, 2000.0,
+                new double[]{53.7, 51.2, -55.1, 1.02, 0.891, 5.390, -8.712},
+                new double[]{0.1, 0.1, -1.9, 0.11, 0.081, 0.490, -0.792}));
+        // Australian plate motion model and GDA94 realisation
+        STANDARD.register(new FrameTransform(ITRF2014, GDA2020, 2020.0,
+                new double[]{0.0, 0.0, 0.0, 0.0, 0.0, 0.0, 0.0},
+                new double[]{0.0, 0.0, 0.0, 0.0, 1.50379, 1.18346, 1.20716}));
+        STANDARD.register(new FrameTransform(ITRF2008, GDA94, 1994.0,
+                new double[]{-84.68, -19.42, 32.01, 9.710, -0.4254, 2.2578, 2.4015},
+                new double[]{1.42, 1.34, 0.90, 0.109, 1.5461, 1.1820, 1.1551}));
+    }
+
+    /**
+     * Outgoing transforms per frame, each registered transform appears with its inverse
+     */
+    private final AtomicReference<Map<String, List<FrameTransform>>> edges =
+            new AtomicReference<>(Collections.<String, List<FrameTransform>>emptyMap());
+
+    /**
+     * Shared graph holding the built-in ITRF, ETRF and GDA transforms
+     * @return Standard graph
+     */
+    public static FrameGraph standard() {
+        return STANDARD;
+    }
+
+    /**
+     * Adds a transform and its inverse to the graph
+     * @param transform transform to add
+     * @throws IllegalArgumentException if a transform between the same frames is already registered
+     */
+    public void register(final FrameTransform transform) {
+        while (true) {
+            Map<String, List<FrameTransform>> current = edges.get();
+            if (find(current, transform.getFrom(), transform.getTo()) != null)
+                throw new IllegalArgumentException("Transform already registered: " + transform.getFrom()
+                        + " -> " + transform.getTo());
+
+            Map<String, List<FrameTransform>> next = new HashMap<>(current);
+            add(next, transform);
+            add(next, transform.inverse());
+            if (edges.compareAndSet(current, Collections.unmodifiableMap(next)))
+                return;
+        }
+    }
+
+    private static void add(Map<String, List<FrameTransform>> map, FrameTransform transform) {
+        List<FrameTransform> list = map.get(transform.getFrom());
+        List<FrameTransform> copy = list == null ? new ArrayList<FrameTransform>() : new ArrayList<>(list);
+        copy.add(transform);
+        map.put(transform.getFrom(), Collections.unmodifiableList(copy));
+    }
+
+    private static FrameTransform find(Map<String, List<FrameTransform>> map, String from, String to) {
+        List<FrameTransform> list = map.get(from);
+        if (list != null) {
+            for (FrameTransform transform : list) {
+                if (transform.getTo().equals(to))
+                    return transform;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Finds the shortest chain of transforms between two frames
+     * @param from source frame name
+     * @param to   target frame name
+     * @return Transforms to apply in order, empty when the frames are the same
+     * @throws IllegalArgumentException if the frames are not connected
+     */
+    public List<FrameTransform> path(final String from, final String to) {
+        if (from.equals(to))
+            return Collections.emptyList();
+
+        Map<String, List<FrameTransform>> snapshot = edges.get();
+        Map<String, FrameTransform> reachedBy = new HashMap<>();
+        Deque<String> queue = new ArrayDeque<>();
+        queue.add(from);
+        reachedBy.put(from, null);
+        while (!queue.isEmpty()) {
+            String frame = queue.poll();
+            List<FrameTransform> outgoing = snapshot.get(frame);
+            if (outgoing == null)
+                continue;
+            for (FrameTransform transform : outgoing) {
+                if (reachedBy.containsKey(transform.getTo()))
+                    continue;
+                reachedBy.put(transform.getTo(), transform);
+                if (transform.getTo().equals(to)) {
+                    List<FrameTransform> path = new ArrayList<>();
+                    for (FrameTransform step = transform; step != null; step = reachedBy.get(step.getFrom()))
+                        path.add(step);
+                    Collections.reverse(path);
+                    return path;
+                }
+                queue.add(transform.getTo());
+            }
+        }
+        throw new IllegalArgumentException("No transform path from " + from + " to " + to);
+    }
+
+    /**
+     * Creates a transformer between two frames
+     * @param from source frame name
+     * @param to   target frame name
+     * @return Transformer composing the shortest path of transforms
+     */
+    public FrameTransformer transformer(final String from, final String to) {
+        return new FrameTransformer(path(from, to));
+    }
+}
@@ -0,0 +1,198 @@
+package com.jgeodesy.frame;
+
+import org.apache.commons.lang3.builder.EqualsBuilder;
+import org.apache.commons.lang3.builder.HashCodeBuilder;
+import org.apache.commons.lang3.builder.ToStringBuilder;
+
+import java.util.Arrays;
+
+/**
+ * Time-dependent (14-parameter) Helmert transform between two reference frames, with parameters in the IERS
+ * convention: translations in millimetres, scale in parts per billion, rotations in milliarcseconds, and their
+ * yearly rates, all referred to a reference epoch.
+ */
+public final class FrameTransform {
+
+    private static final double MAS_TO_RADIANS = Math.PI / (180.0 * 3600.0 * 1000.0);
+
+    /**
+     * Source frame name
+     */
+    private final String from;
+    /**
+     * Target frame name
+     */
+    private final String to;
+    /**
+     * Epoch the parameters refer to, decimal years
+     */
+    private final double referenceEpoch;
+    /**
+     * tx, ty, tz (mm), s (ppb), rx, ry, rz (mas)
+     */
+    private final double[] parameters;
+    /**
+     * Yearly rates of the parameters, same order and units per year
+     */
+    private final double[] rates;
+    /**
+     * True when this transform applies the exact inverse of the tabulated parameters
+     */
+    private final boolean inverted;
+
+    /**
+     * @param from           source frame name
+     * @param to             target frame name
+     * @param referenceEpoch epoch the parameters refer to, decimal years
+     * @param parameters     tx, ty, tz (mm), s (ppb), rx, ry, rz (mas)
+     * @param rates          yearly rates of the parameters
+     */
+    public FrameTransform(String from, String to, double referenceEpoch, double[] parameters, double[] rates) {
+        this(from, to, referenceEpoch, parameters, rates, false);
+    }
+
+    private FrameTransform(String from, String to, double referenceEpoch, double[] parameters, double[] rates,
+                           boolean inverted) {
+        if (parameters.length != 7 || rates.length != 7)
+            throw new IllegalArgumentException("Expected 7 parameters and 7 rates");
+        this.from = from;
+        this.to = to;
+        this.referenceEpoch = referenceEpoch;
+        this.parameters = parameters.clone();
+        this.rates = rates.clone();
+        this.inverted = inverted;
+    }
+
+    /**
+     * Returns the transform in the opposite direction; the matrix is inverted exactly rather than by negating
+     * the parameters
+     * @return Inverse transform
+     */
+    public FrameTransform inverse() {
+        return new FrameTransform(to, from, referenceEpoch, parameters, rates, !inverted);
+    }
+
+    /**
+     * Computes the affine matrix of this transform at an epoch
+     * @param epoch  observation epoch, decimal years
+     * @param matrix receives the 3x4 row-major matrix [R | t] in metres, 12 elements
+     */
+    public void matrix(final double epoch, final double[] matrix) {
+        double dt = epoch - referenceEpoch;
+        double tx = (parameters[0] + rates[0] * dt) * 1e-3;
+        double ty = (parameters[1] + rates[1] * dt) * 1e-3;
+        double tz = (parameters[2] + rates[2] * dt) * 1e-3;
+        double s1 = 1.0 + (parameters[3] + rates[3] * dt) * 1e-9;
+        double rx = (parameters[4] + rates[4] * dt) * MAS_TO_RADIANS;
+        double ry = (parameters[5] + rates[5] * dt) * MAS_TO_RADIANS;
+        double rz = (parameters[6] + rates[6] * dt) * MAS_TO_RADIANS;
+
+        matrix[0] = s1;
+        matrix[1] = -rz;
+        matrix[2] = ry;
+        matrix[3] = tx;
+        matrix[4] = rz;
+        matrix[5] = s1;
+        matrix[6] = -rx;
+        matrix[7] = ty;
+        matrix[8] = -ry;
+        matrix[9] = rx;
+        matrix[10] = s1;
+        matrix[11] = tz;
+
+        if (inverted)
+            invert(matrix);
+    }
+
+    /**
+     * Inverts a 3x4 affine matrix in place
+     */
+    static void invert(final double[] m) {
+        double c00 = m[5] * m[10] - m[6] * m[9];
+        double c01 = m[2] * m[9] - m[1] * m[10];
+        double c02 = m[1] * m[6] - m[2] * m[5];
+        double c10 = m[6] * m[8] - m[4] * m[10];
+        double c11 = m[0] * m[10] - m[2] * m[8];
+        double c12 = m[2] * m[4] - m[0] * m[6];
+        double c20 = m[4] * m[9] - m[5] * m[8];
+        double c21 = m[1] * m[8] - m[0] * m[9];
+        double c22 = m[0] * m[5] - m[1] * m[4];
+        double inverseDeterminant = 1.0 / (m[0] * c00 + m[1] * c10 + m[2] * c20);
+
+        double tx = m[3];
+        double ty = m[7];
+        double tz = m[11];
+        m[0] = c00 * inverseDeterminant;
+        m[1] = c01 * inverseDeterminant;
+        m[2] = c02 * inverseDeterminant;
+        m[4] = c10 * inverseDeterminant;
+        m[5] = c11 * inverseDeterminant;
+        m[6] = c12 * inverseDeterminant;
+        m[8] = c20 * inverseDeterminant;
+        m[9] = c21 * inverseDeterminant;
+        m[10] = c22 * inverseDeterminant;
+        m[3] = -(m[0] * tx + m[1] * ty + m[2] * tz);
+        m[7] = -(m[4] * tx + m[5] * ty + m[6] * tz);
+        m[11] = -(m[8] * tx + m[9] * ty + m[10] * tz);
+    }
+
+    public String getFrom() {
+        return from;
+    }
+
+    public String getTo() {
+        return to;
+    }
+
+    public double getReferenceEpoch() {
+        return referenceEpoch;
+    }
+
+    public boolean isInverted() {
+        return inverted;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o)
+            return true;
+
+        if (o == null || getClass() != o.getClass())
+            return false;
+
+        FrameTransform that = (FrameTransform) o;
+
+        return new EqualsBuilder()
+                .append(from, that.from)
+                .append(to, that.to)
+                .append(referenceEpoch, that.referenceEpoch)
+                .append(parameters, that.parameters)
+                .append(rates, that.rates)
+                .append(inverted, that.inverted)
+                .isEquals();
+    }
+
+    @Override
+    public int hashCode() {
+        return new HashCodeBuilder(17, 37)
+                .append(from)
+                .append(to)
+                .append(referenceEpoch)
+                .append(parameters)
+                .append(rates)
+                .append(inverted)
+                .toHashCode();
+    }
+
+    @Override
+    public String toString() {
+        return new ToStringBuilder(this)
+                .append("from", from)
+                .append("to", to)
+                .append("referenceEpoch", referenceEpoch)
+                .append("parameters", Arrays.toString(parameters))
+                .append("rates", Arrays.toString(rates))
+                .append("inverted", inverted)
+                .toString();
+    }
+}
@@ -0,0 +1,94 @@
+package com.jgeodesy.geoid;
+
+import org.apache.commons.lang3.builder.ToStringBuilder;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Read-only, memory-mapped geoid undulation grid.
+ * The file is mapped in bands of whole rows so grids larger than 2 GB can be used; samples are read with
+ * absolute gets and the grid can be shared between threads.
+ */
+public class GeoidGrid implements Closeable {
+
+    private final GridFormat format;
+    private final FileChannel channel;
+    private final ByteBuffer[] bands;
+    private final int rowsPerBand;
+
+    private GeoidGrid(GridFormat format, FileChannel channel, ByteBuffer[] bands, int rowsPerBand) {
+        this.format = format;
+        this.channel = channel;
+        this.bands = bands;
+        this.rowsPerBand = rowsPerBand;
+    }
+
+    /**
+     * Maps a grid file into memory
+     * @param file   grid file
+     * @param format binary layout of the file
+     * @return Mapped grid
+     * @throws IOException if the file cannot be opened or is smaller than the format requires
+     */
+    public static GeoidGrid open(final Path file, final GridFormat format) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            if (channel.size() < format.getFileSize())
+                throw new IOException("Grid file " + file + " is " + channel.size() + " bytes, expected " + format.getFileSize());
+
+            long rowStride = format.getRowStride();
+            int rowsPerBand = (int) Math.min(format.getRows(), Integer.MAX_VALUE / rowStride);
+            int bandCount = (format.getRows() + rowsPerBand - 1) / rowsPerBand;
+            ByteBuffer[] bands = new ByteBuffer[bandCount];
+            for (int band = 0; band < bandCount; band++) {
+                int firstRow = band * rowsPerBand;
+                int rowCount = Math.min(rowsPerBand, format.getRows() - firstRow);
+                long position = format.getHeaderBytes() + firstRow * rowStride;
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, position, rowCount * rowStride);
+                bands[band] = buffer.order(format.getByteOrder());
+            }
+            return new GeoidGrid(format, channel, bands, rowsPerBand);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Returns the undulation stored at a grid node
+     * @param row    row index, 0 is the northernmost row
+     * @param column column index, 0 is the westernmost column
+     * @return Geoid undulation in metres
+     */
+    public double sample(final int row, final int column) {
+        ByteBuffer band = bands[row / rowsPerBand];
+        int index = (int) ((row % rowsPerBand) * format.getRowStride()) + format.getRowPrefixBytes()
+                + column * format.getSampleType().getBytes();
+        if (format.getSampleType() == GridFormat.SampleType.INT16)
+            return band.getShort(index) * format.getScale();
+        return band.getFloat(index) * format.getScale();
+    }
+
+    public GridFormat getFormat() {
+        return format;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    @Override
+    public String toString() {
+        return new ToStringBuilder(this)
+                .append("format", format)
+                .append("bands", bands.length)
+                .toString();
+    }
+}
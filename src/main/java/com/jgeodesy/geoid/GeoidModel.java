@@ -0,0 +1,262 @@
+package com.jgeodesy.geoid;
+
+import com.jgeodesy.base.EllipsoidalPoint;
+import com.jgeodesy.metrics.GeodesyEvents;
+import com.jgeodesy.metrics.Metrics;
+import com.jgeodesy.metrics.Operation;
+import org.apache.commons.lang3.builder.ToStringBuilder;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Geoid undulation service converting between ellipsoidal heights (h) and orthometric heights (H = h - N).
+ * Grid nodes are decoded lazily into small float tiles held in a lock-free, direct-mapped cache, so only the
+ * regions actually visited are kept on the heap. Grids are referenced to WGS84.
+ */
+public class GeoidModel implements Closeable {
+
+    /**
+     * Interpolation between grid nodes
+     */
+    public enum Interpolation {
+        BILINEAR,
+        BICUBIC
+    }
+
+    /**
+     * Nodes per tile side
+     */
+    private static final int TILE_SIZE = 32;
+    /**
+     * Tile side including the halo needed by the 4x4 bicubic stencil (one node before, two after)
+     */
+    private static final int TILE_SPAN = TILE_SIZE + 3;
+    /**
+     * Default number of cached tiles (about 1.2 MB)
+     */
+    private static final int DEFAULT_CACHE_TILES = 256;
+
+    private final GeoidGrid grid;
+    private final Interpolation interpolation;
+    private final AtomicReferenceArray<Tile> tiles;
+    private final int tileMask;
+    private final int tileColumns;
+    private final double northLatitude;
+    private final double westLongitude;
+    private final double inverseSpacing;
+    private final int rows;
+    private final int columns;
+
+    /**
+     * @param grid          undulation grid
+     * @param interpolation interpolation method
+     * @param cacheTiles    number of tiles kept in the cache, rounded up to a power of two
+     */
+    public GeoidModel(final GeoidGrid grid, final Interpolation interpolation, final int cacheTiles) {
+        if (cacheTiles < 1)
+            throw new IllegalArgumentException("Tile cache must hold at least one tile");
+        GridFormat format = grid.getFormat();
+        this.grid = grid;
+        this.interpolation = interpolation;
+        int slots = Integer.highestOneBit(cacheTiles - 1) << 1;
+        this.tiles = new AtomicReferenceArray<>(Math.max(slots, 1));
+        this.tileMask = this.tiles.length() - 1;
+        this.tileColumns = (format.getColumns() + TILE_SIZE - 1) / TILE_SIZE;
+        this.northLatitude = format.getNorthLatitude();
+        this.westLongitude = format.getWestLongitude();
+        this.inverseSpacing = 1.0 / format.getSpacing();
+        this.rows = format.getRows();
+        this.columns = format.getColumns();
+    }
+
+    /**
+     * @param grid undulation grid
+     */
+    public GeoidModel(final GeoidGrid grid) {
+        this(grid, Interpolation.BICUBIC, DEFAULT_CACHE_TILES);
+    }
+
+    /**
+     * Maps a grid file and creates a model on it
+     * @param file          grid file
+     * @param format        binary layout of the file
+     * @param interpolation interpolation method
+     * @return Geoid model
+     * @throws IOException if the grid cannot be mapped
+     */
+    public static GeoidModel open(final Path file, final GridFormat format, final Interpolation interpolation) throws IOException {
+        return new GeoidModel(GeoidGrid.open(file, format), interpolation, DEFAULT_CACHE_TILES);
+    }
+
+    /**
+     * Returns the geoid undulation (height of the geoid above the ellipsoid)
+     * @param latitude  latitude in degrees
+     * @param longitude longitude in degrees
+     * @return Undulation N in metres
+     */
+    public double undulation(final double latitude, final double longitude) {
+        double y = (northLatitude - latitude) * inverseSpacing;
+        int row = (int) Math.floor(y);
+        if (row < 0)
+            row = 0;
+        else if (row > rows - 2)
+            row = rows - 2;
+        double fy = y - row;
+
+        double lambda = (longitude - westLongitude) % 360.0;
+        if (lambda < 0.0)
+            lambda += 360.0;
+        double x = lambda * inverseSpacing;
+        int column = (int) Math.floor(x);
+        double fx = x - column;
+        if (column >= columns)
+            column -= columns;
+
+        int tileRow = row / TILE_SIZE;
+        int tileColumn = column / TILE_SIZE;
+        float[] values = tile(tileRow, tileColumn);
+        // index of node (row, column) inside the tile, skipping the one-node halo
+        int base = (row - tileRow * TILE_SIZE + 1) * TILE_SPAN + (column - tileColumn * TILE_SIZE + 1);
+
+        if (interpolation == Interpolation.BILINEAR) {
+            double top = values[base] + (values[base + 1] - values[base]) * fx;
+            double bottom = values[base + TILE_SPAN] + (values[base + TILE_SPAN + 1] - values[base + TILE_SPAN]) * fx;
+            return top + (bottom - top) * fy;
+        }
+
+        double wx0 = ((-0.5 * fx + 1.0) * fx - 0.5) * fx;
+        double wx1 = (1.5 * fx - 2.5) * fx * fx + 1.0;
+        double wx2 = ((-1.5 * fx + 2.0) * fx + 0.5) * fx;
+        double wx3 = (0.5 * fx - 0.5) * fx * fx;
+        double wy0 = ((-0.5 * fy + 1.0) * fy - 0.5) * fy;
+        double wy1 = (1.5 * fy - 2.5) * fy * fy + 1.0;
+        double wy2 = ((-1.5 * fy + 2.0) * fy + 0.5) * fy;
+        double wy3 = (0.5 * fy - 0.5) * fy * fy;
+
+        int index = base - TILE_SPAN - 1;
+        double n = wy0 * cubicRow(values, index, wx0, wx1, wx2, wx3);
+        n += wy1 * cubicRow(values, index + TILE_SPAN, wx0, wx1, wx2, wx3);
+        n += wy2 * cubicRow(values, index + 2 * TILE_SPAN, wx0, wx1, wx2, wx3);
+        n += wy3 * cubicRow(values, index + 3 * TILE_SPAN, wx0, wx1, wx2, wx3);
+        return n;
+    }
+
+    private static double cubicRow(final float[] values, final int index, final double w0, final double w1,
+                                   final double w2, final double w3) {
+        return w0 * values[index] + w1 * values[index + 1] + w2 * values[index + 2] + w3 * values[index + 3];
+    }
+
+    /**
+     * Returns the orthometric height (height above the geoid) of a point
+     * @param point point with ellipsoidal height
+     * @return Orthometric height in metres
+     */
+    public double orthometricHeight(final EllipsoidalPoint point) {
+        return point.getHeight() - undulation(point.getLatitude().getDegrees(), point.getLongitude().getDegrees());
+    }
+
+    /**
+     * Converts ellipsoidal heights to orthometric heights (H = h - N)
+     * @param latitudes  latitudes in degrees
+     * @param longitudes longitudes in degrees
+     * @param heights    ellipsoidal heights in metres
+     * @param result     orthometric heights in metres, may be the same array as heights
+     * @param count      number of points
+     */
+    public void toOrthometric(final double[] latitudes, final double[] longitudes, final double[] heights,
+                              final double[] result, final int count) {
+        long start = Metrics.start();
+        Object event = GeodesyEvents.beginBatch(Operation.GEOID_BATCH, interpolation.name(), count);
+        for (int i = 0; i < count; i++)
+            result[i] = heights[i] - undulation(latitudes[i], longitudes[i]);
+        GeodesyEvents.endBatch(event, 0L);
+        Metrics.stop(Operation.GEOID_BATCH, start, count);
+    }
+
+    /**
+     * Converts orthometric heights to ellipsoidal heights (h = H + N)
+     * @param latitudes  latitudes in degrees
+     * @param longitudes longitudes in degrees
+     * @param heights    orthometric heights in metres
+     * @param result     ellipsoidal heights in metres, may be the same array as heights
+     * @param count      number of points
+     */
+    public void toEllipsoidal(final double[] latitudes, final double[] longitudes, final double[] heights,
+                              final double[] result, final int count) {
+        long start = Metrics.start();
+        Object event = GeodesyEvents.beginBatch(Operation.GEOID_BATCH, interpolation.name(), count);
+        for (int i = 0; i < count; i++)
+            result[i] = heights[i] + undulation(latitudes[i], longitudes[i]);
+        GeodesyEvents.endBatch(event, 0L);
+        Metrics.stop(Operation.GEOID_BATCH, start, count);
+    }
+
+    private float[] tile(final int tileRow, final int tileColumn) {
+        int key = tileRow * tileColumns + tileColumn;
+        int slot = key & tileMask;
+        Tile tile = tiles.get(slot);
+        if (tile != null && tile.key == key) {
+            GeodesyEvents.cacheAccess("GeoidModel.tile", true);
+            return tile.values;
+        }
+        GeodesyEvents.cacheAccess("GeoidModel.tile", false);
+        // Racing threads may decode the same tile twice; the result is identical so last write wins
+        tile = new Tile(key, decode(tileRow, tileColumn));
+        tiles.set(slot, tile);
+        return tile.values;
+    }
+
+    private float[] decode(final int tileRow, final int tileColumn) {
+        float[] values = new float[TILE_SPAN * TILE_SPAN];
+        int firstRow = tileRow * TILE_SIZE - 1;
+        int firstColumn = tileColumn * TILE_SIZE - 1;
+        int index = 0;
+        for (int r = 0; r < TILE_SPAN; r++) {
+            int row = Math.min(Math.max(firstRow + r, 0), rows - 1);
+            for (int c = 0; c < TILE_SPAN; c++) {
+                int column = firstColumn + c;
+                if (column < 0)
+                    column += columns;
+                else if (column >= columns)
+                    column -= columns;
+                values[index++] = (float) grid.sample(row, column);
+            }
+        }
+        return values;
+    }
+
+    public GeoidGrid getGrid() {
+        return grid;
+    }
+
+    public Interpolation getInterpolation() {
+        return interpolation;
+    }
+
+    @Override
+    public void close() throws IOException {
+        grid.close();
+    }
+
+    @Override
+    public String toString() {
+        return new ToStringBuilder(this)
+                .append("grid", grid)
+                .append("interpolation", interpolation)
+                .append("cacheTiles", tiles.length())
+                .toString();
+    }
+
+    private static final class Tile {
+        private final int key;
+        private final float[] values;
+
+        private Tile(int key, float[] values) {
+            this.key = key;
+            this.values = values;
+        }
+    }
+}
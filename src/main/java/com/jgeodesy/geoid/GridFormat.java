@@ -0,0 +1,203 @@
+package com.jgeodesy.geoid;
+
+import org.apache.commons.lang3.builder.ToStringBuilder;
+
+import java.nio.ByteOrder;
+
+/**
+ * Binary layout of a geoid undulation grid file.
+ * Rows run from north to south, columns run eastwards from the west longitude and wrap around the globe.
+ */
+public class GridFormat {
+
+    /**
+     * Storage type of a single grid sample
+     */
+    public enum SampleType {
+        INT16(2),
+        FLOAT32(4);
+
+        private final int bytes;
+
+        SampleType(int bytes) {
+            this.bytes = bytes;
+        }
+
+        public int getBytes() {
+            return bytes;
+        }
+    }
+
+    /**
+     * Number of grid rows (north to south)
+     */
+    private final int rows;
+    /**
+     * Number of grid columns (west to east)
+     */
+    private final int columns;
+    /**
+     * Latitude of the first row, (degree)
+     */
+    private final double northLatitude;
+    /**
+     * Longitude of the first column, (degree)
+     */
+    private final double westLongitude;
+    /**
+     * Grid spacing in both directions, (degree)
+     */
+    private final double spacing;
+    /**
+     * Sample storage type
+     */
+    private final SampleType sampleType;
+    /**
+     * Byte order of samples
+     */
+    private final ByteOrder byteOrder;
+    /**
+     * Multiplier converting a stored sample to metres
+     */
+    private final double scale;
+    /**
+     * Bytes to skip at the start of the file
+     */
+    private final int headerBytes;
+    /**
+     * Bytes preceding each row (e.g. Fortran record markers)
+     */
+    private final int rowPrefixBytes;
+    /**
+     * Bytes following each row (e.g. Fortran record markers)
+     */
+    private final int rowSuffixBytes;
+
+    /**
+     * @param rows           number of rows
+     * @param columns        number of columns
+     * @param northLatitude  latitude of the first row in degrees
+     * @param westLongitude  longitude of the first column in degrees
+     * @param spacing        grid spacing in degrees
+     * @param sampleType     sample storage type
+     * @param byteOrder      sample byte order
+     * @param scale          multiplier converting a stored sample to metres
+     * @param headerBytes    bytes to skip at the start of the file
+     * @param rowPrefixBytes bytes preceding each row
+     * @param rowSuffixBytes bytes following each row
+     */
+    public GridFormat(int rows, int columns, double northLatitude, double westLongitude, double spacing,
+                      SampleType sampleType, ByteOrder byteOrder, double scale,
+                      int headerBytes, int rowPrefixBytes, int rowSuffixBytes) {
+        if (rows < 2 || columns < 2)
+            throw new IllegalArgumentException("Grid must have at least 2 rows and 2 columns");
+        if (spacing <= 0.0)
+            throw new IllegalArgumentException("Grid spacing must be positive");
+        this.rows = rows;
+        this.columns = columns;
+        this.northLatitude = northLatitude;
+        this.westLongitude = westLongitude;
+        this.spacing = spacing;
+        this.sampleType = sampleType;
+        this.byteOrder = byteOrder;
+        this.scale = scale;
+        this.headerBytes = headerBytes;
+        this.rowPrefixBytes = rowPrefixBytes;
+        this.rowSuffixBytes = rowSuffixBytes;
+    }
+
+    /**
+     * NGA EGM96 15' grid (WW15MGH.DAC): 721 x 1440 big-endian 16-bit integers in centimetres.
+     * @return Grid format
+     */
+    public static GridFormat egm96() {
+        return new GridFormat(721, 1440, 90.0, 0.0, 0.25, SampleType.INT16, ByteOrder.BIG_ENDIAN, 0.01, 0, 0, 0);
+    }
+
+    /**
+     * NGA EGM2008 grid (Und_min{n}x{n}_egm2008_isw=82_WGS84_TideFree_SE): little-endian 32-bit floats in metres,
+     * each row wrapped by 4-byte Fortran record markers.
+     * @param spacingMinutes grid spacing in arc minutes (1.0 or 2.5)
+     * @return Grid format
+     */
+    public static GridFormat egm2008(double spacingMinutes) {
+        int rows = (int) Math.round(180.0 * 60.0 / spacingMinutes) + 1;
+        int columns = (int) Math.round(360.0 * 60.0 / spacingMinutes);
+        return new GridFormat(rows, columns, 90.0, 0.0, spacingMinutes / 60.0, SampleType.FLOAT32,
+                ByteOrder.LITTLE_ENDIAN, 1.0, 0, 4, 4);
+    }
+
+    /**
+     * Size of a stored row including record markers, in bytes
+     * @return Row stride
+     */
+    public long getRowStride() {
+        return (long) rowPrefixBytes + (long) columns * sampleType.getBytes() + rowSuffixBytes;
+    }
+
+    /**
+     * Expected file size, in bytes
+     * @return File size
+     */
+    public long getFileSize() {
+        return headerBytes + rows * getRowStride();
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public int getColumns() {
+        return columns;
+    }
+
+    public double getNorthLatitude() {
+        return northLatitude;
+    }
+
+    public double getWestLongitude() {
+        return westLongitude;
+    }
+
+    public double getSpacing() {
+        return spacing;
+    }
+
+    public SampleType getSampleType() {
+        return sampleType;
+    }
+
+    public ByteOrder getByteOrder() {
+        return byteOrder;
+    }
+
+    public double getScale() {
+        return scale;
+    }
+
+    public int getHeaderBytes() {
+        return headerBytes;
+    }
+
+    public int getRowPrefixBytes() {
+        return rowPrefixBytes;
+    }
+
+    public int getRowSuffixBytes() {
+        return rowSuffixBytes;
+    }
+
+    @Override
+    public String toString() {
+        return new ToStringBuilder(this)
+                .append("rows", rows)
+                .append("columns", columns)
+                .append("northLatitude", northLatitude)
+                .append("westLongitude", westLongitude)
+                .append("spacing", spacing)
+                .append("sampleType", sampleType)
+                .append("byteOrder", byteOrder)
+                .append("scale", scale)
+                .toString();
+    }
+}
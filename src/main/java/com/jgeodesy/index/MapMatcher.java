@@ -0,0 +1,213 @@
+package com.jgeodesy.index;
+
+import com.jgeodesy.util.SphericalMath;
+import org.apache.commons.lang3.builder.ToStringBuilder;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Streaming hidden Markov model map matcher in the manner of Newson and Krumm: the candidates of a fix are the
+ * indexed segments within the search distance, scored by a Gaussian of the distance to the segment, and the
+ * transition between candidates of consecutive fixes is scored by an exponential of the difference between the
+ * great circle distance of the fixes and the travel distance between the candidates. Without a road graph the
+ * travel distance comes from {@link SegmentIndex}: along the polyline, or through the polyline ends when the
+ * candidates lie on different polylines, which suits networks split into polylines at junctions.
+ * <p>
+ * Decoding is Viterbi with a fixed lag: a fix is emitted once {@code lag} newer fixes have been added, taking the
+ * state on the currently best path, so memory per trace is bounded by lag times the candidate limit. A fix with
+ * no candidate is emitted unmatched and restarts the chain. Call {@link #flush()} at the end of a trace.
+ * Not thread-safe.
+ */
+public class MapMatcher {
+
+    /**
+     * Default search distance in metres
+     */
+    public static final double DEFAULT_SEARCH_DISTANCE = 50.0;
+    /**
+     * Default GPS noise standard deviation in metres
+     */
+    public static final double DEFAULT_SIGMA = 4.07;
+    /**
+     * Default transition scale in metres
+     */
+    public static final double DEFAULT_BETA = 5.0;
+    public static final int DEFAULT_MAX_CANDIDATES = 8;
+    public static final int DEFAULT_LAG = 10;
+
+    private static final Comparator<SegmentMatch> BY_DISTANCE = new Comparator<SegmentMatch>() {
+        @Override
+        public int compare(SegmentMatch m1, SegmentMatch m2) {
+            return Double.compare(m1.getDistance(), m2.getDistance());
+        }
+    };
+
+    private final SegmentIndex index;
+    private final double radius;
+    private final double searchDistance;
+    private final double sigma;
+    private final double beta;
+    private final int maxCandidates;
+    private final int lag;
+    private final MatchSink sink;
+
+    private final List<Step> window = new ArrayList<>();
+    private final List<SegmentMatch> found = new ArrayList<>();
+    private int next;
+
+    /**
+     * Creates a matcher with the defaults, for distances in metres
+     * @param index  road segments
+     * @param radius radius of earth in metres
+     * @param sink   receives the matched fixes
+     */
+    public MapMatcher(final SegmentIndex index, final double radius, final MatchSink sink) {
+        this(index, radius, DEFAULT_SEARCH_DISTANCE, DEFAULT_SIGMA, DEFAULT_BETA, DEFAULT_MAX_CANDIDATES, DEFAULT_LAG, sink);
+    }
+
+    /**
+     * @param index          road segments
+     * @param radius         radius of earth
+     * @param searchDistance distance within which segments are candidates
+     * @param sigma          standard deviation of the fix error
+     * @param beta           scale of the transition distance difference
+     * @param maxCandidates  maximum candidates kept per fix, nearest first
+     * @param lag            number of newer fixes seen before a fix is emitted
+     * @param sink           receives the matched fixes
+     */
+    public MapMatcher(final SegmentIndex index, final double radius, final double searchDistance, final double sigma,
+                      final double beta, final int maxCandidates, final int lag, final MatchSink sink) {
+        if (!(sigma > 0.0) || !(beta > 0.0) || maxCandidates < 1 || lag < 0)
+            throw new IllegalArgumentException("Invalid matcher parameters: sigma " + sigma + ", beta " + beta
+                    + ", candidates " + maxCandidates + ", lag " + lag);
+        this.index = index;
+        this.radius = radius;
+        this.searchDistance = searchDistance;
+        this.sigma = sigma;
+        this.beta = beta;
+        this.maxCandidates = maxCandidates;
+        this.lag = lag;
+        this.sink = sink;
+    }
+
+    /**
+     * Adds the next fix of the trace
+     * @param latitude  latitude in degrees
+     * @param longitude longitude in degrees
+     */
+    public void add(final double latitude, final double longitude) {
+        int fix = next++;
+        found.clear();
+        index.within(latitude, longitude, searchDistance, radius, found);
+        if (found.isEmpty()) {
+            flush();
+            sink.accept(fix, latitude, longitude, null);
+            return;
+        }
+        Collections.sort(found, BY_DISTANCE);
+        int count = Math.min(found.size(), maxCandidates);
+        Step step = new Step(fix, latitude, longitude, found.subList(0, count).toArray(new SegmentMatch[count]));
+
+        Step previous = window.isEmpty() ? null : window.get(window.size() - 1);
+        double fixDistance = previous == null ? 0.0 : radius * SphericalMath.angularDistance(
+                Math.toRadians(previous.latitude), Math.toRadians(previous.longitude),
+                Math.toRadians(latitude), Math.toRadians(longitude));
+        double max = Double.NEGATIVE_INFINITY;
+        for (int j = 0; j < count; j++) {
+            SegmentMatch candidate = step.candidates[j];
+            double normalised = candidate.getDistance() / sigma;
+            double score = -0.5 * normalised * normalised;
+            if (previous != null) {
+                double best = Double.NEGATIVE_INFINITY;
+                for (int i = 0; i < previous.candidates.length; i++) {
+                    double transition = -Math.abs(fixDistance - index.route(previous.candidates[i], candidate, radius)) / beta;
+                    double total = previous.scores[i] + transition;
+                    if (total > best) {
+                        best = total;
+                        step.parents[j] = i;
+                    }
+                }
+                score += best;
+            }
+            step.scores[j] = score;
+            max = Math.max(max, score);
+        }
+        for (int j = 0; j < count; j++)
+            step.scores[j] -= max;
+
+        window.add(step);
+        if (window.size() > lag) {
+            int state = best(step);
+            for (int s = window.size() - 1; s > 0; s--)
+                state = window.get(s).parents[state];
+            emit(window.remove(0), state);
+        }
+    }
+
+    /**
+     * Emits all pending fixes along the best path; the next fix starts a new chain
+     */
+    public void flush() {
+        if (window.isEmpty())
+            return;
+        int[] states = new int[window.size()];
+        int state = best(window.get(window.size() - 1));
+        for (int s = window.size() - 1; s >= 0; s--) {
+            states[s] = state;
+            state = window.get(s).parents[state];
+        }
+        for (int s = 0; s < states.length; s++)
+            emit(window.get(s), states[s]);
+        window.clear();
+    }
+
+    private void emit(final Step step, final int state) {
+        sink.accept(step.index, step.latitude, step.longitude, step.candidates[state]);
+    }
+
+    private static int best(final Step step) {
+        int best = 0;
+        for (int j = 1; j < step.scores.length; j++) {
+            if (step.scores[j] > step.scores[best])
+                best = j;
+        }
+        return best;
+    }
+
+    @Override
+    public String toString() {
+        return new ToStringBuilder(this)
+                .append("searchDistance", searchDistance)
+                .append("sigma", sigma)
+                .append("beta", beta)
+                .append("maxCandidates", maxCandidates)
+                .append("lag", lag)
+                .append("pending", window.size())
+                .toString();
+    }
+
+    /**
+     * Candidates of one fix with their best log scores and the best previous candidate of each
+     */
+    private static final class Step {
+
+        private final int index;
+        private final double latitude;
+        private final double longitude;
+        private final SegmentMatch[] candidates;
+        private final double[] scores;
+        private final int[] parents;
+
+        Step(int index, double latitude, double longitude, SegmentMatch[] candidates) {
+            this.index = index;
+            this.latitude = latitude;
+            this.longitude = longitude;
+            this.candidates = candidates;
+            this.scores = new double[candidates.length];
+            this.parents = new int[candidates.length];
+        }
+    }
+}
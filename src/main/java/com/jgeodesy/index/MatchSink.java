@@ -0,0 +1,16 @@
+package com.jgeodesy.index;
+
+/**
+ * Receives the output of a {@link MapMatcher} in input order
+ */
+public interface MatchSink {
+
+    /**
+     * Accepts one matched fix
+     * @param index     zero-based position of the fix in the trace
+     * @param latitude  latitude of the fix in degrees
+     * @param longitude longitude of the fix in degrees
+     * @param match     segment the fix was matched to, null when no segment was in range
+     */
+    void accept(int index, double latitude, double longitude, SegmentMatch match);
+}
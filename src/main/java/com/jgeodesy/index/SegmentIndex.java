@@ -0,0 +1,529 @@
+package com.jgeodesy.index;
+
+import com.jgeodesy.util.LatLonGrid;
+import com.jgeodesy.util.SphericalMath;
+import org.apache.commons.lang3.builder.ToStringBuilder;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Immutable spatial index of great circle polyline segments for nearest segment queries, such as snapping GPS
+ * fixes to a road network.
+ * <p>
+ * Vertices are stored as unit vectors (n-vectors), and candidates are ranked by squared chord length, so testing
+ * a segment takes a few dot and cross products and one square root; exact distances are only computed for the
+ * results. Segments are registered in every cell of a
+ * uniform latitude/longitude grid overlapped by their bounding box, widened to include the latitude extreme
+ * where the great circle bulges poleward, and handled across the antimeridian. A query scans rings of cells
+ * around the point and stops once no unscanned cell can be closer than the best segment found, so its cost
+ * depends on the local density rather than on the number of segments. The grid is held in flat arrays sorted by
+ * cell: about 24 bytes per vertex plus 16 bytes per segment and 4 bytes per cell entry.
+ * <p>
+ * Choose a cell size near the typical query distance; for roads 0.005 to 0.02 degree works well. Queries are
+ * thread-safe.
+ */
+public final class SegmentIndex {
+
+    private final LatLonGrid grid;
+
+    private final double[] vertices;
+    private final int[] segmentStarts;
+    private final int[] segmentPolylines;
+    private final double[] segmentOffsets;
+    private final long[] polylineIds;
+    private final int[] polylineStarts;
+    private final double[] polylineLengths;
+
+    private final long[] cellKeys;
+    private final int[] cellStarts;
+    private final int[] cellSegments;
+
+    private SegmentIndex(Builder builder, long[] cellKeys, int[] cellStarts, int[] cellSegments) {
+        this.grid = builder.grid;
+        this.vertices = Arrays.copyOf(builder.vertices, builder.vertexCount * 3);
+        this.segmentStarts = Arrays.copyOf(builder.segmentStarts, builder.segmentCount);
+        this.segmentPolylines = Arrays.copyOf(builder.segmentPolylines, builder.segmentCount);
+        this.segmentOffsets = Arrays.copyOf(builder.segmentOffsets, builder.segmentCount);
+        this.polylineIds = Arrays.copyOf(builder.polylineIds, builder.polylineCount);
+        this.polylineStarts = Arrays.copyOf(builder.polylineStarts, builder.polylineCount + 1);
+        this.polylineLengths = Arrays.copyOf(builder.polylineLengths, builder.polylineCount);
+        this.cellKeys = cellKeys;
+        this.cellStarts = cellStarts;
+        this.cellSegments = cellSegments;
+    }
+
+    /**
+     * Finds the segment closest to a point
+     * @param latitude    latitude of the point in degrees
+     * @param longitude   longitude of the point in degrees
+     * @param maxDistance search limit, in the units of radius
+     * @param radius      radius of earth
+     * @return Nearest segment, null when none is within the limit
+     */
+    public SegmentMatch nearest(final double latitude, final double longitude, final double maxDistance,
+                                final double radius) {
+        double[] p = new double[3];
+        SphericalMath.toVector(latitude, longitude, p, 0);
+        double px = p[0];
+        double py = p[1];
+        double pz = p[2];
+
+        double best = chordOf(maxDistance / radius);
+        int bestSegment = -1;
+        int row = grid.row(latitude);
+        int column = grid.column(longitude);
+        for (int k = 0; ; k++) {
+            int columnReach = Math.min(k, grid.getColumns() / 2);
+            for (int dy = -k; dy <= k; dy++) {
+                int r = row + dy;
+                if (r < 0 || r >= grid.getRows())
+                    continue;
+                boolean edgeRow = dy == -k || dy == k;
+                for (int dx = -columnReach; dx <= columnReach; dx++) {
+                    if (!edgeRow && dx != -k && dx != k)
+                        continue;
+                    int cell = find(r, column + dx);
+                    if (cell < 0)
+                        continue;
+                    for (int i = cellStarts[cell], end = cellStarts[cell + 1]; i < end; i++) {
+                        int segment = cellSegments[i];
+                        double chord = chord(segment, px, py, pz);
+                        if (chord < best || chord == best && bestSegment < 0) {
+                            best = chord;
+                            bestSegment = segment;
+                        }
+                    }
+                }
+            }
+            double bound = lowerBound(latitude, longitude, row, column, k);
+            if (bound == Double.POSITIVE_INFINITY || chordOf(bound) > best)
+                break;
+        }
+        return bestSegment < 0 ? null : match(bestSegment, px, py, pz, radius);
+    }
+
+    /**
+     * Finds all segments within a distance of a point
+     * @param latitude    latitude of the point in degrees
+     * @param longitude   longitude of the point in degrees
+     * @param maxDistance search distance, in the units of radius
+     * @param radius      radius of earth
+     * @param result      receives the matches, in no particular order
+     * @return Number of matches added
+     */
+    public int within(final double latitude, final double longitude, final double maxDistance, final double radius,
+                      final List<SegmentMatch> result) {
+        double[] p = new double[3];
+        SphericalMath.toVector(latitude, longitude, p, 0);
+        double px = p[0];
+        double py = p[1];
+        double pz = p[2];
+
+        double maxAngle = maxDistance / radius;
+        double maxChord = chordOf(maxAngle);
+        Set<Integer> seen = new HashSet<>();
+        int row = grid.row(latitude);
+        int column = grid.column(longitude);
+        int added = 0;
+        for (int k = 0; ; k++) {
+            int columnReach = Math.min(k, grid.getColumns() / 2);
+            for (int dy = -k; dy <= k; dy++) {
+                int r = row + dy;
+                if (r < 0 || r >= grid.getRows())
+                    continue;
+                boolean edgeRow = dy == -k || dy == k;
+                for (int dx = -columnReach; dx <= columnReach; dx++) {
+                    if (!edgeRow && dx != -k && dx != k)
+                        continue;
+                    int cell = find(r, column + dx);
+                    if (cell < 0)
+                        continue;
+                    for (int i = cellStarts[cell], end = cellStarts[cell + 1]; i < end; i++) {
+                        int segment = cellSegments[i];
+                        if (chord(segment, px, py, pz) <= maxChord && seen.add(segment)) {
+                            result.add(match(segment, px, py, pz, radius));
+                            added++;
+                        }
+                    }
+                }
+            }
+            double bound = lowerBound(latitude, longitude, row, column, k);
+            if (bound > maxAngle || bound == Double.POSITIVE_INFINITY)
+                break;
+        }
+        return added;
+    }
+
+    public int getSegmentCount() {
+        return segmentStarts.length;
+    }
+
+    public int getPolylineCount() {
+        return polylineIds.length;
+    }
+
+    /**
+     * @param segment index of the segment
+     * @return Id of the polyline the segment belongs to
+     */
+    public long getPolylineId(final int segment) {
+        return polylineIds[segmentPolylines[segment]];
+    }
+
+    /**
+     * @param segment index of the segment
+     * @param radius  radius of earth
+     * @return Length of the segment in the units of radius
+     */
+    public double getSegmentLength(final int segment, final double radius) {
+        return segmentAngle(segmentStarts[segment]) * radius;
+    }
+
+    /**
+     * Travel distance between two matches without a road graph: along the polyline when both are on the same one,
+     * otherwise along each polyline to one of its ends plus the great circle between those ends, taking the
+     * shortest combination. Polylines that meet end to end, as road networks split at junctions do, are thereby
+     * connected, while a jump between parallel roads costs the detour to their ends.
+     * @param from   earlier match
+     * @param to     later match
+     * @param radius radius of earth
+     * @return Distance in the units of radius
+     */
+    double route(final SegmentMatch from, final SegmentMatch to, final double radius) {
+        int fromPolyline = segmentPolylines[from.getSegment()];
+        int toPolyline = segmentPolylines[to.getSegment()];
+        double fromAlong = from.getPolylineDistance() / radius;
+        double toAlong = to.getPolylineDistance() / radius;
+        if (fromPolyline == toPolyline)
+            return Math.abs(toAlong - fromAlong) * radius;
+
+        double best = Double.POSITIVE_INFINITY;
+        for (int fromEnd = 0; fromEnd < 2; fromEnd++) {
+            int a = (fromEnd == 0 ? polylineStarts[fromPolyline] : polylineStarts[fromPolyline + 1] - 1) * 3;
+            double toFromEnd = fromEnd == 0 ? fromAlong : polylineLengths[fromPolyline] - fromAlong;
+            for (int toEnd = 0; toEnd < 2; toEnd++) {
+                int b = (toEnd == 0 ? polylineStarts[toPolyline] : polylineStarts[toPolyline + 1] - 1) * 3;
+                double fromToEnd = toEnd == 0 ? toAlong : polylineLengths[toPolyline] - toAlong;
+                double gap = between(vertices[a], vertices[a + 1], vertices[a + 2], vertices[b], vertices[b + 1], vertices[b + 2]);
+                best = Math.min(best, toFromEnd + gap + fromToEnd);
+            }
+        }
+        return best * radius;
+    }
+
+    /**
+     * Squared chord length from a unit vector to the nearest point of a segment, which orders like the distance
+     */
+    private double chord(final int segment, final double px, final double py, final double pz) {
+        double[] v = vertices;
+        int a = segmentStarts[segment] * 3;
+        int b = a + 3;
+        double ax = v[a], ay = v[a + 1], az = v[a + 2];
+        double bx = v[b], by = v[b + 1], bz = v[b + 2];
+
+        double cx = ay * bz - az * by;
+        double cy = az * bx - ax * bz;
+        double cz = ax * by - ay * bx;
+        return SphericalMath.segmentChordSquared(px, py, pz, ax, ay, az, bx, by, bz, cx, cy, cz,
+                cx * cx + cy * cy + cz * cz);
+    }
+
+    /**
+     * Squared chord length of an angular distance, capped at the diameter
+     */
+    private static double chordOf(final double angle) {
+        if (angle >= Math.PI)
+            return 4.0;
+        double half = 2.0 * Math.sin(angle * 0.5);
+        return half * half;
+    }
+
+    private SegmentMatch match(final int segment, final double px, final double py, final double pz, final double radius) {
+        double[] v = vertices;
+        int a = segmentStarts[segment] * 3;
+        int b = a + 3;
+        double ax = v[a], ay = v[a + 1], az = v[a + 2];
+        double bx = v[b], by = v[b + 1], bz = v[b + 2];
+
+        double cx = ay * bz - az * by;
+        double cy = az * bx - ax * bz;
+        double cz = ax * by - ay * bx;
+        double sinLength = Math.sqrt(cx * cx + cy * cy + cz * cz);
+        double length = Math.atan2(sinLength, ax * bx + ay * by + az * bz);
+        double crossTrack = 0.0;
+        double along = 0.0;
+        if (sinLength > 1e-15) {
+            cx /= sinLength;
+            cy /= sinLength;
+            cz /= sinLength;
+            double tx = cy * az - cz * ay;
+            double ty = cz * ax - cx * az;
+            double tz = cx * ay - cy * ax;
+            double sinCrossTrack = Math.max(-1.0, Math.min(1.0, px * cx + py * cy + pz * cz));
+            crossTrack = -Math.asin(sinCrossTrack);
+            along = Math.atan2(px * tx + py * ty + pz * tz, px * ax + py * ay + pz * az);
+        }
+
+        double qx, qy, qz, distance;
+        if (sinLength > 1e-15 && along >= 0.0 && along <= length) {
+            double s = px * cx + py * cy + pz * cz;
+            qx = px - s * cx;
+            qy = py - s * cy;
+            qz = pz - s * cz;
+            distance = Math.abs(crossTrack);
+        } else {
+            double toA = between(px, py, pz, ax, ay, az);
+            double toB = between(px, py, pz, bx, by, bz);
+            boolean start = toA <= toB;
+            qx = start ? ax : bx;
+            qy = start ? ay : by;
+            qz = start ? az : bz;
+            along = start ? 0.0 : length;
+            distance = Math.min(toA, toB);
+        }
+        double latitude = Math.toDegrees(Math.atan2(qz, Math.sqrt(qx * qx + qy * qy)));
+        double longitude = Math.toDegrees(Math.atan2(qy, qx));
+        return new SegmentMatch(segment, polylineIds[segmentPolylines[segment]], distance * radius, crossTrack * radius,
+                along * radius, (segmentOffsets[segment] + along) * radius, latitude, longitude);
+    }
+
+    private double segmentAngle(final int start) {
+        double[] v = vertices;
+        int a = start * 3;
+        int b = a + 3;
+        return between(v[a], v[a + 1], v[a + 2], v[b], v[b + 1], v[b + 2]);
+    }
+
+    private static double between(double ax, double ay, double az, double bx, double by, double bz) {
+        double cx = ay * bz - az * by;
+        double cy = az * bx - ax * bz;
+        double cz = ax * by - ay * bx;
+        return Math.atan2(Math.sqrt(cx * cx + cy * cy + cz * cz), ax * bx + ay * by + az * bz);
+    }
+
+    /**
+     * Smallest angular distance from the point to any cell outside the block of ring k
+     */
+    private double lowerBound(final double latitude, final double longitude, final int row, final int column, final int k) {
+        double bound = Double.POSITIVE_INFINITY;
+        if (row - k > 0)
+            bound = Math.min(bound, Math.toRadians(latitude - grid.rowLatitude(row - k)));
+        if (row + k < grid.getRows() - 1)
+            bound = Math.min(bound, Math.toRadians(grid.rowLatitude(row + k + 1) - latitude));
+        if (k < grid.getColumns() / 2) {
+            double gap = Math.min(longitude - grid.columnLongitude(column - k),
+                    grid.columnLongitude(column + k + 1) - longitude);
+            double cosPhi = Math.cos(Math.toRadians(latitude));
+            bound = Math.min(bound, Math.asin(cosPhi * Math.sin(Math.toRadians(Math.min(gap, 90.0)))));
+        }
+        return Math.max(bound, 0.0);
+    }
+
+    private int find(final int row, final int column) {
+        int cell = Arrays.binarySearch(cellKeys, grid.key(row, column));
+        return cell < 0 ? -1 : cell;
+    }
+
+    @Override
+    public String toString() {
+        return new ToStringBuilder(this)
+                .append("cellSize", grid.getCellSize())
+                .append("segments", segmentStarts.length)
+                .append("polylines", polylineIds.length)
+                .append("cells", cellKeys.length)
+                .append("cellEntries", cellSegments.length)
+                .toString();
+    }
+
+    /**
+     * Collects polylines and builds the index
+     */
+    public static final class Builder {
+
+        private final LatLonGrid grid;
+
+        private double[] vertices = new double[3 * 64];
+        private double[] latitudes = new double[64];
+        private double[] longitudes = new double[64];
+        private int vertexCount;
+        private int[] segmentStarts = new int[64];
+        private int[] segmentPolylines = new int[64];
+        private double[] segmentOffsets = new double[64];
+        private int segmentCount;
+        private long[] polylineIds = new long[16];
+        private int[] polylineStarts = new int[17];
+        private double[] polylineLengths = new double[16];
+        private int polylineCount;
+
+        /**
+         * @param cellSize grid cell size in degrees, from {@link LatLonGrid#MIN_CELL_SIZE} to 90
+         */
+        public Builder(final double cellSize) {
+            this.grid = new LatLonGrid(cellSize);
+        }
+
+        /**
+         * Adds a polyline; consecutive vertices form its segments
+         * @param id         polyline id reported in matches
+         * @param latitudes  vertex latitudes in degrees
+         * @param longitudes vertex longitudes in degrees
+         * @param count      number of vertices, at least 2
+         * @return This builder
+         */
+        public Builder addPolyline(final long id, final double[] latitudes, final double[] longitudes, final int count) {
+            if (count < 2)
+                throw new IllegalArgumentException("A polyline needs at least 2 vertices: " + count);
+            if (polylineCount == polylineIds.length) {
+                polylineIds = Arrays.copyOf(polylineIds, polylineCount * 2);
+                polylineStarts = Arrays.copyOf(polylineStarts, polylineCount * 2 + 1);
+                polylineLengths = Arrays.copyOf(polylineLengths, polylineCount * 2);
+            }
+            int polyline = polylineCount++;
+            polylineIds[polyline] = id;
+            polylineStarts[polyline] = vertexCount;
+
+            ensureVertices(vertexCount + count);
+            ensureSegments(segmentCount + count - 1);
+            double offset = 0.0;
+            for (int i = 0; i < count; i++) {
+                int vertex = vertexCount++;
+                SphericalMath.toVector(latitudes[i], longitudes[i], vertices, vertex * 3);
+                this.latitudes[vertex] = latitudes[i];
+                this.longitudes[vertex] = longitudes[i];
+                if (i > 0) {
+                    int segment = segmentCount++;
+                    segmentStarts[segment] = vertex - 1;
+                    segmentPolylines[segment] = polyline;
+                    segmentOffsets[segment] = offset;
+                    int a = (vertex - 1) * 3;
+                    int b = vertex * 3;
+                    offset += between(vertices[a], vertices[a + 1], vertices[a + 2],
+                            vertices[b], vertices[b + 1], vertices[b + 2]);
+                }
+            }
+            polylineLengths[polyline] = offset;
+            polylineStarts[polylineCount] = vertexCount;
+            return this;
+        }
+
+        /**
+         * @return New index of the polylines added so far
+         */
+        public SegmentIndex build() {
+            int segmentBits = 64 - Long.numberOfLeadingZeros(Math.max(segmentCount, 1));
+            int cellBits = 64 - Long.numberOfLeadingZeros(grid.getCells());
+            if (segmentBits + cellBits > 63)
+                throw new IllegalArgumentException("Cell size " + grid.getCellSize() + " too small for " + segmentCount
+                        + " segments");
+
+            long[] entries = new long[Math.max(segmentCount * 2, 16)];
+            int entryCount = 0;
+            int[] range = new int[4];
+            for (int segment = 0; segment < segmentCount; segment++) {
+                cellRange(segment, range);
+                for (int row = range[0]; row <= range[1]; row++) {
+                    for (int column = range[2]; column <= range[3]; column++) {
+                        if (entryCount == entries.length)
+                            entries = Arrays.copyOf(entries, entryCount * 2);
+                        entries[entryCount++] = grid.key(row, column) << segmentBits | segment;
+                    }
+                }
+            }
+            Arrays.sort(entries, 0, entryCount);
+
+            long segmentMask = (1L << segmentBits) - 1;
+            int cellCount = 0;
+            for (int i = 0; i < entryCount; i++) {
+                if (i == 0 || entries[i] >>> segmentBits != entries[i - 1] >>> segmentBits)
+                    cellCount++;
+            }
+            long[] cellKeys = new long[cellCount];
+            int[] cellStarts = new int[cellCount + 1];
+            int[] cellSegments = new int[entryCount];
+            int cell = -1;
+            for (int i = 0; i < entryCount; i++) {
+                long key = entries[i] >>> segmentBits;
+                if (cell < 0 || key != cellKeys[cell]) {
+                    cellKeys[++cell] = key;
+                    cellStarts[cell] = i;
+                }
+                cellSegments[i] = (int) (entries[i] & segmentMask);
+            }
+            cellStarts[cellCount] = entryCount;
+            return new SegmentIndex(this, cellKeys, cellStarts, cellSegments);
+        }
+
+        /**
+         * Grid rows and unwrapped columns covered by a segment's bounding box
+         */
+        private void cellRange(final int segment, final int[] range) {
+            int a = segmentStarts[segment];
+            int b = a + 1;
+            double latitude1 = latitudes[a];
+            double latitude2 = latitudes[b];
+            double minLatitude = Math.min(latitude1, latitude2);
+            double maxLatitude = Math.max(latitude1, latitude2);
+
+            // Latitude extremes of the great circle, where it bulges beyond the endpoints
+            double ax = vertices[a * 3], ay = vertices[a * 3 + 1], az = vertices[a * 3 + 2];
+            double bx = vertices[b * 3], by = vertices[b * 3 + 1], bz = vertices[b * 3 + 2];
+            double cx = ay * bz - az * by;
+            double cy = az * bx - ax * bz;
+            double cz = ax * by - ay * bx;
+            double sinLength = Math.sqrt(cx * cx + cy * cy + cz * cz);
+            if (sinLength > 1e-15) {
+                double horizontal = Math.sqrt(cx * cx + cy * cy);
+                if (horizontal > 1e-15) {
+                    // Northernmost point of the great circle: the projection of the pole onto its plane
+                    double vx = -cz * cx / horizontal / sinLength;
+                    double vy = -cz * cy / horizontal / sinLength;
+                    double vz = horizontal / sinLength;
+                    double vertexLatitude = Math.toDegrees(Math.atan2(vz, Math.sqrt(vx * vx + vy * vy)));
+                    double length = Math.atan2(sinLength, ax * bx + ay * by + az * bz);
+                    if (between(ax, ay, az, vx, vy, vz) + between(vx, vy, vz, bx, by, bz) <= length + 1e-12)
+                        maxLatitude = Math.max(maxLatitude, vertexLatitude);
+                    if (between(ax, ay, az, -vx, -vy, -vz) + between(-vx, -vy, -vz, bx, by, bz) <= length + 1e-12)
+                        minLatitude = Math.min(minLatitude, -vertexLatitude);
+                }
+            }
+
+            range[0] = grid.row(minLatitude);
+            range[1] = grid.row(maxLatitude);
+            double longitude1 = longitudes[a];
+            double delta = longitudes[b] - longitude1;
+            delta -= 360.0 * Math.floor((delta + 180.0) / 360.0);
+            double cellSize = grid.getCellSize();
+            if (maxLatitude >= 90.0 - cellSize || minLatitude <= cellSize - 90.0) {
+                // Close to a pole the segment may sweep any longitude
+                range[2] = 0;
+                range[3] = grid.getColumns() - 1;
+            } else {
+                range[2] = grid.unwrappedColumn(Math.min(longitude1, longitude1 + delta));
+                range[3] = grid.unwrappedColumn(Math.max(longitude1, longitude1 + delta));
+                if (range[3] - range[2] >= grid.getColumns())
+                    range[3] = range[2] + grid.getColumns() - 1;
+            }
+        }
+
+        private void ensureVertices(final int capacity) {
+            if (capacity > latitudes.length) {
+                int size = Math.max(capacity, latitudes.length * 2);
+                vertices = Arrays.copyOf(vertices, size * 3);
+                latitudes = Arrays.copyOf(latitudes, size);
+                longitudes = Arrays.copyOf(longitudes, size);
+            }
+        }
+
+        private void ensureSegments(final int capacity) {
+            if (capacity > segmentStarts.length) {
+                int size = Math.max(capacity, segmentStarts.length * 2);
+                segmentStarts = Arrays.copyOf(segmentStarts, size);
+                segmentPolylines = Arrays.copyOf(segmentPolylines, size);
+                segmentOffsets = Arrays.copyOf(segmentOffsets, size);
+            }
+        }
+    }
+}
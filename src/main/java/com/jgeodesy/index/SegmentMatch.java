@@ -0,0 +1,102 @@
+package com.jgeodesy.index;
+
+import org.apache.commons.lang3.builder.ToStringBuilder;
+
+/**
+ * Position of a point relative to an indexed polyline segment. Distances are in the units of the radius given
+ * to the query.
+ */
+public final class SegmentMatch {
+
+    private final int segment;
+    private final long polylineId;
+    private final double distance;
+    private final double crossTrackDistance;
+    private final double alongTrackDistance;
+    private final double polylineDistance;
+    private final double latitude;
+    private final double longitude;
+
+    SegmentMatch(int segment, long polylineId, double distance, double crossTrackDistance, double alongTrackDistance,
+                 double polylineDistance, double latitude, double longitude) {
+        this.segment = segment;
+        this.polylineId = polylineId;
+        this.distance = distance;
+        this.crossTrackDistance = crossTrackDistance;
+        this.alongTrackDistance = alongTrackDistance;
+        this.polylineDistance = polylineDistance;
+        this.latitude = latitude;
+        this.longitude = longitude;
+    }
+
+    /**
+     * @return Index of the segment in the {@link SegmentIndex}
+     */
+    public int getSegment() {
+        return segment;
+    }
+
+    /**
+     * @return Id of the polyline the segment belongs to
+     */
+    public long getPolylineId() {
+        return polylineId;
+    }
+
+    /**
+     * @return Distance from the point to the nearest point of the segment
+     */
+    public double getDistance() {
+        return distance;
+    }
+
+    /**
+     * @return Signed distance from the great circle of the segment, negative to the left of the direction of travel
+     * as in {@link com.jgeodesy.base.SphericalPoint#crossTrackDistanceTo}
+     */
+    public double getCrossTrackDistance() {
+        return crossTrackDistance;
+    }
+
+    /**
+     * @return Distance from the segment start to the nearest point of the segment, 0..segment length
+     */
+    public double getAlongTrackDistance() {
+        return alongTrackDistance;
+    }
+
+    /**
+     * @return Distance from the polyline start to the nearest point of the segment
+     */
+    public double getPolylineDistance() {
+        return polylineDistance;
+    }
+
+    /**
+     * @return Latitude of the nearest point of the segment in degrees
+     */
+    public double getLatitude() {
+        return latitude;
+    }
+
+    /**
+     * @return Longitude of the nearest point of the segment in degrees
+     */
+    public double getLongitude() {
+        return longitude;
+    }
+
+    @Override
+    public String toString() {
+        return new ToStringBuilder(this)
+                .append("segment", segment)
+                .append("polylineId", polylineId)
+                .append("distance", distance)
+                .append("crossTrackDistance", crossTrackDistance)
+                .append("alongTrackDistance", alongTrackDistance)
+                .append("polylineDistance", polylineDistance)
+                .append("latitude", latitude)
+                .append("longitude", longitude)
+                .toString();
+    }
+}
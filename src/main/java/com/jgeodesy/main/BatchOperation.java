@@ -0,0 +1,21 @@
+package com.jgeodesy.main;
+
+/**
+ * Per-point step of the batch command line pipeline. Implementations either update the coordinates of a chunk in
+ * place or fill the columns they append. One instance is shared by all worker threads, so implementations must
+ * be stateless or thread-safe.
+ */
+interface BatchOperation {
+
+    /**
+     * @return Names of the appended columns, empty when the operation only updates the coordinates
+     */
+    String[] getColumns();
+
+    /**
+     * Processes a chunk
+     * @param chunk  parsed points
+     * @param offset index in {@link PointChunk#getAppended()} of the first column of this operation
+     */
+    void apply(PointChunk chunk, int offset);
+}
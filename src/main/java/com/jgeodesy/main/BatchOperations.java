@@ -0,0 +1,157 @@
+package com.jgeodesy.main;
+
+import com.jgeodesy.base.EllipsoidalPoint;
+import com.jgeodesy.projection.TransverseMercator;
+import com.jgeodesy.shape.Datum;
+import com.jgeodesy.util.GeodesyUtil;
+import com.jgeodesy.util.SphericalMath;
+
+/**
+ * Parses the {@code --op} specifications of the batch command line:
+ * <ul>
+ *     <li>{@code datum:FROM:TO}: converts the coordinates, and heights if given, between registered datums</li>
+ *     <li>{@code distance:LAT:LON}: appends the great circle distance in metres to a reference point</li>
+ *     <li>{@code utm:ZONE}: appends easting and northing in a UTM zone such as {@code 31N} or {@code 56S}</li>
+ *     <li>{@code bng}: appends easting and northing on the British National Grid</li>
+ * </ul>
+ * Projections take the coordinates as they are at that step, so a datum conversion must come first when the input
+ * is not on the projection's datum.
+ */
+final class BatchOperations {
+
+    private BatchOperations() {
+    }
+
+    /**
+     * Parses an operation specification
+     * @param spec specification
+     * @return Operation
+     */
+    static BatchOperation parse(final String spec) {
+        String[] parts = spec.split(":");
+        switch (parts[0]) {
+            case "datum":
+                checkArguments(spec, parts, 2);
+                return new DatumConversion(datum(parts[1]), datum(parts[2]));
+            case "distance":
+                checkArguments(spec, parts, 2);
+                return new Distance(number(spec, parts[1]), number(spec, parts[2]));
+            case "utm":
+                checkArguments(spec, parts, 1);
+                return new Projection(utm(spec, parts[1]));
+            case "bng":
+                checkArguments(spec, parts, 0);
+                return new Projection(TransverseMercator.britishNationalGrid());
+            default:
+                throw new IllegalArgumentException("Unknown operation: " + spec);
+        }
+    }
+
+    private static void checkArguments(final String spec, final String[] parts, final int count) {
+        if (parts.length != count + 1)
+            throw new IllegalArgumentException("Operation " + spec + " expects " + count + " arguments");
+    }
+
+    private static Datum datum(final String name) {
+        Datum datum = Datum.getDatum(name);
+        if (datum == null)
+            throw new IllegalArgumentException("Unknown datum: " + name + ", known: " + Datum.getDatums().keySet());
+        return datum;
+    }
+
+    private static double number(final String spec, final String value) {
+        try {
+            return Double.parseDouble(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid number " + value + " in " + spec, e);
+        }
+    }
+
+    private static TransverseMercator utm(final String spec, final String zone) {
+        char hemisphere = zone.isEmpty() ? ' ' : Character.toUpperCase(zone.charAt(zone.length() - 1));
+        if (hemisphere != 'N' && hemisphere != 'S')
+            throw new IllegalArgumentException("UTM zone must end with N or S: " + spec);
+        int number;
+        try {
+            number = Integer.parseInt(zone.substring(0, zone.length() - 1));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid UTM zone in " + spec, e);
+        }
+        if (number < 1 || number > 60)
+            throw new IllegalArgumentException("UTM zone out of range 1..60: " + spec);
+        return TransverseMercator.utm(number, hemisphere == 'N');
+    }
+
+    private static final class DatumConversion implements BatchOperation {
+
+        private final Datum from;
+        private final Datum to;
+
+        DatumConversion(Datum from, Datum to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        public String[] getColumns() {
+            return new String[0];
+        }
+
+        @Override
+        public void apply(final PointChunk chunk, final int offset) {
+            EllipsoidalPoint.convertToDatum(from, to, chunk.getLatitudes(), chunk.getLongitudes(), chunk.getHeights(),
+                    chunk.size());
+            chunk.setCoordinatesChanged(true);
+        }
+    }
+
+    private static final class Distance implements BatchOperation {
+
+        private final double phi;
+        private final double cosPhi;
+        private final double lambda;
+
+        Distance(double latitude, double longitude) {
+            this.phi = Math.toRadians(latitude);
+            this.cosPhi = Math.cos(phi);
+            this.lambda = Math.toRadians(longitude);
+        }
+
+        @Override
+        public String[] getColumns() {
+            return new String[]{"distance"};
+        }
+
+        @Override
+        public void apply(final PointChunk chunk, final int offset) {
+            double[] latitudes = chunk.getLatitudes();
+            double[] longitudes = chunk.getLongitudes();
+            double[] distances = chunk.getAppended()[offset];
+            double radius = GeodesyUtil.getRadiusOfWorld();
+            for (int i = 0, n = chunk.size(); i < n; i++) {
+                distances[i] = radius * SphericalMath.angularDistance(phi, cosPhi, lambda,
+                        Math.toRadians(latitudes[i]), Math.toRadians(longitudes[i]));
+            }
+        }
+    }
+
+    private static final class Projection implements BatchOperation {
+
+        private final TransverseMercator projection;
+
+        Projection(TransverseMercator projection) {
+            this.projection = projection;
+        }
+
+        @Override
+        public String[] getColumns() {
+            return new String[]{"easting", "northing"};
+        }
+
+        @Override
+        public void apply(final PointChunk chunk, final int offset) {
+            projection.forward(chunk.getLatitudes(), chunk.getLongitudes(), chunk.getAppended()[offset],
+                    chunk.getAppended()[offset + 1], chunk.size());
+        }
+    }
+}
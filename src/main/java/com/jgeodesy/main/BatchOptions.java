@@ -0,0 +1,203 @@
+package com.jgeodesy.main;
+
+import org.apache.commons.lang3.builder.ToStringBuilder;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Command line options of the batch processor
+ */
+final class BatchOptions {
+
+    static final String USAGE = "Usage: java -cp CLASSPATH com.jgeodesy.main.JGeodesyApplication [options] --op SPEC [--op SPEC ...]\n"
+            + "  --input PATH          input file, - for standard input (default -)\n"
+            + "  --output PATH         output file, - for standard output (default -)\n"
+            + "  --delimiter D         field delimiter: a character, tab or space for runs of whitespace (default ,)\n"
+            + "  --header              first line holds column names; columns may then be given by name\n"
+            + "  --lat COLUMN          latitude column, name or zero-based index (default 0)\n"
+            + "  --lon COLUMN          longitude column (default 1)\n"
+            + "  --height COLUMN       ellipsoidal height column (default none, heights taken as 0)\n"
+            + "  --id COLUMN           polygon id column, required by the area operation\n"
+            + "  --threads N           worker threads (default number of processors)\n"
+            + "  --chunk-size N        rows per unit of work (default 10000)\n"
+            + "  --progress SECONDS    progress report interval, 0 to disable (default 10)\n"
+            + "Operations, applied in order:\n"
+            + "  datum:FROM:TO         convert coordinates between datums, e.g. datum:WGS84:OSGB36\n"
+            + "  distance:LAT:LON      append distance in metres to a reference point\n"
+            + "  utm:ZONE              append easting and northing in a UTM zone, e.g. utm:31N\n"
+            + "  bng                   append easting and northing on the British National Grid\n"
+            + "  area                  last operation only: output one row per run of rows with the same id,\n"
+            + "                        with the spherical area in square metres of the polygon they form\n";
+
+    private String input = "-";
+    private String output = "-";
+    private String delimiter = ",";
+    private boolean header;
+    private String latitudeColumn = "0";
+    private String longitudeColumn = "1";
+    private String heightColumn;
+    private String idColumn;
+    private int threads = Runtime.getRuntime().availableProcessors();
+    private int chunkSize = 10000;
+    private int progressSeconds = 10;
+    private final List<BatchOperation> operations = new ArrayList<>();
+    private boolean area;
+
+    private BatchOptions() {
+    }
+
+    /**
+     * Parses command line arguments
+     * @param args arguments
+     * @return Options
+     */
+    static BatchOptions parse(final String[] args) {
+        BatchOptions options = new BatchOptions();
+        for (int i = 0; i < args.length; i++) {
+            String arg = args[i];
+            if ("--header".equals(arg)) {
+                options.header = true;
+                continue;
+            }
+            if (i + 1 == args.length)
+                throw new IllegalArgumentException("Missing value for " + arg);
+            String value = args[++i];
+            switch (arg) {
+                case "--input":
+                    options.input = value;
+                    break;
+                case "--output":
+                    options.output = value;
+                    break;
+                case "--delimiter":
+                    options.delimiter = value;
+                    break;
+                case "--lat":
+                    options.latitudeColumn = value;
+                    break;
+                case "--lon":
+                    options.longitudeColumn = value;
+                    break;
+                case "--height":
+                    options.heightColumn = value;
+                    break;
+                case "--id":
+                    options.idColumn = value;
+                    break;
+                case "--threads":
+                    options.threads = number(arg, value, 1);
+                    break;
+                case "--chunk-size":
+                    options.chunkSize = number(arg, value, 1);
+                    break;
+                case "--progress":
+                    options.progressSeconds = number(arg, value, 0);
+                    break;
+                case "--op":
+                    if (options.area)
+                        throw new IllegalArgumentException("area must be the last operation");
+                    if ("area".equals(value))
+                        options.area = true;
+                    else
+                        options.operations.add(BatchOperations.parse(value));
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown option: " + arg);
+            }
+        }
+        if (options.operations.isEmpty() && !options.area)
+            throw new IllegalArgumentException("No operation given");
+        if (options.area && options.idColumn == null)
+            throw new IllegalArgumentException("The area operation requires --id");
+        if (!"tab".equals(options.delimiter) && !"space".equals(options.delimiter) && options.delimiter.length() != 1)
+            throw new IllegalArgumentException("Delimiter must be one character, tab or space: " + options.delimiter);
+        return options;
+    }
+
+    private static int number(final String option, final String value, final int minimum) {
+        int number;
+        try {
+            number = Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid number for " + option + ": " + value, e);
+        }
+        if (number < minimum)
+            throw new IllegalArgumentException(option + " must be at least " + minimum + ": " + value);
+        return number;
+    }
+
+    String getInput() {
+        return input;
+    }
+
+    String getOutput() {
+        return output;
+    }
+
+    /**
+     * @return Delimiter character, or 0 for runs of whitespace
+     */
+    char getDelimiter() {
+        if ("tab".equals(delimiter))
+            return '\t';
+        if ("space".equals(delimiter))
+            return 0;
+        return delimiter.charAt(0);
+    }
+
+    boolean isHeader() {
+        return header;
+    }
+
+    String getLatitudeColumn() {
+        return latitudeColumn;
+    }
+
+    String getLongitudeColumn() {
+        return longitudeColumn;
+    }
+
+    String getHeightColumn() {
+        return heightColumn;
+    }
+
+    String getIdColumn() {
+        return idColumn;
+    }
+
+    int getThreads() {
+        return threads;
+    }
+
+    int getChunkSize() {
+        return chunkSize;
+    }
+
+    int getProgressSeconds() {
+        return progressSeconds;
+    }
+
+    List<BatchOperation> getOperations() {
+        return Collections.unmodifiableList(operations);
+    }
+
+    boolean isArea() {
+        return area;
+    }
+
+    @Override
+    public String toString() {
+        return new ToStringBuilder(this)
+                .append("input", input)
+                .append("output", output)
+                .append("delimiter", delimiter)
+                .append("header", header)
+                .append("threads", threads)
+                .append("chunkSize", chunkSize)
+                .append("operations", operations.size())
+                .append("area", area)
+                .toString();
+    }
+}
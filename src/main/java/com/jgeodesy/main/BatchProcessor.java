@@ -0,0 +1,337 @@
+package com.jgeodesy.main;
+
+import com.jgeodesy.base.SphericalPoint;
+import com.jgeodesy.coordinate.Latitude;
+import com.jgeodesy.coordinate.Longitude;
+import com.jgeodesy.util.GeodesyUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Streaming, multi-threaded point file processor behind the command line. The calling thread reads the input in
+ * chunks of lines and writes results; worker threads parse each chunk into primitive arrays, run the operations
+ * over it with the batch kernels and format the output. At most two chunks per worker are in flight, so memory
+ * stays bounded for inputs of any size, and output rows keep the input order.
+ * <p>
+ * Fields are split on the delimiter without quote handling. Output rows are the input fields, with the coordinates
+ * replaced when a datum conversion ran, followed by the appended columns. In area mode the output is instead one
+ * row per run of consecutive rows sharing an id.
+ */
+final class BatchProcessor {
+
+    private static final Logger logger = LoggerFactory.getLogger(BatchProcessor.class);
+
+    private final BatchOptions options;
+    private final List<BatchOperation> operations;
+    private final int[] offsets;
+    private final List<String> appendedNames = new ArrayList<>();
+    private final char delimiter;
+    private final String outputDelimiter;
+
+    BatchProcessor(final BatchOptions options) {
+        this.options = options;
+        this.operations = options.getOperations();
+        this.offsets = new int[operations.size()];
+        for (int i = 0; i < operations.size(); i++) {
+            offsets[i] = appendedNames.size();
+            appendedNames.addAll(Arrays.asList(operations.get(i).getColumns()));
+        }
+        this.delimiter = options.getDelimiter();
+        this.outputDelimiter = delimiter == 0 ? " " : String.valueOf(delimiter);
+    }
+
+    /**
+     * Processes a whole input
+     * @param reader input rows
+     * @param writer receives the output rows; flushed but not closed
+     * @return Number of input rows processed
+     * @throws IOException on read or write failure
+     */
+    long process(final BufferedReader reader, final Writer writer) throws IOException {
+        final long start = System.nanoTime();
+        final AtomicLong rows = new AtomicLong();
+        long lineNumber = 0;
+
+        String[] header = null;
+        if (options.isHeader()) {
+            String line = reader.readLine();
+            if (line == null)
+                return 0;
+            lineNumber++;
+            header = split(line);
+        }
+        final Columns columns = new Columns(header);
+        if (header != null)
+            writer.write(headerLine(header, columns));
+
+        ExecutorService workers = Executors.newFixedThreadPool(options.getThreads(), daemonThreads("jgeodesy-batch"));
+        ScheduledExecutorService progress = Executors.newSingleThreadScheduledExecutor(daemonThreads("jgeodesy-progress"));
+        if (options.getProgressSeconds() > 0) {
+            progress.scheduleAtFixedRate(new Runnable() {
+                @Override
+                public void run() {
+                    logger.info("Processed {} rows ({} rows/s)", rows.get(), rate(rows.get(), start));
+                }
+            }, options.getProgressSeconds(), options.getProgressSeconds(), TimeUnit.SECONDS);
+        }
+
+        Deque<Future<PointChunk>> pending = new ArrayDeque<>();
+        int maxPending = options.getThreads() * 2;
+        AreaWriter areaWriter = options.isArea() ? new AreaWriter(writer, columns.id) : null;
+        try {
+            List<String> lines = new ArrayList<>(options.getChunkSize());
+            long firstLine = lineNumber + 1;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lines.add(line);
+                lineNumber++;
+                if (lines.size() == options.getChunkSize()) {
+                    submit(workers, pending, maxPending, lines, firstLine, columns, writer, areaWriter, rows);
+                    lines = new ArrayList<>(options.getChunkSize());
+                    firstLine = lineNumber + 1;
+                }
+            }
+            if (!lines.isEmpty())
+                submit(workers, pending, maxPending, lines, firstLine, columns, writer, areaWriter, rows);
+            while (!pending.isEmpty())
+                complete(pending.poll(), writer, areaWriter, rows);
+            if (areaWriter != null)
+                areaWriter.finish();
+            writer.flush();
+        } finally {
+            workers.shutdownNow();
+            progress.shutdownNow();
+        }
+
+        logger.info("Processed {} rows in {} ms ({} rows/s)", new Object[]{rows.get(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), rate(rows.get(), start)});
+        return rows.get();
+    }
+
+    private void submit(final ExecutorService workers, final Deque<Future<PointChunk>> pending, final int maxPending,
+                        final List<String> lines, final long firstLine, final Columns columns, final Writer writer,
+                        final AreaWriter areaWriter, final AtomicLong rows) throws IOException {
+        if (pending.size() >= maxPending)
+            complete(pending.poll(), writer, areaWriter, rows);
+        pending.add(workers.submit(new Callable<PointChunk>() {
+            @Override
+            public PointChunk call() {
+                return processChunk(lines, firstLine, columns);
+            }
+        }));
+    }
+
+    private void complete(final Future<PointChunk> future, final Writer writer, final AreaWriter areaWriter,
+                          final AtomicLong rows) throws IOException {
+        PointChunk chunk;
+        try {
+            chunk = future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException)
+                throw (RuntimeException) e.getCause();
+            throw new IOException(e.getCause());
+        }
+        if (areaWriter != null)
+            areaWriter.add(chunk);
+        else
+            writer.write(chunk.getOutput());
+        rows.addAndGet(chunk.size());
+    }
+
+    private PointChunk processChunk(final List<String> lines, final long firstLine, final Columns columns) {
+        String[][] rows = new String[lines.size()][];
+        PointChunk chunk = new PointChunk(firstLine, rows, appendedNames.size());
+        double[] latitudes = chunk.getLatitudes();
+        double[] longitudes = chunk.getLongitudes();
+        double[] heights = chunk.getHeights();
+        for (int i = 0; i < rows.length; i++) {
+            String[] fields = split(lines.get(i));
+            rows[i] = fields;
+            long line = firstLine + i;
+            latitudes[i] = number(fields, columns.latitude, line);
+            longitudes[i] = number(fields, columns.longitude, line);
+            heights[i] = columns.height < 0 ? 0.0 : number(fields, columns.height, line);
+            if (columns.id >= 0 && columns.id >= fields.length)
+                throw new IllegalArgumentException("Line " + line + ": missing id column " + columns.id);
+        }
+
+        for (int i = 0; i < operations.size(); i++)
+            operations.get(i).apply(chunk, offsets[i]);
+
+        if (!options.isArea())
+            chunk.setOutput(format(chunk, columns));
+        return chunk;
+    }
+
+    private String format(final PointChunk chunk, final Columns columns) {
+        String[][] rows = chunk.getRows();
+        double[][] appended = chunk.getAppended();
+        StringBuilder output = new StringBuilder(rows.length * 64);
+        for (int i = 0; i < rows.length; i++) {
+            String[] fields = rows[i];
+            if (chunk.isCoordinatesChanged()) {
+                fields[columns.latitude] = Double.toString(chunk.getLatitudes()[i]);
+                fields[columns.longitude] = Double.toString(chunk.getLongitudes()[i]);
+                if (columns.height >= 0)
+                    fields[columns.height] = Double.toString(chunk.getHeights()[i]);
+            }
+            for (int f = 0; f < fields.length; f++) {
+                if (f > 0)
+                    output.append(outputDelimiter);
+                output.append(fields[f]);
+            }
+            for (double[] column : appended)
+                output.append(outputDelimiter).append(column[i]);
+            output.append('\n');
+        }
+        return output.toString();
+    }
+
+    private String headerLine(final String[] header, final Columns columns) {
+        StringBuilder line = new StringBuilder();
+        if (options.isArea()) {
+            line.append(header[columns.id]).append(outputDelimiter).append("area");
+        } else {
+            for (int f = 0; f < header.length; f++) {
+                if (f > 0)
+                    line.append(outputDelimiter);
+                line.append(header[f]);
+            }
+            for (String name : appendedNames)
+                line.append(outputDelimiter).append(name);
+        }
+        return line.append('\n').toString();
+    }
+
+    private String[] split(final String line) {
+        if (delimiter == 0)
+            return line.trim().split("\\s+");
+        List<String> fields = new ArrayList<>();
+        int start = 0;
+        int end;
+        while ((end = line.indexOf(delimiter, start)) >= 0) {
+            fields.add(line.substring(start, end));
+            start = end + 1;
+        }
+        fields.add(line.substring(start));
+        return fields.toArray(new String[fields.size()]);
+    }
+
+    private static double number(final String[] fields, final int column, final long line) {
+        if (column >= fields.length)
+            throw new IllegalArgumentException("Line " + line + ": missing column " + column);
+        try {
+            return Double.parseDouble(fields[column]);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Line " + line + ": invalid number in column " + column + ": " + fields[column], e);
+        }
+    }
+
+    private static long rate(final long rows, final long start) {
+        long elapsed = System.nanoTime() - start;
+        return elapsed <= 0 ? 0 : rows * 1000000000L / elapsed;
+    }
+
+    private static ThreadFactory daemonThreads(final String name) {
+        final AtomicLong counter = new AtomicLong();
+        return new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable runnable) {
+                Thread thread = new Thread(runnable, name + "-" + counter.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }
+        };
+    }
+
+    /**
+     * Column indices resolved against the header
+     */
+    private final class Columns {
+
+        private final int latitude;
+        private final int longitude;
+        private final int height;
+        private final int id;
+
+        Columns(String[] header) {
+            this.latitude = resolve(options.getLatitudeColumn(), header);
+            this.longitude = resolve(options.getLongitudeColumn(), header);
+            this.height = options.getHeightColumn() == null ? -1 : resolve(options.getHeightColumn(), header);
+            this.id = options.getIdColumn() == null ? -1 : resolve(options.getIdColumn(), header);
+        }
+
+        private int resolve(final String column, final String[] header) {
+            if (header != null) {
+                int index = Arrays.asList(header).indexOf(column);
+                if (index >= 0)
+                    return index;
+            }
+            try {
+                int index = Integer.parseInt(column);
+                if (index >= 0)
+                    return index;
+            } catch (NumberFormatException e) {
+                // Fall through to the error below
+            }
+            throw new IllegalArgumentException("Unknown column: " + column);
+        }
+    }
+
+    /**
+     * Collects the vertices of consecutive rows with the same id and writes one area row per polygon
+     */
+    private final class AreaWriter {
+
+        private final Writer writer;
+        private final int idColumn;
+        private final List<SphericalPoint> vertices = new ArrayList<>();
+        private String id;
+
+        AreaWriter(Writer writer, int idColumn) {
+            this.writer = writer;
+            this.idColumn = idColumn;
+        }
+
+        void add(final PointChunk chunk) throws IOException {
+            String[][] rows = chunk.getRows();
+            for (int i = 0; i < rows.length; i++) {
+                String rowId = rows[i][idColumn];
+                if (!rowId.equals(id))
+                    finish();
+                id = rowId;
+                vertices.add(new SphericalPoint(new Latitude(chunk.getLatitudes()[i]), new Longitude(chunk.getLongitudes()[i])));
+            }
+        }
+
+        void finish() throws IOException {
+            if (id == null)
+                return;
+            double area = SphericalPoint.areaOf(vertices, GeodesyUtil.getRadiusOfWorld());
+            writer.write(id + outputDelimiter + area + '\n');
+            vertices.clear();
+            id = null;
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.jgeodesy.main;
+
+/**
+ * Block of consecutive input rows with their coordinates as primitive arrays, the unit of work of the batch
+ * command line pipeline
+ */
+final class PointChunk {
+
+    private final long firstLine;
+    private final String[][] rows;
+    private final double[] latitudes;
+    private final double[] longitudes;
+    private final double[] heights;
+    private final double[][] appended;
+    private boolean coordinatesChanged;
+    private String output;
+
+    PointChunk(long firstLine, String[][] rows, int appendedColumns) {
+        this.firstLine = firstLine;
+        this.rows = rows;
+        this.latitudes = new double[rows.length];
+        this.longitudes = new double[rows.length];
+        this.heights = new double[rows.length];
+        this.appended = new double[appendedColumns][rows.length];
+    }
+
+    long getFirstLine() {
+        return firstLine;
+    }
+
+    int size() {
+        return rows.length;
+    }
+
+    String[][] getRows() {
+        return rows;
+    }
+
+    double[] getLatitudes() {
+        return latitudes;
+    }
+
+    double[] getLongitudes() {
+        return longitudes;
+    }
+
+    double[] getHeights() {
+        return heights;
+    }
+
+    double[][] getAppended() {
+        return appended;
+    }
+
+    boolean isCoordinatesChanged() {
+        return coordinatesChanged;
+    }
+
+    void setCoordinatesChanged(boolean coordinatesChanged) {
+        this.coordinatesChanged = coordinatesChanged;
+    }
+
+    /**
+     * @return Formatted output rows, null in polygon area mode
+     */
+    String getOutput() {
+        return output;
+    }
+
+    void setOutput(String output) {
+        this.output = output;
+    }
+}
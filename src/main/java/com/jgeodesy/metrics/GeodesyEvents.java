@@ -0,0 +1,67 @@
+package com.jgeodesy.metrics;
+
+import com.jgeodesy.shape.Datum;
+
+/**
+ * Java Flight Recorder hooks. This base version is a no-op so the library runs on Java 8; the multi-release jar
+ * replaces it on Java 11+ with one that emits JFR events under the "JGeodesy" category:
+ * <ul>
+ *     <li>{@code com.jgeodesy.Batch}: batch operation with size, algorithm and solver iterations</li>
+ *     <li>{@code com.jgeodesy.DatumConversion}: single point datum conversion with the datum pair</li>
+ *     <li>{@code com.jgeodesy.CacheAccess}: cache hit or miss</li>
+ * </ul>
+ * All events are disabled by default; enable them in a JFR configuration or with
+ * {@code -XX:StartFlightRecording:settings=...}. Tokens returned by the begin methods are null when the event
+ * is disabled and must be handed back to the matching end method.
+ */
+public final class GeodesyEvents {
+
+    private GeodesyEvents() {
+    }
+
+    /**
+     * Starts timing a batch operation
+     * @param operation operation performed
+     * @param algorithm algorithm chosen, or null
+     * @param size      number of points in the batch
+     * @return Token for {@link #endBatch(Object, long)}, null when disabled
+     */
+    public static Object beginBatch(final Operation operation, final String algorithm, final int size) {
+        return null;
+    }
+
+    /**
+     * Ends and records a batch operation
+     * @param token      value returned by {@link #beginBatch(Operation, String, int)}
+     * @param iterations total solver iterations performed for the batch, 0 for closed-form algorithms
+     */
+    public static void endBatch(final Object token, final long iterations) {
+    }
+
+    /**
+     * Starts timing a datum conversion
+     * @param from source datum
+     * @param to   target datum
+     * @return Token for {@link #endDatumConversion(Object, String, int)}, null when disabled
+     */
+    public static Object beginDatumConversion(final Datum from, final Datum to) {
+        return null;
+    }
+
+    /**
+     * Ends and records a datum conversion
+     * @param token      value returned by {@link #beginDatumConversion(Datum, Datum)}
+     * @param algorithm  cartesian to geodetic algorithm used
+     * @param iterations solver iterations performed
+     */
+    public static void endDatumConversion(final Object token, final String algorithm, final int iterations) {
+    }
+
+    /**
+     * Records a cache lookup
+     * @param cache name of the cache
+     * @param hit   true for a hit, false for a miss
+     */
+    public static void cacheAccess(final String cache, final boolean hit) {
+    }
+}
@@ -0,0 +1,17 @@
+package com.jgeodesy.metrics;
+
+/**
+ * Service provider interface receiving timings of library operations. Implementations must be thread-safe and
+ * cheap; they are called on the caller's thread right after each instrumented operation.
+ * Install one with {@link Metrics#install(GeodesyMetrics)}.
+ */
+public interface GeodesyMetrics {
+
+    /**
+     * Records one completed call
+     * @param operation   operation performed
+     * @param elapsedNanos wall-clock duration in nanoseconds
+     * @param items        number of points processed, 1 for single-point operations
+     */
+    void record(Operation operation, long elapsedNanos, int items);
+}
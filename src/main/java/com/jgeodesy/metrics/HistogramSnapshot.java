@@ -0,0 +1,89 @@
+package com.jgeodesy.metrics;
+
+import org.apache.commons.lang3.builder.ToStringBuilder;
+
+/**
+ * Immutable copy of a {@link Histogram}
+ */
+public final class HistogramSnapshot {
+
+    private final long[] counts;
+    private final long totalCount;
+
+    HistogramSnapshot(long[] counts) {
+        this.counts = counts;
+        long total = 0L;
+        for (long count : counts)
+            total += count;
+        this.totalCount = total;
+    }
+
+    public long getTotalCount() {
+        return totalCount;
+    }
+
+    /**
+     * @return Lowest recorded value, rounded down to its bucket, or 0 when empty
+     */
+    public long getMin() {
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] != 0)
+                return Histogram.lowestValue(i);
+        }
+        return 0L;
+    }
+
+    /**
+     * @return Highest recorded value, rounded up to its bucket, or 0 when empty
+     */
+    public long getMax() {
+        for (int i = counts.length - 1; i >= 0; i--) {
+            if (counts[i] != 0)
+                return Histogram.highestValue(i);
+        }
+        return 0L;
+    }
+
+    /**
+     * @return Mean of the recorded values using bucket midpoints, or 0 when empty
+     */
+    public double getMean() {
+        if (totalCount == 0)
+            return 0.0;
+        double sum = 0.0;
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] != 0)
+                sum += counts[i] * (Histogram.lowestValue(i) / 2.0 + Histogram.highestValue(i) / 2.0);
+        }
+        return sum / totalCount;
+    }
+
+    /**
+     * Returns the value at a percentile
+     * @param percentile percentile, 0..100
+     * @return Highest value of the bucket holding the percentile, or 0 when empty
+     */
+    public long getValueAtPercentile(final double percentile) {
+        if (totalCount == 0)
+            return 0L;
+        long rank = Math.max(1L, (long) Math.ceil(Math.min(percentile, 100.0) / 100.0 * totalCount));
+        long seen = 0L;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank)
+                return Histogram.highestValue(i);
+        }
+        return getMax();
+    }
+
+    @Override
+    public String toString() {
+        return new ToStringBuilder(this)
+                .append("totalCount", totalCount)
+                .append("min", getMin())
+                .append("p50", getValueAtPercentile(50.0))
+                .append("p99", getValueAtPercentile(99.0))
+                .append("max", getMax())
+                .toString();
+    }
+}
@@ -0,0 +1,115 @@
+package com.jgeodesy.metrics;
+
+import org.apache.commons.lang3.builder.ToStringBuilder;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Provider keeping call counts, processed item counts and latency and batch size histograms per operation in
+ * memory. Exporters poll {@link #snapshot()} and forward it to a monitoring system.
+ */
+public class InMemoryMetrics implements GeodesyMetrics {
+
+    private final Map<Operation, Recorder> recorders = new EnumMap<>(Operation.class);
+
+    public InMemoryMetrics() {
+        for (Operation operation : Operation.values())
+            recorders.put(operation, new Recorder());
+    }
+
+    @Override
+    public void record(final Operation operation, final long elapsedNanos, final int items) {
+        Recorder recorder = recorders.get(operation);
+        recorder.calls.increment();
+        recorder.items.add(items);
+        recorder.latency.record(elapsedNanos);
+        recorder.batchSize.record(items);
+    }
+
+    /**
+     * @return Current values of the operations called at least once
+     */
+    public Map<Operation, OperationSnapshot> snapshot() {
+        Map<Operation, OperationSnapshot> snapshot = new EnumMap<>(Operation.class);
+        for (Map.Entry<Operation, Recorder> entry : recorders.entrySet()) {
+            Recorder recorder = entry.getValue();
+            long calls = recorder.calls.sum();
+            if (calls != 0)
+                snapshot.put(entry.getKey(), new OperationSnapshot(calls, recorder.items.sum(),
+                        recorder.latency.snapshot(), recorder.batchSize.snapshot()));
+        }
+        return Collections.unmodifiableMap(snapshot);
+    }
+
+    /**
+     * Resets all counters
+     */
+    public void reset() {
+        for (Recorder recorder : recorders.values()) {
+            recorder.calls.reset();
+            recorder.items.reset();
+            recorder.latency.reset();
+            recorder.batchSize.reset();
+        }
+    }
+
+    private static final class Recorder {
+        private final LongAdder calls = new LongAdder();
+        private final LongAdder items = new LongAdder();
+        private final Histogram latency = new Histogram();
+        private final Histogram batchSize = new Histogram();
+    }
+
+    /**
+     * Values of one operation
+     */
+    public static final class OperationSnapshot {
+
+        private final long calls;
+        private final long items;
+        private final HistogramSnapshot latency;
+        private final HistogramSnapshot batchSize;
+
+        OperationSnapshot(long calls, long items, HistogramSnapshot latency, HistogramSnapshot batchSize) {
+            this.calls = calls;
+            this.items = items;
+            this.latency = latency;
+            this.batchSize = batchSize;
+        }
+
+        public long getCalls() {
+            return calls;
+        }
+
+        public long getItems() {
+            return items;
+        }
+
+        /**
+         * @return Latency histogram in nanoseconds
+         */
+        public HistogramSnapshot getLatency() {
+            return latency;
+        }
+
+        /**
+         * @return Histogram of the number of items per call
+         */
+        public HistogramSnapshot getBatchSize() {
+            return batchSize;
+        }
+
+        @Override
+        public String toString() {
+            return new ToStringBuilder(this)
+                    .append("calls", calls)
+                    .append("items", items)
+                    .append("latency", latency)
+                    .append("batchSize", batchSize)
+                    .toString();
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.jgeodesy.metrics;
+
+/**
+ * Static access point used by instrumented code:
+ * <pre>
+ * long start = Metrics.start();
+ * ...
+ * Metrics.stop(Operation.DATUM_CONVERSION, start);
+ * </pre>
+ * No provider is installed by default; then {@link #start()} is a single volatile read returning 0 and
+ * {@link #stop(Operation, long)} returns immediately, without calling {@link System#nanoTime()}.
+ */
+public final class Metrics {
+
+    private static volatile GeodesyMetrics provider;
+
+    private Metrics() {
+    }
+
+    /**
+     * Installs a provider, replacing the current one
+     * @param metrics provider, or null to disable instrumentation
+     */
+    public static void install(final GeodesyMetrics metrics) {
+        provider = metrics;
+    }
+
+    /**
+     * @return Installed provider, or null when disabled
+     */
+    public static GeodesyMetrics getProvider() {
+        return provider;
+    }
+
+    /**
+     * @return True when a provider is installed
+     */
+    public static boolean isEnabled() {
+        return provider != null;
+    }
+
+    /**
+     * Marks the start of an operation
+     * @return Start time in nanoseconds, or 0 when disabled
+     */
+    public static long start() {
+        return provider == null ? 0L : System.nanoTime();
+    }
+
+    /**
+     * Records a single-point operation
+     * @param operation operation performed
+     * @param start     value returned by {@link #start()}
+     */
+    public static void stop(final Operation operation, final long start) {
+        stop(operation, start, 1);
+    }
+
+    /**
+     * Records a batch operation
+     * @param operation operation performed
+     * @param start     value returned by {@link #start()}
+     * @param items     number of points processed
+     */
+    public static void stop(final Operation operation, final long start, final int items) {
+        if (start == 0L)
+            return;
+        GeodesyMetrics metrics = provider;
+        if (metrics != null)
+            metrics.record(operation, System.nanoTime() - start, items);
+    }
+}
@@ -0,0 +1,31 @@
+package com.jgeodesy.metrics;
+
+/**
+ * Instrumented library operations
+ */
+public enum Operation {
+
+    SPHERICAL_DISTANCE,
+    SPHERICAL_BEARING,
+    SPHERICAL_DESTINATION,
+    SPHERICAL_INTERMEDIATE,
+    SPHERICAL_CROSS_TRACK,
+    SPHERICAL_ALONG_TRACK,
+    SPHERICAL_RHUMB_DISTANCE,
+    SPHERICAL_RHUMB_BEARING,
+    SPHERICAL_AREA,
+    GREAT_CIRCLE_PATH_BATCH,
+    TRACK_SIMPLIFICATION,
+    TRACK_DENSIFICATION,
+    TRACK_RESAMPLING,
+    BUFFER_GENERATION,
+    RHUMB_BATCH,
+    CPA_BATCH,
+    DATUM_CONVERSION,
+    DATUM_CONVERSION_BATCH,
+    CARTESIAN_TO_GEODETIC_BATCH,
+    FRAME_TRANSFORM_BATCH,
+    PROJECTION_BATCH,
+    GEOID_BATCH,
+    TILE_AGGREGATION
+}
@@ -0,0 +1,58 @@
+package com.jgeodesy.motion;
+
+import com.jgeodesy.base.SphericalPoint;
+import org.apache.commons.lang3.builder.ToStringBuilder;
+
+/**
+ * Closest point of approach of two moving objects within a time horizon
+ */
+public final class ClosestApproach {
+
+    private final double time;
+    private final double distance;
+    private final SphericalPoint firstPosition;
+    private final SphericalPoint secondPosition;
+
+    ClosestApproach(double time, double distance, SphericalPoint firstPosition, SphericalPoint secondPosition) {
+        this.time = time;
+        this.distance = distance;
+        this.firstPosition = firstPosition;
+        this.secondPosition = secondPosition;
+    }
+
+    /**
+     * @return Time to closest approach (TCPA), 0 when the objects are already separating
+     */
+    public double getTime() {
+        return time;
+    }
+
+    /**
+     * @return Distance at closest approach (DCPA), in the units of radius
+     */
+    public double getDistance() {
+        return distance;
+    }
+
+    /**
+     * @return Position of the first object at closest approach
+     */
+    public SphericalPoint getFirstPosition() {
+        return firstPosition;
+    }
+
+    /**
+     * @return Position of the second object at closest approach
+     */
+    public SphericalPoint getSecondPosition() {
+        return secondPosition;
+    }
+
+    @Override
+    public String toString() {
+        return new ToStringBuilder(this)
+                .append("time", time)
+                .append("distance", distance)
+                .toString();
+    }
+}
@@ -0,0 +1,284 @@
+package com.jgeodesy.motion;
+
+import com.jgeodesy.base.SphericalPoint;
+import com.jgeodesy.coordinate.Latitude;
+import com.jgeodesy.coordinate.Longitude;
+import com.jgeodesy.metrics.GeodesyEvents;
+import com.jgeodesy.metrics.Metrics;
+import com.jgeodesy.metrics.Operation;
+import com.jgeodesy.util.LatLonGrid;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Closest point of approach (CPA) and time to it (TCPA) for objects moving along great circles at constant speed.
+ * <p>
+ * The separation is minimised through the dot product f(t) = p1(t)·p2(t) of the two position vectors, which is
+ * largest at closest approach. The flat-earth solution of the chord vectors gives the starting time, and Newton
+ * steps on f'(t) = 0 using the closed forms of f' and f'' make it exact on the sphere, usually in two or three
+ * iterations. The time is restricted to [0, horizon]: objects already separating have their CPA now.
+ * <p>
+ * {@link #screen} finds all pairs of a fleet coming within a distance inside the horizon. Two objects can only do
+ * so if they are now within that distance plus the distance both can cover, so the objects are bucketed in a
+ * latitude/longitude grid of that size and only neighbouring cells are paired; the pairs are evaluated in parallel
+ * on the common fork/join pool.
+ */
+public final class CpaSolver {
+
+    /**
+     * Newton iteration limit; the solution converges quadratically from the flat-earth start
+     */
+    private static final int MAX_ITERATIONS = 8;
+
+    private CpaSolver() {
+    }
+
+    /**
+     * Closest approach of two moving objects
+     * @param first   position of the first object
+     * @param course1 course of the first object in degrees from north
+     * @param speed1  speed of the first object, in the units of radius per unit of time
+     * @param second  position of the second object
+     * @param course2 course of the second object in degrees from north
+     * @param speed2  speed of the second object, in the units of radius per unit of time
+     * @param horizon time limit of the prediction
+     * @param radius  radius of earth
+     * @return Time, distance and positions at closest approach
+     */
+    public static ClosestApproach closestApproach(final SphericalPoint first, final double course1, final double speed1,
+                                                  final SphericalPoint second, final double course2, final double speed2,
+                                                  final double horizon, final double radius) {
+        MovingObjects objects = new MovingObjects(2, radius);
+        objects.add(first.getLatitude().getDegrees(), first.getLongitude().getDegrees(), course1, speed1);
+        objects.add(second.getLatitude().getDegrees(), second.getLongitude().getDegrees(), course2, speed2);
+        double[] result = new double[2];
+        approach(objects, 0, 1, horizon, result);
+        double[] position = new double[2];
+        objects.positionAt(0, result[0], position);
+        SphericalPoint firstPosition = new SphericalPoint(new Latitude(position[0]), new Longitude(position[1]));
+        objects.positionAt(1, result[0], position);
+        SphericalPoint secondPosition = new SphericalPoint(new Latitude(position[0]), new Longitude(position[1]));
+        return new ClosestApproach(result[0], result[1] * radius, firstPosition, secondPosition);
+    }
+
+    /**
+     * Closest approaches of many pairs of objects
+     * @param objects   moving objects
+     * @param first     index of the first object per pair
+     * @param second    index of the second object per pair
+     * @param count     number of pairs
+     * @param horizon   time limit of the prediction
+     * @param times     receives the time to closest approach per pair
+     * @param distances receives the distance at closest approach per pair, in the units of radius
+     */
+    public static void closestApproaches(final MovingObjects objects, final int[] first, final int[] second, final int count,
+                                         final double horizon, final double[] times, final double[] distances) {
+        long start = Metrics.start();
+        Object event = GeodesyEvents.beginBatch(Operation.CPA_BATCH, null, count);
+        double[] result = new double[2];
+        for (int k = 0; k < count; k++) {
+            objects.checkIndex(first[k]);
+            objects.checkIndex(second[k]);
+            approach(objects, first[k], second[k], horizon, result);
+            times[k] = result[0];
+            distances[k] = result[1] * objects.getRadius();
+        }
+        GeodesyEvents.endBatch(event, 0L);
+        Metrics.stop(Operation.CPA_BATCH, start, count);
+    }
+
+    /**
+     * Finds every pair of objects whose closest approach within the horizon is within a distance
+     * @param objects     moving objects
+     * @param maxDistance screening distance, in the units of radius
+     * @param horizon     time limit of the prediction
+     * @return Encounters ordered by time to closest approach
+     */
+    public static List<Encounter> screen(final MovingObjects objects, final double maxDistance, final double horizon) {
+        final int n = objects.size();
+        long start = Metrics.start();
+        Object event = GeodesyEvents.beginBatch(Operation.CPA_BATCH, null, n);
+        final double radius = objects.getRadius();
+        final double[] angularSpeeds = objects.angularSpeeds();
+        double maxSpeed = 0.0;
+        for (int i = 0; i < n; i++)
+            maxSpeed = Math.max(maxSpeed, angularSpeeds[i]);
+        final double maxAngle = maxDistance / radius;
+        final double reach = Math.min(Math.PI, maxAngle + 2.0 * maxSpeed * horizon);
+        final Grid grid = new Grid(objects.latitudes(), objects.longitudes(), n, Math.toDegrees(reach));
+        final double[] positions = objects.positions();
+        final double reachChord = 2.0 * Math.sin(reach * 0.5);
+        final double reachChordSquared = reachChord * reachChord;
+
+        List<Encounter> encounters = IntStream.range(0, n)
+                .parallel()
+                .collect(ArrayList::new, (list, i) -> grid.pairs(i, (j) -> {
+                    // Cheap prune on the chord for the fleet-wide reach, then the exact one for the pair: the
+                    // separation cannot shrink faster than both objects move
+                    double dx = positions[j * 3] - positions[i * 3];
+                    double dy = positions[j * 3 + 1] - positions[i * 3 + 1];
+                    double dz = positions[j * 3 + 2] - positions[i * 3 + 2];
+                    if (dx * dx + dy * dy + dz * dz > reachChordSquared)
+                        return;
+                    double bound = maxAngle + (angularSpeeds[i] + angularSpeeds[j]) * horizon;
+                    if (angle(positions, i, j) > bound)
+                        return;
+                    double[] result = new double[2];
+                    approach(objects, i, j, horizon, result);
+                    if (result[1] <= maxAngle)
+                        list.add(new Encounter(i, j, result[0], result[1] * radius));
+                }), ArrayList::addAll);
+        encounters.sort(Comparator.comparingDouble(Encounter::getTime));
+        GeodesyEvents.endBatch(event, 0L);
+        Metrics.stop(Operation.CPA_BATCH, start, n);
+        return encounters;
+    }
+
+    /**
+     * Writes the time to closest approach and the angular distance then into result
+     */
+    static void approach(final MovingObjects objects, final int i, final int j, final double horizon, final double[] result) {
+        double[] p = objects.positions();
+        double[] d = objects.directions();
+        double w1 = objects.angularSpeeds()[i];
+        double w2 = objects.angularSpeeds()[j];
+        int a = i * 3;
+        int b = j * 3;
+        double a1x = p[a], a1y = p[a + 1], a1z = p[a + 2];
+        double d1x = d[a], d1y = d[a + 1], d1z = d[a + 2];
+        double a2x = p[b], a2y = p[b + 1], a2z = p[b + 2];
+        double d2x = d[b], d2y = d[b + 1], d2z = d[b + 2];
+
+        // Flat-earth start: relative chord position and velocity at t = 0
+        double rx = a2x - a1x, ry = a2y - a1y, rz = a2z - a1z;
+        double vx = w2 * d2x - w1 * d1x, vy = w2 * d2y - w1 * d1y, vz = w2 * d2z - w1 * d1z;
+        double vv = vx * vx + vy * vy + vz * vz;
+        double t = vv > 0.0 ? clamp(-(rx * vx + ry * vy + rz * vz) / vv, horizon) : 0.0;
+
+        double tolerance = 1e-12 * (1.0 + horizon);
+        for (int iteration = 0; iteration < MAX_ITERATIONS && vv > 0.0; iteration++) {
+            double c1 = Math.cos(w1 * t), s1 = Math.sin(w1 * t);
+            double c2 = Math.cos(w2 * t), s2 = Math.sin(w2 * t);
+            double p1x = c1 * a1x + s1 * d1x, p1y = c1 * a1y + s1 * d1y, p1z = c1 * a1z + s1 * d1z;
+            double p2x = c2 * a2x + s2 * d2x, p2y = c2 * a2y + s2 * d2y, p2z = c2 * a2z + s2 * d2z;
+            double q1x = w1 * (c1 * d1x - s1 * a1x), q1y = w1 * (c1 * d1y - s1 * a1y), q1z = w1 * (c1 * d1z - s1 * a1z);
+            double q2x = w2 * (c2 * d2x - s2 * a2x), q2y = w2 * (c2 * d2y - s2 * a2y), q2z = w2 * (c2 * d2z - s2 * a2z);
+            // f' = p1'·p2 + p1·p2', f'' = -(ω1² + ω2²)·p1·p2 + 2·p1'·p2'
+            double f1 = q1x * p2x + q1y * p2y + q1z * p2z + p1x * q2x + p1y * q2y + p1z * q2z;
+            double f2 = -(w1 * w1 + w2 * w2) * (p1x * p2x + p1y * p2y + p1z * p2z)
+                    + 2.0 * (q1x * q2x + q1y * q2y + q1z * q2z);
+            if (!(f2 < 0.0))
+                break;
+            double next = clamp(t - f1 / f2, horizon);
+            boolean converged = Math.abs(next - t) <= tolerance;
+            t = next;
+            if (converged)
+                break;
+        }
+
+        double c1 = Math.cos(w1 * t), s1 = Math.sin(w1 * t);
+        double c2 = Math.cos(w2 * t), s2 = Math.sin(w2 * t);
+        double p1x = c1 * a1x + s1 * d1x, p1y = c1 * a1y + s1 * d1y, p1z = c1 * a1z + s1 * d1z;
+        double p2x = c2 * a2x + s2 * d2x, p2y = c2 * a2y + s2 * d2y, p2z = c2 * a2z + s2 * d2z;
+        result[0] = t;
+        result[1] = angle(p1x, p1y, p1z, p2x, p2y, p2z);
+    }
+
+    private static double clamp(final double t, final double horizon) {
+        return t < 0.0 ? 0.0 : Math.min(t, horizon);
+    }
+
+    private static double angle(final double[] p, final int i, final int j) {
+        int a = i * 3;
+        int b = j * 3;
+        return angle(p[a], p[a + 1], p[a + 2], p[b], p[b + 1], p[b + 2]);
+    }
+
+    private static double angle(final double ax, final double ay, final double az,
+                                final double bx, final double by, final double bz) {
+        double cx = ay * bz - az * by;
+        double cy = az * bx - ax * bz;
+        double cz = ax * by - ay * bx;
+        return Math.atan2(Math.sqrt(cx * cx + cy * cy + cz * cz), ax * bx + ay * by + az * bz);
+    }
+
+    /**
+     * Receives the candidate partners of an object
+     */
+    private interface PairSink {
+        void accept(int j);
+    }
+
+    /**
+     * Latitude/longitude grid of object indices sorted by cell, with rows and columns of at least the search reach
+     */
+    private static final class Grid {
+
+        private final double[] latitudes;
+        private final double[] longitudes;
+        private final double reach;
+        private final LatLonGrid cells;
+        private final long[] cellKeys;
+        private final int[] cellStarts;
+        private final int[] members;
+
+        Grid(double[] latitudes, double[] longitudes, int count, double reach) {
+            this.latitudes = latitudes;
+            this.longitudes = longitudes;
+            this.reach = reach;
+            // Keys share a long with the object index, so coarsen the cells until both fit; any cells at least
+            // the reach across will do
+            int indexBits = 32 - Integer.numberOfLeadingZeros(Math.max(count, 1));
+            LatLonGrid grid = LatLonGrid.forReach(reach);
+            while (64 - Long.numberOfLeadingZeros(grid.getCells()) + indexBits > 63)
+                grid = LatLonGrid.forReach(grid.getCellSize() * 2.0);
+            this.cells = grid;
+
+            long[] entries = new long[count];
+            for (int i = 0; i < count; i++)
+                entries[i] = grid.key(grid.row(latitudes[i]), grid.column(longitudes[i])) << indexBits | i;
+            Arrays.sort(entries);
+            long indexMask = (1L << indexBits) - 1;
+            members = new int[count];
+            long[] keys = new long[count];
+            int[] starts = new int[count + 1];
+            int cellCount = 0;
+            for (int k = 0; k < count; k++) {
+                long key = entries[k] >>> indexBits;
+                if (cellCount == 0 || keys[cellCount - 1] != key) {
+                    keys[cellCount] = key;
+                    starts[cellCount] = k;
+                    cellCount++;
+                }
+                members[k] = (int) (entries[k] & indexMask);
+            }
+            starts[cellCount] = count;
+            cellKeys = Arrays.copyOf(keys, cellCount);
+            cellStarts = Arrays.copyOf(starts, cellCount + 1);
+        }
+
+        /**
+         * Passes every object with a higher index whose cell may be within the reach of object i
+         */
+        void pairs(final int i, final PairSink sink) {
+            int[] neighbourhood = new int[4];
+            cells.neighbourhood(latitudes[i], longitudes[i], reach, neighbourhood);
+            for (int r = neighbourhood[0]; r <= neighbourhood[1]; r++) {
+                for (int c = 0; c < neighbourhood[3]; c++) {
+                    int cell = Arrays.binarySearch(cellKeys, cells.key(r, neighbourhood[2] + c));
+                    if (cell < 0)
+                        continue;
+                    for (int k = cellStarts[cell], end = cellStarts[cell + 1]; k < end; k++) {
+                        int j = members[k];
+                        if (j > i)
+                            sink.accept(j);
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.jgeodesy.motion;
+
+import org.apache.commons.lang3.builder.ToStringBuilder;
+
+/**
+ * Pair of objects found by {@link CpaSolver#screen} to come within the screening distance
+ */
+public final class Encounter {
+
+    private final int first;
+    private final int second;
+    private final double time;
+    private final double distance;
+
+    Encounter(int first, int second, double time, double distance) {
+        this.first = first;
+        this.second = second;
+        this.time = time;
+        this.distance = distance;
+    }
+
+    /**
+     * @return Index of the first object, lower than the second
+     */
+    public int getFirst() {
+        return first;
+    }
+
+    /**
+     * @return Index of the second object
+     */
+    public int getSecond() {
+        return second;
+    }
+
+    /**
+     * @return Time to closest approach within the horizon
+     */
+    public double getTime() {
+        return time;
+    }
+
+    /**
+     * @return Distance at closest approach, in the units of radius
+     */
+    public double getDistance() {
+        return distance;
+    }
+
+    @Override
+    public String toString() {
+        return new ToStringBuilder(this)
+                .append("first", first)
+                .append("second", second)
+                .append("time", time)
+                .append("distance", distance)
+                .toString();
+    }
+}
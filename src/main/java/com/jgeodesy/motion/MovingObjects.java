@@ -0,0 +1,193 @@
+package com.jgeodesy.motion;
+
+import com.jgeodesy.util.SphericalMath;
+import org.apache.commons.lang3.builder.ToStringBuilder;
+
+import java.util.Arrays;
+
+/**
+ * Growable array of objects moving along great circles at constant speed, such as vessels reporting position,
+ * course and speed. Each object is stored as the unit vector of its position, the unit vector of its direction of
+ * travel and its angular speed, so its position at time t is cos(ωt)·a + sin(ωt)·d without any solving.
+ * Not thread-safe for concurrent writes.
+ */
+public class MovingObjects {
+
+    private final double radius;
+
+    private double[] latitudes;
+    private double[] longitudes;
+    private double[] positions;
+    private double[] directions;
+    private double[] angularSpeeds;
+    private int size;
+
+    /**
+     * @param capacity initial number of objects
+     * @param radius   radius of earth; distances and speeds are in its units
+     */
+    public MovingObjects(final int capacity, final double radius) {
+        if (!(radius > 0.0))
+            throw new IllegalArgumentException("Radius must be positive: " + radius);
+        int length = Math.max(capacity, 1);
+        this.radius = radius;
+        this.latitudes = new double[length];
+        this.longitudes = new double[length];
+        this.positions = new double[length * 3];
+        this.directions = new double[length * 3];
+        this.angularSpeeds = new double[length];
+    }
+
+    /**
+     * Appends an object
+     * @param latitude  latitude in degrees
+     * @param longitude longitude in degrees
+     * @param course    course over ground in degrees from north
+     * @param speed     speed over ground, in the units of radius per unit of time
+     * @return Index of the object
+     */
+    public int add(final double latitude, final double longitude, final double course, final double speed) {
+        if (size == latitudes.length) {
+            int length = latitudes.length * 2;
+            latitudes = Arrays.copyOf(latitudes, length);
+            longitudes = Arrays.copyOf(longitudes, length);
+            positions = Arrays.copyOf(positions, length * 3);
+            directions = Arrays.copyOf(directions, length * 3);
+            angularSpeeds = Arrays.copyOf(angularSpeeds, length);
+        }
+        store(size, latitude, longitude, course, speed);
+        return size++;
+    }
+
+    /**
+     * Replaces an object's state, as when a new position report arrives
+     * @param index     index of the object
+     * @param latitude  latitude in degrees
+     * @param longitude longitude in degrees
+     * @param course    course over ground in degrees from north
+     * @param speed     speed over ground, in the units of radius per unit of time
+     */
+    public void set(final int index, final double latitude, final double longitude, final double course, final double speed) {
+        checkIndex(index);
+        store(index, latitude, longitude, course, speed);
+    }
+
+    /**
+     * Dead-reckoned position
+     * @param index  index of the object
+     * @param time   time from the reported position
+     * @param result receives latitude and longitude in degrees
+     */
+    public void positionAt(final int index, final double time, final double[] result) {
+        checkIndex(index);
+        double angle = angularSpeeds[index] * time;
+        double cos = Math.cos(angle);
+        double sin = Math.sin(angle);
+        int k = index * 3;
+        double x = cos * positions[k] + sin * directions[k];
+        double y = cos * positions[k + 1] + sin * directions[k + 1];
+        double z = cos * positions[k + 2] + sin * directions[k + 2];
+        result[0] = Math.toDegrees(Math.atan2(z, Math.sqrt(x * x + y * y)));
+        result[1] = Math.toDegrees(Math.atan2(y, x));
+    }
+
+    public double getLatitude(final int index) {
+        checkIndex(index);
+        return latitudes[index];
+    }
+
+    public double getLongitude(final int index) {
+        checkIndex(index);
+        return longitudes[index];
+    }
+
+    /**
+     * @param index index of the object
+     * @return Speed in the units of radius per unit of time
+     */
+    public double getSpeed(final int index) {
+        checkIndex(index);
+        return angularSpeeds[index] * radius;
+    }
+
+    public double getRadius() {
+        return radius;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Removes all objects, keeping the capacity
+     */
+    public void clear() {
+        size = 0;
+    }
+
+    double[] positions() {
+        return positions;
+    }
+
+    double[] directions() {
+        return directions;
+    }
+
+    double[] angularSpeeds() {
+        return angularSpeeds;
+    }
+
+    double[] latitudes() {
+        return latitudes;
+    }
+
+    double[] longitudes() {
+        return longitudes;
+    }
+
+    void checkIndex(final int index) {
+        if (index < 0 || index >= size)
+            throw new IndexOutOfBoundsException("Index: " + index + ", size: " + size);
+    }
+
+    private void store(final int index, final double latitude, final double longitude, final double course,
+                       final double speed) {
+        if (!(speed >= 0.0))
+            throw new IllegalArgumentException("Speed must not be negative: " + speed);
+        latitudes[index] = latitude;
+        longitudes[index] = SphericalMath.wrap180(longitude);
+        unitVectors(latitude, longitude, course, positions, directions, index * 3);
+        angularSpeeds[index] = speed / radius;
+    }
+
+    /**
+     * Unit vector of a position and of the direction of travel on a course, written at offset
+     */
+    static void unitVectors(final double latitude, final double longitude, final double course,
+                            final double[] position, final double[] direction, final int offset) {
+        double phi = Math.toRadians(latitude);
+        double lambda = Math.toRadians(longitude);
+        double theta = Math.toRadians(course);
+        double sinPhi = Math.sin(phi);
+        double cosPhi = Math.cos(phi);
+        double sinLambda = Math.sin(lambda);
+        double cosLambda = Math.cos(lambda);
+        double cosTheta = Math.cos(theta);
+        double sinTheta = Math.sin(theta);
+        position[offset] = cosPhi * cosLambda;
+        position[offset + 1] = cosPhi * sinLambda;
+        position[offset + 2] = sinPhi;
+        // cos θ·north + sin θ·east
+        direction[offset] = -cosTheta * sinPhi * cosLambda - sinTheta * sinLambda;
+        direction[offset + 1] = -cosTheta * sinPhi * sinLambda + sinTheta * cosLambda;
+        direction[offset + 2] = cosTheta * cosPhi;
+    }
+
+    @Override
+    public String toString() {
+        return new ToStringBuilder(this)
+                .append("size", size)
+                .append("radius", radius)
+                .toString();
+    }
+}
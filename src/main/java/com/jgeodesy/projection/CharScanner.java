@@ -0,0 +1,48 @@
+package com.jgeodesy.projection;
+
+/**
+ * Allocation-free helpers shared by the grid reference codecs.
+ */
+final class CharScanner {
+
+    private CharScanner() {
+    }
+
+    static int skipWhitespace(final CharSequence text, int position, final int end) {
+        while (position < end && Character.isWhitespace(text.charAt(position)))
+            position++;
+        return position;
+    }
+
+    static boolean isDigit(final char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    /**
+     * Writes a non-negative number zero-padded to width characters
+     * @return Number of characters written
+     */
+    static int writePadded(long value, final int width, final char[] buffer, final int offset) {
+        for (int i = offset + width - 1; i >= offset; i--) {
+            buffer[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+        return width;
+    }
+
+    /**
+     * Writes a non-negative number without padding
+     * @return Number of characters written
+     */
+    static int write(final long value, final char[] buffer, final int offset) {
+        int width = 1;
+        for (long v = value; v >= 10; v /= 10)
+            width++;
+        return writePadded(value, width, buffer, offset);
+    }
+
+    static IllegalArgumentException invalid(final String kind, final CharSequence text, final int start, final int end,
+                                            final String reason) {
+        return new IllegalArgumentException("Invalid " + kind + " '" + text.subSequence(start, end) + "': " + reason);
+    }
+}
@@ -0,0 +1,71 @@
+package com.jgeodesy.projection;
+
+import org.apache.commons.lang3.builder.EqualsBuilder;
+import org.apache.commons.lang3.builder.HashCodeBuilder;
+import org.apache.commons.lang3.builder.ToStringBuilder;
+
+/**
+ * Projected (easting/northing) coordinate in metres.
+ */
+public class GridCoordinate {
+
+    private double easting;
+    private double northing;
+
+    /**
+     * @param easting  easting in metres
+     * @param northing northing in metres
+     */
+    public GridCoordinate(double easting, double northing) {
+        this.easting = easting;
+        this.northing = northing;
+    }
+
+    public double getEasting() {
+        return easting;
+    }
+
+    public void setEasting(double easting) {
+        this.easting = easting;
+    }
+
+    public double getNorthing() {
+        return northing;
+    }
+
+    public void setNorthing(double northing) {
+        this.northing = northing;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o)
+            return true;
+
+        if (o == null || getClass() != o.getClass())
+            return false;
+
+        GridCoordinate that = (GridCoordinate) o;
+
+        return new EqualsBuilder()
+                .append(easting, that.easting)
+                .append(northing, that.northing)
+                .isEquals();
+    }
+
+    @Override
+    public int hashCode() {
+        return new HashCodeBuilder(17, 37)
+                .append(easting)
+                .append(northing)
+                .toHashCode();
+    }
+
+    @Override
+    public String toString() {
+        return new ToStringBuilder(this)
+                .append("easting", easting)
+                .append("northing", northing)
+                .toString();
+    }
+}
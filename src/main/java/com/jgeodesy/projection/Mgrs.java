@@ -0,0 +1,235 @@
+package com.jgeodesy.projection;
+
+import com.jgeodesy.base.EllipsoidalPoint;
+import com.jgeodesy.coordinate.Latitude;
+import com.jgeodesy.coordinate.Longitude;
+import com.jgeodesy.shape.Datum;
+
+/**
+ * Military Grid Reference System codec on WGS84, e.g. "31U DQ 48251 11932".
+ * A codec instance owns small scratch buffers so formatting and parsing do not allocate; instances are not
+ * thread-safe, use one per thread. Polar (UPS) regions beyond 84°N and 80°S are not supported.
+ */
+public class Mgrs {
+
+    /**
+     * Latitude bands C..X, 8° each from 80°S; X is extended to 84°N
+     */
+    private static final String LATITUDE_BANDS = "CDEFGHJKLMNPQRSTUVWXX";
+    /**
+     * 100km grid square column letters, repeating every third zone
+     */
+    private static final String[] EASTING_LETTERS = {"ABCDEFGH", "JKLMNPQR", "STUVWXYZ"};
+    /**
+     * 100km grid square row letters, repeating every other zone
+     */
+    private static final String[] NORTHING_LETTERS = {"ABCDEFGHJKLMNPQRSTUV", "FGHJKLMNPQRSTUVABCDE"};
+    /**
+     * Northing of the southern edge of each latitude band, rounded down to 100km
+     */
+    private static final double[] BAND_NORTHINGS = new double[20];
+    /**
+     * Longest reference: "60X AB 12345 12345"
+     */
+    private static final int MAX_LENGTH = 18;
+
+    static {
+        double[] grid = new double[2];
+        for (int band = 0; band < BAND_NORTHINGS.length; band++) {
+            double latitude = (band - 10) * 8.0;
+            TransverseMercator.utm(31, latitude >= 0.0).forward(latitude, 3.0, grid);
+            BAND_NORTHINGS[band] = Math.floor(grid[1] / 100e3) * 100e3;
+        }
+    }
+
+    private final double[] grid = new double[2];
+    private final char[] chars = new char[MAX_LENGTH];
+
+    /**
+     * Formats a point with 1m precision
+     * @param point point on WGS84
+     * @return MGRS reference
+     */
+    public static String toMgrs(final EllipsoidalPoint point) {
+        return new Mgrs().format(point.getLatitude().getDegrees(), point.getLongitude().getDegrees(), 5,
+                new StringBuilder(MAX_LENGTH)).toString();
+    }
+
+    /**
+     * Parses a reference to the south-west corner of its grid square
+     * @param reference MGRS reference
+     * @return Point on WGS84
+     */
+    public static EllipsoidalPoint toPoint(final CharSequence reference) {
+        double[] result = new double[2];
+        new Mgrs().parse(reference, 0, reference.length(), result);
+        EllipsoidalPoint point = new EllipsoidalPoint(new Latitude(result[0]), new Longitude(result[1]), 0.0);
+        point.setDatum(Datum.getDatum("WGS84"));
+        return point;
+    }
+
+    /**
+     * Formats a point as "ZZB CR EEEEE NNNNN"
+     * @param latitude  latitude in degrees, 80°S..84°N
+     * @param longitude longitude in degrees
+     * @param digits    digits per easting/northing, 0..5 (5 = 1m, 4 = 10m, ...)
+     * @param buffer    destination with room for 8 + 2 * digits characters from offset
+     * @param offset    first character to write
+     * @return Number of characters written
+     */
+    public int format(final double latitude, final double longitude, final int digits, final char[] buffer, final int offset) {
+        if (digits < 0 || digits > 5)
+            throw new IllegalArgumentException("MGRS precision must be 0..5 digits: " + digits);
+        if (!(latitude >= -80.0 && latitude <= 84.0))
+            throw new IllegalArgumentException("Latitude outside MGRS/UTM limits: " + latitude);
+
+        int zone = UtmZone.zoneOf(latitude, longitude);
+        TransverseMercator.utm(zone, latitude >= 0.0).forward(latitude, longitude, grid);
+        double easting = grid[0];
+        double northing = grid[1];
+
+        int band = Math.min((int) Math.floor(latitude / 8.0 + 10.0), 20);
+        int column = (int) Math.floor(easting / 100e3);
+        int row = (int) (Math.floor(northing / 100e3) % 20);
+
+        int position = offset;
+        position += CharScanner.writePadded(zone, 2, buffer, position);
+        buffer[position++] = LATITUDE_BANDS.charAt(band);
+        buffer[position++] = ' ';
+        buffer[position++] = EASTING_LETTERS[(zone - 1) % 3].charAt(column - 1);
+        buffer[position++] = NORTHING_LETTERS[(zone - 1) % 2].charAt(row);
+        if (digits > 0) {
+            double divisor = Math.pow(10.0, 5 - digits);
+            buffer[position++] = ' ';
+            position += CharScanner.writePadded((long) Math.floor((easting % 100e3) / divisor), digits, buffer, position);
+            buffer[position++] = ' ';
+            position += CharScanner.writePadded((long) Math.floor((northing % 100e3) / divisor), digits, buffer, position);
+        }
+        return position - offset;
+    }
+
+    /**
+     * Appends a point as "ZZB CR EEEEE NNNNN"
+     * @param latitude  latitude in degrees, 80°S..84°N
+     * @param longitude longitude in degrees
+     * @param digits    digits per easting/northing, 0..5
+     * @param builder   destination
+     * @return The builder
+     */
+    public StringBuilder format(final double latitude, final double longitude, final int digits, final StringBuilder builder) {
+        int length = format(latitude, longitude, digits, chars, 0);
+        return builder.append(chars, 0, length);
+    }
+
+    /**
+     * Appends a batch of references separated by a delimiter
+     * @param latitudes  latitudes in degrees
+     * @param longitudes longitudes in degrees
+     * @param count      number of points
+     * @param digits     digits per easting/northing, 0..5
+     * @param builder    destination
+     * @param delimiter  character written after each reference
+     * @return The builder
+     */
+    public StringBuilder format(final double[] latitudes, final double[] longitudes, final int count, final int digits,
+                                final StringBuilder builder, final char delimiter) {
+        for (int i = 0; i < count; i++) {
+            int length = format(latitudes[i], longitudes[i], digits, chars, 0);
+            builder.append(chars, 0, length).append(delimiter);
+        }
+        return builder;
+    }
+
+    /**
+     * Parses a reference to the south-west corner of its grid square. Spaces between the parts are optional.
+     * @param text   characters holding the reference
+     * @param start  first character of the reference
+     * @param end    character after the reference
+     * @param result receives latitude and longitude in degrees at index 0 and 1
+     */
+    public void parse(final CharSequence text, final int start, final int end, final double[] result) {
+        int position = CharScanner.skipWhitespace(text, start, end);
+
+        int zone = 0;
+        int zoneDigits = 0;
+        while (position < end && CharScanner.isDigit(text.charAt(position)) && zoneDigits < 2) {
+            zone = zone * 10 + (text.charAt(position++) - '0');
+            zoneDigits++;
+        }
+        if (zoneDigits == 0 || zone < 1 || zone > 60)
+            throw CharScanner.invalid("MGRS reference", text, start, end, "zone must be 1..60");
+
+        int band = position < end ? LATITUDE_BANDS.indexOf(Character.toUpperCase(text.charAt(position++))) : -1;
+        if (band < 0)
+            throw CharScanner.invalid("MGRS reference", text, start, end, "unknown latitude band");
+
+        position = CharScanner.skipWhitespace(text, position, end);
+        if (end - position < 2)
+            throw CharScanner.invalid("MGRS reference", text, start, end, "missing 100km square");
+        int column = EASTING_LETTERS[(zone - 1) % 3].indexOf(Character.toUpperCase(text.charAt(position++))) + 1;
+        int row = NORTHING_LETTERS[(zone - 1) % 2].indexOf(Character.toUpperCase(text.charAt(position++)));
+        if (column < 1 || row < 0)
+            throw CharScanner.invalid("MGRS reference", text, start, end, "invalid 100km square");
+
+        int digitCount = 0;
+        for (int i = position; i < end; i++) {
+            char c = text.charAt(i);
+            if (CharScanner.isDigit(c))
+                digitCount++;
+            else if (!Character.isWhitespace(c))
+                throw CharScanner.invalid("MGRS reference", text, start, end, "unexpected character '" + c + "'");
+        }
+        if (digitCount % 2 != 0 || digitCount > 10)
+            throw CharScanner.invalid("MGRS reference", text, start, end, "easting and northing must have equal length");
+
+        int half = digitCount / 2;
+        long easting = 0;
+        long northing = 0;
+        int seen = 0;
+        for (int i = position; i < end; i++) {
+            char c = text.charAt(i);
+            if (!CharScanner.isDigit(c))
+                continue;
+            if (seen++ < half)
+                easting = easting * 10 + (c - '0');
+            else
+                northing = northing * 10 + (c - '0');
+        }
+        double multiplier = Math.pow(10.0, 5 - half);
+
+        // resolve the 2000km ambiguity of row letters using the latitude band
+        double bandNorthing = BAND_NORTHINGS[Math.min(band, 19)];
+        double e = column * 100e3 + easting * multiplier;
+        double n = row * 100e3 + northing * multiplier;
+        while (n < bandNorthing)
+            n += 2000e3;
+
+        TransverseMercator.utm(zone, band >= 10).inverse(e, n, result);
+    }
+
+    /**
+     * Parses a batch of references separated by a delimiter; empty entries are skipped
+     * @param text       characters holding the references
+     * @param delimiter  separator between references
+     * @param latitudes  receives latitudes in degrees
+     * @param longitudes receives longitudes in degrees
+     * @return Number of references parsed
+     */
+    public int parse(final CharSequence text, final char delimiter, final double[] latitudes, final double[] longitudes) {
+        int count = 0;
+        int start = 0;
+        int length = text.length();
+        for (int i = 0; i <= length; i++) {
+            if (i == length || text.charAt(i) == delimiter) {
+                if (CharScanner.skipWhitespace(text, start, i) < i) {
+                    parse(text, start, i, grid);
+                    latitudes[count] = grid[0];
+                    longitudes[count] = grid[1];
+                    count++;
+                }
+                start = i + 1;
+            }
+        }
+        return count;
+    }
+}
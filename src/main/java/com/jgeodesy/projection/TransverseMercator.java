@@ -0,0 +1,380 @@
+package com.jgeodesy.projection;
+
+import com.jgeodesy.base.EllipsoidalPoint;
+import com.jgeodesy.coordinate.Coordinate;
+import com.jgeodesy.coordinate.Latitude;
+import com.jgeodesy.coordinate.Longitude;
+import com.jgeodesy.metrics.GeodesyEvents;
+import com.jgeodesy.metrics.Metrics;
+import com.jgeodesy.metrics.Operation;
+import com.jgeodesy.shape.Datum;
+import com.jgeodesy.shape.Ellipsoid;
+import org.apache.commons.lang3.builder.ToStringBuilder;
+
+/**
+ * Transverse Mercator projection using Krüger series to sixth order in n, accurate to a few nanometres within
+ * 3900 km of the central meridian (Karney, "Transverse Mercator with an accuracy of a few nanometers", 2011).
+ * All series coefficients are computed once per projection; higher harmonics are evaluated with multiple-angle
+ * recurrences so a forward projection costs a handful of transcendental calls.
+ */
+public class TransverseMercator {
+
+    /**
+     * Krüger series order
+     */
+    private static final int ORDER = 6;
+
+    private final Datum datum;
+    private final double centralMeridian;
+    private final double latitudeOfOrigin;
+    private final double scale;
+    private final double falseEasting;
+    private final double falseNorthing;
+
+    private final double lambda0;
+    private final double e;
+    private final double oneMinusESq;
+    private final double kA;
+    private final double inverseKA;
+    private final double y0;
+    private final double[] alpha = new double[ORDER + 1];
+    private final double[] beta = new double[ORDER + 1];
+
+    /**
+     * @param datum            datum providing the ellipsoid
+     * @param centralMeridian  central meridian in degrees
+     * @param latitudeOfOrigin latitude of true origin in degrees
+     * @param scale            scale factor on the central meridian
+     * @param falseEasting     false easting in metres
+     * @param falseNorthing    false northing in metres
+     */
+    public TransverseMercator(final Datum datum, final double centralMeridian, final double latitudeOfOrigin,
+                              final double scale, final double falseEasting, final double falseNorthing) {
+        this.datum = datum;
+        this.centralMeridian = centralMeridian;
+        this.latitudeOfOrigin = latitudeOfOrigin;
+        this.scale = scale;
+        this.falseEasting = falseEasting;
+        this.falseNorthing = falseNorthing;
+
+        Ellipsoid ellipsoid = datum.getEllipsoid();
+        double a = ellipsoid.getA();
+        double f = ellipsoid.getF();
+        this.lambda0 = Coordinate.toRadians(centralMeridian);
+        this.e = Math.sqrt(f * (2.0 - f));
+        this.oneMinusESq = 1.0 - e * e;
+
+        double n = f / (2.0 - f);
+        double n2 = n * n, n3 = n * n2, n4 = n * n3, n5 = n * n4, n6 = n * n5;
+
+        // 2πA is the circumference of a meridian
+        double A = a / (1.0 + n) * (1.0 + n2 / 4.0 + n4 / 64.0 + n6 / 256.0);
+        this.kA = scale * A;
+        this.inverseKA = 1.0 / kA;
+
+        alpha[1] = n / 2.0 - 2.0 / 3.0 * n2 + 5.0 / 16.0 * n3 + 41.0 / 180.0 * n4 - 127.0 / 288.0 * n5 + 7891.0 / 37800.0 * n6;
+        alpha[2] = 13.0 / 48.0 * n2 - 3.0 / 5.0 * n3 + 557.0 / 1440.0 * n4 + 281.0 / 630.0 * n5 - 1983433.0 / 1935360.0 * n6;
+        alpha[3] = 61.0 / 240.0 * n3 - 103.0 / 140.0 * n4 + 15061.0 / 26880.0 * n5 + 167603.0 / 181440.0 * n6;
+        alpha[4] = 49561.0 / 161280.0 * n4 - 179.0 / 168.0 * n5 + 6601661.0 / 7257600.0 * n6;
+        alpha[5] = 34729.0 / 80640.0 * n5 - 3418889.0 / 1995840.0 * n6;
+        alpha[6] = 212378941.0 / 319334400.0 * n6;
+
+        beta[1] = n / 2.0 - 2.0 / 3.0 * n2 + 37.0 / 96.0 * n3 - 1.0 / 360.0 * n4 - 81.0 / 512.0 * n5 + 96199.0 / 604800.0 * n6;
+        beta[2] = 1.0 / 48.0 * n2 + 1.0 / 15.0 * n3 - 437.0 / 1440.0 * n4 + 46.0 / 105.0 * n5 - 1118711.0 / 3870720.0 * n6;
+        beta[3] = 17.0 / 480.0 * n3 - 37.0 / 840.0 * n4 - 209.0 / 4480.0 * n5 + 5569.0 / 90720.0 * n6;
+        beta[4] = 4397.0 / 161280.0 * n4 - 11.0 / 504.0 * n5 - 830251.0 / 7257600.0 * n6;
+        beta[5] = 4583.0 / 161280.0 * n5 - 108847.0 / 3991680.0 * n6;
+        beta[6] = 20648693.0 / 638668800.0 * n6;
+
+        // northing of the true origin on the central meridian
+        double[] northing = new double[1];
+        project(Coordinate.toRadians(latitudeOfOrigin), 0.0, new double[1], 0, northing, 0);
+        this.y0 = northing[0];
+    }
+
+    /**
+     * Universal Transverse Mercator zone on the given datum
+     * @param datum datum providing the ellipsoid
+     * @param zone  UTM zone 1..60
+     * @param north true for the northern hemisphere
+     * @return Projection
+     */
+    public static TransverseMercator utm(final Datum datum, final int zone, final boolean north) {
+        return new TransverseMercator(datum, UtmZone.centralMeridian(zone), 0.0, UtmZone.SCALE,
+                UtmZone.FALSE_EASTING, north ? 0.0 : UtmZone.FALSE_NORTHING_SOUTH);
+    }
+
+    /**
+     * Universal Transverse Mercator zone on WGS84; instances are shared
+     * @param zone  UTM zone 1..60
+     * @param north true for the northern hemisphere
+     * @return Projection
+     */
+    public static TransverseMercator utm(final int zone, final boolean north) {
+        return UtmZone.projection(zone, north);
+    }
+
+    /**
+     * Ordnance Survey National Grid of Great Britain (OSGB36 / Airy 1830)
+     * @return Projection
+     */
+    public static TransverseMercator britishNationalGrid() {
+        return new TransverseMercator(Datum.getDatum("OSGB36"), -2.0, 49.0, 0.9996012717, 400000.0, -100000.0);
+    }
+
+    /**
+     * Projects a point
+     * @param latitude  latitude in degrees
+     * @param longitude longitude in degrees
+     * @return Grid coordinate
+     */
+    public GridCoordinate forward(final double latitude, final double longitude) {
+        double[] easting = new double[1];
+        double[] northing = new double[1];
+        project(Coordinate.toRadians(latitude), Coordinate.toRadians(longitude) - lambda0, easting, 0, northing, 0);
+        return new GridCoordinate(easting[0] + falseEasting, northing[0] - y0 + falseNorthing);
+    }
+
+    /**
+     * Projects a point without allocating
+     * @param latitude  latitude in degrees
+     * @param longitude longitude in degrees
+     * @param result    receives easting and northing in metres at index 0 and 1
+     */
+    public void forward(final double latitude, final double longitude, final double[] result) {
+        project(Coordinate.toRadians(latitude), Coordinate.toRadians(longitude) - lambda0, result, 0, result, 1);
+        result[0] += falseEasting;
+        result[1] += falseNorthing - y0;
+    }
+
+    /**
+     * Projects a point; the point is assumed to be on this projection's datum
+     * @param point point to project
+     * @return Grid coordinate
+     */
+    public GridCoordinate forward(final EllipsoidalPoint point) {
+        return forward(point.getLatitude().getDegrees(), point.getLongitude().getDegrees());
+    }
+
+    /**
+     * Projects a batch of points
+     * @param latitudes  latitudes in degrees
+     * @param longitudes longitudes in degrees
+     * @param eastings   resulting eastings in metres
+     * @param northings  resulting northings in metres
+     * @param count      number of points
+     */
+    public void forward(final double[] latitudes, final double[] longitudes, final double[] eastings,
+                        final double[] northings, final int count) {
+        long start = Metrics.start();
+        Object event = GeodesyEvents.beginBatch(Operation.PROJECTION_BATCH, "kruger", count);
+        double offset = falseNorthing - y0;
+        for (int i = 0; i < count; i++) {
+            project(Coordinate.toRadians(latitudes[i]), Coordinate.toRadians(longitudes[i]) - lambda0, eastings, i, northings, i);
+            eastings[i] += falseEasting;
+            northings[i] += offset;
+        }
+        GeodesyEvents.endBatch(event, 0L);
+        Metrics.stop(Operation.PROJECTION_BATCH, start, count);
+    }
+
+    /**
+     * Unprojects a grid coordinate
+     * @param easting  easting in metres
+     * @param northing northing in metres
+     * @return Point on this projection's datum, with zero height
+     */
+    public EllipsoidalPoint inverse(final double easting, final double northing) {
+        double[] latitude = new double[1];
+        double[] longitude = new double[1];
+        unproject(easting, northing, latitude, 0, longitude, 0);
+        EllipsoidalPoint point = new EllipsoidalPoint(new Latitude(latitude[0]), new Longitude(longitude[0]), 0.0);
+        point.setDatum(datum);
+        return point;
+    }
+
+    /**
+     * Unprojects a grid coordinate
+     * @param gridCoordinate grid coordinate
+     * @return Point on this projection's datum, with zero height
+     */
+    public EllipsoidalPoint inverse(final GridCoordinate gridCoordinate) {
+        return inverse(gridCoordinate.getEasting(), gridCoordinate.getNorthing());
+    }
+
+    /**
+     * Unprojects a grid coordinate without allocating
+     * @param easting  easting in metres
+     * @param northing northing in metres
+     * @param result   receives latitude and longitude in degrees at index 0 and 1
+     */
+    public void inverse(final double easting, final double northing, final double[] result) {
+        unproject(easting, northing, result, 0, result, 1);
+    }
+
+    /**
+     * Unprojects a batch of grid coordinates
+     * @param eastings   eastings in metres
+     * @param northings  northings in metres
+     * @param latitudes  resulting latitudes in degrees
+     * @param longitudes resulting longitudes in degrees, wrapped to -180..+180
+     * @param count      number of points
+     */
+    public void inverse(final double[] eastings, final double[] northings, final double[] latitudes,
+                        final double[] longitudes, final int count) {
+        long start = Metrics.start();
+        Object event = GeodesyEvents.beginBatch(Operation.PROJECTION_BATCH, "kruger", count);
+        for (int i = 0; i < count; i++)
+            unproject(eastings[i], northings[i], latitudes, i, longitudes, i);
+        GeodesyEvents.endBatch(event, 0L);
+        Metrics.stop(Operation.PROJECTION_BATCH, start, count);
+    }
+
+    /**
+     * Gauss-Krüger forward kernel without false origin
+     */
+    private void project(final double phi, final double lambda, final double[] x, final int xIndex,
+                         final double[] y, final int yIndex) {
+        double cosLambda = Math.cos(lambda);
+        double sinLambda = Math.sin(lambda);
+
+        // conformal latitude
+        double tau = Math.tan(phi);
+        double sqrtOnePlusTauSq = Math.sqrt(1.0 + tau * tau);
+        double sigma = Math.sinh(e * atanh(e * tau / sqrtOnePlusTauSq));
+        double tauPrime = tau * Math.sqrt(1.0 + sigma * sigma) - sigma * sqrtOnePlusTauSq;
+
+        double xiPrime = Math.atan2(tauPrime, cosLambda);
+        double etaPrime = asinh(sinLambda / Math.sqrt(tauPrime * tauPrime + cosLambda * cosLambda));
+
+        // ξ = ξ' + Σ αj sin 2jξ' cosh 2jη', η = η' + Σ αj cos 2jξ' sinh 2jη'
+        double sin2 = Math.sin(2.0 * xiPrime);
+        double cos2 = Math.cos(2.0 * xiPrime);
+        double exp2 = Math.exp(2.0 * etaPrime);
+        double sinh2 = (exp2 - 1.0 / exp2) * 0.5;
+        double cosh2 = (exp2 + 1.0 / exp2) * 0.5;
+
+        double xi = xiPrime;
+        double eta = etaPrime;
+        double sinJ = sin2, cosJ = cos2, sinhJ = sinh2, coshJ = cosh2;
+        for (int j = 1; j <= ORDER; j++) {
+            xi += alpha[j] * sinJ * coshJ;
+            eta += alpha[j] * cosJ * sinhJ;
+            double nextSin = sinJ * cos2 + cosJ * sin2;
+            double nextCos = cosJ * cos2 - sinJ * sin2;
+            double nextSinh = sinhJ * cosh2 + coshJ * sinh2;
+            double nextCosh = coshJ * cosh2 + sinhJ * sinh2;
+            sinJ = nextSin;
+            cosJ = nextCos;
+            sinhJ = nextSinh;
+            coshJ = nextCosh;
+        }
+
+        x[xIndex] = kA * eta;
+        y[yIndex] = kA * xi;
+    }
+
+    /**
+     * Gauss-Krüger inverse kernel
+     */
+    private void unproject(final double easting, final double northing, final double[] latitudes, final int latitudeIndex,
+                           final double[] longitudes, final int longitudeIndex) {
+        double eta = (easting - falseEasting) * inverseKA;
+        double xi = (northing - falseNorthing + y0) * inverseKA;
+
+        // ξ' = ξ - Σ βj sin 2jξ cosh 2jη, η' = η - Σ βj cos 2jξ sinh 2jη
+        double sin2 = Math.sin(2.0 * xi);
+        double cos2 = Math.cos(2.0 * xi);
+        double exp2 = Math.exp(2.0 * eta);
+        double sinh2 = (exp2 - 1.0 / exp2) * 0.5;
+        double cosh2 = (exp2 + 1.0 / exp2) * 0.5;
+
+        double xiPrime = xi;
+        double etaPrime = eta;
+        double sinJ = sin2, cosJ = cos2, sinhJ = sinh2, coshJ = cosh2;
+        for (int j = 1; j <= ORDER; j++) {
+            xiPrime -= beta[j] * sinJ * coshJ;
+            etaPrime -= beta[j] * cosJ * sinhJ;
+            double nextSin = sinJ * cos2 + cosJ * sin2;
+            double nextCos = cosJ * cos2 - sinJ * sin2;
+            double nextSinh = sinhJ * cosh2 + coshJ * sinh2;
+            double nextCosh = coshJ * cosh2 + sinhJ * sinh2;
+            sinJ = nextSin;
+            cosJ = nextCos;
+            sinhJ = nextSinh;
+            coshJ = nextCosh;
+        }
+
+        double sinhEtaPrime = Math.sinh(etaPrime);
+        double sinXiPrime = Math.sin(xiPrime);
+        double cosXiPrime = Math.cos(xiPrime);
+        double tauPrime = sinXiPrime / Math.sqrt(sinhEtaPrime * sinhEtaPrime + cosXiPrime * cosXiPrime);
+
+        // Newton-Raphson for τ from τ' (Karney 2011 eqn 19-21), converges in 2-3 iterations
+        double tau = tauPrime;
+        double deltaTau;
+        int iterations = 0;
+        do {
+            double sqrtOnePlusTauSq = Math.sqrt(1.0 + tau * tau);
+            double sigma = Math.sinh(e * atanh(e * tau / sqrtOnePlusTauSq));
+            double tauI = tau * Math.sqrt(1.0 + sigma * sigma) - sigma * sqrtOnePlusTauSq;
+            deltaTau = (tauPrime - tauI) / Math.sqrt(1.0 + tauI * tauI)
+                    * (1.0 + oneMinusESq * tau * tau) / (oneMinusESq * sqrtOnePlusTauSq);
+            tau += deltaTau;
+        } while (Math.abs(deltaTau) > 1e-12 && ++iterations < 10);
+
+        double lambda = Math.atan2(sinhEtaPrime, cosXiPrime) + lambda0;
+        if (lambda > Math.PI)
+            lambda -= 2.0 * Math.PI;
+        else if (lambda < -Math.PI)
+            lambda += 2.0 * Math.PI;
+
+        latitudes[latitudeIndex] = Coordinate.toDegrees(Math.atan(tau));
+        longitudes[longitudeIndex] = Coordinate.toDegrees(lambda);
+    }
+
+    private static double atanh(final double x) {
+        return 0.5 * Math.log((1.0 + x) / (1.0 - x));
+    }
+
+    private static double asinh(final double x) {
+        double ax = Math.abs(x);
+        double result = Math.log(ax + Math.sqrt(ax * ax + 1.0));
+        return x < 0.0 ? -result : result;
+    }
+
+    public Datum getDatum() {
+        return datum;
+    }
+
+    public double getCentralMeridian() {
+        return centralMeridian;
+    }
+
+    public double getLatitudeOfOrigin() {
+        return latitudeOfOrigin;
+    }
+
+    public double getScale() {
+        return scale;
+    }
+
+    public double getFalseEasting() {
+        return falseEasting;
+    }
+
+    public double getFalseNorthing() {
+        return falseNorthing;
+    }
+
+    @Override
+    public String toString() {
+        return new ToStringBuilder(this)
+                .append("centralMeridian", centralMeridian)
+                .append("latitudeOfOrigin", latitudeOfOrigin)
+                .append("scale", scale)
+                .append("falseEasting", falseEasting)
+                .append("falseNorthing", falseNorthing)
+                .toString();
+    }
+}
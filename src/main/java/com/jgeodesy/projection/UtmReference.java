@@ -0,0 +1,188 @@
+package com.jgeodesy.projection;
+
+import com.jgeodesy.base.EllipsoidalPoint;
+import com.jgeodesy.coordinate.Latitude;
+import com.jgeodesy.coordinate.Longitude;
+import com.jgeodesy.shape.Datum;
+
+/**
+ * UTM grid reference codec on WGS84, e.g. "31 N 448252 5411933".
+ * A codec instance owns small scratch buffers so formatting and parsing do not allocate; instances are not
+ * thread-safe, use one per thread.
+ */
+public class UtmReference {
+
+    /**
+     * Longest reference: "60 N 1234567 12345678"
+     */
+    private static final int MAX_LENGTH = 24;
+
+    private final double[] grid = new double[2];
+    private final char[] chars = new char[MAX_LENGTH];
+
+    /**
+     * Formats a point with 1m precision
+     * @param point point on WGS84
+     * @return UTM reference
+     */
+    public static String toUtm(final EllipsoidalPoint point) {
+        return new UtmReference().format(point.getLatitude().getDegrees(), point.getLongitude().getDegrees(),
+                new StringBuilder(MAX_LENGTH)).toString();
+    }
+
+    /**
+     * Parses a UTM reference
+     * @param reference UTM reference
+     * @return Point on WGS84
+     */
+    public static EllipsoidalPoint toPoint(final CharSequence reference) {
+        double[] result = new double[2];
+        new UtmReference().parse(reference, 0, reference.length(), result);
+        EllipsoidalPoint point = new EllipsoidalPoint(new Latitude(result[0]), new Longitude(result[1]), 0.0);
+        point.setDatum(Datum.getDatum("WGS84"));
+        return point;
+    }
+
+    /**
+     * Formats a point as "ZZ H EEEEEE NNNNNNN", eastings and northings rounded to the metre
+     * @param latitude  latitude in degrees, 80°S..84°N
+     * @param longitude longitude in degrees
+     * @param buffer    destination with room for 24 characters from offset
+     * @param offset    first character to write
+     * @return Number of characters written
+     */
+    public int format(final double latitude, final double longitude, final char[] buffer, final int offset) {
+        if (!(latitude >= -80.0 && latitude <= 84.0))
+            throw new IllegalArgumentException("Latitude outside UTM limits: " + latitude);
+
+        int zone = UtmZone.zoneOf(latitude, longitude);
+        boolean north = latitude >= 0.0;
+        TransverseMercator.utm(zone, north).forward(latitude, longitude, grid);
+
+        int position = offset;
+        position += CharScanner.writePadded(zone, 2, buffer, position);
+        buffer[position++] = ' ';
+        buffer[position++] = north ? 'N' : 'S';
+        buffer[position++] = ' ';
+        position += CharScanner.write(Math.round(grid[0]), buffer, position);
+        buffer[position++] = ' ';
+        position += CharScanner.write(Math.round(grid[1]), buffer, position);
+        return position - offset;
+    }
+
+    /**
+     * Appends a point as "ZZ H EEEEEE NNNNNNN"
+     * @param latitude  latitude in degrees, 80°S..84°N
+     * @param longitude longitude in degrees
+     * @param builder   destination
+     * @return The builder
+     */
+    public StringBuilder format(final double latitude, final double longitude, final StringBuilder builder) {
+        int length = format(latitude, longitude, chars, 0);
+        return builder.append(chars, 0, length);
+    }
+
+    /**
+     * Appends a batch of references separated by a delimiter
+     * @param latitudes  latitudes in degrees
+     * @param longitudes longitudes in degrees
+     * @param count      number of points
+     * @param builder    destination
+     * @param delimiter  character written after each reference
+     * @return The builder
+     */
+    public StringBuilder format(final double[] latitudes, final double[] longitudes, final int count,
+                                final StringBuilder builder, final char delimiter) {
+        for (int i = 0; i < count; i++) {
+            int length = format(latitudes[i], longitudes[i], chars, 0);
+            builder.append(chars, 0, length).append(delimiter);
+        }
+        return builder;
+    }
+
+    /**
+     * Parses "zone hemisphere easting northing"; easting and northing may have a decimal fraction
+     * @param text   characters holding the reference
+     * @param start  first character of the reference
+     * @param end    character after the reference
+     * @param result receives latitude and longitude in degrees at index 0 and 1
+     */
+    public void parse(final CharSequence text, final int start, final int end, final double[] result) {
+        int position = CharScanner.skipWhitespace(text, start, end);
+
+        int zone = 0;
+        int zoneDigits = 0;
+        while (position < end && CharScanner.isDigit(text.charAt(position))) {
+            zone = zone * 10 + (text.charAt(position++) - '0');
+            zoneDigits++;
+        }
+        if (zoneDigits == 0 || zone < 1 || zone > 60)
+            throw CharScanner.invalid("UTM reference", text, start, end, "zone must be 1..60");
+
+        position = CharScanner.skipWhitespace(text, position, end);
+        char hemisphere = position < end ? Character.toUpperCase(text.charAt(position++)) : ' ';
+        if (hemisphere != 'N' && hemisphere != 'S')
+            throw CharScanner.invalid("UTM reference", text, start, end, "hemisphere must be N or S");
+
+        double easting = 0.0;
+        double northing = 0.0;
+        for (int part = 0; part < 2; part++) {
+            position = CharScanner.skipWhitespace(text, position, end);
+            int first = position;
+            double value = 0.0;
+            double fraction = 0.0;
+            while (position < end) {
+                char c = text.charAt(position);
+                if (CharScanner.isDigit(c)) {
+                    if (fraction == 0.0) {
+                        value = value * 10.0 + (c - '0');
+                    } else {
+                        fraction *= 0.1;
+                        value += (c - '0') * fraction;
+                    }
+                } else if (c == '.' && fraction == 0.0) {
+                    fraction = 1.0;
+                } else {
+                    break;
+                }
+                position++;
+            }
+            if (position == first)
+                throw CharScanner.invalid("UTM reference", text, start, end, "missing easting or northing");
+            if (part == 0)
+                easting = value;
+            else
+                northing = value;
+        }
+        if (CharScanner.skipWhitespace(text, position, end) != end)
+            throw CharScanner.invalid("UTM reference", text, start, end, "unexpected trailing characters");
+
+        TransverseMercator.utm(zone, hemisphere == 'N').inverse(easting, northing, result);
+    }
+
+    /**
+     * Parses a batch of references separated by a delimiter; empty entries are skipped
+     * @param text       characters holding the references
+     * @param delimiter  separator between references
+     * @param latitudes  receives latitudes in degrees
+     * @param longitudes receives longitudes in degrees
+     * @return Number of references parsed
+     */
+    public int parse(final CharSequence text, final char delimiter, final double[] latitudes, final double[] longitudes) {
+        int count = 0;
+        int start = 0;
+        int length = text.length();
+        for (int i = 0; i <= length; i++) {
+            if (i == length || text.charAt(i) == delimiter) {
+                if (CharScanner.skipWhitespace(text, start, i) < i) {
+                    parse(text, start, i, grid);
+                    latitudes[count] = grid[0];
+                    longitudes[count] = grid[1];
+                    count++;
+                }
+                start = i + 1;
+            }
+        }
+        return count;
+    }
+}
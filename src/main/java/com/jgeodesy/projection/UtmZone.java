@@ -0,0 +1,93 @@
+package com.jgeodesy.projection;
+
+import com.jgeodesy.shape.Datum;
+
+/**
+ * Universal Transverse Mercator zone rules, including the Norway and Svalbard exceptions.
+ */
+public final class UtmZone {
+
+    /**
+     * Scale factor on the central meridian
+     */
+    public static final double SCALE = 0.9996;
+    /**
+     * False easting, (meter)
+     */
+    public static final double FALSE_EASTING = 500e3;
+    /**
+     * False northing in the southern hemisphere, (meter)
+     */
+    public static final double FALSE_NORTHING_SOUTH = 10000e3;
+
+    /**
+     * Shared WGS84 projections, indexed by (zone - 1) * 2 + (north ? 0 : 1)
+     */
+    private static final TransverseMercator[] WGS84_ZONES = new TransverseMercator[120];
+
+    static {
+        Datum wgs84 = Datum.getDatum("WGS84");
+        for (int zone = 1; zone <= 60; zone++) {
+            WGS84_ZONES[(zone - 1) * 2] = TransverseMercator.utm(wgs84, zone, true);
+            WGS84_ZONES[(zone - 1) * 2 + 1] = TransverseMercator.utm(wgs84, zone, false);
+        }
+    }
+
+    private UtmZone() {
+    }
+
+    /**
+     * Returns the UTM zone containing a point
+     * @param latitude  latitude in degrees
+     * @param longitude longitude in degrees
+     * @return Zone 1..60
+     */
+    public static int zoneOf(final double latitude, final double longitude) {
+        double lon = longitude;
+        if (lon >= 180.0 || lon < -180.0)
+            lon = ((lon + 180.0) % 360.0 + 360.0) % 360.0 - 180.0;
+        int zone = (int) Math.floor((lon + 180.0) / 6.0) + 1;
+
+        // Norway: zone 32V is widened to 3°E..12°E
+        if (latitude >= 56.0 && latitude < 64.0 && lon >= 3.0 && lon < 12.0)
+            return 32;
+
+        // Svalbard: zones 32X, 34X and 36X are not used
+        if (latitude >= 72.0 && latitude <= 84.0 && lon >= 0.0 && lon < 42.0) {
+            if (lon < 9.0)
+                return 31;
+            if (lon < 21.0)
+                return 33;
+            if (lon < 33.0)
+                return 35;
+            return 37;
+        }
+        return zone;
+    }
+
+    /**
+     * Returns the central meridian of a zone
+     * @param zone zone 1..60
+     * @return Central meridian in degrees
+     */
+    public static double centralMeridian(final int zone) {
+        checkZone(zone);
+        return (zone - 1) * 6.0 - 180.0 + 3.0;
+    }
+
+    /**
+     * Returns the shared WGS84 projection of a zone
+     * @param zone  zone 1..60
+     * @param north true for the northern hemisphere
+     * @return Projection
+     */
+    static TransverseMercator projection(final int zone, final boolean north) {
+        checkZone(zone);
+        return WGS84_ZONES[(zone - 1) * 2 + (north ? 0 : 1)];
+    }
+
+    private static void checkZone(final int zone) {
+        if (zone < 1 || zone > 60)
+            throw new IllegalArgumentException("UTM zone must be between 1 and 60: " + zone);
+    }
+}
@@ -0,0 +1,170 @@
+package com.jgeodesy.server;
+
+import org.apache.commons.lang3.builder.ToStringBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Combines concurrent small requests into single kernel calls. Each caller queues its records and then takes the
+ * lock; the holder processes everything queued so far, up to a maximum batch, in one call, so callers that arrive
+ * while a batch is running are served together by the next lock holder. No timer or extra thread is involved and
+ * a lone request runs immediately. Waiting is done on a {@link ReentrantLock}, which does not pin virtual threads.
+ */
+public final class BatchCoalescer {
+
+    private final BatchKernel kernel;
+    private final int maxBatch;
+    private final ConcurrentLinkedQueue<Pending> queue = new ConcurrentLinkedQueue<>();
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder records = new LongAdder();
+
+    // Guarded by lock
+    private double[] input = new double[0];
+    private double[] output = new double[0];
+
+    /**
+     * @param kernel   kernel to call
+     * @param maxBatch number of records above which no more requests are added to a batch
+     */
+    public BatchCoalescer(final BatchKernel kernel, final int maxBatch) {
+        if (maxBatch < 1)
+            throw new IllegalArgumentException("Maximum batch must be positive: " + maxBatch);
+        this.kernel = kernel;
+        this.maxBatch = maxBatch;
+    }
+
+    /**
+     * Processes records, possibly together with those of concurrent callers
+     * @param values input records, count * input width values
+     * @param count  number of records
+     * @return Output records, count * output width values
+     */
+    public double[] apply(final double[] values, final int count) {
+        if (count < 0 || values.length < count * kernel.getInputWidth())
+            throw new IllegalArgumentException("Expected " + count + " records of " + kernel.getInputWidth()
+                    + " values, got " + values.length + " values");
+        Pending pending = new Pending(values, count);
+        queue.add(pending);
+        requests.increment();
+        lock.lock();
+        try {
+            while (!pending.done)
+                drain();
+        } finally {
+            lock.unlock();
+        }
+        if (pending.error instanceof RuntimeException)
+            throw (RuntimeException) pending.error;
+        if (pending.error instanceof Error)
+            throw (Error) pending.error;
+        if (pending.error != null)
+            throw new IllegalStateException("Batch kernel failed", pending.error);
+        return pending.result;
+    }
+
+    private void drain() {
+        List<Pending> batch = new ArrayList<>();
+        int total = 0;
+        Pending next;
+        while (total < maxBatch && (next = queue.poll()) != null) {
+            batch.add(next);
+            total += next.count;
+        }
+
+        // Any failure, including an Error, completes every member so no caller waits for a batch that is gone
+        Throwable error = null;
+        try {
+            int inputWidth = kernel.getInputWidth();
+            int outputWidth = kernel.getOutputWidth();
+            if (input.length < total * inputWidth)
+                input = new double[total * inputWidth];
+            if (output.length < total * outputWidth)
+                output = new double[total * outputWidth];
+            int offset = 0;
+            for (Pending pending : batch) {
+                System.arraycopy(pending.values, 0, input, offset * inputWidth, pending.count * inputWidth);
+                offset += pending.count;
+            }
+
+            kernel.apply(input, output, total);
+
+            offset = 0;
+            for (Pending pending : batch) {
+                pending.result = new double[pending.count * outputWidth];
+                System.arraycopy(output, offset * outputWidth, pending.result, 0, pending.count * outputWidth);
+                offset += pending.count;
+            }
+        } catch (Throwable e) {
+            error = e;
+        }
+        batches.increment();
+        records.add(total);
+
+        for (Pending pending : batch) {
+            pending.error = error;
+            pending.done = true;
+        }
+    }
+
+    /**
+     * @return Number of values per input record
+     */
+    public int getInputWidth() {
+        return kernel.getInputWidth();
+    }
+
+    /**
+     * @return Number of calls to {@link #apply(double[], int)}
+     */
+    public long getRequests() {
+        return requests.sum();
+    }
+
+    /**
+     * @return Number of kernel calls
+     */
+    public long getBatches() {
+        return batches.sum();
+    }
+
+    /**
+     * @return Number of records processed
+     */
+    public long getRecords() {
+        return records.sum();
+    }
+
+    @Override
+    public String toString() {
+        return new ToStringBuilder(this)
+                .append("maxBatch", maxBatch)
+                .append("requests", getRequests())
+                .append("batches", getBatches())
+                .append("records", getRecords())
+                .toString();
+    }
+
+    /**
+     * Queued request; its fields are written and read under the lock
+     */
+    private static final class Pending {
+
+        private final double[] values;
+        private final int count;
+        private double[] result;
+        private Throwable error;
+        private boolean done;
+
+        Pending(double[] values, int count) {
+            this.values = values;
+            this.count = count;
+        }
+    }
+}
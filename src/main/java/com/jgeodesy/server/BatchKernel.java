@@ -0,0 +1,26 @@
+package com.jgeodesy.server;
+
+/**
+ * Array operation over fixed-width records of doubles, such as (lat1, lon1, lat2, lon2) in and distance out.
+ * Implementations must be safe to call from several threads.
+ */
+public interface BatchKernel {
+
+    /**
+     * @return Number of values per input record
+     */
+    int getInputWidth();
+
+    /**
+     * @return Number of values per output record
+     */
+    int getOutputWidth();
+
+    /**
+     * Processes records
+     * @param input  count * input width values
+     * @param output receives count * output width values
+     * @param count  number of records
+     */
+    void apply(double[] input, double[] output, int count);
+}
@@ -0,0 +1,108 @@
+package com.jgeodesy.server;
+
+import com.jgeodesy.base.EllipsoidalPoint;
+import com.jgeodesy.shape.Datum;
+import com.jgeodesy.util.SphericalMath;
+
+/**
+ * Batch kernels served by {@link GeodesyServer}. Spherical results agree with
+ * {@link com.jgeodesy.base.SphericalPoint}; angles are in degrees.
+ */
+public final class GeodesyKernels {
+
+    private GeodesyKernels() {
+    }
+
+    /**
+     * (lat1, lon1, lat2, lon2) to great circle distance
+     * @param radius radius of earth
+     * @return Kernel
+     */
+    public static BatchKernel distance(final double radius) {
+        return new BatchKernel() {
+            @Override
+            public int getInputWidth() {
+                return 4;
+            }
+
+            @Override
+            public int getOutputWidth() {
+                return 1;
+            }
+
+            @Override
+            public void apply(final double[] input, final double[] output, final int count) {
+                for (int i = 0; i < count; i++) {
+                    int j = i * 4;
+                    output[i] = radius * SphericalMath.angularDistance(Math.toRadians(input[j]), Math.toRadians(input[j + 1]),
+                            Math.toRadians(input[j + 2]), Math.toRadians(input[j + 3]));
+                }
+            }
+        };
+    }
+
+    /**
+     * (lat1, lon1, lat2, lon2) to initial bearing, 0..360
+     * @return Kernel
+     */
+    public static BatchKernel initialBearing() {
+        return new BatchKernel() {
+            @Override
+            public int getInputWidth() {
+                return 4;
+            }
+
+            @Override
+            public int getOutputWidth() {
+                return 1;
+            }
+
+            @Override
+            public void apply(final double[] input, final double[] output, final int count) {
+                for (int i = 0; i < count; i++) {
+                    int j = i * 4;
+                    output[i] = SphericalMath.initialBearing(Math.toRadians(input[j]), Math.toRadians(input[j + 1]),
+                            Math.toRadians(input[j + 2]), Math.toRadians(input[j + 3]));
+                }
+            }
+        };
+    }
+
+    /**
+     * (lat, lon, height) on one datum to (lat, lon, height) on another
+     * @param fromDatum datum of the input
+     * @param toDatum   datum of the output
+     * @return Kernel
+     */
+    public static BatchKernel datumConversion(final Datum fromDatum, final Datum toDatum) {
+        return new BatchKernel() {
+            @Override
+            public int getInputWidth() {
+                return 3;
+            }
+
+            @Override
+            public int getOutputWidth() {
+                return 3;
+            }
+
+            @Override
+            public void apply(final double[] input, final double[] output, final int count) {
+                double[] latitudes = new double[count];
+                double[] longitudes = new double[count];
+                double[] heights = new double[count];
+                for (int i = 0; i < count; i++) {
+                    latitudes[i] = input[i * 3];
+                    longitudes[i] = input[i * 3 + 1];
+                    heights[i] = input[i * 3 + 2];
+                }
+                EllipsoidalPoint.convertToDatum(fromDatum, toDatum, latitudes, longitudes, heights, count);
+                for (int i = 0; i < count; i++) {
+                    output[i * 3] = latitudes[i];
+                    output[i * 3 + 1] = longitudes[i];
+                    output[i * 3 + 2] = heights[i];
+                }
+            }
+        };
+    }
+}
@@ -0,0 +1,340 @@
+package com.jgeodesy.server;
+
+import com.jgeodesy.metrics.Histogram;
+import com.jgeodesy.metrics.HistogramSnapshot;
+import com.jgeodesy.shape.Datum;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+import org.apache.commons.lang3.builder.ToStringBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.Method;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Embedded HTTP server exposing batch geodesy operations to other processes, on the JDK's built-in
+ * {@link HttpServer}. Bodies are flat arrays of numbers, as JSON ({@code application/json}) or big-endian doubles
+ * ({@code application/octet-stream}); the response uses the request's content type. Angles are in degrees.
+ * <ul>
+ *     <li>{@code POST /v1/distance}: (lat1, lon1, lat2, lon2)* to distance*, in the units of the radius</li>
+ *     <li>{@code POST /v1/bearing}: (lat1, lon1, lat2, lon2)* to initial bearing*</li>
+ *     <li>{@code POST /v1/datum?from=WGS84&to=OSGB36}: (lat, lon, height)* to (lat, lon, height)*</li>
+ *     <li>{@code GET /v1/metrics}: request, record and kernel call counts and latency percentiles in nanoseconds
+ *     per endpoint, as JSON</li>
+ * </ul>
+ * Requests run on virtual threads when the JVM provides them (Java 21+) and on a fixed pool otherwise.
+ * Concurrent requests for the same operation are merged into single kernel calls by a {@link BatchCoalescer}.
+ * Malformed bodies get 400, methods other than POST 405 and bodies over the size limit 413; the metrics count
+ * all three as errors of the endpoint.
+ */
+public class GeodesyServer {
+
+    private static final Logger logger = LoggerFactory.getLogger(GeodesyServer.class);
+
+    /**
+     * Largest accepted request body in bytes
+     */
+    public static final int MAX_BODY_BYTES = 16 * 1024 * 1024;
+
+    private static final int MAX_BATCH = 8192;
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final boolean virtualThreads;
+    private final Map<String, Endpoint> endpoints = new LinkedHashMap<>();
+    private final ConcurrentMap<String, BatchCoalescer> datumConversions = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a server; call {@link #start()} to accept requests
+     * @param address address to bind, port 0 for an ephemeral port
+     * @param radius  radius of earth for the spherical operations
+     * @throws IOException if the address cannot be bound
+     */
+    public GeodesyServer(final InetSocketAddress address, final double radius) throws IOException {
+        ExecutorService virtual = newVirtualThreadExecutor();
+        this.virtualThreads = virtual != null;
+        this.executor = virtual != null ? virtual : newPlatformThreadExecutor();
+        this.server = HttpServer.create(address, 0);
+        this.server.setExecutor(executor);
+
+        final BatchCoalescer distance = new BatchCoalescer(GeodesyKernels.distance(radius), MAX_BATCH);
+        final BatchCoalescer bearing = new BatchCoalescer(GeodesyKernels.initialBearing(), MAX_BATCH);
+        addEndpoint("distance", Collections.singleton(distance), new KernelHandler() {
+            @Override
+            BatchCoalescer coalescer(HttpExchange exchange) {
+                return distance;
+            }
+        });
+        addEndpoint("bearing", Collections.singleton(bearing), new KernelHandler() {
+            @Override
+            BatchCoalescer coalescer(HttpExchange exchange) {
+                return bearing;
+            }
+        });
+        addEndpoint("datum", datumConversions.values(), new KernelHandler() {
+            @Override
+            BatchCoalescer coalescer(HttpExchange exchange) {
+                Map<String, String> query = parseQuery(exchange.getRequestURI().getRawQuery());
+                final Datum from = datum(query.get("from"));
+                final Datum to = datum(query.get("to"));
+                String key = query.get("from") + '>' + query.get("to");
+                BatchCoalescer coalescer = datumConversions.get(key);
+                if (coalescer == null) {
+                    BatchCoalescer created = new BatchCoalescer(GeodesyKernels.datumConversion(from, to), MAX_BATCH);
+                    coalescer = datumConversions.putIfAbsent(key, created);
+                    if (coalescer == null)
+                        coalescer = created;
+                }
+                return coalescer;
+            }
+        });
+        server.createContext("/v1/metrics", new HttpHandler() {
+            @Override
+            public void handle(HttpExchange exchange) throws IOException {
+                try {
+                    if (!"GET".equals(exchange.getRequestMethod())) {
+                        respond(exchange, 405, "Method not allowed");
+                        return;
+                    }
+                    exchange.getResponseHeaders().set("Content-Type", Payloads.JSON);
+                    respond(exchange, 200, metricsJson().getBytes(StandardCharsets.UTF_8));
+                } finally {
+                    exchange.close();
+                }
+            }
+        });
+    }
+
+    /**
+     * Starts accepting requests
+     */
+    public void start() {
+        server.start();
+        logger.info("Geodesy server listening on {} ({} threads)", getAddress(), virtualThreads ? "virtual" : "platform");
+    }
+
+    /**
+     * Stops the server
+     * @param delaySeconds time allowed for running requests to finish
+     */
+    public void stop(final int delaySeconds) {
+        server.stop(delaySeconds);
+        executor.shutdown();
+        try {
+            executor.awaitTermination(delaySeconds, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * @return Bound address, with the actual port
+     */
+    public InetSocketAddress getAddress() {
+        return server.getAddress();
+    }
+
+    /**
+     * @return Whether requests run on virtual threads
+     */
+    public boolean isVirtualThreads() {
+        return virtualThreads;
+    }
+
+    /**
+     * @return Metrics of all endpoints as served by {@code GET /v1/metrics}
+     */
+    public String metricsJson() {
+        StringBuilder json = new StringBuilder("{");
+        for (Map.Entry<String, Endpoint> entry : endpoints.entrySet()) {
+            Endpoint endpoint = entry.getValue();
+            long batches = 0;
+            for (BatchCoalescer coalescer : endpoint.coalescers)
+                batches += coalescer.getBatches();
+            HistogramSnapshot latency = endpoint.latency.snapshot();
+            if (json.length() > 1)
+                json.append(',');
+            json.append('"').append(entry.getKey()).append("\":{")
+                    .append("\"requests\":").append(endpoint.requests.sum())
+                    .append(",\"errors\":").append(endpoint.errors.sum())
+                    .append(",\"records\":").append(endpoint.records.sum())
+                    .append(",\"batches\":").append(batches)
+                    .append(",\"latencyNanos\":{")
+                    .append("\"mean\":").append(latency.getTotalCount() == 0 ? 0 : Math.round(latency.getMean()))
+                    .append(",\"p50\":").append(latency.getValueAtPercentile(50.0))
+                    .append(",\"p99\":").append(latency.getValueAtPercentile(99.0))
+                    .append(",\"max\":").append(latency.getMax())
+                    .append("}}");
+        }
+        return json.append('}').toString();
+    }
+
+    private void addEndpoint(final String name, final Collection<BatchCoalescer> coalescers, final KernelHandler handler) {
+        handler.endpoint = new Endpoint(coalescers);
+        endpoints.put(name, handler.endpoint);
+        server.createContext("/v1/" + name, handler);
+    }
+
+    /**
+     * Decodes the body, runs the operation through its coalescer and encodes the result
+     */
+    private abstract class KernelHandler implements HttpHandler {
+
+        private Endpoint endpoint;
+
+        abstract BatchCoalescer coalescer(HttpExchange exchange);
+
+        @Override
+        public void handle(final HttpExchange exchange) throws IOException {
+            long start = System.nanoTime();
+            try {
+                if (!"POST".equals(exchange.getRequestMethod())) {
+                    endpoint.errors.increment();
+                    respond(exchange, 405, "Method not allowed");
+                    return;
+                }
+                byte[] body = readBody(exchange.getRequestBody());
+                if (body == null) {
+                    endpoint.errors.increment();
+                    respond(exchange, 413, "Body exceeds " + MAX_BODY_BYTES + " bytes");
+                    return;
+                }
+                boolean binary = Payloads.isBinary(exchange.getRequestHeaders().getFirst("Content-Type"));
+                double[] result;
+                int records;
+                try {
+                    BatchCoalescer coalescer = coalescer(exchange);
+                    double[] values = Payloads.decode(body, binary);
+                    int width = coalescer.getInputWidth();
+                    if (values.length % width != 0)
+                        throw new IllegalArgumentException("Expected a multiple of " + width + " values, got " + values.length);
+                    records = values.length / width;
+                    result = coalescer.apply(values, records);
+                } catch (IllegalArgumentException e) {
+                    endpoint.errors.increment();
+                    respond(exchange, 400, e.getMessage());
+                    return;
+                }
+                byte[] response = Payloads.encode(result, binary);
+                // Counted before the response goes out, so a client reading the metrics afterwards sees this request
+                endpoint.requests.increment();
+                endpoint.records.add(records);
+                endpoint.latency.record(System.nanoTime() - start);
+                exchange.getResponseHeaders().set("Content-Type", binary ? Payloads.BINARY : Payloads.JSON);
+                respond(exchange, 200, response);
+            } finally {
+                exchange.close();
+            }
+        }
+    }
+
+    private static final class Endpoint {
+        private final LongAdder requests = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder records = new LongAdder();
+        private final Histogram latency = new Histogram();
+        private final Collection<BatchCoalescer> coalescers;
+
+        Endpoint(Collection<BatchCoalescer> coalescers) {
+            this.coalescers = coalescers;
+        }
+    }
+
+    private static Datum datum(final String name) {
+        if (name == null)
+            throw new IllegalArgumentException("Missing datum parameter");
+        Datum datum = Datum.getDatum(name);
+        if (datum == null)
+            throw new IllegalArgumentException("Unknown datum: " + name);
+        return datum;
+    }
+
+    private static Map<String, String> parseQuery(final String query) {
+        Map<String, String> parameters = new LinkedHashMap<>();
+        if (query == null)
+            return parameters;
+        for (String pair : query.split("&")) {
+            int separator = pair.indexOf('=');
+            if (separator > 0)
+                parameters.put(pair.substring(0, separator), pair.substring(separator + 1));
+        }
+        return parameters;
+    }
+
+    private static byte[] readBody(final InputStream input) throws IOException {
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        byte[] buffer = new byte[8192];
+        int read;
+        while ((read = input.read(buffer)) != -1) {
+            if (body.size() + read > MAX_BODY_BYTES)
+                return null;
+            body.write(buffer, 0, read);
+        }
+        return body.toByteArray();
+    }
+
+    private static void respond(final HttpExchange exchange, final int status, final String message) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", "text/plain; charset=utf-8");
+        respond(exchange, status, message.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void respond(final HttpExchange exchange, final int status, final byte[] body) throws IOException {
+        exchange.sendResponseHeaders(status, body.length == 0 ? -1 : body.length);
+        try (OutputStream output = exchange.getResponseBody()) {
+            output.write(body);
+        }
+    }
+
+    /**
+     * Creates a virtual thread per task executor through reflection, so the server still compiles and runs on
+     * Java 8
+     * @return Executor, null before Java 21
+     */
+    private static ExecutorService newVirtualThreadExecutor() {
+        try {
+            Method method = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) method.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+
+    private static ExecutorService newPlatformThreadExecutor() {
+        final AtomicInteger counter = new AtomicInteger();
+        return Executors.newFixedThreadPool(Math.max(4, Runtime.getRuntime().availableProcessors() * 2), new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable runnable) {
+                Thread thread = new Thread(runnable, "jgeodesy-server-" + counter.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+    }
+
+    @Override
+    public String toString() {
+        return new ToStringBuilder(this)
+                .append("address", getAddress())
+                .append("virtualThreads", virtualThreads)
+                .toString();
+    }
+}
@@ -0,0 +1,103 @@
+package com.jgeodesy.server;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Request and response bodies: flat arrays of doubles, either as a JSON array of numbers or as big-endian IEEE
+ * 754 doubles. NaN is written as null in JSON.
+ */
+final class Payloads {
+
+    static final String JSON = "application/json";
+    static final String BINARY = "application/octet-stream";
+
+    private Payloads() {
+    }
+
+    static boolean isBinary(final String contentType) {
+        return contentType != null && contentType.startsWith(BINARY);
+    }
+
+    static double[] decode(final byte[] body, final boolean binary) {
+        return binary ? decodeBinary(body) : decodeJson(new String(body, StandardCharsets.UTF_8));
+    }
+
+    static byte[] encode(final double[] values, final boolean binary) {
+        if (binary) {
+            ByteBuffer buffer = ByteBuffer.allocate(values.length * 8);
+            buffer.asDoubleBuffer().put(values);
+            return buffer.array();
+        }
+        return toJson(values).getBytes(StandardCharsets.UTF_8);
+    }
+
+    static double[] decodeBinary(final byte[] body) {
+        if (body.length % 8 != 0)
+            throw new IllegalArgumentException("Binary body length is not a multiple of 8: " + body.length);
+        double[] values = new double[body.length / 8];
+        ByteBuffer.wrap(body).asDoubleBuffer().get(values);
+        return values;
+    }
+
+    static double[] decodeJson(final String json) {
+        double[] values = new double[16];
+        int count = 0;
+        int i = skipWhitespace(json, 0);
+        if (i == json.length() || json.charAt(i) != '[')
+            throw new IllegalArgumentException("Expected a JSON array of numbers");
+        i = skipWhitespace(json, i + 1);
+        if (i < json.length() && json.charAt(i) == ']')
+            return checkEnd(json, i + 1, values, 0);
+        while (true) {
+            int start = i;
+            while (i < json.length() && "+-0123456789.eE".indexOf(json.charAt(i)) >= 0)
+                i++;
+            if (start == i)
+                throw new IllegalArgumentException("Expected a number at offset " + start);
+            if (count == values.length)
+                values = Arrays.copyOf(values, count * 2);
+            try {
+                values[count++] = Double.parseDouble(json.substring(start, i));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid number at offset " + start, e);
+            }
+            i = skipWhitespace(json, i);
+            if (i == json.length())
+                throw new IllegalArgumentException("Unterminated JSON array");
+            char c = json.charAt(i);
+            if (c == ']')
+                return checkEnd(json, i + 1, values, count);
+            if (c != ',')
+                throw new IllegalArgumentException("Expected ',' or ']' at offset " + i);
+            i = skipWhitespace(json, i + 1);
+        }
+    }
+
+    static String toJson(final double[] values) {
+        StringBuilder builder = new StringBuilder(values.length * 20 + 2).append('[');
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0)
+                builder.append(',');
+            double value = values[i];
+            if (Double.isNaN(value) || Double.isInfinite(value))
+                builder.append("null");
+            else
+                builder.append(value);
+        }
+        return builder.append(']').toString();
+    }
+
+    private static double[] checkEnd(final String json, final int index, final double[] values, final int count) {
+        if (skipWhitespace(json, index) != json.length())
+            throw new IllegalArgumentException("Unexpected content after JSON array");
+        return Arrays.copyOf(values, count);
+    }
+
+    private static int skipWhitespace(final String json, int index) {
+        while (index < json.length() && Character.isWhitespace(json.charAt(index)))
+            index++;
+        return index;
+    }
+}
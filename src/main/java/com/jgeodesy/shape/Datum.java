@@ -5,46 +5,53 @@ import org.apache.commons.lang3.builder.EqualsBuilder;
 import org.apache.commons.lang3.builder.HashCodeBuilder;
 import org.apache.commons.lang3.builder.ToStringBuilder;
 
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * Created by omeruluoglu on 23.10.2019.
  */
-public class Datum {
+public final class Datum {
 
-    private static Map<String, Datum> datums = new HashMap<>();
+    /**
+     * Immutable snapshot of the registered datums; replaced as a whole on registration so readers never lock
+     */
+    private static final AtomicReference<Map<String, Datum>> datums = new AtomicReference<>();
 
     static {
-        datums.put("BD72", new Datum(Ellipsoid.INTL1924, Transform.getTransforms().get("BD72")));
-        datums.put("DHDN", new Datum(Ellipsoid.BESSEL1841, Transform.getTransforms().get("DHDN")));
-        datums.put("ED50", new Datum(Ellipsoid.INTL1924, Transform.getTransforms().get("ED50")));
-        datums.put("ETRS89", new Datum(Ellipsoid.GRS80, Transform.getTransforms().get("WGS84")));
-        datums.put("GDA2020", new Datum(Ellipsoid.GRS80, Transform.getTransforms().get("WGS84")));
-        datums.put("GRS80", new Datum(Ellipsoid.GRS80, Transform.getTransforms().get("WGS84")));
-        datums.put("Irl1975", new Datum(Ellipsoid.AIRY_MODIFIED, Transform.getTransforms().get("Irl1975")));
-        datums.put("Krassowsky1940", new Datum(Ellipsoid.KRASSOVSKI1940, Transform.getTransforms().get("Krassowsky1940")));
-        datums.put("MGI", new Datum(Ellipsoid.BESSEL1841, Transform.getTransforms().get("MGI")));
-        datums.put("NAD27", new Datum(Ellipsoid.CLARKE1866, Transform.getTransforms().get("NAD27")));
-        datums.put("NAD83", new Datum(Ellipsoid.GRS80, Transform.getTransforms().get("NAD83")));
-        datums.put("NTF", new Datum(Ellipsoid.CLARKE1880IGN, Transform.getTransforms().get("NTF")));
-        datums.put("OSGB36", new Datum(Ellipsoid.AIRY1830, Transform.getTransforms().get("OSGB36")));
-        datums.put("Potsdam", new Datum(Ellipsoid.BESSEL1841, Transform.getTransforms().get("Bessel1841")));
-        datums.put("Sphere", new Datum(Ellipsoid.SPHERE, Transform.getTransforms().get("WGS84")));
-        datums.put("TokyoJapan", new Datum(Ellipsoid.BESSEL1841, Transform.getTransforms().get("TokyoJapan")));
-        datums.put("WGS72", new Datum(Ellipsoid.WGS72, Transform.getTransforms().get("WGS72")));
-        datums.put("WGS84", new Datum(Ellipsoid.WGS84, Transform.getTransforms().get("WGS84")));
+        Map<String, Datum> builtIn = new HashMap<>();
+        builtIn.put("BD72", new Datum(Ellipsoid.INTL1924, Transform.getTransform("BD72")));
+        builtIn.put("DHDN", new Datum(Ellipsoid.BESSEL1841, Transform.getTransform("DHDN")));
+        builtIn.put("ED50", new Datum(Ellipsoid.INTL1924, Transform.getTransform("ED50")));
+        builtIn.put("ETRS89", new Datum(Ellipsoid.GRS80, Transform.getTransform("WGS84")));
+        builtIn.put("GDA2020", new Datum(Ellipsoid.GRS80, Transform.getTransform("WGS84")));
+        builtIn.put("GRS80", new Datum(Ellipsoid.GRS80, Transform.getTransform("WGS84")));
+        builtIn.put("Irl1975", new Datum(Ellipsoid.AIRY_MODIFIED, Transform.getTransform("Irl1975")));
+        builtIn.put("Krassowsky1940", new Datum(Ellipsoid.KRASSOVSKI1940, Transform.getTransform("Krassowsky1940")));
+        builtIn.put("MGI", new Datum(Ellipsoid.BESSEL1841, Transform.getTransform("MGI")));
+        builtIn.put("NAD27", new Datum(Ellipsoid.CLARKE1866, Transform.getTransform("NAD27")));
+        builtIn.put("NAD83", new Datum(Ellipsoid.GRS80, Transform.getTransform("NAD83")));
+        builtIn.put("NTF", new Datum(Ellipsoid.CLARKE1880IGN, Transform.getTransform("NTF")));
+        builtIn.put("OSGB36", new Datum(Ellipsoid.AIRY1830, Transform.getTransform("OSGB36")));
+        builtIn.put("Potsdam", new Datum(Ellipsoid.BESSEL1841, Transform.getTransform("Bessel1841")));
+        builtIn.put("Sphere", new Datum(Ellipsoid.SPHERE, Transform.getTransform("WGS84")));
+        builtIn.put("TokyoJapan", new Datum(Ellipsoid.BESSEL1841, Transform.getTransform("TokyoJapan")));
+        builtIn.put("WGS72", new Datum(Ellipsoid.WGS72, Transform.getTransform("WGS72")));
+        builtIn.put("WGS84", new Datum(Ellipsoid.WGS84, Transform.getTransform("WGS84")));
+        datums.set(Collections.unmodifiableMap(builtIn));
     }
 
     /**
      * Associated ellipsoid
      */
-    private Ellipsoid ellipsoid;
+    private final Ellipsoid ellipsoid;
 
     /**
      * Associated Helmert transform parameters
      */
-    private Transform transform;
+    private final Transform transform;
 
     /**
      * @param ellipsoid ellipsoid
@@ -62,29 +69,44 @@ public class Datum {
      * @return Datum
      */
     public static Datum getDatum(String name) {
-        return datums.get(name);
+        return datums.get().get(name);
     }
 
+    /**
+     * Registered datums by name
+     * @return Unmodifiable snapshot, safe to read from any thread
+     */
     public static Map<String, Datum> getDatums() {
-        return datums;
+        return datums.get();
     }
 
-    public Ellipsoid getEllipsoid() {
-        return ellipsoid;
+    /**
+     * Registers a custom datum; readers see either the old or the new snapshot
+     * @param name  unique datum name
+     * @param datum datum to register
+     * @throws IllegalArgumentException if a datum with the same name is already registered
+     */
+    public static void register(final String name, final Datum datum) {
+        while (true) {
+            Map<String, Datum> current = datums.get();
+            if (current.containsKey(name))
+                throw new IllegalArgumentException("Datum already registered: " + name);
+
+            Map<String, Datum> next = new HashMap<>(current);
+            next.put(name, datum);
+            if (datums.compareAndSet(current, Collections.unmodifiableMap(next)))
+                return;
+        }
     }
 
-    public void setEllipsoid(Ellipsoid ellipsoid) {
-        this.ellipsoid = ellipsoid;
+    public Ellipsoid getEllipsoid() {
+        return ellipsoid;
     }
 
     public Transform getTransform() {
         return transform;
     }
 
-    public void setTransform(Transform transform) {
-        this.transform = transform;
-    }
-
     @Override
     public boolean equals(Object o) {
         if (this == o)
@@ -2,6 +2,7 @@ package com.jgeodesy.shape;
 
 import org.apache.commons.lang3.builder.ToStringBuilder;
 
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -51,12 +52,14 @@ public enum Ellipsoid {
     SPHERE_AUTHALIC("SphereAuthalic",6371000.0,6371000.0,0.0),
     SPHERE_POPULAR("SpherePopular",6378137.0,6378137.0,0.0);
 
-    private static Map<String, Ellipsoid> ellipsoids = new HashMap<>();
+    private static final Map<String, Ellipsoid> ellipsoids;
 
     static {
+        Map<String, Ellipsoid> byName = new HashMap<>();
         for (Ellipsoid ellipsoid : values()) {
-            ellipsoids.put(ellipsoid.name(), ellipsoid);
+            byName.put(ellipsoid.name(), ellipsoid);
         }
+        ellipsoids = Collections.unmodifiableMap(byName);
     }
 
     /**
@@ -0,0 +1,40 @@
+package com.jgeodesy.stream;
+
+import com.jgeodesy.base.EllipsoidalPoint;
+import com.jgeodesy.shape.Datum;
+import org.apache.commons.lang3.builder.ToStringBuilder;
+
+/**
+ * Converts the coordinates and heights of each fix between datums with
+ * {@link EllipsoidalPoint#convertToDatum(Datum, Datum, double[], double[], double[], int)}. Stateless.
+ */
+public final class DatumConversionStage implements FixStage {
+
+    private final Datum fromDatum;
+    private final Datum toDatum;
+
+    /**
+     * @param fromDatum datum of the incoming fixes
+     * @param toDatum   datum of the outgoing fixes
+     */
+    public DatumConversionStage(final Datum fromDatum, final Datum toDatum) {
+        if (fromDatum == null || toDatum == null)
+            throw new IllegalArgumentException("Datums must not be null");
+        this.fromDatum = fromDatum;
+        this.toDatum = toDatum;
+    }
+
+    @Override
+    public void process(final FixBatch batch) {
+        EllipsoidalPoint.convertToDatum(fromDatum, toDatum, batch.getLatitudes(), batch.getLongitudes(),
+                batch.getHeights(), batch.size());
+    }
+
+    @Override
+    public String toString() {
+        return new ToStringBuilder(this)
+                .append("fromDatum", fromDatum)
+                .append("toDatum", toDatum)
+                .toString();
+    }
+}
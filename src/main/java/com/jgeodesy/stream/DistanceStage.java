@@ -0,0 +1,61 @@
+package com.jgeodesy.stream;
+
+import com.jgeodesy.util.SphericalMath;
+import org.apache.commons.lang3.builder.ToStringBuilder;
+
+/**
+ * Sets the great circle distance of each fix from the previous one of the stream; the first fix gets NaN. Keeps
+ * only the previous fix between batches.
+ */
+public final class DistanceStage implements FixStage {
+
+    private final double radius;
+
+    private boolean hasPrevious;
+    private double previousPhi;
+    private double previousCosPhi;
+    private double previousLambda;
+
+    /**
+     * @param radius radius of earth; distances are in its units
+     */
+    public DistanceStage(final double radius) {
+        if (!(radius > 0.0))
+            throw new IllegalArgumentException("Radius must be positive: " + radius);
+        this.radius = radius;
+    }
+
+    @Override
+    public void process(final FixBatch batch) {
+        double[] latitudes = batch.getLatitudes();
+        double[] longitudes = batch.getLongitudes();
+        double[] distances = batch.getDistances();
+        for (int i = 0, n = batch.size(); i < n; i++) {
+            double phi = Math.toRadians(latitudes[i]);
+            double cosPhi = Math.cos(phi);
+            double lambda = Math.toRadians(longitudes[i]);
+            distances[i] = hasPrevious
+                    ? radius * SphericalMath.angularDistance(previousPhi, previousCosPhi, previousLambda, phi, cosPhi, lambda)
+                    : Double.NaN;
+            hasPrevious = true;
+            previousPhi = phi;
+            previousCosPhi = cosPhi;
+            previousLambda = lambda;
+        }
+    }
+
+    /**
+     * Forgets the previous fix, so the next one starts a new stream
+     */
+    public void reset() {
+        hasPrevious = false;
+    }
+
+    @Override
+    public String toString() {
+        return new ToStringBuilder(this)
+                .append("radius", radius)
+                .append("hasPrevious", hasPrevious)
+                .toString();
+    }
+}
@@ -0,0 +1,131 @@
+package com.jgeodesy.stream;
+
+import org.apache.commons.lang3.builder.ToStringBuilder;
+
+import java.util.Arrays;
+
+/**
+ * Fixed-capacity buffer of {@link PositionFix}es kept as parallel primitive arrays, so stages can run array
+ * kernels over a batch. The arrays are exposed directly and hold {@link #size()} valid elements; a buffer is
+ * reused for the lifetime of a stream and is not thread-safe.
+ */
+public final class FixBatch {
+
+    private final long[] times;
+    private final double[] latitudes;
+    private final double[] longitudes;
+    private final double[] heights;
+    private final double[] distances;
+    private final double[] bearings;
+    private final double[] speeds;
+    private final boolean[] inside;
+    private int size;
+
+    /**
+     * @param capacity maximum number of fixes
+     */
+    public FixBatch(final int capacity) {
+        if (capacity < 1)
+            throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        times = new long[capacity];
+        latitudes = new double[capacity];
+        longitudes = new double[capacity];
+        heights = new double[capacity];
+        distances = new double[capacity];
+        bearings = new double[capacity];
+        speeds = new double[capacity];
+        inside = new boolean[capacity];
+    }
+
+    /**
+     * Appends a fix
+     * @param fix fix
+     * @return True when the batch is full after adding
+     */
+    public boolean add(final PositionFix fix) {
+        if (size == times.length)
+            throw new IllegalStateException("Batch is full: " + size);
+        times[size] = fix.getTime();
+        latitudes[size] = fix.getLatitude();
+        longitudes[size] = fix.getLongitude();
+        heights[size] = fix.getHeight();
+        distances[size] = fix.getDistance();
+        bearings[size] = fix.getBearing();
+        speeds[size] = fix.getSpeed();
+        inside[size] = fix.isInside();
+        return ++size == times.length;
+    }
+
+    /**
+     * Creates the fix for an element with the current array values
+     * @param index index of the element
+     * @return New fix
+     */
+    public PositionFix get(final int index) {
+        if (index < 0 || index >= size)
+            throw new IndexOutOfBoundsException("Index: " + index + ", size: " + size);
+        return new PositionFix(times[index], latitudes[index], longitudes[index], heights[index], distances[index],
+                bearings[index], speeds[index], inside[index]);
+    }
+
+    /**
+     * Empties the batch, keeping the arrays
+     */
+    public void clear() {
+        size = 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int capacity() {
+        return times.length;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public long[] getTimes() {
+        return times;
+    }
+
+    public double[] getLatitudes() {
+        return latitudes;
+    }
+
+    public double[] getLongitudes() {
+        return longitudes;
+    }
+
+    public double[] getHeights() {
+        return heights;
+    }
+
+    public double[] getDistances() {
+        return distances;
+    }
+
+    public double[] getBearings() {
+        return bearings;
+    }
+
+    public double[] getSpeeds() {
+        return speeds;
+    }
+
+    public boolean[] getInside() {
+        return inside;
+    }
+
+    @Override
+    public String toString() {
+        return new ToStringBuilder(this)
+                .append("size", size)
+                .append("capacity", times.length)
+                .append("latitudes", Arrays.copyOf(latitudes, size))
+                .append("longitudes", Arrays.copyOf(longitudes, size))
+                .toString();
+    }
+}
@@ -0,0 +1,15 @@
+package com.jgeodesy.stream;
+
+/**
+ * One step of a position stream pipeline, applied to consecutive batches of the same stream in order. A stage
+ * may keep state from one batch to the next, such as the last fix, but no more than a constant amount of it.
+ * Instances belong to a single stream and are not thread-safe.
+ */
+public interface FixStage {
+
+    /**
+     * Processes a batch in place
+     * @param batch next fixes of the stream
+     */
+    void process(FixBatch batch);
+}
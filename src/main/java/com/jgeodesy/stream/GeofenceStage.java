@@ -0,0 +1,55 @@
+package com.jgeodesy.stream;
+
+import com.jgeodesy.util.SphericalMath;
+import org.apache.commons.lang3.builder.ToStringBuilder;
+
+/**
+ * Flags the fixes within a great circle distance of a centre point. Stateless; the centre's trigonometry is
+ * computed once.
+ */
+public final class GeofenceStage implements FixStage {
+
+    private final double latitude;
+    private final double longitude;
+    private final double phi;
+    private final double cosPhi;
+    private final double lambda;
+    private final double maxAngle;
+
+    /**
+     * @param latitude  latitude of the centre in degrees
+     * @param longitude longitude of the centre in degrees
+     * @param distance  fence radius, in the units of radius
+     * @param radius    radius of earth
+     */
+    public GeofenceStage(final double latitude, final double longitude, final double distance, final double radius) {
+        if (!(distance >= 0.0) || !(radius > 0.0))
+            throw new IllegalArgumentException("Invalid fence distance " + distance + " or radius " + radius);
+        this.latitude = latitude;
+        this.longitude = longitude;
+        this.phi = Math.toRadians(latitude);
+        this.cosPhi = Math.cos(phi);
+        this.lambda = Math.toRadians(longitude);
+        this.maxAngle = distance / radius;
+    }
+
+    @Override
+    public void process(final FixBatch batch) {
+        double[] latitudes = batch.getLatitudes();
+        double[] longitudes = batch.getLongitudes();
+        boolean[] inside = batch.getInside();
+        for (int i = 0, n = batch.size(); i < n; i++) {
+            inside[i] = SphericalMath.angularDistance(phi, cosPhi, lambda,
+                    Math.toRadians(latitudes[i]), Math.toRadians(longitudes[i])) <= maxAngle;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return new ToStringBuilder(this)
+                .append("latitude", latitude)
+                .append("longitude", longitude)
+                .append("maxAngle", maxAngle)
+                .toString();
+    }
+}
@@ -0,0 +1,80 @@
+package com.jgeodesy.stream;
+
+import com.jgeodesy.util.SphericalMath;
+import org.apache.commons.lang3.builder.ToStringBuilder;
+
+/**
+ * Sets the distance, initial bearing and speed of each fix relative to the previous one of the stream; the first
+ * fix gets NaN for all three, as does the speed of a fix with the same time as its predecessor. Keeps only the
+ * previous fix between batches.
+ */
+public final class MotionStage implements FixStage {
+
+    private final double radius;
+
+    private boolean hasPrevious;
+    private long previousTime;
+    private double previousPhi;
+    private double previousSinPhi;
+    private double previousCosPhi;
+    private double previousLambda;
+
+    /**
+     * @param radius radius of earth; distances are in its units and speeds in its units per second
+     */
+    public MotionStage(final double radius) {
+        if (!(radius > 0.0))
+            throw new IllegalArgumentException("Radius must be positive: " + radius);
+        this.radius = radius;
+    }
+
+    @Override
+    public void process(final FixBatch batch) {
+        long[] times = batch.getTimes();
+        double[] latitudes = batch.getLatitudes();
+        double[] longitudes = batch.getLongitudes();
+        double[] distances = batch.getDistances();
+        double[] bearings = batch.getBearings();
+        double[] speeds = batch.getSpeeds();
+        for (int i = 0, n = batch.size(); i < n; i++) {
+            double phi = Math.toRadians(latitudes[i]);
+            double sinPhi = Math.sin(phi);
+            double cosPhi = Math.cos(phi);
+            double lambda = Math.toRadians(longitudes[i]);
+            if (hasPrevious) {
+                double distance = radius * SphericalMath.angularDistance(previousPhi, previousCosPhi, previousLambda,
+                        phi, cosPhi, lambda);
+                long elapsed = times[i] - previousTime;
+                distances[i] = distance;
+                bearings[i] = SphericalMath.initialBearing(previousSinPhi, previousCosPhi, sinPhi, cosPhi,
+                        lambda - previousLambda);
+                speeds[i] = elapsed != 0 ? distance * 1000.0 / elapsed : Double.NaN;
+            } else {
+                distances[i] = Double.NaN;
+                bearings[i] = Double.NaN;
+                speeds[i] = Double.NaN;
+            }
+            hasPrevious = true;
+            previousTime = times[i];
+            previousPhi = phi;
+            previousSinPhi = sinPhi;
+            previousCosPhi = cosPhi;
+            previousLambda = lambda;
+        }
+    }
+
+    /**
+     * Forgets the previous fix, so the next one starts a new stream
+     */
+    public void reset() {
+        hasPrevious = false;
+    }
+
+    @Override
+    public String toString() {
+        return new ToStringBuilder(this)
+                .append("radius", radius)
+                .append("hasPrevious", hasPrevious)
+                .toString();
+    }
+}
@@ -0,0 +1,138 @@
+package com.jgeodesy.stream;
+
+import org.apache.commons.lang3.builder.EqualsBuilder;
+import org.apache.commons.lang3.builder.HashCodeBuilder;
+import org.apache.commons.lang3.builder.ToStringBuilder;
+
+/**
+ * Immutable position report of a feed: time, coordinates and the values derived by the {@link FixStage}s it
+ * passed through. Derived values are NaN, and the geofence flag false, until a stage sets them.
+ */
+public final class PositionFix {
+
+    private final long time;
+    private final double latitude;
+    private final double longitude;
+    private final double height;
+    private final double distance;
+    private final double bearing;
+    private final double speed;
+    private final boolean inside;
+
+    /**
+     * @param time      time of the fix in milliseconds since the epoch
+     * @param latitude  latitude in degrees
+     * @param longitude longitude in degrees
+     * @param height    ellipsoidal height in metres
+     */
+    public PositionFix(final long time, final double latitude, final double longitude, final double height) {
+        this(time, latitude, longitude, height, Double.NaN, Double.NaN, Double.NaN, false);
+    }
+
+    PositionFix(long time, double latitude, double longitude, double height, double distance, double bearing,
+                double speed, boolean inside) {
+        this.time = time;
+        this.latitude = latitude;
+        this.longitude = longitude;
+        this.height = height;
+        this.distance = distance;
+        this.bearing = bearing;
+        this.speed = speed;
+        this.inside = inside;
+    }
+
+    public long getTime() {
+        return time;
+    }
+
+    public double getLatitude() {
+        return latitude;
+    }
+
+    public double getLongitude() {
+        return longitude;
+    }
+
+    public double getHeight() {
+        return height;
+    }
+
+    /**
+     * @return Distance from the previous fix of the stream, NaN for the first fix or when not computed
+     */
+    public double getDistance() {
+        return distance;
+    }
+
+    /**
+     * @return Initial bearing from the previous fix in degrees, 0..360, NaN for the first fix or when not computed
+     */
+    public double getBearing() {
+        return bearing;
+    }
+
+    /**
+     * @return Speed since the previous fix in distance units per second, NaN for the first fix, for fixes with
+     * the same time or when not computed
+     */
+    public double getSpeed() {
+        return speed;
+    }
+
+    /**
+     * @return Whether a geofence stage found the fix inside its fence
+     */
+    public boolean isInside() {
+        return inside;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o)
+            return true;
+
+        if (o == null || getClass() != o.getClass())
+            return false;
+
+        PositionFix that = (PositionFix) o;
+
+        return new EqualsBuilder()
+                .append(time, that.time)
+                .append(latitude, that.latitude)
+                .append(longitude, that.longitude)
+                .append(height, that.height)
+                .append(distance, that.distance)
+                .append(bearing, that.bearing)
+                .append(speed, that.speed)
+                .append(inside, that.inside)
+                .isEquals();
+    }
+
+    @Override
+    public int hashCode() {
+        return new HashCodeBuilder(17, 37)
+                .append(time)
+                .append(latitude)
+                .append(longitude)
+                .append(height)
+                .append(distance)
+                .append(bearing)
+                .append(speed)
+                .append(inside)
+                .toHashCode();
+    }
+
+    @Override
+    public String toString() {
+        return new ToStringBuilder(this)
+                .append("time", time)
+                .append("latitude", latitude)
+                .append("longitude", longitude)
+                .append("height", height)
+                .append("distance", distance)
+                .append("bearing", bearing)
+                .append("speed", speed)
+                .append("inside", inside)
+                .toString();
+    }
+}
@@ -0,0 +1,388 @@
+package com.jgeodesy.stream;
+
+import com.jgeodesy.base.SphericalPoint;
+import com.jgeodesy.util.LatLonGrid;
+import com.jgeodesy.util.SphericalMath;
+import org.apache.commons.lang3.builder.ToStringBuilder;
+
+import java.util.Arrays;
+
+/**
+ * Streaming proximity join: reports each new fix that lies within a distance of a fix of another object received
+ * within a time window, replacing the quadratic comparison of all recent fixes.
+ * <p>
+ * Recent fixes are kept in time buckets of a quarter window, each holding a hash grid of cells at least the join
+ * distance across, so a new fix is only compared with the fixes in the neighbouring cells of the live buckets. A
+ * bucket is recycled as soon as it falls out of the window, and when the number of fixes reaches the configured
+ * maximum the oldest bucket is dropped early, so memory stays bounded under any load. Fixes may arrive out of
+ * order by up to the window; older ones are counted as late and ignored. Each new fix produces at most one event
+ * per other object, against that object's closest fix.
+ * <p>
+ * For several threads, give each a join for one partition of a {@link ProximityPartitioner} and deliver every fix
+ * to all of its {@link ProximityPartitioner#targets}. Not thread-safe.
+ */
+public class ProximityJoin {
+
+    private static final int BUCKETS_PER_WINDOW = 4;
+
+    private final double radius;
+    private final long window;
+    private final int maxFixes;
+    private final ProximitySink sink;
+    private final ProximityPartitioner partitioner;
+    private final int partition;
+    private final double reach;
+    private final LatLonGrid grid;
+    private final double maxChordSquared;
+    private final long bucketDuration;
+    private final Bucket[] buckets = new Bucket[BUCKETS_PER_WINDOW + 2];
+
+    private final int[] cells = new int[4];
+    private final double[] vector = new double[3];
+    private final LongIntTable candidateSlots = new LongIntTable();
+    private long[] candidateIds = new long[16];
+    private long[] candidateTimes = new long[16];
+    private double[] candidateChords = new double[16];
+    private int candidates;
+
+    private long newest = Long.MIN_VALUE;
+    private int size;
+    private long accepted;
+    private long late;
+    private long evicted;
+    private long events;
+
+    /**
+     * @param distance join distance, in the units of radius
+     * @param window   time window in milliseconds
+     * @param radius   radius of earth
+     * @param maxFixes maximum number of fixes held
+     * @param sink     receives the events
+     */
+    public ProximityJoin(final double distance, final long window, final double radius, final int maxFixes,
+                         final ProximitySink sink) {
+        this(distance, window, radius, maxFixes, sink, null, 0);
+    }
+
+    /**
+     * @param window      time window in milliseconds
+     * @param radius      radius of earth
+     * @param maxFixes    maximum number of fixes held, including the halo from neighbouring partitions
+     * @param sink        receives the events of the partition
+     * @param partitioner partitioning, whose distance is the join distance
+     * @param partition   partition handled by this join
+     */
+    public ProximityJoin(final long window, final double radius, final int maxFixes, final ProximitySink sink,
+                         final ProximityPartitioner partitioner, final int partition) {
+        this(Double.NaN, window, radius, maxFixes, sink, partitioner, partition);
+    }
+
+    private ProximityJoin(final double distance, final long window, final double radius, final int maxFixes,
+                          final ProximitySink sink, final ProximityPartitioner partitioner, final int partition) {
+        if (window < 0 || maxFixes < 1)
+            throw new IllegalArgumentException("Invalid window " + window + " or maximum fixes " + maxFixes);
+        if (partitioner != null && (partition < 0 || partition >= partitioner.getPartitions()))
+            throw new IllegalArgumentException("Partition out of range: " + partition);
+        this.radius = radius;
+        this.window = window;
+        this.maxFixes = maxFixes;
+        this.sink = sink;
+        this.partitioner = partitioner;
+        this.partition = partition;
+        this.reach = partitioner != null ? partitioner.getReach() : Math.toDegrees(distance / radius);
+        this.grid = partitioner != null ? partitioner.getGrid() : LatLonGrid.forReach(reach);
+        double angle = Math.toRadians(reach);
+        double chord = 2.0 * Math.sin(Math.min(angle, Math.PI) * 0.5);
+        this.maxChordSquared = chord * chord;
+        this.bucketDuration = Math.max(1L, (window + BUCKETS_PER_WINDOW - 1) / BUCKETS_PER_WINDOW);
+        for (int i = 0; i < buckets.length; i++)
+            buckets[i] = new Bucket();
+    }
+
+    /**
+     * Accepts a fix
+     * @param id        object id
+     * @param time      time of the fix in milliseconds since the epoch
+     * @param latitude  latitude in degrees
+     * @param longitude longitude in degrees
+     */
+    public void accept(final long id, final long time, final double latitude, final double longitude) {
+        accepted++;
+        if (newest != Long.MIN_VALUE && time < newest - window) {
+            late++;
+            return;
+        }
+        if (time > newest) {
+            newest = time;
+            expire();
+        }
+        SphericalMath.toVector(latitude, longitude, vector, 0);
+        double x = vector[0];
+        double y = vector[1];
+        double z = vector[2];
+        if (partitioner == null || partitioner.owner(latitude, longitude) == partition)
+            join(id, time, latitude, longitude, x, y, z);
+        insert(id, time, grid.key(grid.row(latitude), grid.column(longitude)), x, y, z);
+    }
+
+    /**
+     * Accepts a fix
+     * @param id    object id
+     * @param time  time of the fix in milliseconds since the epoch
+     * @param point position
+     */
+    public void accept(final long id, final long time, final SphericalPoint point) {
+        accept(id, time, point.getLatitude().getDegrees(), point.getLongitude().getDegrees());
+    }
+
+    /**
+     * Accepts a fix of a feed
+     * @param id  object id
+     * @param fix position report
+     */
+    public void accept(final long id, final PositionFix fix) {
+        accept(id, fix.getTime(), fix.getLatitude(), fix.getLongitude());
+    }
+
+    /**
+     * @return Number of fixes held
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return Number of fixes received
+     */
+    public long getAccepted() {
+        return accepted;
+    }
+
+    /**
+     * @return Fixes ignored for arriving more than a window behind the newest one
+     */
+    public long getLate() {
+        return late;
+    }
+
+    /**
+     * @return Fixes dropped before leaving the window to keep within the maximum
+     */
+    public long getEvicted() {
+        return evicted;
+    }
+
+    /**
+     * @return Number of events emitted
+     */
+    public long getEvents() {
+        return events;
+    }
+
+    private void join(final long id, final long time, final double latitude, final double longitude,
+                      final double x, final double y, final double z) {
+        candidateSlots.clear();
+        candidates = 0;
+        grid.neighbourhood(latitude, longitude, reach, cells);
+        long oldest = Math.floorDiv(newest - window, bucketDuration);
+        for (Bucket bucket : buckets) {
+            if (bucket.size == 0 || bucket.number < oldest)
+                continue;
+            for (int r = cells[0]; r <= cells[1]; r++) {
+                for (int c = 0; c < cells[3]; c++) {
+                    for (int i = bucket.heads.get(grid.key(r, cells[2] + c)); i >= 0; i = bucket.next[i]) {
+                        if (bucket.ids[i] == id || Math.abs(bucket.times[i] - time) > window)
+                            continue;
+                        double dx = bucket.x[i] - x;
+                        double dy = bucket.y[i] - y;
+                        double dz = bucket.z[i] - z;
+                        double chord = dx * dx + dy * dy + dz * dz;
+                        if (chord <= maxChordSquared)
+                            candidate(bucket.ids[i], bucket.times[i], chord);
+                    }
+                }
+            }
+        }
+        for (int k = 0; k < candidates; k++) {
+            double distance = 2.0 * Math.asin(Math.min(1.0, Math.sqrt(candidateChords[k]) * 0.5)) * radius;
+            sink.accept(id, time, candidateIds[k], candidateTimes[k], distance);
+        }
+        events += candidates;
+    }
+
+    /**
+     * Keeps the closest fix per other object, the latest on ties
+     */
+    private void candidate(final long otherId, final long otherTime, final double chord) {
+        int slot = candidateSlots.get(otherId);
+        if (slot < 0) {
+            if (candidates == candidateIds.length) {
+                int length = candidates * 2;
+                candidateIds = Arrays.copyOf(candidateIds, length);
+                candidateTimes = Arrays.copyOf(candidateTimes, length);
+                candidateChords = Arrays.copyOf(candidateChords, length);
+            }
+            slot = candidates++;
+            candidateSlots.put(otherId, slot);
+        } else if (chord > candidateChords[slot] || chord == candidateChords[slot] && otherTime <= candidateTimes[slot]) {
+            return;
+        }
+        candidateIds[slot] = otherId;
+        candidateTimes[slot] = otherTime;
+        candidateChords[slot] = chord;
+    }
+
+    private void insert(final long id, final long time, final long key, final double x, final double y, final double z) {
+        long number = Math.floorDiv(time, bucketDuration);
+        while (size >= maxFixes)
+            evictOldest();
+        Bucket bucket = buckets[(int) Math.floorMod(number, (long) buckets.length)];
+        if (bucket.number != number) {
+            size -= bucket.size;
+            bucket.reset(number);
+        }
+        bucket.add(id, time, key, x, y, z);
+        size++;
+    }
+
+    private void expire() {
+        long oldest = Math.floorDiv(newest - window, bucketDuration);
+        for (Bucket bucket : buckets) {
+            if (bucket.number < oldest && bucket.size > 0) {
+                size -= bucket.size;
+                bucket.reset(Long.MIN_VALUE);
+            }
+        }
+    }
+
+    private void evictOldest() {
+        Bucket oldest = null;
+        for (Bucket bucket : buckets) {
+            if (bucket.size > 0 && (oldest == null || bucket.number < oldest.number))
+                oldest = bucket;
+        }
+        size -= oldest.size;
+        evicted += oldest.size;
+        oldest.reset(Long.MIN_VALUE);
+    }
+
+    @Override
+    public String toString() {
+        return new ToStringBuilder(this)
+                .append("window", window)
+                .append("partition", partition)
+                .append("size", size)
+                .append("accepted", accepted)
+                .append("late", late)
+                .append("evicted", evicted)
+                .append("events", events)
+                .toString();
+    }
+
+    /**
+     * Fixes of one time bucket in parallel arrays, chained per cell from a hash table of cell heads
+     */
+    private static final class Bucket {
+
+        private long number = Long.MIN_VALUE;
+        private int size;
+        private long[] ids = new long[64];
+        private long[] times = new long[64];
+        private double[] x = new double[64];
+        private double[] y = new double[64];
+        private double[] z = new double[64];
+        private int[] next = new int[64];
+        private final LongIntTable heads = new LongIntTable();
+
+        void reset(final long number) {
+            this.number = number;
+            size = 0;
+            heads.clear();
+        }
+
+        void add(final long id, final long time, final long key, final double px, final double py, final double pz) {
+            if (size == ids.length) {
+                int length = size * 2;
+                ids = Arrays.copyOf(ids, length);
+                times = Arrays.copyOf(times, length);
+                x = Arrays.copyOf(x, length);
+                y = Arrays.copyOf(y, length);
+                z = Arrays.copyOf(z, length);
+                next = Arrays.copyOf(next, length);
+            }
+            ids[size] = id;
+            times[size] = time;
+            x[size] = px;
+            y[size] = py;
+            z[size] = pz;
+            next[size] = heads.get(key);
+            heads.put(key, size);
+            size++;
+        }
+    }
+
+    /**
+     * Open addressing map of long keys to non-negative ints, cleared in constant time by bumping a generation
+     */
+    private static final class LongIntTable {
+
+        private long[] keys = new long[64];
+        private int[] values = new int[64];
+        private int[] generations = new int[64];
+        private int generation = 1;
+        private int count;
+
+        int get(final long key) {
+            int mask = keys.length - 1;
+            for (int i = index(key, mask); generations[i] == generation; i = (i + 1) & mask) {
+                if (keys[i] == key)
+                    return values[i];
+            }
+            return -1;
+        }
+
+        void put(final long key, final int value) {
+            if (count * 2 >= keys.length)
+                grow();
+            int mask = keys.length - 1;
+            int i = index(key, mask);
+            while (generations[i] == generation && keys[i] != key)
+                i = (i + 1) & mask;
+            if (generations[i] != generation) {
+                generations[i] = generation;
+                keys[i] = key;
+                count++;
+            }
+            values[i] = value;
+        }
+
+        void clear() {
+            count = 0;
+            if (++generation == 0) {
+                Arrays.fill(generations, 0);
+                generation = 1;
+            }
+        }
+
+        private void grow() {
+            long[] oldKeys = keys;
+            int[] oldValues = values;
+            int[] oldGenerations = generations;
+            int oldGeneration = generation;
+            keys = new long[oldKeys.length * 2];
+            values = new int[oldKeys.length * 2];
+            generations = new int[oldKeys.length * 2];
+            generation = 1;
+            count = 0;
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldGenerations[i] == oldGeneration)
+                    put(oldKeys[i], oldValues[i]);
+            }
+        }
+
+        private static int index(final long key, final int mask) {
+            long hash = key * 0x9E3779B97F4A7C15L;
+            return (int) (hash ^ (hash >>> 32)) & mask;
+        }
+    }
+}
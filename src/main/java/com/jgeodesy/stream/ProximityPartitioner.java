@@ -0,0 +1,102 @@
+package com.jgeodesy.stream;
+
+import com.jgeodesy.util.LatLonGrid;
+import org.apache.commons.lang3.builder.ToStringBuilder;
+
+/**
+ * Splits a {@link ProximityJoin} across threads by cell. The grid is divided into square blocks of cells and each
+ * block hashed to a partition, which owns the fixes in it. A fix is delivered to its owner and, as a halo, to
+ * every other partition owning a cell within the join distance, so each partition sees all fixes its own can be
+ * paired with while emitting only for its own. Only fixes near block edges are delivered more than once.
+ * Immutable and thread-safe.
+ */
+public final class ProximityPartitioner {
+
+    /**
+     * Cells per block side
+     */
+    private static final int BLOCK = 16;
+
+    private final double reach;
+    private final LatLonGrid grid;
+    private final int partitions;
+
+    /**
+     * @param distance   join distance, in the units of radius
+     * @param radius     radius of earth
+     * @param partitions number of partitions
+     */
+    public ProximityPartitioner(final double distance, final double radius, final int partitions) {
+        if (partitions < 1)
+            throw new IllegalArgumentException("At least one partition required: " + partitions);
+        this.reach = Math.toDegrees(distance / radius);
+        this.grid = LatLonGrid.forReach(reach);
+        this.partitions = partitions;
+    }
+
+    /**
+     * @param latitude  latitude in degrees
+     * @param longitude longitude in degrees
+     * @return Partition owning the fix
+     */
+    public int owner(final double latitude, final double longitude) {
+        return partition(grid.row(latitude), grid.column(longitude));
+    }
+
+    /**
+     * Partitions a fix is to be delivered to
+     * @param latitude  latitude in degrees
+     * @param longitude longitude in degrees
+     * @param result    receives the partitions, the owner first; at least {@link #getPartitions()} elements
+     * @return Number of partitions written
+     */
+    public int targets(final double latitude, final double longitude, final int[] result) {
+        int count = 0;
+        result[count++] = owner(latitude, longitude);
+        int[] cells = new int[4];
+        grid.neighbourhood(latitude, longitude, reach, cells);
+        for (int r = cells[0]; r <= cells[1]; r++) {
+            for (int c = 0; c < cells[3]; c++) {
+                int partition = partition(r, grid.wrap(cells[2] + c));
+                boolean seen = false;
+                for (int k = 0; k < count && !seen; k++)
+                    seen = result[k] == partition;
+                if (!seen)
+                    result[count++] = partition;
+                if (count == partitions)
+                    return count;
+            }
+        }
+        return count;
+    }
+
+    public int getPartitions() {
+        return partitions;
+    }
+
+    /**
+     * @return Join distance in degrees of arc
+     */
+    double getReach() {
+        return reach;
+    }
+
+    LatLonGrid getGrid() {
+        return grid;
+    }
+
+    int partition(final int row, final int column) {
+        long block = (long) (row / BLOCK) * ((grid.getColumns() + BLOCK - 1) / BLOCK) + column / BLOCK;
+        long hash = block * 0x9E3779B97F4A7C15L;
+        return (int) Math.floorMod(hash ^ (hash >>> 32), (long) partitions);
+    }
+
+    @Override
+    public String toString() {
+        return new ToStringBuilder(this)
+                .append("partitions", partitions)
+                .append("rows", grid.getRows())
+                .append("columns", grid.getColumns())
+                .toString();
+    }
+}
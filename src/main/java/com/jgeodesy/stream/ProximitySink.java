@@ -0,0 +1,17 @@
+package com.jgeodesy.stream;
+
+/**
+ * Receives the proximity events of a {@link ProximityJoin}
+ */
+public interface ProximitySink {
+
+    /**
+     * Accepts one event: a new fix of one object within the join distance of a recent fix of another
+     * @param id          object of the new fix
+     * @param time        time of the new fix in milliseconds since the epoch
+     * @param otherId     other object
+     * @param otherTime   time of the other object's closest fix in the window
+     * @param distance    distance between the two fixes, in the units of radius
+     */
+    void accept(long id, long time, long otherId, long otherTime, double distance);
+}
@@ -0,0 +1,168 @@
+package com.jgeodesy.tile;
+
+import com.jgeodesy.base.SphericalPoint;
+import com.jgeodesy.metrics.GeodesyEvents;
+import com.jgeodesy.metrics.Metrics;
+import com.jgeodesy.metrics.Operation;
+import org.apache.commons.lang3.builder.ToStringBuilder;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * Streaming heatmap aggregator counting points per Web Mercator tile at several zoom levels.
+ * Each point is projected once to normalised map coordinates and then binned at every zoom level by scaling.
+ * An aggregator is single-threaded; use {@link #aggregate(double[], double[], int, int[], int)} or
+ * {@link #merge(TileAggregator)} for parallel work.
+ */
+public class TileAggregator {
+
+    private final int[] zooms;
+    private final double[] scales;
+    private final long[] maxTiles;
+    private final TileCounter[] counters;
+    private long points;
+
+    /**
+     * @param zooms zoom levels to aggregate
+     */
+    public TileAggregator(final int... zooms) {
+        this.zooms = zooms.clone();
+        this.scales = new double[zooms.length];
+        this.maxTiles = new long[zooms.length];
+        this.counters = new TileCounter[zooms.length];
+        for (int i = 0; i < zooms.length; i++) {
+            if (zooms[i] < 0 || zooms[i] > WebMercator.MAX_ZOOM)
+                throw new IllegalArgumentException("Zoom level must be between 0 and " + WebMercator.MAX_ZOOM + ": " + zooms[i]);
+            scales[i] = (double) (1L << zooms[i]);
+            maxTiles[i] = (1L << zooms[i]) - 1;
+            counters[i] = new TileCounter();
+        }
+    }
+
+    /**
+     * Counts a point at every zoom level
+     * @param latitude  latitude in degrees
+     * @param longitude longitude in degrees
+     */
+    public void accept(final double latitude, final double longitude) {
+        double mapX = WebMercator.mapX(longitude);
+        double mapY = WebMercator.mapY(latitude);
+        for (int i = 0; i < zooms.length; i++) {
+            long x = clamp((long) Math.floor(mapX * scales[i]), maxTiles[i]);
+            long y = clamp((long) Math.floor(mapY * scales[i]), maxTiles[i]);
+            counters[i].increment(TileKey.of(zooms[i], (int) x, (int) y), 1L);
+        }
+        points++;
+    }
+
+    /**
+     * Counts a point at every zoom level
+     * @param point point
+     */
+    public void accept(final SphericalPoint point) {
+        accept(point.getLatitude().getDegrees(), point.getLongitude().getDegrees());
+    }
+
+    /**
+     * Counts a batch of points
+     * @param latitudes  latitudes in degrees
+     * @param longitudes longitudes in degrees
+     * @param count      number of points
+     */
+    public void accept(final double[] latitudes, final double[] longitudes, final int count) {
+        long start = Metrics.start();
+        Object event = GeodesyEvents.beginBatch(Operation.TILE_AGGREGATION, null, count);
+        for (int i = 0; i < count; i++)
+            accept(latitudes[i], longitudes[i]);
+        GeodesyEvents.endBatch(event, 0L);
+        Metrics.stop(Operation.TILE_AGGREGATION, start, count);
+    }
+
+    /**
+     * Adds the counts of another aggregator with the same zoom levels
+     * @param other aggregator to merge
+     * @return This aggregator
+     */
+    public TileAggregator merge(final TileAggregator other) {
+        if (!Arrays.equals(zooms, other.zooms))
+            throw new IllegalArgumentException("Cannot merge aggregators with different zoom levels");
+        for (int i = 0; i < counters.length; i++)
+            counters[i].merge(other.counters[i]);
+        points += other.points;
+        return this;
+    }
+
+    /**
+     * Aggregates a batch in parallel chunks on the common fork/join pool and merges the partial counters
+     * @param latitudes  latitudes in degrees
+     * @param longitudes longitudes in degrees
+     * @param count      number of points
+     * @param zooms      zoom levels
+     * @param chunks     number of chunks to split the batch into, at least 1
+     * @return Merged aggregator
+     */
+    public static TileAggregator aggregate(final double[] latitudes, final double[] longitudes, final int count,
+                                           final int[] zooms, final int chunks) {
+        if (chunks < 1)
+            throw new IllegalArgumentException("Chunks must be positive: " + chunks);
+        final int chunkSize = (count + chunks - 1) / chunks;
+        if (chunkSize == 0)
+            return new TileAggregator(zooms);
+        return IntStream.range(0, (count + chunkSize - 1) / chunkSize)
+                .parallel()
+                .mapToObj(chunk -> {
+                    TileAggregator aggregator = new TileAggregator(zooms);
+                    int end = Math.min(count, (chunk + 1) * chunkSize);
+                    for (int i = chunk * chunkSize; i < end; i++)
+                        aggregator.accept(latitudes[i], longitudes[i]);
+                    return aggregator;
+                })
+                .reduce(TileAggregator::merge)
+                .orElseGet(() -> new TileAggregator(zooms));
+    }
+
+    /**
+     * Returns the counter of a zoom level
+     * @param zoom zoom level
+     * @return Tile counts for the zoom level
+     */
+    public TileCounter getCounter(final int zoom) {
+        for (int i = 0; i < zooms.length; i++) {
+            if (zooms[i] == zoom)
+                return counters[i];
+        }
+        throw new IllegalArgumentException("Zoom level " + zoom + " is not aggregated");
+    }
+
+    /**
+     * @param tileKey tile key
+     * @return Number of points in the tile
+     */
+    public long count(final long tileKey) {
+        return getCounter(TileKey.zoom(tileKey)).get(tileKey);
+    }
+
+    /**
+     * @return Number of points accepted
+     */
+    public long getPoints() {
+        return points;
+    }
+
+    public int[] getZooms() {
+        return zooms.clone();
+    }
+
+    private static long clamp(final long tile, final long max) {
+        return tile < 0 ? 0 : (tile > max ? max : tile);
+    }
+
+    @Override
+    public String toString() {
+        return new ToStringBuilder(this)
+                .append("zooms", zooms)
+                .append("points", points)
+                .toString();
+    }
+}
@@ -0,0 +1,141 @@
+package com.jgeodesy.tile;
+
+import org.apache.commons.lang3.builder.ToStringBuilder;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing map from tile key to count, backed by two primitive arrays (no boxing, no per-entry objects).
+ * Not thread-safe; aggregate per thread and {@link #merge(TileCounter)} the results.
+ */
+public class TileCounter {
+
+    /**
+     * Receives tile counts during iteration
+     */
+    public interface Consumer {
+        void accept(long tileKey, long count);
+    }
+
+    private static final long EMPTY = -1L;
+
+    private long[] keys;
+    private long[] counts;
+    private int size;
+    private int mask;
+
+    public TileCounter() {
+        this(64);
+    }
+
+    /**
+     * @param expectedTiles expected number of distinct tiles
+     */
+    public TileCounter(final int expectedTiles) {
+        int capacity = Integer.highestOneBit(Math.max(expectedTiles, 8) * 2 - 1) << 1;
+        allocate(capacity);
+    }
+
+    /**
+     * Adds to the count of a tile
+     * @param tileKey tile key
+     * @param delta   amount to add
+     */
+    public void increment(final long tileKey, final long delta) {
+        int index = indexOf(tileKey);
+        if (keys[index] == EMPTY) {
+            keys[index] = tileKey;
+            counts[index] = delta;
+            if (++size * 2 > keys.length)
+                resize();
+        } else {
+            counts[index] += delta;
+        }
+    }
+
+    /**
+     * @param tileKey tile key
+     * @return Count of the tile, 0 if never incremented
+     */
+    public long get(final long tileKey) {
+        int index = indexOf(tileKey);
+        return keys[index] == EMPTY ? 0L : counts[index];
+    }
+
+    /**
+     * Adds all counts of another counter to this one
+     * @param other counter to merge
+     * @return This counter
+     */
+    public TileCounter merge(final TileCounter other) {
+        for (int i = 0; i < other.keys.length; i++) {
+            if (other.keys[i] != EMPTY)
+                increment(other.keys[i], other.counts[i]);
+        }
+        return this;
+    }
+
+    /**
+     * Visits every tile with a count, in no particular order
+     * @param consumer tile visitor
+     */
+    public void forEach(final Consumer consumer) {
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != EMPTY)
+                consumer.accept(keys[i], counts[i]);
+        }
+    }
+
+    /**
+     * @return Number of distinct tiles
+     */
+    public int size() {
+        return size;
+    }
+
+    public void clear() {
+        Arrays.fill(keys, EMPTY);
+        Arrays.fill(counts, 0L);
+        size = 0;
+    }
+
+    private int indexOf(final long tileKey) {
+        int index = hash(tileKey) & mask;
+        while (keys[index] != EMPTY && keys[index] != tileKey)
+            index = (index + 1) & mask;
+        return index;
+    }
+
+    private void resize() {
+        long[] oldKeys = keys;
+        long[] oldCounts = counts;
+        allocate(oldKeys.length * 2);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY) {
+                int index = indexOf(oldKeys[i]);
+                keys[index] = oldKeys[i];
+                counts[index] = oldCounts[i];
+            }
+        }
+    }
+
+    private void allocate(final int capacity) {
+        keys = new long[capacity];
+        counts = new long[capacity];
+        Arrays.fill(keys, EMPTY);
+        mask = capacity - 1;
+    }
+
+    private static int hash(final long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    @Override
+    public String toString() {
+        return new ToStringBuilder(this)
+                .append("size", size)
+                .append("capacity", keys.length)
+                .toString();
+    }
+}
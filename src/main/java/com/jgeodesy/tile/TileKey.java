@@ -0,0 +1,47 @@
+package com.jgeodesy.tile;
+
+/**
+ * Packs a z/x/y tile address into a single long: zoom in bits 58..62, x in bits 29..57 and y in bits 0..28.
+ * Keys of the same zoom level sort by x, then y.
+ */
+public final class TileKey {
+
+    private static final int COORDINATE_BITS = 29;
+    private static final long COORDINATE_MASK = (1L << COORDINATE_BITS) - 1;
+
+    private TileKey() {
+    }
+
+    /**
+     * @param zoom zoom level 0..{@link WebMercator#MAX_ZOOM}
+     * @param x    tile x
+     * @param y    tile y
+     * @return Tile key
+     */
+    public static long of(final int zoom, final int x, final int y) {
+        if (zoom < 0 || zoom > WebMercator.MAX_ZOOM)
+            throw new IllegalArgumentException("Zoom level must be between 0 and " + WebMercator.MAX_ZOOM + ": " + zoom);
+        return ((long) zoom << (2 * COORDINATE_BITS)) | ((long) x << COORDINATE_BITS) | y;
+    }
+
+    public static int zoom(final long key) {
+        return (int) (key >>> (2 * COORDINATE_BITS));
+    }
+
+    public static int x(final long key) {
+        return (int) ((key >>> COORDINATE_BITS) & COORDINATE_MASK);
+    }
+
+    public static int y(final long key) {
+        return (int) (key & COORDINATE_MASK);
+    }
+
+    /**
+     * Formats a key as "z/x/y"
+     * @param key tile key
+     * @return Tile path
+     */
+    public static String toString(final long key) {
+        return zoom(key) + "/" + x(key) + "/" + y(key);
+    }
+}
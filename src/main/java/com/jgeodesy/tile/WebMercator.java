@@ -0,0 +1,279 @@
+package com.jgeodesy.tile;
+
+import com.jgeodesy.base.SphericalPoint;
+import com.jgeodesy.coordinate.Coordinate;
+import com.jgeodesy.util.GeodesyUtil;
+
+/**
+ * Spherical (Web) Mercator as used by slippy-map tiles (EPSG:3857), with z/x/y tile and quadkey helpers.
+ * All methods work on primitives and do not allocate.
+ */
+public final class WebMercator {
+
+    /**
+     * Radius of the Web Mercator sphere, (meter)
+     */
+    public static final double RADIUS = 6378137.0;
+    /**
+     * Latitude at which the square world map ends, (degree)
+     */
+    public static final double MAX_LATITUDE = 85.0511287798066;
+    /**
+     * Deepest zoom level whose tile coordinates fit a {@link TileKey}
+     */
+    public static final int MAX_ZOOM = 29;
+    /**
+     * Tile side, (pixel)
+     */
+    public static final int TILE_SIZE = 256;
+
+    private static final double QUARTER_PI = GeodesyUtil.getQuarterPi();
+
+    private WebMercator() {
+    }
+
+    /**
+     * Projects a longitude to Web Mercator x
+     * @param longitude longitude in degrees
+     * @return x in metres
+     */
+    public static double toMetersX(final double longitude) {
+        return RADIUS * Coordinate.toRadians(longitude);
+    }
+
+    /**
+     * Projects a latitude to Web Mercator y; latitudes are clamped to ±{@link #MAX_LATITUDE}
+     * @param latitude latitude in degrees
+     * @return y in metres
+     */
+    public static double toMetersY(final double latitude) {
+        return RADIUS * isometricLatitude(latitude);
+    }
+
+    /**
+     * Inverse of {@link #toMetersX(double)}
+     * @param x x in metres
+     * @return Longitude in degrees
+     */
+    public static double toLongitude(final double x) {
+        return Coordinate.toDegrees(x / RADIUS);
+    }
+
+    /**
+     * Inverse of {@link #toMetersY(double)}
+     * @param y y in metres
+     * @return Latitude in degrees
+     */
+    public static double toLatitude(final double y) {
+        return Coordinate.toDegrees(2.0 * Math.atan(Math.exp(y / RADIUS)) - GeodesyUtil.getHalfPi());
+    }
+
+    /**
+     * Normalised map x, 0 at 180°W and 1 at 180°E
+     * @param longitude longitude in degrees
+     * @return Map x in 0..1
+     */
+    public static double mapX(final double longitude) {
+        return (longitude + 180.0) / 360.0;
+    }
+
+    /**
+     * Normalised map y, 0 at the northern edge and 1 at the southern edge
+     * @param latitude latitude in degrees
+     * @return Map y in 0..1
+     */
+    public static double mapY(final double latitude) {
+        return 0.5 - isometricLatitude(latitude) / (2.0 * Math.PI);
+    }
+
+    /**
+     * Global pixel x at a zoom level
+     * @param longitude longitude in degrees
+     * @param zoom      zoom level
+     * @return Pixel x
+     */
+    public static double pixelX(final double longitude, final int zoom) {
+        return mapX(longitude) * mapSize(zoom);
+    }
+
+    /**
+     * Global pixel y at a zoom level
+     * @param latitude latitude in degrees
+     * @param zoom     zoom level
+     * @return Pixel y
+     */
+    public static double pixelY(final double latitude, final int zoom) {
+        return mapY(latitude) * mapSize(zoom);
+    }
+
+    /**
+     * Tile column containing a longitude
+     * @param longitude longitude in degrees
+     * @param zoom      zoom level
+     * @return Tile x in 0..2^zoom-1
+     */
+    public static int tileX(final double longitude, final int zoom) {
+        return clampTile((long) Math.floor(mapX(longitude) * (1L << zoom)), zoom);
+    }
+
+    /**
+     * Tile row containing a latitude
+     * @param latitude latitude in degrees
+     * @param zoom     zoom level
+     * @return Tile y in 0..2^zoom-1
+     */
+    public static int tileY(final double latitude, final int zoom) {
+        return clampTile((long) Math.floor(mapY(latitude) * (1L << zoom)), zoom);
+    }
+
+    /**
+     * Pixel column within the containing tile
+     * @param longitude longitude in degrees
+     * @param zoom      zoom level
+     * @return Pixel offset 0..255
+     */
+    public static int pixelOffsetX(final double longitude, final int zoom) {
+        return (int) ((long) Math.floor(pixelX(longitude, zoom)) & (TILE_SIZE - 1));
+    }
+
+    /**
+     * Pixel row within the containing tile
+     * @param latitude latitude in degrees
+     * @param zoom     zoom level
+     * @return Pixel offset 0..255
+     */
+    public static int pixelOffsetY(final double latitude, final int zoom) {
+        return (int) ((long) Math.floor(pixelY(latitude, zoom)) & (TILE_SIZE - 1));
+    }
+
+    /**
+     * Packed key of the tile containing a point
+     * @param latitude  latitude in degrees
+     * @param longitude longitude in degrees
+     * @param zoom      zoom level 0..{@link #MAX_ZOOM}
+     * @return Tile key
+     */
+    public static long tileKey(final double latitude, final double longitude, final int zoom) {
+        return TileKey.of(zoom, tileX(longitude, zoom), tileY(latitude, zoom));
+    }
+
+    /**
+     * Packed key of the tile containing a point
+     * @param point point
+     * @param zoom  zoom level 0..{@link #MAX_ZOOM}
+     * @return Tile key
+     */
+    public static long tileKey(final SphericalPoint point, final int zoom) {
+        return tileKey(point.getLatitude().getDegrees(), point.getLongitude().getDegrees(), zoom);
+    }
+
+    /**
+     * Latitude of the northern edge of a tile row
+     * @param y    tile y
+     * @param zoom zoom level
+     * @return Latitude in degrees
+     */
+    public static double tileLatitude(final int y, final int zoom) {
+        double n = Math.PI - 2.0 * Math.PI * y / (1L << zoom);
+        return Coordinate.toDegrees(Math.atan(Math.sinh(n)));
+    }
+
+    /**
+     * Longitude of the western edge of a tile column
+     * @param x    tile x
+     * @param zoom zoom level
+     * @return Longitude in degrees
+     */
+    public static double tileLongitude(final int x, final int zoom) {
+        return (double) x / (1L << zoom) * 360.0 - 180.0;
+    }
+
+    /**
+     * Writes the Bing-style quadkey of a tile
+     * @param x      tile x
+     * @param y      tile y
+     * @param zoom   zoom level, which is also the quadkey length
+     * @param buffer destination, at least zoom characters from offset
+     * @param offset first character to write
+     * @return Number of characters written
+     */
+    public static int quadKey(final int x, final int y, final int zoom, final char[] buffer, final int offset) {
+        for (int level = zoom, i = offset; level > 0; level--, i++) {
+            int mask = 1 << (level - 1);
+            int digit = ((x & mask) != 0 ? 1 : 0) + ((y & mask) != 0 ? 2 : 0);
+            buffer[i] = (char) ('0' + digit);
+        }
+        return zoom;
+    }
+
+    /**
+     * Appends the Bing-style quadkey of a tile
+     * @param x       tile x
+     * @param y       tile y
+     * @param zoom    zoom level
+     * @param builder destination
+     * @return The builder
+     */
+    public static StringBuilder quadKey(final int x, final int y, final int zoom, final StringBuilder builder) {
+        for (int level = zoom; level > 0; level--) {
+            int mask = 1 << (level - 1);
+            int digit = ((x & mask) != 0 ? 1 : 0) + ((y & mask) != 0 ? 2 : 0);
+            builder.append((char) ('0' + digit));
+        }
+        return builder;
+    }
+
+    /**
+     * Parses a quadkey
+     * @param quadKey quadkey characters
+     * @param start   first character
+     * @param end     character after the last one
+     * @return Tile key
+     */
+    public static long parseQuadKey(final CharSequence quadKey, final int start, final int end) {
+        int zoom = end - start;
+        if (zoom > MAX_ZOOM)
+            throw new IllegalArgumentException("Quadkey longer than " + MAX_ZOOM + " characters");
+        int x = 0;
+        int y = 0;
+        for (int i = start; i < end; i++) {
+            int digit = quadKey.charAt(i) - '0';
+            if (digit < 0 || digit > 3)
+                throw new IllegalArgumentException("Invalid quadkey character '" + quadKey.charAt(i) + "'");
+            x = (x << 1) | (digit & 1);
+            y = (y << 1) | (digit >> 1);
+        }
+        return TileKey.of(zoom, x, y);
+    }
+
+    /**
+     * Parses a quadkey
+     * @param quadKey quadkey
+     * @return Tile key
+     */
+    public static long parseQuadKey(final CharSequence quadKey) {
+        return parseQuadKey(quadKey, 0, quadKey.length());
+    }
+
+    /**
+     * Map width and height at a zoom level
+     * @param zoom zoom level
+     * @return Size in pixels
+     */
+    public static double mapSize(final int zoom) {
+        return (double) TILE_SIZE * (1L << zoom);
+    }
+
+    /**
+     * Isometric latitude ψ = ln(tan(π/4 + φ/2)), with φ clamped to the square map
+     */
+    static double isometricLatitude(final double latitude) {
+        double clamped = Math.max(-MAX_LATITUDE, Math.min(MAX_LATITUDE, latitude));
+        return Math.log(Math.tan(QUARTER_PI + Coordinate.toRadians(clamped) * 0.5));
+    }
+
+    private static int clampTile(final long tile, final int zoom) {
+        long max = (1L << zoom) - 1;
+        return (int) (tile < 0 ? 0 : (tile > max ? max : tile));
+    }
+}
@@ -0,0 +1,43 @@
+package com.jgeodesy.track;
+
+import com.jgeodesy.util.SphericalMath;
+
+/**
+ * Great circle segment between two unit vectors, measuring the distance of points from the segment itself as a
+ * squared chord with {@link SphericalMath#segmentChordSquared}. Mutable, reused across segments by the simplifiers.
+ */
+final class ChordSegment {
+
+    private double ax, ay, az;
+    private double bx, by, bz;
+    private double cx, cy, cz;
+    private double normSquared;
+
+    /**
+     * Squared chord length of an angular distance
+     * @param distance distance in the units of radius
+     * @param radius   radius of earth
+     * @return Squared chord of the unit sphere
+     */
+    static double chordSquared(final double distance, final double radius) {
+        double chord = 2.0 * Math.sin(Math.min(distance / radius, Math.PI) * 0.5);
+        return chord * chord;
+    }
+
+    void set(final double ax, final double ay, final double az, final double bx, final double by, final double bz) {
+        this.ax = ax;
+        this.ay = ay;
+        this.az = az;
+        this.bx = bx;
+        this.by = by;
+        this.bz = bz;
+        cx = ay * bz - az * by;
+        cy = az * bx - ax * bz;
+        cz = ax * by - ay * bx;
+        normSquared = cx * cx + cy * cy + cz * cz;
+    }
+
+    double distanceSquared(final double px, final double py, final double pz) {
+        return SphericalMath.segmentChordSquared(px, py, pz, ax, ay, az, bx, by, bz, cx, cy, cz, normSquared);
+    }
+}
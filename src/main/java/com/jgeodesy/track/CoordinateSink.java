@@ -0,0 +1,13 @@
+package com.jgeodesy.track;
+
+/**
+ * Receives decoded coordinates one at a time, so decoders can feed computations without creating point objects
+ */
+public interface CoordinateSink {
+
+    /**
+     * @param latitude  latitude in degrees
+     * @param longitude longitude in degrees
+     */
+    void accept(double latitude, double longitude);
+}
@@ -0,0 +1,213 @@
+package com.jgeodesy.track;
+
+import org.apache.commons.lang3.builder.ToStringBuilder;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Read-only, memory-mapped track for histories larger than the heap.
+ * The file holds a 16 byte header (magic, version, fix count) followed by 24 byte records of time, latitude and
+ * longitude, big-endian, written with {@link Writer}. Records are mapped in bands so files larger than 2 GB can
+ * be used; they are read with absolute gets and the track can be shared between threads.
+ */
+public class MappedTrackStore extends TimedTrack implements Closeable {
+
+    static final int MAGIC = 0x54524B31;
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 16;
+    static final int RECORD_BYTES = 24;
+
+    private static final int RECORDS_PER_BAND = 1 << 26;
+
+    private final FileChannel channel;
+    private final ByteBuffer[] bands;
+    private final int bandShift;
+    private final int bandMask;
+    private final int size;
+
+    private MappedTrackStore(FileChannel channel, ByteBuffer[] bands, int recordsPerBand, int size) {
+        this.channel = channel;
+        this.bands = bands;
+        this.bandShift = Integer.numberOfTrailingZeros(recordsPerBand);
+        this.bandMask = recordsPerBand - 1;
+        this.size = size;
+    }
+
+    /**
+     * Maps a track file into memory
+     * @param file track file
+     * @return Mapped track
+     * @throws IOException if the file cannot be opened or is not a complete track file
+     */
+    public static MappedTrackStore open(final Path file) throws IOException {
+        return open(file, RECORDS_PER_BAND);
+    }
+
+    /**
+     * @param recordsPerBand power of two number of fixes per mapped band
+     */
+    static MappedTrackStore open(final Path file, final int recordsPerBand) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            if (channel.size() < HEADER_BYTES)
+                throw new IOException("Not a track file: " + file);
+            ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_BYTES);
+            if (header.getInt() != MAGIC || header.getInt() != VERSION)
+                throw new IOException("Not a track file: " + file);
+            long count = header.getLong();
+            if (count < 0 || count > Integer.MAX_VALUE || channel.size() < HEADER_BYTES + count * RECORD_BYTES)
+                throw new IOException("Track file " + file + " is " + channel.size() + " bytes for " + count + " fixes");
+
+            int bandCount = (int) ((count + recordsPerBand - 1) / recordsPerBand);
+            ByteBuffer[] bands = new ByteBuffer[bandCount];
+            for (int band = 0; band < bandCount; band++) {
+                long first = (long) band * recordsPerBand;
+                long records = Math.min(recordsPerBand, count - first);
+                bands[band] = channel.map(FileChannel.MapMode.READ_ONLY, HEADER_BYTES + first * RECORD_BYTES,
+                        records * RECORD_BYTES);
+            }
+            return new MappedTrackStore(channel, bands, recordsPerBand, (int) count);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Opens a writer that replaces the file
+     * @param file track file
+     * @return Writer; the file is only complete once the writer is closed
+     * @throws IOException if the file cannot be created
+     */
+    public static Writer writer(final Path file) throws IOException {
+        return new Writer(FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING));
+    }
+
+    /**
+     * Writes a whole track to a file
+     * @param file  track file
+     * @param track fixes to write
+     * @throws IOException if the file cannot be written
+     */
+    public static void write(final Path file, final TimedTrack track) throws IOException {
+        try (Writer writer = writer(file)) {
+            for (int i = 0, n = track.size(); i < n; i++)
+                writer.append(track.getTime(i), track.getLatitude(i), track.getLongitude(i));
+        }
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public long getTime(final int index) {
+        checkIndex(index);
+        return bands[index >>> bandShift].getLong((index & bandMask) * RECORD_BYTES);
+    }
+
+    @Override
+    public double getLatitude(final int index) {
+        checkIndex(index);
+        return bands[index >>> bandShift].getDouble((index & bandMask) * RECORD_BYTES + 8);
+    }
+
+    @Override
+    public double getLongitude(final int index) {
+        checkIndex(index);
+        return bands[index >>> bandShift].getDouble((index & bandMask) * RECORD_BYTES + 16);
+    }
+
+    private void checkIndex(final int index) {
+        if (index < 0 || index >= size)
+            throw new IndexOutOfBoundsException("Index: " + index + ", size: " + size);
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    @Override
+    public String toString() {
+        return new ToStringBuilder(this)
+                .append("size", size)
+                .append("bands", bands.length)
+                .toString();
+    }
+
+    /**
+     * Streams fixes in time order to a track file through a small buffer, so tracks need not fit in the heap
+     */
+    public static final class Writer implements Closeable {
+
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocate(RECORD_BYTES * 2730);
+        private long count;
+        private long lastTime = Long.MIN_VALUE;
+
+        private Writer(FileChannel channel) throws IOException {
+            this.channel = channel;
+            try {
+                channel.position(HEADER_BYTES);
+            } catch (IOException e) {
+                channel.close();
+                throw e;
+            }
+        }
+
+        /**
+         * Appends a fix
+         * @param time      time in milliseconds since the epoch, not before the last fix
+         * @param latitude  latitude in degrees
+         * @param longitude longitude in degrees
+         * @throws IOException if the file cannot be written
+         */
+        public void append(final long time, final double latitude, final double longitude) throws IOException {
+            TrackStore.checkFix(lastTime, time, latitude, longitude);
+            if (count == Integer.MAX_VALUE)
+                throw new IllegalStateException("Track file full");
+            if (buffer.remaining() < RECORD_BYTES)
+                drain();
+            buffer.putLong(time).putDouble(latitude).putDouble(longitude);
+            lastTime = time;
+            count++;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        /**
+         * Writes the remaining fixes and the header, then closes the file
+         */
+        @Override
+        public void close() throws IOException {
+            if (!channel.isOpen())
+                return;
+            try {
+                drain();
+                ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+                header.putInt(MAGIC).putInt(VERSION).putLong(count).flip();
+                while (header.hasRemaining())
+                    channel.write(header, header.position());
+            } finally {
+                channel.close();
+            }
+        }
+
+        private void drain() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining())
+                channel.write(buffer);
+            buffer.clear();
+        }
+    }
+}
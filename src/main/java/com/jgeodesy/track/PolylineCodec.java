@@ -0,0 +1,129 @@
+package com.jgeodesy.track;
+
+import com.jgeodesy.base.Point;
+
+import java.util.List;
+
+/**
+ * Encoded polyline format as used by the Google Maps APIs: coordinates rounded to 1e-5 (or 1e-6 for "polyline6")
+ * degree, delta-encoded against the previous point, zigzag-signed and written in 5-bit chunks offset by 63.
+ */
+public final class PolylineCodec {
+
+    /**
+     * Google's default precision, 1e-5 degree
+     */
+    public static final int DEFAULT_PRECISION = 5;
+
+    private PolylineCodec() {
+    }
+
+    /**
+     * Appends an encoded polyline
+     * @param latitudes  latitudes in degrees
+     * @param longitudes longitudes in degrees
+     * @param count      number of points
+     * @param precision  decimal digits kept, usually 5 or 6
+     * @param builder    destination
+     * @return The builder
+     */
+    public static StringBuilder encode(final double[] latitudes, final double[] longitudes, final int count,
+                                       final int precision, final StringBuilder builder) {
+        double factor = factor(precision);
+        long previousLatitude = 0;
+        long previousLongitude = 0;
+        for (int i = 0; i < count; i++) {
+            long latitude = Math.round(latitudes[i] * factor);
+            long longitude = Math.round(longitudes[i] * factor);
+            write(latitude - previousLatitude, builder);
+            write(longitude - previousLongitude, builder);
+            previousLatitude = latitude;
+            previousLongitude = longitude;
+        }
+        return builder;
+    }
+
+    /**
+     * Encodes points with the default precision
+     * @param points points
+     * @return Encoded polyline
+     */
+    public static String encode(final List<? extends Point> points) {
+        int count = points.size();
+        double[] latitudes = new double[count];
+        double[] longitudes = new double[count];
+        for (int i = 0; i < count; i++) {
+            latitudes[i] = points.get(i).getLatitude().getDegrees();
+            longitudes[i] = points.get(i).getLongitude().getDegrees();
+        }
+        return encode(latitudes, longitudes, count, DEFAULT_PRECISION, new StringBuilder(count * 8)).toString();
+    }
+
+    /**
+     * Decodes a polyline, streaming the coordinates into a sink
+     * @param polyline  encoded polyline
+     * @param precision decimal digits the polyline was encoded with
+     * @param sink      receives the coordinates in order
+     * @return Number of points decoded
+     */
+    public static int decode(final CharSequence polyline, final int precision, final CoordinateSink sink) {
+        double factor = factor(precision);
+        int length = polyline.length();
+        int position = 0;
+        long latitude = 0;
+        long longitude = 0;
+        int count = 0;
+        while (position < length) {
+            for (int part = 0; part < 2; part++) {
+                long value = 0;
+                int shift = 0;
+                int chunk;
+                do {
+                    if (position == length || shift > 60)
+                        throw new IllegalArgumentException("Truncated polyline at character " + position);
+                    chunk = polyline.charAt(position++) - 63;
+                    if (chunk < 0 || chunk > 63)
+                        throw new IllegalArgumentException("Invalid polyline character at " + (position - 1));
+                    value |= (long) (chunk & 0x1f) << shift;
+                    shift += 5;
+                } while (chunk >= 0x20);
+                long delta = (value >>> 1) ^ -(value & 1);
+                if (part == 0)
+                    latitude += delta;
+                else
+                    longitude += delta;
+            }
+            sink.accept(latitude / factor, longitude / factor);
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Length of an encoded track without materialising its points
+     * @param polyline  encoded polyline
+     * @param precision decimal digits the polyline was encoded with
+     * @param radius    radius of earth
+     * @return Great circle length in the units of radius
+     */
+    public static double length(final CharSequence polyline, final int precision, final double radius) {
+        TrackLength length = new TrackLength(radius);
+        decode(polyline, precision, length);
+        return length.getLength();
+    }
+
+    private static void write(final long delta, final StringBuilder builder) {
+        long value = (delta << 1) ^ (delta >> 63);
+        while (value >= 0x20) {
+            builder.append((char) ((0x20 | (value & 0x1f)) + 63));
+            value >>>= 5;
+        }
+        builder.append((char) (value + 63));
+    }
+
+    private static double factor(final int precision) {
+        if (precision < 0 || precision > 9)
+            throw new IllegalArgumentException("Precision must be 0..9: " + precision);
+        return Math.pow(10, precision);
+    }
+}
@@ -0,0 +1,139 @@
+package com.jgeodesy.track;
+
+import com.jgeodesy.util.SphericalMath;
+import org.apache.commons.lang3.builder.ToStringBuilder;
+
+/**
+ * Streaming simplifier with a bounded window, for feeds that never end or are too long to buffer. The last emitted
+ * point anchors a segment to the newest point; while every buffered point stays within the tolerance of that
+ * segment the newest point is only buffered, otherwise the point before it is emitted and becomes the anchor.
+ * Like {@link TrackSimplifier#douglasPeucker} every dropped point is within the tolerance of the emitted segment
+ * spanning it, at a cost of at most the window size per point. A full window forces an emit, which bounds memory
+ * and latency. Not thread-safe.
+ */
+public class StreamingSimplifier implements CoordinateSink {
+
+    private final CoordinateSink downstream;
+    private final double maxChordSquared;
+    private final ChordSegment segment = new ChordSegment();
+
+    private final double[] latitudes;
+    private final double[] longitudes;
+    private final double[] x;
+    private final double[] y;
+    private final double[] z;
+    private final double[] vector = new double[3];
+    private int buffered;
+
+    private boolean anchored;
+    private double anchorX;
+    private double anchorY;
+    private double anchorZ;
+
+    private long accepted;
+    private long emitted;
+
+    /**
+     * @param tolerance  maximum distance of a dropped point from the simplified track, in the units of radius
+     * @param radius     radius of earth
+     * @param window     maximum number of points held back, at least 2
+     * @param downstream receives the kept points in order
+     */
+    public StreamingSimplifier(final double tolerance, final double radius, final int window,
+                               final CoordinateSink downstream) {
+        if (window < 2)
+            throw new IllegalArgumentException("Window must be at least 2: " + window);
+        this.downstream = downstream;
+        this.maxChordSquared = ChordSegment.chordSquared(tolerance, radius);
+        this.latitudes = new double[window];
+        this.longitudes = new double[window];
+        this.x = new double[window];
+        this.y = new double[window];
+        this.z = new double[window];
+    }
+
+    @Override
+    public void accept(final double latitude, final double longitude) {
+        accepted++;
+        SphericalMath.toVector(latitude, longitude, vector, 0);
+        double px = vector[0];
+        double py = vector[1];
+        double pz = vector[2];
+        if (!anchored) {
+            emit(latitude, longitude, px, py, pz);
+            return;
+        }
+        if (buffered == latitudes.length || (buffered > 0 && !covers(px, py, pz)))
+            emitLast();
+        latitudes[buffered] = latitude;
+        longitudes[buffered] = longitude;
+        x[buffered] = px;
+        y[buffered] = py;
+        z[buffered] = pz;
+        buffered++;
+    }
+
+    /**
+     * Emits the newest held-back point, ending the simplified track at the last point received
+     */
+    public void flush() {
+        if (buffered > 0)
+            emitLast();
+    }
+
+    /**
+     * Flushes and starts a new track; the next point is emitted unconditionally
+     */
+    public void reset() {
+        flush();
+        anchored = false;
+    }
+
+    /**
+     * @return Number of points received
+     */
+    public long getAccepted() {
+        return accepted;
+    }
+
+    /**
+     * @return Number of points passed downstream
+     */
+    public long getEmitted() {
+        return emitted;
+    }
+
+    private boolean covers(final double px, final double py, final double pz) {
+        segment.set(anchorX, anchorY, anchorZ, px, py, pz);
+        for (int i = 0; i < buffered; i++) {
+            if (segment.distanceSquared(x[i], y[i], z[i]) > maxChordSquared)
+                return false;
+        }
+        return true;
+    }
+
+    private void emitLast() {
+        int last = buffered - 1;
+        emit(latitudes[last], longitudes[last], x[last], y[last], z[last]);
+    }
+
+    private void emit(final double latitude, final double longitude, final double px, final double py, final double pz) {
+        anchored = true;
+        anchorX = px;
+        anchorY = py;
+        anchorZ = pz;
+        buffered = 0;
+        emitted++;
+        downstream.accept(latitude, longitude);
+    }
+
+    @Override
+    public String toString() {
+        return new ToStringBuilder(this)
+                .append("window", latitudes.length)
+                .append("buffered", buffered)
+                .append("accepted", accepted)
+                .append("emitted", emitted)
+                .toString();
+    }
+}
@@ -0,0 +1,216 @@
+package com.jgeodesy.track;
+
+import com.jgeodesy.base.SphericalPoint;
+import com.jgeodesy.coordinate.Latitude;
+import com.jgeodesy.coordinate.Longitude;
+import com.jgeodesy.metrics.GeodesyEvents;
+import com.jgeodesy.metrics.Metrics;
+import com.jgeodesy.metrics.Operation;
+import com.jgeodesy.util.SphericalMath;
+
+/**
+ * Track of timestamped fixes in time order, answering where the object was at a given time. The bracketing fixes
+ * are found by binary search and the position between them follows the great circle, as
+ * {@link SphericalPoint#intermediatePointTo(SphericalPoint, Double)} with the fraction of elapsed time.
+ */
+public abstract class TimedTrack {
+
+    /**
+     * @return Number of fixes
+     */
+    public abstract int size();
+
+    /**
+     * @param index index of the fix
+     * @return Time of the fix in milliseconds since the epoch
+     */
+    public abstract long getTime(int index);
+
+    /**
+     * @param index index of the fix
+     * @return Latitude in degrees
+     */
+    public abstract double getLatitude(int index);
+
+    /**
+     * @param index index of the fix
+     * @return Longitude in degrees
+     */
+    public abstract double getLongitude(int index);
+
+    /**
+     * Finds the last fix at or before a time
+     * @param time time in milliseconds since the epoch
+     * @return Index of the fix, -1 when the track starts later
+     */
+    public int floorIndex(final long time) {
+        int low = 0;
+        int high = size() - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            if (getTime(middle) <= time)
+                low = middle + 1;
+            else
+                high = middle - 1;
+        }
+        return high;
+    }
+
+    /**
+     * Interpolates the position at a time
+     * @param time   time in milliseconds since the epoch
+     * @param result receives latitude and longitude in degrees
+     * @return False, leaving result untouched, when the time is outside the track
+     */
+    public boolean positionAt(final long time, final double[] result) {
+        int index = floorIndex(time);
+        int size = size();
+        if (index < 0 || index == size - 1 && getTime(index) != time)
+            return false;
+        long time0 = getTime(index);
+        if (time0 == time) {
+            result[0] = getLatitude(index);
+            result[1] = getLongitude(index);
+            return true;
+        }
+        Segment segment = new Segment();
+        segment.set(this, index);
+        segment.interpolate(time, result, 0, result, 1);
+        return true;
+    }
+
+    /**
+     * Interpolates the position at a time
+     * @param time time in milliseconds since the epoch
+     * @return Position, null when the time is outside the track
+     */
+    public SphericalPoint positionAt(final long time) {
+        double[] position = new double[2];
+        if (!positionAt(time, position))
+            return null;
+        return new SphericalPoint(new Latitude(position[0]), new Longitude(position[1]));
+    }
+
+    /**
+     * Resamples the track to a regular time grid, searching once and then walking forward so each segment's
+     * trigonometry is computed once however many samples fall in it
+     * @param start      time of the first sample in milliseconds since the epoch
+     * @param step       time between samples in milliseconds
+     * @param count      number of samples
+     * @param latitudes  receives latitudes in degrees, NaN outside the track
+     * @param longitudes receives longitudes in degrees, NaN outside the track
+     * @return Number of samples inside the track
+     */
+    public int resample(final long start, final long step, final int count, final double[] latitudes,
+                        final double[] longitudes) {
+        if (step <= 0)
+            throw new IllegalArgumentException("Step must be positive: " + step);
+        long begin = Metrics.start();
+        Object event = GeodesyEvents.beginBatch(Operation.TRACK_RESAMPLING, null, count);
+
+        int size = size();
+        long endTime = size == 0 ? Long.MIN_VALUE : getTime(size - 1);
+        Segment segment = new Segment();
+        int index = floorIndex(start);
+        int segmentIndex = -1;
+        int inside = 0;
+        for (int k = 0; k < count; k++) {
+            long time = start + k * step;
+            while (index + 1 < size && getTime(index + 1) <= time)
+                index++;
+            if (index < 0 || time > endTime) {
+                latitudes[k] = Double.NaN;
+                longitudes[k] = Double.NaN;
+                continue;
+            }
+            inside++;
+            if (index == size - 1 || getTime(index) == time) {
+                latitudes[k] = getLatitude(index);
+                longitudes[k] = getLongitude(index);
+                continue;
+            }
+            if (segmentIndex != index) {
+                segment.set(this, index);
+                segmentIndex = index;
+            }
+            segment.interpolate(time, latitudes, k, longitudes, k);
+        }
+
+        GeodesyEvents.endBatch(event, 0L);
+        Metrics.stop(Operation.TRACK_RESAMPLING, begin, count);
+        return inside;
+    }
+
+    /**
+     * @return Time of the first fix
+     * @throws IllegalStateException when empty
+     */
+    public long getStartTime() {
+        if (size() == 0)
+            throw new IllegalStateException("Empty track");
+        return getTime(0);
+    }
+
+    /**
+     * @return Time of the last fix
+     * @throws IllegalStateException when empty
+     */
+    public long getEndTime() {
+        if (size() == 0)
+            throw new IllegalStateException("Empty track");
+        return getTime(size() - 1);
+    }
+
+    /**
+     * Great circle between two consecutive fixes as unit vectors, interpolated by time
+     */
+    private static final class Segment {
+
+        private final double[] vectors = new double[6];
+        private long time0;
+        private double duration;
+        private double ax, ay, az;
+        private double bx, by, bz;
+        private double sigma;
+        private double sinSigma;
+
+        void set(final TimedTrack track, final int index) {
+            time0 = track.getTime(index);
+            duration = track.getTime(index + 1) - time0;
+            double[] v = vectors;
+            SphericalMath.toVector(track.getLatitude(index), track.getLongitude(index), v, 0);
+            SphericalMath.toVector(track.getLatitude(index + 1), track.getLongitude(index + 1), v, 3);
+            ax = v[0];
+            ay = v[1];
+            az = v[2];
+            bx = v[3];
+            by = v[4];
+            bz = v[5];
+            double cx = ay * bz - az * by;
+            double cy = az * bx - ax * bz;
+            double cz = ax * by - ay * bx;
+            sinSigma = Math.sqrt(cx * cx + cy * cy + cz * cz);
+            sigma = Math.atan2(sinSigma, ax * bx + ay * by + az * bz);
+        }
+
+        void interpolate(final long time, final double[] latitudes, final int latitudeIndex,
+                         final double[] longitudes, final int longitudeIndex) {
+            double fraction = (time - time0) / duration;
+            double a;
+            double b;
+            if (sinSigma < 1e-15) {
+                // Coincident fixes; the chord is the arc to rounding
+                a = 1.0 - fraction;
+                b = fraction;
+            } else {
+                a = Math.sin((1.0 - fraction) * sigma) / sinSigma;
+                b = Math.sin(fraction * sigma) / sinSigma;
+            }
+            double x = a * ax + b * bx;
+            double y = a * ay + b * by;
+            double z = a * az + b * bz;
+            latitudes[latitudeIndex] = Math.toDegrees(Math.atan2(z, Math.sqrt(x * x + y * y)));
+            longitudes[longitudeIndex] = Math.toDegrees(Math.atan2(y, x));
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package com.jgeodesy.track;
+
+import com.jgeodesy.base.CompactPointArray;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Compact binary track format: a varint point count followed by, per point, the latitude and longitude deltas
+ * against the previous point in 1e-7 degree units, zigzag-signed and written as varints. Consecutive GPS fixes
+ * usually differ by a few hundred units, so a point typically takes 3-4 bytes instead of the 16 of two doubles.
+ */
+public final class TrackCodec {
+
+    private TrackCodec() {
+    }
+
+    /**
+     * Upper bound of the encoded size
+     * @param count number of points
+     * @return Maximum number of bytes written by encode
+     */
+    public static int maxEncodedLength(final int count) {
+        return 5 + count * 10;
+    }
+
+    /**
+     * Encodes a track into a buffer
+     * @param latitudes  latitudes in degrees
+     * @param longitudes longitudes in degrees, -180..+180
+     * @param count      number of points
+     * @param target     destination, written from its position
+     */
+    public static void encode(final double[] latitudes, final double[] longitudes, final int count, final ByteBuffer target) {
+        writeVarint(count, target);
+        long previousLatitude = 0;
+        long previousLongitude = 0;
+        for (int i = 0; i < count; i++) {
+            long latitude = CompactPointArray.encode(latitudes[i]);
+            long longitude = CompactPointArray.encode(longitudes[i]);
+            writeVarint(zigzag(latitude - previousLatitude), target);
+            writeVarint(zigzag(longitude - previousLongitude), target);
+            previousLatitude = latitude;
+            previousLongitude = longitude;
+        }
+    }
+
+    /**
+     * Encodes a track
+     * @param latitudes  latitudes in degrees
+     * @param longitudes longitudes in degrees, -180..+180
+     * @param count      number of points
+     * @return Encoded bytes
+     */
+    public static byte[] encode(final double[] latitudes, final double[] longitudes, final int count) {
+        ByteBuffer buffer = ByteBuffer.allocate(maxEncodedLength(count));
+        encode(latitudes, longitudes, count, buffer);
+        return Arrays.copyOf(buffer.array(), buffer.position());
+    }
+
+    /**
+     * Encodes the points of a compact array; the round trip is lossless
+     * @param points points
+     * @return Encoded bytes
+     */
+    public static byte[] encode(final CompactPointArray points) {
+        int count = points.size();
+        double[] latitudes = new double[count];
+        double[] longitudes = new double[count];
+        for (int i = 0; i < count; i++) {
+            latitudes[i] = points.getLatitude(i);
+            longitudes[i] = points.getLongitude(i);
+        }
+        return encode(latitudes, longitudes, count);
+    }
+
+    /**
+     * Decodes one track from a buffer, streaming the coordinates into a sink
+     * @param source encoded track, read from its position; the position ends after the track
+     * @param sink   receives the coordinates in order
+     * @return Number of points decoded
+     */
+    public static int decode(final ByteBuffer source, final CoordinateSink sink) {
+        try {
+            long count = readVarint(source);
+            if (count > Integer.MAX_VALUE)
+                throw new IllegalArgumentException("Invalid track point count: " + count);
+            long latitude = 0;
+            long longitude = 0;
+            for (int i = 0; i < count; i++) {
+                latitude += unzigzag(readVarint(source));
+                longitude += unzigzag(readVarint(source));
+                sink.accept(latitude / CompactPointArray.SCALE, longitude / CompactPointArray.SCALE);
+            }
+            return (int) count;
+        } catch (BufferUnderflowException e) {
+            throw new IllegalArgumentException("Truncated track", e);
+        }
+    }
+
+    /**
+     * Decodes a track, streaming the coordinates into a sink
+     * @param data encoded track
+     * @param sink receives the coordinates in order
+     * @return Number of points decoded
+     */
+    public static int decode(final byte[] data, final CoordinateSink sink) {
+        return decode(ByteBuffer.wrap(data), sink);
+    }
+
+    /**
+     * Decodes a track into a compact array
+     * @param data encoded track
+     * @return Points of the track
+     */
+    public static CompactPointArray decode(final byte[] data) {
+        final CompactPointArray points = new CompactPointArray();
+        decode(data, new CoordinateSink() {
+            @Override
+            public void accept(double latitude, double longitude) {
+                points.add(latitude, longitude);
+            }
+        });
+        return points;
+    }
+
+    /**
+     * Length of an encoded track without materialising its points
+     * @param data   encoded track
+     * @param radius radius of earth
+     * @return Great circle length in the units of radius
+     */
+    public static double length(final byte[] data, final double radius) {
+        TrackLength length = new TrackLength(radius);
+        decode(data, length);
+        return length.getLength();
+    }
+
+    private static long zigzag(final long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unzigzag(final long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static void writeVarint(long value, final ByteBuffer target) {
+        while ((value & ~0x7FL) != 0) {
+            target.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        target.put((byte) value);
+    }
+
+    private static long readVarint(final ByteBuffer source) {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = source.get();
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0)
+                return value;
+        }
+        throw new IllegalArgumentException("Malformed varint");
+    }
+}
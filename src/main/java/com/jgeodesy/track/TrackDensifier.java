@@ -0,0 +1,169 @@
+package com.jgeodesy.track;
+
+import com.jgeodesy.metrics.GeodesyEvents;
+import com.jgeodesy.metrics.Metrics;
+import com.jgeodesy.metrics.Operation;
+import com.jgeodesy.util.SphericalMath;
+
+/**
+ * Great circle densification of polylines into primitive buffers. Each segment is set up once as the start unit
+ * vector and the unit vector a quarter circle ahead of it in its plane; intermediate points then follow by rotating
+ * the step angle's cosine and sine pair, so a segment costs one sin/cos pair and a point two atan2s, against the
+ * haversine and four sines per point of {@link com.jgeodesy.base.SphericalPoint#intermediatePointTo}, with which
+ * the results agree to rounding error. Input vertices are copied through unchanged.
+ */
+public final class TrackDensifier {
+
+    private TrackDensifier() {
+    }
+
+    /**
+     * Number of points {@link #densify(double[], double[], int, double, double, double[], double[])} writes
+     * @param latitudes  latitudes in degrees
+     * @param longitudes longitudes in degrees
+     * @param count      number of vertices
+     * @param spacing    maximum distance between output points, in the units of radius
+     * @param radius     radius of earth
+     * @return Number of output points
+     */
+    public static int densifiedCount(final double[] latitudes, final double[] longitudes, final int count,
+                                     final double spacing, final double radius) {
+        if (count <= 0)
+            return 0;
+        double[] a = new double[3];
+        double[] b = new double[3];
+        SphericalMath.toVector(latitudes[0], longitudes[0], a, 0);
+        long points = 1;
+        for (int i = 1; i < count; i++) {
+            SphericalMath.toVector(latitudes[i], longitudes[i], b, 0);
+            points += steps(angle(a, b), spacing / radius);
+            double[] swap = a;
+            a = b;
+            b = swap;
+        }
+        if (points > Integer.MAX_VALUE)
+            throw new IllegalArgumentException("Densified track too long: " + points);
+        return (int) points;
+    }
+
+    /**
+     * Densifies so that consecutive output points are at most a given distance apart, each segment split into equal
+     * steps so the vertices are kept
+     * @param latitudes     latitudes in degrees
+     * @param longitudes    longitudes in degrees
+     * @param count         number of vertices
+     * @param spacing       maximum distance between output points, in the units of radius
+     * @param radius        radius of earth
+     * @param outLatitudes  receives latitudes, at least {@link #densifiedCount} elements
+     * @param outLongitudes receives longitudes in degrees -180..+180
+     * @return Number of points written
+     */
+    public static int densify(final double[] latitudes, final double[] longitudes, final int count,
+                              final double spacing, final double radius,
+                              final double[] outLatitudes, final double[] outLongitudes) {
+        if (!(spacing > 0.0))
+            throw new IllegalArgumentException("Spacing must be positive: " + spacing);
+        return densify(latitudes, longitudes, count, spacing / radius, 0, outLatitudes, outLongitudes);
+    }
+
+    /**
+     * Densifies by inserting a fixed number of equally spaced points into every segment
+     * @param latitudes         latitudes in degrees
+     * @param longitudes        longitudes in degrees
+     * @param count             number of vertices
+     * @param pointsPerSegment  points inserted between each pair of vertices
+     * @param outLatitudes      receives latitudes, at least count + (count - 1) * pointsPerSegment elements
+     * @param outLongitudes     receives longitudes in degrees -180..+180
+     * @return Number of points written
+     */
+    public static int densify(final double[] latitudes, final double[] longitudes, final int count,
+                              final int pointsPerSegment, final double[] outLatitudes, final double[] outLongitudes) {
+        if (pointsPerSegment < 0)
+            throw new IllegalArgumentException("Points per segment must not be negative: " + pointsPerSegment);
+        return densify(latitudes, longitudes, count, 0.0, pointsPerSegment + 1, outLatitudes, outLongitudes);
+    }
+
+    /**
+     * @param maxStep    maximum step angle in radians, used when fixedSteps is 0
+     * @param fixedSteps number of steps per segment
+     */
+    private static int densify(final double[] latitudes, final double[] longitudes, final int count,
+                               final double maxStep, final int fixedSteps,
+                               final double[] outLatitudes, final double[] outLongitudes) {
+        if (count <= 0)
+            return 0;
+        long start = Metrics.start();
+        Object event = GeodesyEvents.beginBatch(Operation.TRACK_DENSIFICATION, null, count);
+        double[] a = new double[3];
+        double[] b = new double[3];
+        SphericalMath.toVector(latitudes[0], longitudes[0], a, 0);
+        int written = 0;
+        for (int i = 1; i < count; i++) {
+            SphericalMath.toVector(latitudes[i], longitudes[i], b, 0);
+            outLatitudes[written] = latitudes[i - 1];
+            outLongitudes[written] = longitudes[i - 1];
+            written++;
+
+            double dot = a[0] * b[0] + a[1] * b[1] + a[2] * b[2];
+            // v: component of b orthogonal to a, normalised; a cos t + v sin t walks the segment
+            double vx = b[0] - dot * a[0];
+            double vy = b[1] - dot * a[1];
+            double vz = b[2] - dot * a[2];
+            double sinSigma = Math.sqrt(vx * vx + vy * vy + vz * vz);
+            double sigma = angle(a, b);
+            int steps = fixedSteps > 0 ? fixedSteps : steps(sigma, maxStep);
+            if (steps > 1) {
+                if (sinSigma < 1e-15) {
+                    if (dot < 0.0)
+                        throw new IllegalArgumentException("Segment " + (i - 1) + " joins antipodal points");
+                    // Coincident vertices: repeat the point
+                    for (int k = 1; k < steps; k++) {
+                        outLatitudes[written] = latitudes[i - 1];
+                        outLongitudes[written] = longitudes[i - 1];
+                        written++;
+                    }
+                } else {
+                    vx /= sinSigma;
+                    vy /= sinSigma;
+                    vz /= sinSigma;
+                    double step = sigma / steps;
+                    double cosStep = Math.cos(step);
+                    double sinStep = Math.sin(step);
+                    double cos = cosStep;
+                    double sin = sinStep;
+                    for (int k = 1; k < steps; k++) {
+                        double x = cos * a[0] + sin * vx;
+                        double y = cos * a[1] + sin * vy;
+                        double z = cos * a[2] + sin * vz;
+                        outLatitudes[written] = Math.toDegrees(Math.atan2(z, Math.sqrt(x * x + y * y)));
+                        outLongitudes[written] = Math.toDegrees(Math.atan2(y, x));
+                        written++;
+                        double nextCos = cos * cosStep - sin * sinStep;
+                        sin = sin * cosStep + cos * sinStep;
+                        cos = nextCos;
+                    }
+                }
+            }
+            double[] swap = a;
+            a = b;
+            b = swap;
+        }
+        outLatitudes[written] = latitudes[count - 1];
+        outLongitudes[written] = longitudes[count - 1];
+        written++;
+        GeodesyEvents.endBatch(event, 0L);
+        Metrics.stop(Operation.TRACK_DENSIFICATION, start, count);
+        return written;
+    }
+
+    private static int steps(final double sigma, final double maxStep) {
+        return Math.max(1, (int) Math.ceil(sigma / maxStep - 1e-9));
+    }
+
+    private static double angle(final double[] a, final double[] b) {
+        double cx = a[1] * b[2] - a[2] * b[1];
+        double cy = a[2] * b[0] - a[0] * b[2];
+        double cz = a[0] * b[1] - a[1] * b[0];
+        return Math.atan2(Math.sqrt(cx * cx + cy * cy + cz * cz), a[0] * b[0] + a[1] * b[1] + a[2] * b[2]);
+    }
+}
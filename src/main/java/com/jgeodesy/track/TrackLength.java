@@ -0,0 +1,70 @@
+package com.jgeodesy.track;
+
+import com.jgeodesy.util.SphericalMath;
+import org.apache.commons.lang3.builder.ToStringBuilder;
+
+/**
+ * Sink summing the great circle length of a track, with the haversine semantics of
+ * {@link com.jgeodesy.base.SphericalPoint#distanceTo(com.jgeodesy.base.SphericalPoint, double)}
+ */
+public class TrackLength implements CoordinateSink {
+
+    private final double radius;
+    private double phi;
+    private double cosPhi;
+    private double lambda;
+    private double angle;
+    private int count;
+
+    /**
+     * @param radius radius of earth, the length is returned in its units
+     */
+    public TrackLength(final double radius) {
+        this.radius = radius;
+    }
+
+    @Override
+    public void accept(final double latitude, final double longitude) {
+        double nextPhi = Math.toRadians(latitude);
+        double nextCosPhi = Math.cos(nextPhi);
+        double nextLambda = Math.toRadians(longitude);
+        // Each point's cosine is taken once and reused as the start of the next step
+        if (count > 0)
+            angle += SphericalMath.angularDistance(phi, cosPhi, lambda, nextPhi, nextCosPhi, nextLambda);
+        phi = nextPhi;
+        cosPhi = nextCosPhi;
+        lambda = nextLambda;
+        count++;
+    }
+
+    /**
+     * @return Length of the track so far in the units of radius
+     */
+    public double getLength() {
+        return angle * radius;
+    }
+
+    /**
+     * @return Number of points received
+     */
+    public int getCount() {
+        return count;
+    }
+
+    /**
+     * Starts a new track
+     */
+    public void reset() {
+        angle = 0.0;
+        count = 0;
+    }
+
+    @Override
+    public String toString() {
+        return new ToStringBuilder(this)
+                .append("radius", radius)
+                .append("count", count)
+                .append("length", getLength())
+                .toString();
+    }
+}
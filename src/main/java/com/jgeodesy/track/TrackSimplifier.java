@@ -0,0 +1,295 @@
+package com.jgeodesy.track;
+
+import com.jgeodesy.metrics.GeodesyEvents;
+import com.jgeodesy.metrics.Metrics;
+import com.jgeodesy.metrics.Operation;
+import com.jgeodesy.util.SphericalMath;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * Great circle track simplification on primitive arrays. Douglas-Peucker keeps every dropped point within a
+ * tolerance of the simplified segment spanning it, measured to the segment rather than its great circle so
+ * out-and-back spikes survive. Visvalingam-Whyatt drops points by the spherical excess of the triangle they form
+ * with their neighbours, which preserves shape better at the same point count. Points are converted to unit
+ * vectors once per track. For unbounded streams see {@link StreamingSimplifier}.
+ */
+public final class TrackSimplifier {
+
+    private TrackSimplifier() {
+    }
+
+    /**
+     * Douglas-Peucker simplification
+     * @param latitudes  latitudes in degrees
+     * @param longitudes longitudes in degrees
+     * @param count      number of points
+     * @param tolerance  maximum distance of a dropped point from the simplified track, in the units of radius
+     * @param radius     radius of earth
+     * @param keep       receives true for the points kept; the first and last always are
+     * @return Number of points kept
+     */
+    public static int douglasPeucker(final double[] latitudes, final double[] longitudes, final int count,
+                                     final double tolerance, final double radius, final boolean[] keep) {
+        long start = Metrics.start();
+        Object event = GeodesyEvents.beginBatch(Operation.TRACK_SIMPLIFICATION, null, count);
+        int kept = keepEnds(count, keep);
+        if (count > 2) {
+            double[] x = new double[count];
+            double[] y = new double[count];
+            double[] z = new double[count];
+            toVectors(latitudes, longitudes, count, x, y, z);
+            double maxChordSquared = ChordSegment.chordSquared(tolerance, radius);
+            ChordSegment segment = new ChordSegment();
+
+            // Explicit stack of index ranges, so one-fix-per-second tracks of any length cannot overflow the call stack
+            int[] stack = new int[64];
+            int top = 0;
+            stack[top++] = 0;
+            stack[top++] = count - 1;
+            while (top > 0) {
+                int last = stack[--top];
+                int first = stack[--top];
+                segment.set(x[first], y[first], z[first], x[last], y[last], z[last]);
+                int farthest = -1;
+                double farthestDistance = maxChordSquared;
+                for (int i = first + 1; i < last; i++) {
+                    double distance = segment.distanceSquared(x[i], y[i], z[i]);
+                    if (distance > farthestDistance) {
+                        farthestDistance = distance;
+                        farthest = i;
+                    }
+                }
+                if (farthest < 0)
+                    continue;
+                keep[farthest] = true;
+                kept++;
+                if (top + 4 > stack.length)
+                    stack = Arrays.copyOf(stack, stack.length * 2);
+                if (farthest - first > 1) {
+                    stack[top++] = first;
+                    stack[top++] = farthest;
+                }
+                if (last - farthest > 1) {
+                    stack[top++] = farthest;
+                    stack[top++] = last;
+                }
+            }
+        }
+        GeodesyEvents.endBatch(event, 0L);
+        Metrics.stop(Operation.TRACK_SIMPLIFICATION, start, count);
+        return kept;
+    }
+
+    /**
+     * Visvalingam-Whyatt simplification. A point's effective area never falls below that of a point removed
+     * before it, so the result is the same as removing points one at a time by smallest triangle.
+     * @param latitudes  latitudes in degrees
+     * @param longitudes longitudes in degrees
+     * @param count      number of points
+     * @param minArea    points whose effective area is below this are dropped, in the squared units of radius
+     * @param radius     radius of earth
+     * @param keep       receives true for the points kept; the first and last always are
+     * @return Number of points kept
+     */
+    public static int visvalingam(final double[] latitudes, final double[] longitudes, final int count,
+                                  final double minArea, final double radius, final boolean[] keep) {
+        long start = Metrics.start();
+        Object event = GeodesyEvents.beginBatch(Operation.TRACK_SIMPLIFICATION, null, count);
+        int kept = keepEnds(count, keep);
+        if (count > 2) {
+            double[] x = new double[count];
+            double[] y = new double[count];
+            double[] z = new double[count];
+            toVectors(latitudes, longitudes, count, x, y, z);
+            double minExcess = minArea / (radius * radius);
+
+            int[] previous = new int[count];
+            int[] next = new int[count];
+            double[] area = new double[count];
+            AreaHeap heap = new AreaHeap(area, count);
+            for (int i = 1; i < count - 1; i++) {
+                previous[i] = i - 1;
+                next[i] = i + 1;
+                area[i] = excess(x, y, z, i - 1, i, i + 1);
+                keep[i] = true;
+                heap.add(i);
+            }
+            kept = count;
+            while (!heap.isEmpty() && area[heap.peek()] < minExcess) {
+                int i = heap.poll();
+                keep[i] = false;
+                kept--;
+                int p = previous[i];
+                int q = next[i];
+                next[p] = q;
+                previous[q] = p;
+                if (p > 0) {
+                    area[p] = Math.max(excess(x, y, z, previous[p], p, q), area[i]);
+                    heap.update(p);
+                }
+                if (q < count - 1) {
+                    area[q] = Math.max(excess(x, y, z, p, q, next[q]), area[i]);
+                    heap.update(q);
+                }
+            }
+        }
+        GeodesyEvents.endBatch(event, 0L);
+        Metrics.stop(Operation.TRACK_SIMPLIFICATION, start, count);
+        return kept;
+    }
+
+    /**
+     * Moves the kept points to the front of the arrays, preserving their order
+     * @param latitudes  latitudes, compacted in place
+     * @param longitudes longitudes, compacted in place
+     * @param count      number of points
+     * @param keep       points to keep
+     * @return Number of points kept
+     */
+    public static int compact(final double[] latitudes, final double[] longitudes, final int count, final boolean[] keep) {
+        int kept = 0;
+        for (int i = 0; i < count; i++) {
+            if (keep[i]) {
+                latitudes[kept] = latitudes[i];
+                longitudes[kept] = longitudes[i];
+                kept++;
+            }
+        }
+        return kept;
+    }
+
+    /**
+     * Douglas-Peucker simplification of many tracks in parallel on the common fork/join pool, each compacted in place
+     * @param latitudes  latitudes per track
+     * @param longitudes longitudes per track
+     * @param counts     number of points per track, replaced by the number kept
+     * @param tolerance  maximum distance of a dropped point from the simplified track, in the units of radius
+     * @param radius     radius of earth
+     * @return Total number of points kept
+     */
+    public static long douglasPeucker(final double[][] latitudes, final double[][] longitudes, final int[] counts,
+                                      final double tolerance, final double radius) {
+        if (latitudes.length != longitudes.length || latitudes.length != counts.length)
+            throw new IllegalArgumentException("Track array lengths differ");
+        return IntStream.range(0, counts.length)
+                .parallel()
+                .mapToLong(track -> {
+                    boolean[] keep = new boolean[counts[track]];
+                    douglasPeucker(latitudes[track], longitudes[track], counts[track], tolerance, radius, keep);
+                    counts[track] = compact(latitudes[track], longitudes[track], counts[track], keep);
+                    return counts[track];
+                })
+                .sum();
+    }
+
+    private static int keepEnds(final int count, final boolean[] keep) {
+        if (count <= 0)
+            return 0;
+        for (int i = 1; i < count - 1; i++)
+            keep[i] = false;
+        keep[0] = true;
+        keep[count - 1] = true;
+        return count == 1 ? 1 : 2;
+    }
+
+    static void toVectors(final double[] latitudes, final double[] longitudes, final int count,
+                          final double[] x, final double[] y, final double[] z) {
+        double[] v = new double[3];
+        for (int i = 0; i < count; i++) {
+            SphericalMath.toVector(latitudes[i], longitudes[i], v, 0);
+            x[i] = v[0];
+            y[i] = v[1];
+            z[i] = v[2];
+        }
+    }
+
+    /**
+     * Spherical excess of the triangle of three unit vectors, by the Van Oosterom-Strackee formula
+     */
+    private static double excess(final double[] x, final double[] y, final double[] z, final int a, final int b, final int c) {
+        double triple = x[a] * (y[b] * z[c] - z[b] * y[c]) + y[a] * (z[b] * x[c] - x[b] * z[c])
+                + z[a] * (x[b] * y[c] - y[b] * x[c]);
+        double ab = x[a] * x[b] + y[a] * y[b] + z[a] * z[b];
+        double bc = x[b] * x[c] + y[b] * y[c] + z[b] * z[c];
+        double ca = x[c] * x[a] + y[c] * y[a] + z[c] * z[a];
+        return 2.0 * Math.atan2(Math.abs(triple), 1.0 + ab + bc + ca);
+    }
+
+    /**
+     * Indexed binary min-heap of point indices ordered by area, supporting key updates
+     */
+    private static final class AreaHeap {
+
+        private final double[] area;
+        private final int[] heap;
+        private final int[] position;
+        private int size;
+
+        AreaHeap(double[] area, int capacity) {
+            this.area = area;
+            this.heap = new int[capacity];
+            this.position = new int[capacity];
+        }
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+
+        int peek() {
+            return heap[0];
+        }
+
+        void add(final int index) {
+            heap[size] = index;
+            position[index] = size;
+            up(size++);
+        }
+
+        int poll() {
+            int top = heap[0];
+            move(heap[--size], 0);
+            if (size > 0)
+                down(0);
+            return top;
+        }
+
+        void update(final int index) {
+            down(up(position[index]));
+        }
+
+        private int up(int i) {
+            int index = heap[i];
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                if (area[heap[parent]] <= area[index])
+                    break;
+                move(heap[parent], i);
+                i = parent;
+            }
+            move(index, i);
+            return i;
+        }
+
+        private void down(int i) {
+            int index = heap[i];
+            int half = size >>> 1;
+            while (i < half) {
+                int child = 2 * i + 1;
+                if (child + 1 < size && area[heap[child + 1]] < area[heap[child]])
+                    child++;
+                if (area[index] <= area[heap[child]])
+                    break;
+                move(heap[child], i);
+                i = child;
+            }
+            move(index, i);
+        }
+
+        private void move(final int index, final int i) {
+            heap[i] = index;
+            position[index] = i;
+        }
+    }
+}
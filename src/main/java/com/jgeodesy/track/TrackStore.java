@@ -0,0 +1,132 @@
+package com.jgeodesy.track;
+
+import org.apache.commons.lang3.builder.ToStringBuilder;
+
+import java.util.Arrays;
+
+/**
+ * Growable on-heap track: times, latitudes and longitudes in parallel primitive arrays, 24 bytes per fix.
+ * Fixes must be added in time order. Not thread-safe for concurrent writes.
+ */
+public class TrackStore extends TimedTrack {
+
+    private long[] times;
+    private double[] latitudes;
+    private double[] longitudes;
+    private int size;
+
+    public TrackStore() {
+        this(16);
+    }
+
+    /**
+     * @param capacity initial number of fixes
+     */
+    public TrackStore(final int capacity) {
+        int length = Math.max(capacity, 1);
+        this.times = new long[length];
+        this.latitudes = new double[length];
+        this.longitudes = new double[length];
+    }
+
+    /**
+     * Appends a fix
+     * @param time      time in milliseconds since the epoch, not before the last fix
+     * @param latitude  latitude in degrees
+     * @param longitude longitude in degrees
+     * @return Index of the fix
+     */
+    public int add(final long time, final double latitude, final double longitude) {
+        checkFix(size == 0 ? Long.MIN_VALUE : times[size - 1], time, latitude, longitude);
+        if (size == times.length) {
+            int length = size * 2;
+            times = Arrays.copyOf(times, length);
+            latitudes = Arrays.copyOf(latitudes, length);
+            longitudes = Arrays.copyOf(longitudes, length);
+        }
+        times[size] = time;
+        latitudes[size] = latitude;
+        longitudes[size] = longitude;
+        return size++;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public long getTime(final int index) {
+        checkIndex(index);
+        return times[index];
+    }
+
+    @Override
+    public double getLatitude(final int index) {
+        checkIndex(index);
+        return latitudes[index];
+    }
+
+    @Override
+    public double getLongitude(final int index) {
+        checkIndex(index);
+        return longitudes[index];
+    }
+
+    /**
+     * Binary search over the time array directly
+     */
+    @Override
+    public int floorIndex(final long time) {
+        int index = Arrays.binarySearch(times, 0, size, time);
+        if (index < 0)
+            return -index - 2;
+        while (index + 1 < size && times[index + 1] == time)
+            index++;
+        return index;
+    }
+
+    /**
+     * Removes all fixes, keeping the capacity
+     */
+    public void clear() {
+        size = 0;
+    }
+
+    /**
+     * Shrinks the backing arrays to the number of fixes
+     */
+    public void trimToSize() {
+        int length = Math.max(size, 1);
+        times = Arrays.copyOf(times, length);
+        latitudes = Arrays.copyOf(latitudes, length);
+        longitudes = Arrays.copyOf(longitudes, length);
+    }
+
+    /**
+     * @return Bytes held by the backing arrays
+     */
+    public long getMemoryBytes() {
+        return 24L * times.length;
+    }
+
+    static void checkFix(final long previousTime, final long time, final double latitude, final double longitude) {
+        if (time < previousTime)
+            throw new IllegalArgumentException("Fix at " + time + " is before the previous fix at " + previousTime);
+        if (!(latitude >= -90.0 && latitude <= 90.0 && longitude >= -180.0 && longitude <= 180.0))
+            throw new IllegalArgumentException("Invalid position " + latitude + ", " + longitude);
+    }
+
+    private void checkIndex(final int index) {
+        if (index < 0 || index >= size)
+            throw new IndexOutOfBoundsException("Index: " + index + ", size: " + size);
+    }
+
+    @Override
+    public String toString() {
+        return new ToStringBuilder(this)
+                .append("size", size)
+                .append("capacity", times.length)
+                .toString();
+    }
+}
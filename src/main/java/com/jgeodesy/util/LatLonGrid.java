@@ -0,0 +1,164 @@
+package com.jgeodesy.util;
+
+import org.apache.commons.lang3.builder.ToStringBuilder;
+
+/**
+ * Uniform latitude/longitude bucketing grid. Rows of the cell size run north from the south pole, and the
+ * columns divide the circle exactly, so they are at least the cell size wide and neighbouring columns wrap
+ * across the antimeridian. Cells are keyed row by row. Immutable.
+ */
+public final class LatLonGrid {
+
+    /**
+     * Smallest cell size in degrees, about a metre of latitude
+     */
+    public static final double MIN_CELL_SIZE = 1e-5;
+
+    private final double cellSize;
+    private final double columnSize;
+    private final int rows;
+    private final int columns;
+
+    /**
+     * @param cellSize cell size in degrees
+     */
+    public LatLonGrid(final double cellSize) {
+        if (!(cellSize >= MIN_CELL_SIZE && cellSize <= 90.0))
+            throw new IllegalArgumentException("Cell size must be in [" + MIN_CELL_SIZE + ", 90]: " + cellSize);
+        this.cellSize = cellSize;
+        this.rows = (int) Math.ceil(180.0 / cellSize);
+        this.columns = Math.max(1, (int) Math.floor(360.0 / cellSize));
+        this.columnSize = 360.0 / columns;
+    }
+
+    /**
+     * Grid whose cells are at least a search reach across, so the points within the reach of a point lie in its
+     * {@link #neighbourhood}
+     * @param reach search reach in degrees of arc
+     * @return New grid
+     */
+    public static LatLonGrid forReach(final double reach) {
+        return new LatLonGrid(Math.min(90.0, Math.max(reach, MIN_CELL_SIZE)));
+    }
+
+    /**
+     * @param latitude latitude in degrees
+     * @return Row, clamped to the grid
+     */
+    public int row(final double latitude) {
+        return Math.max(0, Math.min(rows - 1, (int) Math.floor((latitude + 90.0) / cellSize)));
+    }
+
+    /**
+     * @param longitude longitude in degrees
+     * @return Column, wrapped into the grid
+     */
+    public int column(final double longitude) {
+        return wrap(unwrappedColumn(longitude));
+    }
+
+    /**
+     * @param longitude longitude in degrees
+     * @return Column counted from -180 degrees without wrapping, for ranges across the antimeridian
+     */
+    public int unwrappedColumn(final double longitude) {
+        return (int) Math.floor((longitude + 180.0) / columnSize);
+    }
+
+    /**
+     * @param column column, possibly outside the grid
+     * @return Column wrapped into the grid
+     */
+    public int wrap(final int column) {
+        return Math.floorMod(column, columns);
+    }
+
+    /**
+     * @param row    row
+     * @param column column, wrapped into the grid
+     * @return Cell key, below {@link #getCells()}
+     */
+    public long key(final int row, final int column) {
+        return (long) row * columns + wrap(column);
+    }
+
+    /**
+     * @param row row, possibly outside the grid
+     * @return Latitude of the southern edge of the row in degrees
+     */
+    public double rowLatitude(final int row) {
+        return row * cellSize - 90.0;
+    }
+
+    /**
+     * @param column unwrapped column
+     * @return Longitude of the western edge of the column in degrees, outside -180..+180 beyond the grid
+     */
+    public double columnLongitude(final int column) {
+        return column * columnSize - 180.0;
+    }
+
+    /**
+     * Writes the first row, last row, first unwrapped column and column count of the cells that may hold points
+     * within a reach of a point; the column count is the whole row when the reach contains a pole
+     * @param latitude  latitude in degrees
+     * @param longitude longitude in degrees
+     * @param reach     search reach in degrees of arc
+     * @param result    receives the four values
+     */
+    public void neighbourhood(final double latitude, final double longitude, final double reach, final int[] result) {
+        result[0] = row(latitude - reach);
+        result[1] = row(latitude + reach);
+        result[2] = 0;
+        result[3] = columns;
+        double extremeLatitude = Math.abs(latitude) + reach;
+        if (extremeLatitude < 90.0) {
+            double halfWidth = Math.toDegrees(Math.asin(Math.min(1.0,
+                    Math.sin(Math.toRadians(reach)) / Math.cos(Math.toRadians(extremeLatitude)))));
+            int from = unwrappedColumn(longitude - halfWidth);
+            int to = unwrappedColumn(longitude + halfWidth);
+            if (to - from + 1 < columns) {
+                result[2] = from;
+                result[3] = to - from + 1;
+            }
+        }
+    }
+
+    /**
+     * @return Cell size in degrees, the height of a row
+     */
+    public double getCellSize() {
+        return cellSize;
+    }
+
+    /**
+     * @return Width of a column in degrees
+     */
+    public double getColumnSize() {
+        return columnSize;
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public int getColumns() {
+        return columns;
+    }
+
+    /**
+     * @return Number of cells
+     */
+    public long getCells() {
+        return (long) rows * columns;
+    }
+
+    @Override
+    public String toString() {
+        return new ToStringBuilder(this)
+                .append("cellSize", cellSize)
+                .append("rows", rows)
+                .append("columns", columns)
+                .toString();
+    }
+}
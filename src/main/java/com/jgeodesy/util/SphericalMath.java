@@ -0,0 +1,228 @@
+package com.jgeodesy.util;
+
+/**
+ * Allocation-free spherical earth kernels on primitive radians, following the formulas of
+ * {@link com.jgeodesy.base.SphericalPoint} so results agree with it to rounding error.
+ */
+public final class SphericalMath {
+
+    private SphericalMath() {
+    }
+
+    /**
+     * Haversine angular distance
+     * @param phi1    latitude of the first point in radians
+     * @param lambda1 longitude of the first point in radians
+     * @param phi2    latitude of the second point in radians
+     * @param lambda2 longitude of the second point in radians
+     * @return Angular distance in radians
+     */
+    public static double angularDistance(final double phi1, final double lambda1, final double phi2, final double lambda2) {
+        double sinHalfDeltaPhi = Math.sin((phi2 - phi1) * 0.5);
+        double sinHalfDeltaLambda = Math.sin((lambda2 - lambda1) * 0.5);
+        double a = sinHalfDeltaPhi * sinHalfDeltaPhi + Math.cos(phi1) * Math.cos(phi2) * sinHalfDeltaLambda * sinHalfDeltaLambda;
+        return 2.0 * Math.atan2(Math.sqrt(a), Math.sqrt(1.0 - a));
+    }
+
+    /**
+     * Haversine angular distance with the cosine of the first latitude supplied by the caller, for loops
+     * measuring many points against one reference point
+     * @param phi1    latitude of the first point in radians
+     * @param cosPhi1 cosine of phi1
+     * @param lambda1 longitude of the first point in radians
+     * @param phi2    latitude of the second point in radians
+     * @param lambda2 longitude of the second point in radians
+     * @return Angular distance in radians
+     */
+    public static double angularDistance(final double phi1, final double cosPhi1, final double lambda1,
+                                         final double phi2, final double lambda2) {
+        double sinHalfDeltaPhi = Math.sin((phi2 - phi1) * 0.5);
+        double sinHalfDeltaLambda = Math.sin((lambda2 - lambda1) * 0.5);
+        double a = sinHalfDeltaPhi * sinHalfDeltaPhi + cosPhi1 * Math.cos(phi2) * sinHalfDeltaLambda * sinHalfDeltaLambda;
+        return 2.0 * Math.atan2(Math.sqrt(a), Math.sqrt(1.0 - a));
+    }
+
+    /**
+     * Haversine angular distance with both latitude cosines supplied by the caller, for walking a track where each
+     * point's cosine is reused by the next pair
+     * @param phi1    latitude of the first point in radians
+     * @param cosPhi1 cosine of phi1
+     * @param lambda1 longitude of the first point in radians
+     * @param phi2    latitude of the second point in radians
+     * @param cosPhi2 cosine of phi2
+     * @param lambda2 longitude of the second point in radians
+     * @return Angular distance in radians
+     */
+    public static double angularDistance(final double phi1, final double cosPhi1, final double lambda1,
+                                         final double phi2, final double cosPhi2, final double lambda2) {
+        double sinHalfDeltaPhi = Math.sin((phi2 - phi1) * 0.5);
+        double sinHalfDeltaLambda = Math.sin((lambda2 - lambda1) * 0.5);
+        double a = sinHalfDeltaPhi * sinHalfDeltaPhi + cosPhi1 * cosPhi2 * sinHalfDeltaLambda * sinHalfDeltaLambda;
+        return 2.0 * Math.atan2(Math.sqrt(a), Math.sqrt(1.0 - a));
+    }
+
+    /**
+     * Initial great circle bearing
+     * @param phi1    latitude of the first point in radians
+     * @param lambda1 longitude of the first point in radians
+     * @param phi2    latitude of the second point in radians
+     * @param lambda2 longitude of the second point in radians
+     * @return Bearing in degrees from north, 0..360
+     */
+    public static double initialBearing(final double phi1, final double lambda1, final double phi2, final double lambda2) {
+        double deltaLambda = lambda2 - lambda1;
+        double cosPhi2 = Math.cos(phi2);
+        double y = Math.sin(deltaLambda) * cosPhi2;
+        double x = Math.cos(phi1) * Math.sin(phi2) - Math.sin(phi1) * cosPhi2 * Math.cos(deltaLambda);
+        return wrap360(Math.toDegrees(Math.atan2(y, x)));
+    }
+
+    /**
+     * Initial great circle bearing from precomputed latitude sines and cosines
+     * @param sinPhi1     sine of the first latitude
+     * @param cosPhi1     cosine of the first latitude
+     * @param sinPhi2     sine of the second latitude
+     * @param cosPhi2     cosine of the second latitude
+     * @param deltaLambda longitude difference, second minus first, in radians
+     * @return Bearing in degrees from north, 0..360
+     */
+    public static double initialBearing(final double sinPhi1, final double cosPhi1, final double sinPhi2,
+                                        final double cosPhi2, final double deltaLambda) {
+        double y = Math.sin(deltaLambda) * cosPhi2;
+        double x = cosPhi1 * sinPhi2 - sinPhi1 * cosPhi2 * Math.cos(deltaLambda);
+        return wrap360(Math.toDegrees(Math.atan2(y, x)));
+    }
+
+    /**
+     * Unit vector (n-vector) of a position, x towards 0°N 0°E and z towards the north pole
+     * @param latitude  latitude in degrees
+     * @param longitude longitude in degrees
+     * @param result    receives x, y and z
+     * @param offset    index of x in result
+     */
+    public static void toVector(final double latitude, final double longitude, final double[] result, final int offset) {
+        double phi = Math.toRadians(latitude);
+        double lambda = Math.toRadians(longitude);
+        double cosPhi = Math.cos(phi);
+        result[offset] = cosPhi * Math.cos(lambda);
+        result[offset + 1] = cosPhi * Math.sin(lambda);
+        result[offset + 2] = Math.sin(phi);
+    }
+
+    /**
+     * Squared chord from a point to a great circle segment: to the great circle when the foot of the perpendicular
+     * falls between the ends, otherwise to the nearer end. Squared chords grow with the angle, so they compare like
+     * distances without trigonometry per point.
+     * @param px          x of the point's unit vector
+     * @param py          y of the point's unit vector
+     * @param pz          z of the point's unit vector
+     * @param ax          x of the segment start
+     * @param ay          y of the segment start
+     * @param az          z of the segment start
+     * @param bx          x of the segment end
+     * @param by          y of the segment end
+     * @param bz          z of the segment end
+     * @param cx          x of a × b, of any length
+     * @param cy          y of a × b
+     * @param cz          z of a × b
+     * @param normSquared squared length of c; below 1e-30 the segment is treated as its two ends
+     * @return Squared chord on the unit sphere
+     */
+    public static double segmentChordSquared(final double px, final double py, final double pz,
+                                             final double ax, final double ay, final double az,
+                                             final double bx, final double by, final double bz,
+                                             final double cx, final double cy, final double cz,
+                                             final double normSquared) {
+        if (normSquared > 1e-30) {
+            // Foot between the ends when p is ahead of a and behind b along the direction of travel c × a, c × b
+            double ahead = px * (cy * az - cz * ay) + py * (cz * ax - cx * az) + pz * (cx * ay - cy * ax);
+            double behind = px * (cy * bz - cz * by) + py * (cz * bx - cx * bz) + pz * (cx * by - cy * bx);
+            if (ahead >= 0.0 && behind <= 0.0) {
+                double s = px * cx + py * cy + pz * cz;
+                double sinSquared = Math.min(1.0, s * s / normSquared);
+                return 2.0 * sinSquared / (1.0 + Math.sqrt(1.0 - sinSquared));
+            }
+        }
+        double dax = px - ax, day = py - ay, daz = pz - az;
+        double dbx = px - bx, dby = py - by, dbz = pz - bz;
+        return Math.min(dax * dax + day * day + daz * daz, dbx * dbx + dby * dby + dbz * dbz);
+    }
+
+    /**
+     * Isometric latitude of the sphere, the Mercator projection's stretched latitude
+     * @param phi latitude in radians
+     * @return ψ = ln(tan(π/4 + φ/2)) in radians, infinite at the poles
+     */
+    public static double isometricLatitude(final double phi) {
+        return Math.log(Math.tan(phi / 2.0 + Math.PI / 4.0));
+    }
+
+    /**
+     * Rhumb line angular distance from precomputed isometric latitudes
+     * @param phi1    latitude of the first point in radians
+     * @param psi1    isometric latitude of the first point
+     * @param lambda1 longitude of the first point in radians
+     * @param phi2    latitude of the second point in radians
+     * @param psi2    isometric latitude of the second point
+     * @param lambda2 longitude of the second point in radians
+     * @return Angular distance in radians, taking the shorter way across the anti-meridian
+     */
+    public static double rhumbAngularDistance(final double phi1, final double psi1, final double lambda1,
+                                              final double phi2, final double psi2, final double lambda2) {
+        double deltaPhi = phi2 - phi1;
+        double deltaLambda = wrapPi(lambda2 - lambda1);
+        double deltaPsi = psi2 - psi1;
+        // q becomes ill-conditioned along E-W line (0/0); use empirical tolerance to avoid it
+        double q = Math.abs(deltaPsi) > 10e-12 ? deltaPhi / deltaPsi : Math.cos(phi1);
+        return Math.sqrt(deltaPhi * deltaPhi + q * q * deltaLambda * deltaLambda);
+    }
+
+    /**
+     * Rhumb line bearing from precomputed isometric latitudes
+     * @param psi1    isometric latitude of the first point
+     * @param lambda1 longitude of the first point in radians
+     * @param psi2    isometric latitude of the second point
+     * @param lambda2 longitude of the second point in radians
+     * @return Bearing in degrees from north, 0..360
+     */
+    public static double rhumbBearing(final double psi1, final double lambda1, final double psi2, final double lambda2) {
+        return wrap360(Math.toDegrees(Math.atan2(wrapPi(lambda2 - lambda1), psi2 - psi1)));
+    }
+
+    /**
+     * Wraps a longitude difference to the shorter way round
+     * @param radians radians, -3π..+3π
+     * @return Radians in -π..+π
+     */
+    public static double wrapPi(final double radians) {
+        if (radians > Math.PI)
+            return radians - 2.0 * Math.PI;
+        if (radians < -Math.PI)
+            return radians + 2.0 * Math.PI;
+        return radians;
+    }
+
+    /**
+     * Wraps degrees to -180..+180
+     * @param degrees degrees
+     * @return Degrees in [-180, 180]
+     */
+    public static double wrap180(final double degrees) {
+        if (degrees >= -180.0 && degrees <= 180.0)
+            return degrees;
+        double wrapped = (degrees + 180.0) % 360.0;
+        return wrapped < 0.0 ? wrapped + 180.0 : wrapped - 180.0;
+    }
+
+    /**
+     * Wraps degrees to 0..360
+     * @param degrees degrees
+     * @return Degrees in [0, 360)
+     */
+    public static double wrap360(final double degrees) {
+        if (degrees >= 0.0 && degrees < 360.0)
+            return degrees;
+        double wrapped = degrees % 360.0;
+        return wrapped < 0.0 ? wrapped + 360.0 : wrapped;
+    }
+}
@@ -0,0 +1,31 @@
+package com.jgeodesy.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.jgeodesy.Batch")
+@Label("Geodesy Batch")
+@Description("Batch conversion, projection or aggregation")
+@Category("JGeodesy")
+@Enabled(false)
+@StackTrace(false)
+class BatchEvent extends Event {
+
+    @Label("Operation")
+    String operation;
+
+    @Label("Algorithm")
+    String algorithm;
+
+    @Label("Size")
+    int size;
+
+    @Label("Iterations")
+    @Description("Total solver iterations, 0 for closed-form algorithms")
+    long iterations;
+}
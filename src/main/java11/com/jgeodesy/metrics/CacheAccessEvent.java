@@ -0,0 +1,22 @@
+package com.jgeodesy.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.jgeodesy.CacheAccess")
+@Label("Cache Access")
+@Category("JGeodesy")
+@Enabled(false)
+@StackTrace(false)
+class CacheAccessEvent extends Event {
+
+    @Label("Cache")
+    String cache;
+
+    @Label("Hit")
+    boolean hit;
+}
@@ -0,0 +1,30 @@
+package com.jgeodesy.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.jgeodesy.DatumConversion")
+@Label("Datum Conversion")
+@Description("Single point datum conversion")
+@Category("JGeodesy")
+@Enabled(false)
+@StackTrace(false)
+class DatumConversionEvent extends Event {
+
+    @Label("From Datum")
+    String fromDatum;
+
+    @Label("To Datum")
+    String toDatum;
+
+    @Label("Algorithm")
+    String algorithm;
+
+    @Label("Iterations")
+    int iterations;
+}
@@ -0,0 +1,73 @@
+package com.jgeodesy.metrics;
+
+import com.jgeodesy.shape.Datum;
+
+import java.util.Map;
+
+/**
+ * Java Flight Recorder hooks, Java 11+ version emitting {@link BatchEvent}, {@link DatumConversionEvent} and
+ * {@link CacheAccessEvent}. The events are disabled by default; when disabled the begin methods return null after
+ * a single enabled check.
+ */
+public final class GeodesyEvents {
+
+    private GeodesyEvents() {
+    }
+
+    public static Object beginBatch(final Operation operation, final String algorithm, final int size) {
+        BatchEvent event = new BatchEvent();
+        if (!event.isEnabled())
+            return null;
+        event.operation = operation.name();
+        event.algorithm = algorithm;
+        event.size = size;
+        event.begin();
+        return event;
+    }
+
+    public static void endBatch(final Object token, final long iterations) {
+        if (token == null)
+            return;
+        BatchEvent event = (BatchEvent) token;
+        event.iterations = iterations;
+        event.commit();
+    }
+
+    public static Object beginDatumConversion(final Datum from, final Datum to) {
+        DatumConversionEvent event = new DatumConversionEvent();
+        if (!event.isEnabled())
+            return null;
+        event.fromDatum = nameOf(from);
+        event.toDatum = nameOf(to);
+        event.begin();
+        return event;
+    }
+
+    public static void endDatumConversion(final Object token, final String algorithm, final int iterations) {
+        if (token == null)
+            return;
+        DatumConversionEvent event = (DatumConversionEvent) token;
+        event.algorithm = algorithm;
+        event.iterations = iterations;
+        event.commit();
+    }
+
+    public static void cacheAccess(final String cache, final boolean hit) {
+        CacheAccessEvent event = new CacheAccessEvent();
+        if (!event.isEnabled())
+            return;
+        event.cache = cache;
+        event.hit = hit;
+        event.commit();
+    }
+
+    private static String nameOf(final Datum datum) {
+        if (datum == null)
+            return null;
+        for (Map.Entry<String, Datum> entry : Datum.getDatums().entrySet()) {
+            if (entry.getValue() == datum)
+                return entry.getKey();
+        }
+        return datum.getEllipsoid().getName() + "/" + datum.getTransform().getName();
+    }
+}
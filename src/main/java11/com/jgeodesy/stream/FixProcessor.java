@@ -0,0 +1,151 @@
+package com.jgeodesy.stream;
+
+import com.jgeodesy.shape.Datum;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.SubmissionPublisher;
+
+/**
+ * {@link Flow.Processor} that runs a {@link FixStage} over a stream of fixes. Incoming fixes are collected into
+ * a {@link FixBatch} of fixed size; when the batch is full, or the upstream completes or fails, the stage runs
+ * over it and the results are published in order. When the stage throws, the batch is dropped, the upstream is
+ * cancelled and the subscribers receive the exception through {@code onError}.
+ * <p>
+ * Backpressure: at most one batch is requested from the upstream at a time, and the next one only after the
+ * current batch has been handed to the subscribers. Publishing blocks while a subscriber's buffer is full, so a
+ * slow subscriber holds back the upstream instead of growing a queue. A partial batch is only emitted at the end
+ * of the stream, so the batch size bounds both the memory used and the latency added; use small batches for
+ * sparse live feeds. Per-stream state is the batch buffer plus whatever the stage keeps.
+ * <p>
+ * Only available on Java 11+, from the multi-release layer of the jar.
+ */
+public class FixProcessor extends SubmissionPublisher<PositionFix> implements Flow.Processor<PositionFix, PositionFix> {
+
+    private final FixStage stage;
+    private final FixBatch batch;
+    private Flow.Subscription subscription;
+
+    /**
+     * Creates a processor publishing on the common pool
+     * @param stage     stage to run
+     * @param batchSize number of fixes processed together
+     */
+    public FixProcessor(final FixStage stage, final int batchSize) {
+        this(stage, batchSize, ForkJoinPool.commonPool(), Flow.defaultBufferSize());
+    }
+
+    /**
+     * @param stage             stage to run
+     * @param batchSize         number of fixes processed together
+     * @param executor          executor delivering to the subscribers
+     * @param maxBufferCapacity maximum number of fixes buffered per subscriber
+     */
+    public FixProcessor(final FixStage stage, final int batchSize, final Executor executor, final int maxBufferCapacity) {
+        super(executor, maxBufferCapacity);
+        if (stage == null)
+            throw new IllegalArgumentException("Stage must not be null");
+        this.stage = stage;
+        this.batch = new FixBatch(batchSize);
+    }
+
+    /**
+     * @param fromDatum datum of the incoming fixes
+     * @param toDatum   datum of the outgoing fixes
+     * @param batchSize number of fixes processed together
+     * @return Processor converting fixes between datums
+     */
+    public static FixProcessor datumConversion(final Datum fromDatum, final Datum toDatum, final int batchSize) {
+        return new FixProcessor(new DatumConversionStage(fromDatum, toDatum), batchSize);
+    }
+
+    /**
+     * @param radius    radius of earth
+     * @param batchSize number of fixes processed together
+     * @return Processor setting the distance from the previous fix
+     */
+    public static FixProcessor distance(final double radius, final int batchSize) {
+        return new FixProcessor(new DistanceStage(radius), batchSize);
+    }
+
+    /**
+     * @param radius    radius of earth
+     * @param batchSize number of fixes processed together
+     * @return Processor setting the distance, bearing and speed relative to the previous fix
+     */
+    public static FixProcessor motion(final double radius, final int batchSize) {
+        return new FixProcessor(new MotionStage(radius), batchSize);
+    }
+
+    /**
+     * @param latitude  latitude of the fence centre in degrees
+     * @param longitude longitude of the fence centre in degrees
+     * @param distance  fence radius, in the units of radius
+     * @param radius    radius of earth
+     * @param batchSize number of fixes processed together
+     * @return Processor flagging the fixes inside the fence
+     */
+    public static FixProcessor geofence(final double latitude, final double longitude, final double distance,
+                                        final double radius, final int batchSize) {
+        return new FixProcessor(new GeofenceStage(latitude, longitude, distance, radius), batchSize);
+    }
+
+    @Override
+    public void onSubscribe(final Flow.Subscription subscription) {
+        if (this.subscription != null) {
+            subscription.cancel();
+            return;
+        }
+        this.subscription = subscription;
+        subscription.request(batch.capacity());
+    }
+
+    /**
+     * Adds a fix to the batch, and processes and publishes a full one. Publishing blocks the calling upstream
+     * thread while a subscriber's buffer is full: this is the backpressure, so only the upstream's own delivery
+     * thread should ever call it.
+     * @param fix next fix
+     */
+    @Override
+    public void onNext(final PositionFix fix) {
+        if (batch.add(fix)) {
+            flush();
+            if (isClosed())
+                subscription.cancel();
+            else
+                subscription.request(batch.capacity());
+        }
+    }
+
+    @Override
+    public void onError(final Throwable throwable) {
+        flush();
+        closeExceptionally(throwable);
+    }
+
+    @Override
+    public void onComplete() {
+        flush();
+        close();
+    }
+
+    private void flush() {
+        if (batch.isEmpty() || isClosed()) {
+            batch.clear();
+            return;
+        }
+        try {
+            stage.process(batch);
+        } catch (RuntimeException e) {
+            // Drop the batch so the stage never sees it again, and fail the stream instead of the upstream
+            batch.clear();
+            subscription.cancel();
+            closeExceptionally(e);
+            return;
+        }
+        for (int i = 0, n = batch.size(); i < n; i++)
+            submit(batch.get(i));
+        batch.clear();
+    }
+}
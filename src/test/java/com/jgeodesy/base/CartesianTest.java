@@ -0,0 +1,67 @@
+package com.jgeodesy.base;
+
+import com.jgeodesy.AbstractUnitTest;
+import com.jgeodesy.BaseUnitTest;
+import com.jgeodesy.coordinate.Latitude;
+import com.jgeodesy.coordinate.Longitude;
+import com.jgeodesy.shape.Datum;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Cartesian to geodetic conversion tests
+ */
+public class CartesianTest extends AbstractUnitTest implements BaseUnitTest {
+
+    private Datum wgs84;
+    private EllipsoidalPoint point;
+
+    @Override
+    @Before
+    public void setUp() {
+        wgs84 = Datum.getDatum("WGS84");
+        point = new EllipsoidalPoint(new Latitude(52.2), new Longitude(0.12), 150.0);
+        point.setDatum(wgs84);
+    }
+
+    @Override
+    public void clean() {
+    }
+
+    @Test
+    public void test_convertToPoint() {
+        Vector3D cartesian = point.convertToCartesianPoint();
+        for (GeodeticAlgorithm algorithm : GeodeticAlgorithm.values()) {
+            EllipsoidalPoint result = Cartesian.convertToPoint(cartesian, wgs84, algorithm);
+            assertEquals(52.2, result.getLatitude().getDegrees(), 1e-11);
+            assertEquals(0.12, result.getLongitude().getDegrees(), 1e-11);
+            assertEquals(150.0, result.getHeight(), 1e-6);
+            assertEquals(wgs84, result.getDatum());
+        }
+    }
+
+    @Test
+    public void test_convertToPoints() {
+        double[] x = {6378137.0, 0.0, 0.0, 3194419.145};
+        double[] y = {0.0, 6378137.0, 0.0, 3194419.145};
+        double[] z = {0.0, 0.0, 6356752.314245 + 10.0, 4487348.409};
+        double[] latitudes = new double[4];
+        double[] longitudes = new double[4];
+        double[] heights = new double[4];
+        Cartesian.convertToPoints(x, y, z, wgs84, GeodeticAlgorithm.VERMEILLE, latitudes, longitudes, heights, 4);
+        assertEquals(0.0, latitudes[0], 1e-12);
+        assertEquals(0.0, heights[0], 1e-6);
+        assertEquals(90.0, longitudes[1], 1e-12);
+        assertEquals(90.0, latitudes[2], 1e-12);
+        assertEquals(10.0, heights[2], 1e-6);
+
+        double[] bowringLatitudes = new double[4];
+        double[] bowringLongitudes = new double[4];
+        double[] bowringHeights = new double[4];
+        Cartesian.convertToPoints(x, y, z, wgs84, GeodeticAlgorithm.BOWRING, bowringLatitudes, bowringLongitudes, bowringHeights, 4);
+        assertEquals(bowringLatitudes[3], latitudes[3], 1e-11);
+        assertEquals(bowringHeights[3], heights[3], 1e-6);
+    }
+}
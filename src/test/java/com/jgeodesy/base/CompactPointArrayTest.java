@@ -0,0 +1,65 @@
+package com.jgeodesy.base;
+
+import com.jgeodesy.AbstractUnitTest;
+import com.jgeodesy.BaseUnitTest;
+import com.jgeodesy.coordinate.Latitude;
+import com.jgeodesy.coordinate.Longitude;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Fixed-point point array tests
+ */
+public class CompactPointArrayTest extends AbstractUnitTest implements BaseUnitTest {
+
+    private static final double RADIUS = 6371e3;
+
+    private SphericalPoint cambridge;
+    private SphericalPoint paris;
+    private CompactPointArray points;
+
+    @Override
+    @Before
+    public void setUp() {
+        cambridge = new SphericalPoint(new Latitude(52.205), new Longitude(0.119));
+        paris = new SphericalPoint(new Latitude(48.857), new Longitude(2.351));
+        points = new CompactPointArray(1);
+        points.add(cambridge);
+        points.add(paris);
+        points.add(-33.8568123, 151.2152967);
+    }
+
+    @Override
+    public void clean() {
+    }
+
+    @Test
+    public void test_encode() {
+        assertEquals(3, points.size());
+        assertEquals(-33.8568123, points.getLatitude(2), 1e-12);
+        assertEquals(151.2152967, points.getLongitude(2), 1e-12);
+        assertEquals(1800000000, CompactPointArray.encode(180.0));
+        assertEquals(32L, points.getMemoryBytes());
+        points.trimToSize();
+        assertEquals(24L, points.getMemoryBytes());
+    }
+
+    @Test
+    public void test_distance() {
+        assertEquals(cambridge.distanceTo(paris, RADIUS), points.distance(0, 1, RADIUS), 0.02);
+        assertEquals(cambridge.initialBearingTo(paris), points.initialBearing(0, 1), 1e-6);
+
+        double[] distances = new double[3];
+        points.distances(52.205, 0.119, RADIUS, distances);
+        assertEquals(0.0, distances[0], 1e-6);
+        assertEquals(points.distance(0, 1, RADIUS), distances[1], 1e-6);
+        assertEquals(1, points.nearest(48.0, 3.0));
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void test_index() {
+        points.getLatitude(3);
+    }
+}
@@ -0,0 +1,71 @@
+package com.jgeodesy.base;
+
+import com.jgeodesy.coordinate.Latitude;
+import com.jgeodesy.coordinate.Longitude;
+import com.jgeodesy.util.SphericalMath;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Random;
+
+/**
+ * Cost of a distance between freshly built points, the single-use path the lazy trigonometry of Coordinate must
+ * not slow down, against the primitive kernel on the same coordinates.
+ * Not part of the unit test run; execute main() from the test classpath, e.g.
+ * {@code mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.jgeodesy.base.FreshPointBenchmark}
+ */
+public class FreshPointBenchmark {
+
+    private static final Logger logger = LoggerFactory.getLogger(FreshPointBenchmark.class);
+
+    private static final int PAIRS = 1_000_000;
+    private static final int WARMUP_ROUNDS = 10;
+    private static final int ROUNDS = 20;
+    private static final double RADIUS = 6371e3;
+
+    public static void main(String[] args) {
+        Random random = new Random(42);
+        double[] latitudes = new double[PAIRS + 1];
+        double[] longitudes = new double[PAIRS + 1];
+        for (int i = 0; i <= PAIRS; i++) {
+            latitudes[i] = random.nextDouble() * 180.0 - 90.0;
+            longitudes[i] = random.nextDouble() * 360.0 - 180.0;
+        }
+
+        double sink = 0.0;
+        for (int round = 0; round < WARMUP_ROUNDS; round++)
+            sink += fresh(latitudes, longitudes) + kernel(latitudes, longitudes);
+
+        long start = System.nanoTime();
+        for (int round = 0; round < ROUNDS; round++)
+            sink += fresh(latitudes, longitudes);
+        double freshNanos = (System.nanoTime() - start) / (double) ROUNDS / PAIRS;
+
+        start = System.nanoTime();
+        for (int round = 0; round < ROUNDS; round++)
+            sink += kernel(latitudes, longitudes);
+        double kernelNanos = (System.nanoTime() - start) / (double) ROUNDS / PAIRS;
+
+        logger.info("fresh points: {} ns/pair, primitive kernel: {} ns/pair ({})", new Object[]{
+                String.format("%.1f", freshNanos), String.format("%.1f", kernelNanos), sink});
+    }
+
+    private static double fresh(final double[] latitudes, final double[] longitudes) {
+        double sum = 0.0;
+        for (int i = 0; i < PAIRS; i++) {
+            SphericalPoint p1 = new SphericalPoint(new Latitude(latitudes[i]), new Longitude(longitudes[i]));
+            SphericalPoint p2 = new SphericalPoint(new Latitude(latitudes[i + 1]), new Longitude(longitudes[i + 1]));
+            sum += p1.distanceTo(p2, RADIUS);
+        }
+        return sum;
+    }
+
+    private static double kernel(final double[] latitudes, final double[] longitudes) {
+        double sum = 0.0;
+        for (int i = 0; i < PAIRS; i++) {
+            sum += RADIUS * SphericalMath.angularDistance(Math.toRadians(latitudes[i]), Math.toRadians(longitudes[i]),
+                    Math.toRadians(latitudes[i + 1]), Math.toRadians(longitudes[i + 1]));
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,162 @@
+package com.jgeodesy.base;
+
+import com.jgeodesy.AbstractUnitTest;
+import com.jgeodesy.BaseUnitTest;
+import com.jgeodesy.coordinate.Latitude;
+import com.jgeodesy.coordinate.Longitude;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Range ring and segment buffer tests
+ */
+public class GeodesicBufferTest extends AbstractUnitTest implements BaseUnitTest {
+
+    private static final double RADIUS = 6371e3;
+
+    private SphericalPoint centre;
+
+    @Override
+    @Before
+    public void setUp() {
+        centre = new SphericalPoint(new Latitude(51.4778), new Longitude(-0.0014));
+    }
+
+    @Override
+    public void clean() {
+    }
+
+    @Test
+    public void test_circle() {
+        int vertices = 360;
+        double distance = 25e3;
+        double[] latitudes = new double[vertices];
+        double[] longitudes = new double[vertices];
+        assertEquals(vertices, GeodesicBuffer.circle(51.4778, -0.0014, distance, RADIUS, vertices, latitudes, longitudes, 0));
+        for (int k = 0; k < vertices; k += 17) {
+            SphericalPoint expected = centre.destinationPoint(distance, k, RADIUS);
+            assertEquals(expected.getLatitude().getDegrees(), latitudes[k], 1e-9);
+            assertEquals(expected.getLongitude().getDegrees(), longitudes[k], 1e-9);
+        }
+
+        // Polygon area approaches the spherical cap area 2πR²(1 - cos(d/R))
+        double cap = 2.0 * Math.PI * RADIUS * RADIUS * (1.0 - Math.cos(distance / RADIUS));
+        double area = SphericalPoint.areaOf(GeodesicBuffer.toPolygon(latitudes, longitudes, 0, vertices), RADIUS);
+        assertEquals(cap, area, cap * 1e-4);
+
+        assertTrue(GeodesicBuffer.contains(latitudes, longitudes, 0, vertices, 51.4778, -0.0014));
+        assertTrue(GeodesicBuffer.contains(latitudes, longitudes, 0, vertices, 51.70, -0.0014));
+        assertFalse(GeodesicBuffer.contains(latitudes, longitudes, 0, vertices, 51.73, -0.0014));
+        assertFalse(GeodesicBuffer.contains(latitudes, longitudes, 0, vertices, -51.4778, 179.0));
+    }
+
+    @Test
+    public void test_circles() {
+        double[] centreLatitudes = {0.0, 89.9, -45.0};
+        double[] centreLongitudes = {179.95, 10.0, -60.0};
+        double[] distances = {10e3, 50e3, 1e3};
+        int vertices = 64;
+        double[] latitudes = new double[3 * vertices];
+        double[] longitudes = new double[3 * vertices];
+        GeodesicBuffer.circles(centreLatitudes, centreLongitudes, distances, 3, RADIUS, vertices, latitudes, longitudes);
+        for (int i = 0; i < 3; i++) {
+            SphericalPoint c = new SphericalPoint(new Latitude(centreLatitudes[i]), new Longitude(centreLongitudes[i]));
+            for (int k = 0; k < vertices; k++) {
+                SphericalPoint vertex = new SphericalPoint(new Latitude(latitudes[i * vertices + k]),
+                        new Longitude(longitudes[i * vertices + k]));
+                assertEquals(distances[i], c.distanceTo(vertex, RADIUS), 1e-6);
+            }
+            // Ring across the antimeridian and the ring around the pole still enclose their centres
+            assertTrue(GeodesicBuffer.contains(latitudes, longitudes, i * vertices, vertices,
+                    centreLatitudes[i], centreLongitudes[i]));
+        }
+        assertTrue(GeodesicBuffer.contains(latitudes, longitudes, vertices, vertices, 90.0, 0.0));
+    }
+
+    @Test
+    public void test_polyline() {
+        double[] latitudes = {53.3206, 53.1887, 53.5};
+        double[] longitudes = {-1.7297, 0.1334, 0.5};
+        int capVertices = 32;
+        int vertices = GeodesicBuffer.segmentVertices(capVertices);
+        double[] outLatitudes = new double[2 * vertices];
+        double[] outLongitudes = new double[2 * vertices];
+        assertEquals(2, GeodesicBuffer.polyline(latitudes, longitudes, 3, 1000.0, RADIUS, capVertices,
+                outLatitudes, outLongitudes));
+
+        // Compare containment with the distance to the segments for a grid of points around the route
+        GreatCirclePath first = new GreatCirclePath(point(latitudes[0], longitudes[0]), point(latitudes[1], longitudes[1]));
+        GreatCirclePath second = new GreatCirclePath(point(latitudes[1], longitudes[1]), point(latitudes[2], longitudes[2]));
+        boolean[] inside = new boolean[1];
+        int checked = 0;
+        for (double lat = 53.15; lat <= 53.55; lat += 0.0031) {
+            for (double lon = -1.76; lon <= 0.53; lon += 0.0113) {
+                double[] lats = {lat};
+                double[] lons = {lon};
+                boolean expected = first.withinCorridor(lats, lons, 1000.0, RADIUS, inside, 1) > 0
+                        || second.withinCorridor(lats, lons, 1000.0, RADIUS, inside, 1) > 0;
+                // Skip points within the polygon approximation error of the boundary
+                boolean nearBoundary = first.withinCorridor(lats, lons, 1003.0, RADIUS, inside, 1)
+                        + second.withinCorridor(lats, lons, 1003.0, RADIUS, inside, 1) > 0
+                        && first.withinCorridor(lats, lons, 997.0, RADIUS, inside, 1)
+                        + second.withinCorridor(lats, lons, 997.0, RADIUS, inside, 1) == 0;
+                if (nearBoundary)
+                    continue;
+                boolean actual = GeodesicBuffer.contains(outLatitudes, outLongitudes, 0, vertices, lat, lon)
+                        || GeodesicBuffer.contains(outLatitudes, outLongitudes, vertices, vertices, lat, lon);
+                assertEquals(expected, actual);
+                if (expected)
+                    checked++;
+            }
+        }
+        assertTrue(checked > 50);
+
+        // Area of one segment buffer: a strip plus a full disc
+        double length = first.getLength(RADIUS);
+        double area = SphericalPoint.areaOf(GeodesicBuffer.toPolygon(outLatitudes, outLongitudes, 0, vertices), RADIUS);
+        assertEquals(2000.0 * length + Math.PI * 1000.0 * 1000.0, area, area * 1e-3);
+    }
+
+    @Test
+    public void test_largeRings() {
+        double[] radii = {60.0, 70.0, 120.0};
+        int vertices = 720;
+        double[] latitudes = new double[vertices];
+        double[] longitudes = new double[vertices];
+        Random random = new Random(7);
+        for (double radius : radii) {
+            GeodesicBuffer.circle(51.4778, -0.0014, Math.toRadians(radius) * RADIUS, RADIUS, vertices,
+                    latitudes, longitudes, 0);
+            assertTrue(GeodesicBuffer.contains(latitudes, longitudes, 0, vertices, 51.4778, -0.0014));
+            // Far side of the sphere, out to the antipode
+            for (double far : new double[]{112.8, 150.0, 179.0}) {
+                for (int bearing = 0; bearing < 360; bearing += 45) {
+                    SphericalPoint p = centre.destinationPoint(Math.toRadians(far) * RADIUS, bearing, RADIUS);
+                    assertEquals(far < radius, GeodesicBuffer.contains(latitudes, longitudes, 0, vertices,
+                            p.getLatitude().getDegrees(), p.getLongitude().getDegrees()));
+                }
+            }
+            assertFalse(GeodesicBuffer.contains(latitudes, longitudes, 0, vertices, -51.4778, 179.9986));
+
+            // Points spread over the sphere against their distance from the centre
+            for (int i = 0; i < 2000; i++) {
+                double lat = Math.toDegrees(Math.asin(2.0 * random.nextDouble() - 1.0));
+                double lon = 360.0 * random.nextDouble() - 180.0;
+                double distance = Math.toDegrees(centre.distanceTo(point(lat, lon), RADIUS) / RADIUS);
+                if (Math.abs(distance - radius) < 0.01)
+                    continue;
+                assertEquals(distance < radius, GeodesicBuffer.contains(latitudes, longitudes, 0, vertices, lat, lon));
+            }
+        }
+    }
+
+    private static SphericalPoint point(final double latitude, final double longitude) {
+        return new SphericalPoint(new Latitude(latitude), new Longitude(longitude));
+    }
+}
@@ -0,0 +1,69 @@
+package com.jgeodesy.base;
+
+import com.jgeodesy.shape.Ellipsoid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Random;
+
+/**
+ * Throughput and accuracy comparison of the cartesian to geodetic algorithms.
+ * Not part of the unit test run; execute main() from the test classpath, e.g.
+ * {@code mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.jgeodesy.base.GeodeticAlgorithmBenchmark}
+ */
+public class GeodeticAlgorithmBenchmark {
+
+    private static final Logger logger = LoggerFactory.getLogger(GeodeticAlgorithmBenchmark.class);
+
+    private static final int POINTS = 1_000_000;
+    private static final int WARMUP_ROUNDS = 10;
+    private static final int ROUNDS = 20;
+
+    public static void main(String[] args) {
+        Ellipsoid ellipsoid = Ellipsoid.WGS84;
+        double a = ellipsoid.getA();
+        double f = ellipsoid.getF();
+        double e2 = 2.0 * f - f * f;
+
+        Random random = new Random(42);
+        double[] latitudes = new double[POINTS];
+        double[] longitudes = new double[POINTS];
+        double[] heights = new double[POINTS];
+        double[] x = new double[POINTS];
+        double[] y = new double[POINTS];
+        double[] z = new double[POINTS];
+        for (int i = 0; i < POINTS; i++) {
+            latitudes[i] = random.nextDouble() * 180.0 - 90.0;
+            longitudes[i] = random.nextDouble() * 360.0 - 180.0;
+            heights[i] = random.nextDouble() * 20000.0 - 1000.0;
+            double phi = Math.toRadians(latitudes[i]);
+            double lambda = Math.toRadians(longitudes[i]);
+            double nu = a / Math.sqrt(1.0 - e2 * Math.sin(phi) * Math.sin(phi));
+            x[i] = (nu + heights[i]) * Math.cos(phi) * Math.cos(lambda);
+            y[i] = (nu + heights[i]) * Math.cos(phi) * Math.sin(lambda);
+            z[i] = (nu * (1.0 - e2) + heights[i]) * Math.sin(phi);
+        }
+
+        double[] resultLatitudes = new double[POINTS];
+        double[] resultLongitudes = new double[POINTS];
+        double[] resultHeights = new double[POINTS];
+        for (GeodeticAlgorithm algorithm : GeodeticAlgorithm.values()) {
+            for (int round = 0; round < WARMUP_ROUNDS; round++)
+                algorithm.toGeodetic(x, y, z, ellipsoid, resultLatitudes, resultLongitudes, resultHeights, POINTS);
+
+            long start = System.nanoTime();
+            for (int round = 0; round < ROUNDS; round++)
+                algorithm.toGeodetic(x, y, z, ellipsoid, resultLatitudes, resultLongitudes, resultHeights, POINTS);
+            double nanosPerPoint = (System.nanoTime() - start) / (double) ROUNDS / POINTS;
+
+            double maxLatitudeError = 0.0;
+            double maxHeightError = 0.0;
+            for (int i = 0; i < POINTS; i++) {
+                maxLatitudeError = Math.max(maxLatitudeError, Math.abs(resultLatitudes[i] - latitudes[i]));
+                maxHeightError = Math.max(maxHeightError, Math.abs(resultHeights[i] - heights[i]));
+            }
+            logger.info("{}: {} ns/point, max latitude error {} m, max height error {} m", new Object[]{algorithm,
+                    String.format("%.1f", nanosPerPoint), maxLatitudeError * 111320.0, maxHeightError});
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.jgeodesy.base;
+
+import com.jgeodesy.AbstractUnitTest;
+import com.jgeodesy.BaseUnitTest;
+import com.jgeodesy.coordinate.Latitude;
+import com.jgeodesy.coordinate.Longitude;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Precomputed great circle path tests
+ */
+public class GreatCirclePathTest extends AbstractUnitTest implements BaseUnitTest {
+
+    private static final double RADIUS = 6371e3;
+
+    private SphericalPoint start;
+    private SphericalPoint end;
+    private GreatCirclePath path;
+
+    @Override
+    @Before
+    public void setUp() {
+        start = new SphericalPoint(new Latitude(53.3206), new Longitude(-1.7297));
+        end = new SphericalPoint(new Latitude(53.1887), new Longitude(0.1334));
+        path = new GreatCirclePath(start, end);
+    }
+
+    @Override
+    public void clean() {
+    }
+
+    @Test
+    public void test_path() {
+        assertEquals(start.distanceTo(end, RADIUS), path.getLength(RADIUS), 1e-6);
+        assertEquals(start.initialBearingTo(end), path.getInitialBearing(), 1e-12);
+    }
+
+    @Test
+    public void test_crossTrack() {
+        SphericalPoint point = new SphericalPoint(new Latitude(53.2611), new Longitude(-0.7972));
+        assertEquals(-307.5, path.crossTrackDistanceTo(point, RADIUS), 0.1);
+        assertEquals(point.crossTrackDistanceTo(start, end, RADIUS), path.crossTrackDistanceTo(point, RADIUS), 1e-6);
+        assertEquals(point.alongTrackDistanceTo(start, end, RADIUS), path.alongTrackDistanceTo(point, RADIUS), 1e-6);
+    }
+
+    @Test
+    public void test_trackDistances() {
+        double[] latitudes = {53.2611, 53.5, 52.9, 53.4, 53.0};
+        double[] longitudes = {-0.7972, -1.0, 0.5, -2.5, -0.2};
+        double[] cross = new double[5];
+        double[] along = new double[5];
+        path.trackDistances(latitudes, longitudes, RADIUS, cross, along, 5);
+        for (int i = 0; i < 5; i++) {
+            SphericalPoint point = new SphericalPoint(new Latitude(latitudes[i]), new Longitude(longitudes[i]));
+            assertEquals(point.crossTrackDistanceTo(start, end, RADIUS), cross[i], 1e-6);
+            assertEquals(point.alongTrackDistanceTo(start, end, RADIUS), along[i], 1e-6);
+        }
+        // Point behind the start has a negative along-track distance
+        assertTrue(along[3] < 0.0);
+    }
+
+    @Test
+    public void test_withinCorridor() {
+        // 307 m off the line, 670 m ahead of the start, 1.3 km behind the start, 670 m past the end
+        double[] latitudes = {53.2611, 53.3206, 53.3206, 53.1887};
+        double[] longitudes = {-0.7972, -1.7397, -1.7497, 0.1434};
+        boolean[] result = new boolean[4];
+        assertEquals(3, path.withinCorridor(latitudes, longitudes, 1000.0, RADIUS, result, 4));
+        assertTrue(result[0]);
+        assertTrue(result[1]);
+        assertFalse(result[2]);
+        assertTrue(result[3]);
+        assertEquals(0, path.withinCorridor(latitudes, longitudes, 300.0, RADIUS, result, 1));
+        assertFalse(result[0]);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_degenerate() {
+        new GreatCirclePath(start, start);
+    }
+}
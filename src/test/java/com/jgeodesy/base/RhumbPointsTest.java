@@ -0,0 +1,120 @@
+package com.jgeodesy.base;
+
+import com.jgeodesy.AbstractUnitTest;
+import com.jgeodesy.BaseUnitTest;
+import com.jgeodesy.coordinate.Latitude;
+import com.jgeodesy.coordinate.Longitude;
+import com.jgeodesy.shape.Datum;
+import com.jgeodesy.shape.Ellipsoid;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Batch spherical and ellipsoidal rhumb line tests
+ */
+public class RhumbPointsTest extends AbstractUnitTest implements BaseUnitTest {
+
+    private static final double RADIUS = 6371e3;
+
+    private double[] fromLatitudes;
+    private double[] fromLongitudes;
+    private double[] toLatitudes;
+    private double[] toLongitudes;
+
+    @Override
+    @Before
+    public void setUp() {
+        fromLatitudes = new double[]{51.127, 50.0, -33.9, 10.0, 60.0};
+        fromLongitudes = new double[]{1.338, 170.0, 18.4, -30.0, 5.0};
+        toLatitudes = new double[]{50.964, 52.0, -34.6, 10.0, 80.0};
+        toLongitudes = new double[]{1.853, -175.0, 151.2, -20.0, 5.0};
+    }
+
+    @Override
+    public void clean() {
+    }
+
+    @Test
+    public void test_spherical() {
+        int count = fromLatitudes.length;
+        RhumbPoints from = points(new RhumbPoints(1, RADIUS), fromLatitudes, fromLongitudes);
+        RhumbPoints to = points(new RhumbPoints(count, RADIUS), toLatitudes, toLongitudes);
+        double[] distances = new double[count];
+        double[] bearings = new double[count];
+        from.distances(to, distances);
+        from.bearings(to, bearings);
+        for (int i = 0; i < count; i++) {
+            SphericalPoint p1 = point(fromLatitudes[i], fromLongitudes[i]);
+            SphericalPoint p2 = point(toLatitudes[i], toLongitudes[i]);
+            assertEquals(p1.rhumbDistanceTo(p2, RADIUS), distances[i], 1e-6);
+            assertEquals(p1.rhumbBearingTo(p2), bearings[i], 1e-9);
+        }
+        assertEquals(40307.7, distances[0], 0.05);
+
+        // Dead reckoning along the computed legs arrives at the destinations
+        double[] latitudes = new double[count];
+        double[] longitudes = new double[count];
+        from.destinations(distances, bearings, latitudes, longitudes);
+        for (int i = 0; i < count; i++) {
+            assertEquals(toLatitudes[i], latitudes[i], 1e-9);
+            assertEquals(toLongitudes[i], longitudes[i], 1e-9);
+        }
+
+        from.distancesTo(51.127, 1.338, distances);
+        assertEquals(0.0, distances[0], 0.0);
+        assertEquals(point(50.0, 170.0).rhumbDistanceTo(point(51.127, 1.338), RADIUS), distances[1], 1e-6);
+    }
+
+    @Test
+    public void test_ellipsoidal() {
+        EllipsoidalRhumb rhumb = EllipsoidalRhumb.of(Ellipsoid.WGS84);
+        // Quarter meridian and meridian arc to 45° on WGS84; one degree of the equator
+        assertEquals(10001965.729, rhumb.getQuarterMeridian(), 1e-3);
+        assertEquals(4984944.378, rhumb.distance(0.0, 0.0, 45.0, 0.0), 1e-3);
+        assertEquals(111319.491, rhumb.distance(0.0, 0.0, 0.0, 1.0), 1e-3);
+        assertEquals(45.0, Math.toDegrees(rhumb.latitudeOf(rhumb.meridianDistance(Math.toRadians(45.0)))), 1e-10);
+
+        int count = fromLatitudes.length;
+        RhumbPoints from = points(new RhumbPoints(count, Ellipsoid.WGS84), fromLatitudes, fromLongitudes);
+        RhumbPoints to = points(new RhumbPoints(count, Ellipsoid.WGS84), toLatitudes, toLongitudes);
+        double[] distances = new double[count];
+        double[] bearings = new double[count];
+        from.distances(to, distances);
+        from.bearings(to, bearings);
+        double[] latitudes = new double[count];
+        double[] longitudes = new double[count];
+        from.destinations(distances, bearings, latitudes, longitudes);
+        for (int i = 0; i < count; i++) {
+            assertEquals(rhumb.distance(fromLatitudes[i], fromLongitudes[i], toLatitudes[i], toLongitudes[i]), distances[i], 1e-6);
+            assertEquals(toLatitudes[i], latitudes[i], 1e-9);
+            assertEquals(toLongitudes[i], longitudes[i], 1e-9);
+        }
+
+        // A sphere as an ellipsoid gives the spherical results
+        EllipsoidalRhumb sphere = EllipsoidalRhumb.of(Ellipsoid.SPHERE);
+        SphericalPoint p1 = point(fromLatitudes[2], fromLongitudes[2]);
+        SphericalPoint p2 = point(toLatitudes[2], toLongitudes[2]);
+        assertEquals(p1.rhumbDistanceTo(p2, Ellipsoid.SPHERE.getA()),
+                sphere.distance(fromLatitudes[2], fromLongitudes[2], toLatitudes[2], toLongitudes[2]), 1e-6);
+
+        EllipsoidalPoint dover = new EllipsoidalPoint(new Latitude(51.127), new Longitude(1.338), 0.0);
+        dover.setDatum(Datum.getDatum("WGS84"));
+        EllipsoidalPoint calais = new EllipsoidalPoint(new Latitude(50.964), new Longitude(1.853), 0.0);
+        double distance = dover.rhumbDistanceTo(calais);
+        EllipsoidalPoint destination = dover.rhumbDestinationPoint(distance, dover.rhumbBearingTo(calais));
+        assertEquals(50.964, destination.getLatitude().getDegrees(), 1e-9);
+        assertEquals(1.853, destination.getLongitude().getDegrees(), 1e-9);
+    }
+
+    private static RhumbPoints points(final RhumbPoints points, final double[] latitudes, final double[] longitudes) {
+        for (int i = 0; i < latitudes.length; i++)
+            points.add(latitudes[i], longitudes[i]);
+        return points;
+    }
+
+    private static SphericalPoint point(final double latitude, final double longitude) {
+        return new SphericalPoint(new Latitude(latitude), new Longitude(longitude));
+    }
+}
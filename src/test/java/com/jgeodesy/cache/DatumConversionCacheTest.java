@@ -0,0 +1,87 @@
+package com.jgeodesy.cache;
+
+import com.jgeodesy.AbstractUnitTest;
+import com.jgeodesy.BaseUnitTest;
+import com.jgeodesy.base.EllipsoidalPoint;
+import com.jgeodesy.coordinate.Latitude;
+import com.jgeodesy.coordinate.Longitude;
+import com.jgeodesy.shape.Datum;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Datum conversion cache tests
+ */
+public class DatumConversionCacheTest extends AbstractUnitTest implements BaseUnitTest {
+
+    private Datum wgs84;
+    private Datum osgb36;
+
+    @Override
+    @Before
+    public void setUp() {
+        wgs84 = Datum.getDatum("WGS84");
+        osgb36 = Datum.getDatum("OSGB36");
+    }
+
+    @Override
+    public void clean() {
+    }
+
+    private EllipsoidalPoint point(double latitude, double longitude) {
+        EllipsoidalPoint point = new EllipsoidalPoint(new Latitude(latitude), new Longitude(longitude), 10.0);
+        point.setDatum(wgs84);
+        return point;
+    }
+
+    @Test
+    public void test_convert() {
+        DatumConversionCache cache = new DatumConversionCache(100);
+        EllipsoidalPoint station = point(51.47788, -0.00147);
+        EllipsoidalPoint expected = station.convertToDatum(osgb36);
+        for (int i = 0; i < 10; i++) {
+            EllipsoidalPoint result = cache.convert(station, osgb36);
+            assertEquals(expected.getLatitude().getDegrees(), result.getLatitude().getDegrees(), 1e-12);
+            assertEquals(expected.getLongitude().getDegrees(), result.getLongitude().getDegrees(), 1e-12);
+            assertEquals(expected.getHeight(), result.getHeight(), 1e-9);
+            assertEquals(osgb36, result.getDatum());
+        }
+        DatumConversionCache.Stats stats = cache.getStats();
+        assertEquals(9, stats.getHits());
+        assertEquals(1, stats.getMisses());
+        assertEquals(0.9, stats.getHitRate(), 1e-12);
+        assertEquals(1, stats.getSize());
+    }
+
+    @Test
+    public void test_admission() {
+        DatumConversionCache cache = new DatumConversionCache(4, 1);
+        for (int round = 0; round < 5; round++) {
+            for (int station = 0; station < 4; station++)
+                cache.convert(point(50.0 + station, 1.0), osgb36);
+        }
+        for (int i = 0; i < 50; i++)
+            cache.convert(point(40.0, 1.0 + i * 0.01), osgb36);
+
+        long hitsBefore = cache.getStats().getHits();
+        for (int station = 0; station < 4; station++)
+            cache.convert(point(50.0 + station, 1.0), osgb36);
+        assertEquals(hitsBefore + 4, cache.getStats().getHits());
+        assertTrue(cache.getStats().getRejections() > 0);
+        assertEquals(4, cache.getStats().getSize());
+    }
+
+    @Test
+    public void test_capacity() {
+        // Capacities that do not divide into the segments, or are smaller than the concurrency
+        for (int capacity : new int[]{1, 3, 5, 13}) {
+            DatumConversionCache cache = new DatumConversionCache(capacity, 8);
+            for (int i = 0; i < 200; i++)
+                cache.convert(point(40.0 + i * 0.01, 1.0), osgb36);
+            assertEquals(capacity, cache.getStats().getSize());
+        }
+    }
+}
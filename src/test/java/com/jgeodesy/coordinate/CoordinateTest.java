@@ -0,0 +1,47 @@
+package com.jgeodesy.coordinate;
+
+import com.jgeodesy.AbstractUnitTest;
+import com.jgeodesy.BaseUnitTest;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Cached trigonometry tests
+ */
+public class CoordinateTest extends AbstractUnitTest implements BaseUnitTest {
+
+    private Latitude latitude;
+
+    @Override
+    @Before
+    public void setUp() {
+        latitude = new Latitude(52.205);
+    }
+
+    @Override
+    public void clean() {
+    }
+
+    @Test
+    public void test_trig() {
+        double radians = Math.toRadians(52.205);
+        assertEquals(Math.sin(radians), latitude.getSin(), 0.0);
+        assertEquals(Math.cos(radians), latitude.getCos(), 0.0);
+        assertEquals(Math.tan(radians / 2.0), latitude.getTanHalf(), 0.0);
+
+        latitude.setRadians(0.5);
+        assertEquals(Math.sin(0.5), latitude.getSin(), 0.0);
+        assertEquals(Math.cos(0.5), latitude.getCos(), 0.0);
+        assertEquals(Math.tan(0.25), latitude.getTanHalf(), 0.0);
+    }
+
+    @Test
+    public void test_isometric() {
+        double radians = Math.toRadians(52.205);
+        assertEquals(Math.log(Math.tan(Math.PI / 4.0 + radians / 2.0)), latitude.getIsometric(), 1e-15);
+        latitude.setRadians(0.0);
+        assertEquals(0.0, latitude.getIsometric(), 1e-15);
+    }
+}
@@ -0,0 +1,86 @@
+package com.jgeodesy.frame;
+
+import com.jgeodesy.AbstractUnitTest;
+import com.jgeodesy.BaseUnitTest;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Reference frame transform tests
+ */
+public class FrameTransformerTest extends AbstractUnitTest implements BaseUnitTest {
+
+    private static final double X = 4027893.924;
+    private static final double Y = 307045.600;
+    private static final double Z = 4919474.904;
+
+    private FrameGraph graph;
+
+    @Override
+    @Before
+    public void setUp() {
+        graph = FrameGraph.standard();
+    }
+
+    @Override
+    public void clean() {
+    }
+
+    @Test
+    public void test_directTransform() {
+        double[] result = new double[3];
+        graph.transformer(FrameGraph.ITRF2014, FrameGraph.ITRF2008).transform(X, Y, Z, 2010.0, result);
+        assertEquals(X + 0.0016 - 0.02e-9 * X, result[0], 1e-6);
+        assertEquals(Y + 0.0019 - 0.02e-9 * Y, result[1], 1e-6);
+        assertEquals(Z + 0.0024 - 0.02e-9 * Z, result[2], 1e-6);
+    }
+
+    @Test
+    public void test_path() {
+        FrameTransformer transformer = graph.transformer(FrameGraph.GDA94, FrameGraph.ETRF2000);
+        assertEquals(3, transformer.getPathLength());
+
+        double[] there = new double[3];
+        double[] back = new double[3];
+        transformer.transform(X, Y, Z, 2018.5, there);
+        graph.transformer(FrameGraph.ETRF2000, FrameGraph.GDA94).transform(there[0], there[1], there[2], 2018.5, back);
+        assertEquals(X, back[0], 1e-8);
+        assertEquals(Y, back[1], 1e-8);
+        assertEquals(Z, back[2], 1e-8);
+    }
+
+    @Test
+    public void test_batch() {
+        FrameTransformer transformer = graph.transformer(FrameGraph.ITRF2014, FrameGraph.ETRF2000);
+        int count = 100;
+        double[] x = new double[count];
+        double[] y = new double[count];
+        double[] z = new double[count];
+        double[] epochs = new double[count];
+        for (int i = 0; i < count; i++) {
+            x[i] = X + i;
+            y[i] = Y - i;
+            z[i] = Z + 2 * i;
+            epochs[i] = 2015.0 + (i % 7) * 0.5 + i * 1e-4;
+        }
+        double[] resultX = new double[count];
+        double[] resultY = new double[count];
+        double[] resultZ = new double[count];
+        transformer.transform(x, y, z, epochs, 1.0 / 365.25, resultX, resultY, resultZ, count);
+
+        double[] expected = new double[3];
+        for (int i = 0; i < count; i++) {
+            transformer.transform(x[i], y[i], z[i], epochs[i], expected);
+            assertEquals(expected[0], resultX[i], 1e-4);
+            assertEquals(expected[1], resultY[i], 1e-4);
+            assertEquals(expected[2], resultZ[i], 1e-4);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_unknownFrame() {
+        graph.path(FrameGraph.ITRF2014, "Unknown");
+    }
+}
@@ -0,0 +1,87 @@
+package com.jgeodesy.geoid;
+
+import com.jgeodesy.AbstractUnitTest;
+import com.jgeodesy.BaseUnitTest;
+import com.jgeodesy.base.EllipsoidalPoint;
+import com.jgeodesy.coordinate.Latitude;
+import com.jgeodesy.coordinate.Longitude;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Geoid model tests on a synthetic 1 degree grid where N = 0.1 * lat + 0.05 * lon
+ */
+public class GeoidModelTest extends AbstractUnitTest implements BaseUnitTest {
+
+    private Path gridFile;
+    private GridFormat format;
+
+    @Override
+    @Before
+    public void setUp() {
+        format = new GridFormat(181, 360, 90.0, 0.0, 1.0, GridFormat.SampleType.INT16, ByteOrder.BIG_ENDIAN,
+                0.01, 0, 0, 0);
+        ByteBuffer buffer = ByteBuffer.allocate((int) format.getFileSize()).order(ByteOrder.BIG_ENDIAN);
+        for (int row = 0; row < 181; row++) {
+            for (int column = 0; column < 360; column++) {
+                double latitude = 90.0 - row;
+                buffer.putShort((short) Math.round(10.0 * latitude + 5.0 * column));
+            }
+        }
+        try {
+            gridFile = Files.createTempFile("geoid", ".grid");
+            Files.write(gridFile, buffer.array());
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Override
+    @After
+    public void clean() {
+        try {
+            Files.deleteIfExists(gridFile);
+        } catch (IOException e) {
+            logger.warn("Could not delete {}", gridFile);
+        }
+    }
+
+    @Test
+    public void test_undulation() throws IOException {
+        try (GeoidModel bilinear = GeoidModel.open(gridFile, format, GeoidModel.Interpolation.BILINEAR);
+             GeoidModel bicubic = GeoidModel.open(gridFile, format, GeoidModel.Interpolation.BICUBIC)) {
+            assertEquals(5.0625, bilinear.undulation(45.5, 10.25), 1e-6);
+            assertEquals(5.0625, bicubic.undulation(45.5, 10.25), 1e-6);
+            assertEquals(-3.5, bicubic.undulation(-40.0, 10.0), 1e-6);
+            assertEquals(bicubic.undulation(-40.0, 10.0), bicubic.undulation(-40.0, -350.0), 1e-6);
+        }
+    }
+
+    @Test
+    public void test_heightConversion() throws IOException {
+        try (GeoidModel model = GeoidModel.open(gridFile, format, GeoidModel.Interpolation.BICUBIC)) {
+            double[] latitudes = {45.5, 10.0, -20.25};
+            double[] longitudes = {10.25, 100.0, 200.5};
+            double[] heights = {100.0, 200.0, 300.0};
+            double[] orthometric = new double[3];
+            double[] ellipsoidal = new double[3];
+            model.toOrthometric(latitudes, longitudes, heights, orthometric, 3);
+            model.toEllipsoidal(latitudes, longitudes, orthometric, ellipsoidal, 3);
+            assertEquals(94.9375, orthometric[0], 1e-6);
+            for (int i = 0; i < 3; i++)
+                assertEquals(heights[i], ellipsoidal[i], 1e-9);
+
+            EllipsoidalPoint point = new EllipsoidalPoint(new Latitude(45.5), new Longitude(10.25), 100.0);
+            assertEquals(94.9375, model.orthometricHeight(point), 1e-6);
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package com.jgeodesy.index;
+
+import com.jgeodesy.AbstractUnitTest;
+import com.jgeodesy.BaseUnitTest;
+import com.jgeodesy.base.SphericalPoint;
+import com.jgeodesy.coordinate.Latitude;
+import com.jgeodesy.coordinate.Longitude;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+/**
+ * Segment index and map matcher tests against brute force great circle computations
+ */
+public class SegmentIndexTest extends AbstractUnitTest implements BaseUnitTest {
+
+    private static final double RADIUS = 6371e3;
+
+    private List<double[]> polylines;
+    private SegmentIndex index;
+
+    @Override
+    @Before
+    public void setUp() {
+        Random random = new Random(42);
+        polylines = new ArrayList<>();
+        SegmentIndex.Builder builder = new SegmentIndex.Builder(0.05);
+        for (int p = 0; p < 200; p++) {
+            int count = 2 + random.nextInt(6);
+            double[] latitudes = new double[count];
+            double[] longitudes = new double[count];
+            latitudes[0] = 40.0 + random.nextDouble() * 2.0;
+            longitudes[0] = 179.0 + random.nextDouble() * 2.0;
+            for (int i = 1; i < count; i++) {
+                latitudes[i] = latitudes[i - 1] + (random.nextDouble() - 0.5) * 0.2;
+                longitudes[i] = longitudes[i - 1] + (random.nextDouble() - 0.5) * 0.2;
+            }
+            for (int i = 0; i < count; i++) {
+                if (longitudes[i] > 180.0)
+                    longitudes[i] -= 360.0;
+                polylines.add(new double[]{p, i, latitudes[i], longitudes[i]});
+            }
+            builder.addPolyline(p, latitudes, longitudes, count);
+        }
+        index = builder.build();
+    }
+
+    @Override
+    public void clean() {
+    }
+
+    @Test
+    public void test_nearest() {
+        Random random = new Random(7);
+        for (int q = 0; q < 200; q++) {
+            double latitude = 40.0 + random.nextDouble() * 2.0;
+            double longitude = 179.0 + random.nextDouble() * 2.0;
+            if (longitude > 180.0)
+                longitude -= 360.0;
+            SphericalPoint point = point(latitude, longitude);
+
+            double expected = Double.MAX_VALUE;
+            for (int i = 1; i < polylines.size(); i++) {
+                double[] a = polylines.get(i - 1);
+                double[] b = polylines.get(i);
+                if (a[0] != b[0])
+                    continue;
+                expected = Math.min(expected, bruteForce(point, point(a[2], a[3]), point(b[2], b[3])));
+            }
+
+            SegmentMatch match = index.nearest(latitude, longitude, 1e6, RADIUS);
+            assertNotNull(match);
+            assertEquals(expected, match.getDistance(), 1e-6);
+            assertEquals(match.getDistance(), point.distanceTo(point(match.getLatitude(), match.getLongitude()), RADIUS), 1e-3);
+
+            List<SegmentMatch> near = new ArrayList<>();
+            index.within(latitude, longitude, match.getDistance() + 1.0, RADIUS, near);
+            boolean found = false;
+            for (SegmentMatch m : near)
+                found |= m.getSegment() == match.getSegment();
+            assertEquals(true, found);
+        }
+        assertNull(index.nearest(0.0, 0.0, 1000.0, RADIUS));
+    }
+
+    @Test
+    public void test_antimeridian() {
+        // 0.007 degree cells do not divide 360 degrees; segments across the antimeridian are still found
+        SegmentIndex wrapped = new SegmentIndex.Builder(0.007)
+                .addPolyline(1L, new double[]{0.0, 0.0}, new double[]{179.99, 179.9955}, 2)
+                .addPolyline(2L, new double[]{0.006, 0.006}, new double[]{179.998, -179.99}, 2)
+                .build();
+        for (int k = 0; k < 10; k++) {
+            double longitude = -179.9999 + k * 0.0001;
+            SegmentMatch match = wrapped.nearest(0.0, longitude, 700.0, RADIUS);
+            assertNotNull(match);
+            assertEquals(1L, match.getPolylineId());
+            List<SegmentMatch> matches = new ArrayList<>();
+            assertEquals(2, wrapped.within(0.0, longitude, 700.0, RADIUS, matches));
+        }
+    }
+
+    @Test
+    public void test_crossAndAlongTrack() {
+        SegmentIndex single = new SegmentIndex.Builder(0.1)
+                .addPolyline(7L, new double[]{53.3206, 53.1887}, new double[]{-1.7297, 0.1334}, 2)
+                .build();
+        SegmentMatch match = single.nearest(53.2611, -0.7972, 10e3, RADIUS);
+        SphericalPoint point = point(53.2611, -0.7972);
+        SphericalPoint start = point(53.3206, -1.7297);
+        SphericalPoint end = point(53.1887, 0.1334);
+        assertEquals(7L, match.getPolylineId());
+        assertEquals(point.crossTrackDistanceTo(start, end, RADIUS), match.getCrossTrackDistance(), 1e-6);
+        assertEquals(point.alongTrackDistanceTo(start, end, RADIUS), match.getAlongTrackDistance(), 1e-6);
+        assertEquals(-307.5, match.getCrossTrackDistance(), 0.1);
+    }
+
+    @Test
+    public void test_mapMatcher() {
+        // Two parallel east-west roads 40 m apart; the trace follows the southern one with noise that sometimes
+        // brings a fix closer to the northern one
+        double north = 0.00036;
+        SegmentIndex roads = new SegmentIndex.Builder(0.01)
+                .addPolyline(1L, new double[]{0.0, 0.0, 0.0}, new double[]{0.0, 0.01, 0.02}, 3)
+                .addPolyline(2L, new double[]{north, north}, new double[]{0.0, 0.02}, 2)
+                .build();
+        final List<SegmentMatch> matches = new ArrayList<>();
+        MapMatcher matcher = new MapMatcher(roads, RADIUS, 60.0, 10.0, 5.0, 4, 3, new MatchSink() {
+            @Override
+            public void accept(int index, double latitude, double longitude, SegmentMatch match) {
+                assertEquals(matches.size(), index);
+                matches.add(match);
+            }
+        });
+        for (int i = 0; i < 20; i++) {
+            double offset = i % 5 == 4 ? north * 0.6 : 0.00002 * (i % 3 - 1);
+            matcher.add(offset, 0.001 * i);
+        }
+        matcher.add(10.0, 10.0);
+        matcher.flush();
+
+        assertEquals(21, matches.size());
+        for (int i = 0; i < 20; i++)
+            assertEquals("fix " + i, 1L, matches.get(i).getPolylineId());
+        assertNull(matches.get(20));
+    }
+
+    private static double bruteForce(final SphericalPoint point, final SphericalPoint start, final SphericalPoint end) {
+        double length = start.distanceTo(end, RADIUS);
+        double along = point.alongTrackDistanceTo(start, end, RADIUS);
+        if (along >= 0.0 && along <= length)
+            return Math.abs(point.crossTrackDistanceTo(start, end, RADIUS));
+        return Math.min(point.distanceTo(start, RADIUS), point.distanceTo(end, RADIUS));
+    }
+
+    private static SphericalPoint point(final double latitude, final double longitude) {
+        return new SphericalPoint(new Latitude(latitude), new Longitude(longitude));
+    }
+}
@@ -0,0 +1,98 @@
+package com.jgeodesy.main;
+
+import com.jgeodesy.AbstractUnitTest;
+import com.jgeodesy.BaseUnitTest;
+import com.jgeodesy.base.EllipsoidalPoint;
+import com.jgeodesy.base.SphericalPoint;
+import com.jgeodesy.coordinate.Latitude;
+import com.jgeodesy.coordinate.Longitude;
+import com.jgeodesy.projection.GridCoordinate;
+import com.jgeodesy.projection.TransverseMercator;
+import com.jgeodesy.shape.Datum;
+import com.jgeodesy.util.GeodesyUtil;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Batch command line processor tests
+ */
+public class BatchProcessorTest extends AbstractUnitTest implements BaseUnitTest {
+
+    private String csv;
+
+    @Override
+    @Before
+    public void setUp() {
+        StringBuilder builder = new StringBuilder("name,lat,lon,h\n");
+        for (int i = 0; i < 25; i++)
+            builder.append("p").append(i).append(',').append(51.0 + 0.01 * i).append(',').append(-1.0 + 0.02 * i).append(",10\n");
+        csv = builder.toString();
+    }
+
+    @Override
+    public void clean() {
+    }
+
+    @Test
+    public void test_pipeline() throws IOException {
+        String[] lines = run("--header", "--lat", "lat", "--lon", "lon", "--height", "h", "--threads", "3",
+                "--chunk-size", "4", "--progress", "0",
+                "--op", "distance:51:-1", "--op", "datum:WGS84:OSGB36", "--op", "bng");
+        assertEquals(26, lines.length);
+        assertEquals("name,lat,lon,h,distance,easting,northing", lines[0]);
+
+        TransverseMercator grid = TransverseMercator.britishNationalGrid();
+        SphericalPoint reference = new SphericalPoint(new Latitude(51.0), new Longitude(-1.0));
+        for (int i = 0; i < 25; i++) {
+            String[] fields = lines[i + 1].split(",");
+            assertEquals("p" + i, fields[0]);
+            EllipsoidalPoint point = new EllipsoidalPoint(new Latitude(51.0 + 0.01 * i), new Longitude(-1.0 + 0.02 * i), 10.0);
+            point.setDatum(Datum.getDatum("WGS84"));
+            EllipsoidalPoint osgb36 = point.convertToDatum(Datum.getDatum("OSGB36"));
+            assertEquals(osgb36.getLatitude().getDegrees(), Double.parseDouble(fields[1]), 1e-12);
+            assertEquals(osgb36.getHeight(), Double.parseDouble(fields[3]), 1e-6);
+            double distance = reference.distanceTo(new SphericalPoint(new Latitude(51.0 + 0.01 * i),
+                    new Longitude(-1.0 + 0.02 * i)), GeodesyUtil.getRadiusOfWorld());
+            assertEquals(distance, Double.parseDouble(fields[4]), 1e-6);
+            GridCoordinate expected = grid.forward(osgb36);
+            assertEquals(expected.getEasting(), Double.parseDouble(fields[5]), 1e-6);
+            assertEquals(expected.getNorthing(), Double.parseDouble(fields[6]), 1e-6);
+        }
+    }
+
+    @Test
+    public void test_area() throws IOException {
+        csv = "a 0 0\na 1 0\na 0 1\nb 10 10\nb 11 10\nb 11 11\nb 10 11\n";
+        String[] lines = run("--delimiter", "space", "--lat", "1", "--lon", "2", "--id", "0", "--chunk-size", "2",
+                "--progress", "0", "--op", "area");
+        assertEquals(2, lines.length);
+        List<SphericalPoint> triangle = new ArrayList<>();
+        triangle.add(new SphericalPoint(new Latitude(0.0), new Longitude(0.0)));
+        triangle.add(new SphericalPoint(new Latitude(1.0), new Longitude(0.0)));
+        triangle.add(new SphericalPoint(new Latitude(0.0), new Longitude(1.0)));
+        assertEquals("a", lines[0].split(" ")[0]);
+        assertEquals(SphericalPoint.areaOf(triangle, GeodesyUtil.getRadiusOfWorld()), Double.parseDouble(lines[0].split(" ")[1]), 1e-3);
+        assertEquals("b", lines[1].split(" ")[0]);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_invalidRow() throws IOException {
+        csv = "1,2\n3,x\n";
+        run("--progress", "0", "--op", "distance:0:0");
+    }
+
+    private String[] run(final String... args) throws IOException {
+        StringWriter output = new StringWriter();
+        new BatchProcessor(BatchOptions.parse(args)).process(new BufferedReader(new StringReader(csv)), output);
+        return output.toString().split("\n");
+    }
+}
@@ -0,0 +1,118 @@
+package com.jgeodesy.metrics;
+
+import com.jgeodesy.AbstractUnitTest;
+import com.jgeodesy.BaseUnitTest;
+import com.jgeodesy.base.GeodeticAlgorithm;
+import com.jgeodesy.base.SphericalPoint;
+import com.jgeodesy.coordinate.Latitude;
+import com.jgeodesy.coordinate.Longitude;
+import com.jgeodesy.shape.Ellipsoid;
+import com.jgeodesy.track.TrackDensifier;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Instrumentation SPI and histogram tests
+ */
+public class MetricsTest extends AbstractUnitTest implements BaseUnitTest {
+
+    private InMemoryMetrics metrics;
+
+    @Override
+    @Before
+    public void setUp() {
+        metrics = new InMemoryMetrics();
+    }
+
+    @Override
+    @After
+    public void clean() {
+        Metrics.install(null);
+    }
+
+    @Test
+    public void test_disabled() {
+        assertFalse(Metrics.isEnabled());
+        assertEquals(0L, Metrics.start());
+    }
+
+    @Test
+    public void test_histogram() {
+        for (long value = 0; value < Long.MAX_VALUE / 3; value = value * 3 + 1) {
+            int index = Histogram.index(value);
+            assertTrue(Histogram.lowestValue(index) <= value && value <= Histogram.highestValue(index));
+        }
+        assertEquals(Histogram.BUCKETS - 1, Histogram.index(Long.MAX_VALUE));
+
+        Histogram histogram = new Histogram();
+        for (int i = 1; i <= 1000; i++)
+            histogram.record(i * 1000L);
+        HistogramSnapshot snapshot = histogram.snapshot();
+        assertEquals(1000, snapshot.getTotalCount());
+        assertEquals(500000.0, snapshot.getValueAtPercentile(50.0), 500000.0 * 0.04);
+        assertEquals(990000.0, snapshot.getValueAtPercentile(99.0), 990000.0 * 0.04);
+        assertEquals(1000000.0, snapshot.getMax(), 1000000.0 * 0.04);
+        assertEquals(500500.0, snapshot.getMean(), 500500.0 * 0.02);
+    }
+
+    @Test
+    public void test_record() {
+        Metrics.install(metrics);
+        SphericalPoint cambridge = new SphericalPoint(new Latitude(52.205), new Longitude(0.119));
+        SphericalPoint paris = new SphericalPoint(new Latitude(48.857), new Longitude(2.351));
+        cambridge.distanceTo(paris, 6371e3);
+        cambridge.distanceTo(paris, 6371e3);
+
+        double[] values = {6378137.0, 0.0, 0.0};
+        double[] result = new double[3];
+        GeodeticAlgorithm.BOWRING.toGeodetic(values, values, values, Ellipsoid.WGS84, result, result, result, 3);
+
+        Map<Operation, InMemoryMetrics.OperationSnapshot> snapshot = metrics.snapshot();
+        assertEquals(2, snapshot.get(Operation.SPHERICAL_DISTANCE).getCalls());
+        assertEquals(1, snapshot.get(Operation.CARTESIAN_TO_GEODETIC_BATCH).getCalls());
+        assertEquals(3, snapshot.get(Operation.CARTESIAN_TO_GEODETIC_BATCH).getItems());
+        assertEquals(3, snapshot.get(Operation.CARTESIAN_TO_GEODETIC_BATCH).getBatchSize().getMax());
+        assertFalse(snapshot.containsKey(Operation.DATUM_CONVERSION));
+
+        // Batch items are input points, as the flight recorder events report them
+        double[] latitudes = {52.205, 48.857};
+        double[] longitudes = {0.119, 2.351};
+        double[] outLatitudes = new double[9];
+        double[] outLongitudes = new double[9];
+        assertEquals(9, TrackDensifier.densify(latitudes, longitudes, 2, 7, outLatitudes, outLongitudes));
+        assertEquals(2, metrics.snapshot().get(Operation.TRACK_DENSIFICATION).getItems());
+
+        metrics.reset();
+        assertTrue(metrics.snapshot().isEmpty());
+    }
+
+    @Test
+    public void test_recordOnce() {
+        Metrics.install(metrics);
+        SphericalPoint cambridge = new SphericalPoint(new Latitude(52.205), new Longitude(0.119));
+        SphericalPoint paris = new SphericalPoint(new Latitude(48.857), new Longitude(2.351));
+        SphericalPoint london = new SphericalPoint(new Latitude(51.507), new Longitude(-0.128));
+        cambridge.crossTrackDistanceTo(paris, london, 6371e3);
+        cambridge.alongTrackDistanceTo(paris, london, 6371e3);
+        cambridge.rhumbBearingTo(paris);
+        SphericalPoint.areaOf(new ArrayList<>(Arrays.asList(cambridge, paris, london)), 6371e3);
+
+        // Nested distances and bearings are not counted as calls of their own
+        Map<Operation, InMemoryMetrics.OperationSnapshot> snapshot = metrics.snapshot();
+        assertEquals(1, snapshot.get(Operation.SPHERICAL_CROSS_TRACK).getCalls());
+        assertEquals(1, snapshot.get(Operation.SPHERICAL_ALONG_TRACK).getCalls());
+        assertEquals(1, snapshot.get(Operation.SPHERICAL_RHUMB_BEARING).getCalls());
+        assertEquals(1, snapshot.get(Operation.SPHERICAL_AREA).getCalls());
+        assertFalse(snapshot.containsKey(Operation.SPHERICAL_DISTANCE));
+        assertFalse(snapshot.containsKey(Operation.SPHERICAL_BEARING));
+    }
+}
@@ -0,0 +1,170 @@
+package com.jgeodesy.motion;
+
+import com.jgeodesy.AbstractUnitTest;
+import com.jgeodesy.BaseUnitTest;
+import com.jgeodesy.base.SphericalPoint;
+import com.jgeodesy.coordinate.Latitude;
+import com.jgeodesy.coordinate.Longitude;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Closest point of approach and fleet screening tests
+ */
+public class CpaSolverTest extends AbstractUnitTest implements BaseUnitTest {
+
+    private static final double RADIUS = 6371e3;
+    private static final double HORIZON = 3600.0;
+
+    private MovingObjects fleet;
+
+    @Override
+    @Before
+    public void setUp() {
+        // Vessels in the English Channel and a cluster straddling the antimeridian, 0-12 m/s
+        Random random = new Random(7);
+        fleet = new MovingObjects(16, RADIUS);
+        for (int i = 0; i < 1500; i++) {
+            boolean pacific = i % 5 == 0;
+            double latitude = pacific ? -17.0 + random.nextDouble() : 49.5 + random.nextDouble() * 1.5;
+            double longitude = pacific ? 179.5 + random.nextDouble() : -3.0 + random.nextDouble() * 4.0;
+            fleet.add(latitude, longitude > 180.0 ? longitude - 360.0 : longitude, random.nextDouble() * 360.0,
+                    random.nextDouble() * 12.0);
+        }
+    }
+
+    @Override
+    public void clean() {
+    }
+
+    @Test
+    public void test_headOn() {
+        SphericalPoint first = point(0.0, 0.0);
+        SphericalPoint second = point(0.0, 0.1);
+        ClosestApproach approach = CpaSolver.closestApproach(first, 90.0, 10.0, second, 270.0, 10.0, HORIZON, RADIUS);
+        double separation = first.distanceTo(second, RADIUS);
+        assertEquals(separation / 20.0, approach.getTime(), 1e-6);
+        assertEquals(0.0, approach.getDistance(), 1e-6);
+        assertEquals(0.05, approach.getFirstPosition().getLongitude().getDegrees(), 1e-9);
+
+        // Separating: closest approach is now
+        approach = CpaSolver.closestApproach(first, 270.0, 10.0, second, 90.0, 10.0, HORIZON, RADIUS);
+        assertEquals(0.0, approach.getTime(), 0.0);
+        assertEquals(separation, approach.getDistance(), 1e-6);
+    }
+
+    @Test
+    public void test_crossing() {
+        // Crossing courses at high latitude over 6 hours, where the flat-earth start is off; check by sampling
+        SphericalPoint first = point(70.0, 10.0);
+        SphericalPoint second = point(70.8, 11.5);
+        double horizon = 6 * 3600.0;
+        ClosestApproach approach = CpaSolver.closestApproach(first, 45.0, 9.0, second, 160.0, 6.0, horizon, RADIUS);
+        double bestTime = 0.0;
+        double best = Double.MAX_VALUE;
+        for (double t = 0.0; t <= horizon; t += 1.0) {
+            double distance = first.destinationPoint(9.0 * t, 45.0, RADIUS)
+                    .distanceTo(second.destinationPoint(6.0 * t, 160.0, RADIUS), RADIUS);
+            if (distance < best) {
+                best = distance;
+                bestTime = t;
+            }
+        }
+        assertEquals(bestTime, approach.getTime(), 1.0);
+        assertEquals(best, approach.getDistance(), 1e-3);
+        assertTrue(approach.getTime() > 0.0 && approach.getTime() < horizon);
+    }
+
+    @Test
+    public void test_screen() {
+        double maxDistance = 1852.0;
+        List<Encounter> encounters = CpaSolver.screen(fleet, maxDistance, HORIZON);
+
+        // Brute force over all pairs
+        int n = fleet.size();
+        Map<Long, Double> expected = new HashMap<>();
+        double[] result = new double[2];
+        for (int i = 0; i < n; i++) {
+            for (int j = i + 1; j < n; j++) {
+                CpaSolver.approach(fleet, i, j, HORIZON, result);
+                if (result[1] * RADIUS <= maxDistance)
+                    expected.put((long) i * n + j, result[1] * RADIUS);
+            }
+        }
+        assertTrue(expected.size() > 20);
+        assertEquals(expected.size(), encounters.size());
+        double previous = 0.0;
+        for (Encounter encounter : encounters) {
+            Double distance = expected.get((long) encounter.getFirst() * n + encounter.getSecond());
+            assertNotNull(distance);
+            assertEquals(distance, encounter.getDistance(), 0.0);
+            assertTrue(encounter.getTime() >= previous);
+            previous = encounter.getTime();
+        }
+
+        // Batch pairs agree with the screen
+        int[] first = new int[encounters.size()];
+        int[] second = new int[encounters.size()];
+        for (int k = 0; k < first.length; k++) {
+            first[k] = encounters.get(k).getFirst();
+            second[k] = encounters.get(k).getSecond();
+        }
+        double[] times = new double[first.length];
+        double[] distances = new double[first.length];
+        CpaSolver.closestApproaches(fleet, first, second, first.length, HORIZON, times, distances);
+        assertEquals(encounters.get(0).getTime(), times[0], 0.0);
+        assertEquals(encounters.get(0).getDistance(), distances[0], 0.0);
+    }
+
+    @Test
+    public void test_screenAntimeridian() {
+        // A 1 km reach gives cells that do not divide 360 degrees; pairs straddling the antimeridian are still found
+        for (int k = 0; k < 10; k++) {
+            MovingObjects objects = new MovingObjects(3, RADIUS);
+            objects.add(0.0, -179.9999, 0.0, 0.0);
+            objects.add(0.0, 179.9921 + k * 0.0007, 0.0, 0.0);
+            objects.add(0.0, 179.9, 0.0, 0.0);
+            List<Encounter> encounters = CpaSolver.screen(objects, 1000.0, HORIZON);
+            assertEquals(1, encounters.size());
+            assertEquals(0, encounters.get(0).getFirst());
+            assertEquals(1, encounters.get(0).getSecond());
+        }
+    }
+
+    @Test
+    public void test_screenFineGrid() {
+        // A 10 m reach gives more cells than fit beside the object index in a sort key
+        MovingObjects objects = new MovingObjects(3, RADIUS);
+        objects.add(51.5, -0.1, 0.0, 0.0);
+        objects.add(51.50004, -0.1, 0.0, 0.0);
+        objects.add(51.6, -0.1, 0.0, 0.0);
+        List<Encounter> encounters = CpaSolver.screen(objects, 10.0, HORIZON);
+        assertEquals(1, encounters.size());
+        assertEquals(0, encounters.get(0).getFirst());
+        assertEquals(1, encounters.get(0).getSecond());
+    }
+
+    @Test
+    public void test_positionAt() {
+        MovingObjects objects = new MovingObjects(1, RADIUS);
+        objects.add(50.0, -1.0, 45.0, 10.0);
+        double[] position = new double[2];
+        objects.positionAt(0, 600.0, position);
+        SphericalPoint expected = point(50.0, -1.0).destinationPoint(6000.0, 45.0, RADIUS);
+        assertEquals(expected.getLatitude().getDegrees(), position[0], 1e-9);
+        assertEquals(expected.getLongitude().getDegrees(), position[1], 1e-9);
+    }
+
+    private static SphericalPoint point(final double latitude, final double longitude) {
+        return new SphericalPoint(new Latitude(latitude), new Longitude(longitude));
+    }
+}
@@ -0,0 +1,84 @@
+package com.jgeodesy.projection;
+
+import com.jgeodesy.AbstractUnitTest;
+import com.jgeodesy.BaseUnitTest;
+import com.jgeodesy.base.EllipsoidalPoint;
+import com.jgeodesy.coordinate.Latitude;
+import com.jgeodesy.coordinate.Longitude;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * MGRS and UTM reference codec tests
+ */
+public class MgrsTest extends AbstractUnitTest implements BaseUnitTest {
+
+    private EllipsoidalPoint eiffelTower;
+
+    @Override
+    @Before
+    public void setUp() {
+        eiffelTower = new EllipsoidalPoint(new Latitude(48.8582), new Longitude(2.2945), 0.0);
+    }
+
+    @Override
+    public void clean() {
+    }
+
+    @Test
+    public void test_toMgrs() {
+        assertEquals("31U DQ 48251 11932", Mgrs.toMgrs(eiffelTower));
+        char[] buffer = new char[12];
+        int length = new Mgrs().format(48.8582, 2.2945, 2, buffer, 0);
+        assertEquals("31U DQ 48 11", new String(buffer, 0, length));
+    }
+
+    @Test
+    public void test_parseMgrs() {
+        EllipsoidalPoint point = Mgrs.toPoint("31U DQ 48251 11932");
+        assertEquals(48.8582, point.getLatitude().getDegrees(), 1e-4);
+        assertEquals(2.2945, point.getLongitude().getDegrees(), 1e-4);
+
+        double[] result = new double[2];
+        new Mgrs().parse("xx31udq4825111932", 2, 17, result);
+        assertEquals(point.getLatitude().getDegrees(), result[0], 1e-12);
+        assertEquals(point.getLongitude().getDegrees(), result[1], 1e-12);
+    }
+
+    @Test
+    public void test_batch() {
+        double[] latitudes = {48.8582, -33.8568, 64.1466, -79.5};
+        double[] longitudes = {2.2945, 151.2153, -21.9426, 100.1};
+        Mgrs mgrs = new Mgrs();
+        StringBuilder builder = mgrs.format(latitudes, longitudes, 4, 5, new StringBuilder(), '\n');
+        double[] resultLatitudes = new double[4];
+        double[] resultLongitudes = new double[4];
+        assertEquals(4, mgrs.parse(builder, '\n', resultLatitudes, resultLongitudes));
+        for (int i = 0; i < 4; i++) {
+            assertEquals(latitudes[i], resultLatitudes[i], 2e-5);
+            assertEquals(longitudes[i], resultLongitudes[i], 5e-5);
+        }
+    }
+
+    @Test
+    public void test_utmReference() {
+        assertEquals("31 N 448252 5411933", UtmReference.toUtm(eiffelTower));
+        EllipsoidalPoint point = UtmReference.toPoint("31 N 448251.795 5411932.678");
+        assertEquals(48.8582, point.getLatitude().getDegrees(), 1e-8);
+        assertEquals(2.2945, point.getLongitude().getDegrees(), 1e-8);
+
+        UtmReference utmReference = new UtmReference();
+        double[] latitudes = {-33.8568, 48.8582};
+        double[] longitudes = {151.2153, 2.2945};
+        StringBuilder builder = utmReference.format(latitudes, longitudes, 2, new StringBuilder(), ';').append(';');
+        double[] resultLatitudes = new double[2];
+        double[] resultLongitudes = new double[2];
+        assertEquals(2, utmReference.parse(builder, ';', resultLatitudes, resultLongitudes));
+        for (int i = 0; i < 2; i++) {
+            assertEquals(latitudes[i], resultLatitudes[i], 1e-5);
+            assertEquals(longitudes[i], resultLongitudes[i], 1e-5);
+        }
+    }
+}
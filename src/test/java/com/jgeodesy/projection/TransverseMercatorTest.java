@@ -0,0 +1,91 @@
+package com.jgeodesy.projection;
+
+import com.jgeodesy.AbstractUnitTest;
+import com.jgeodesy.BaseUnitTest;
+import com.jgeodesy.base.EllipsoidalPoint;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.math.RoundingMode;
+import java.text.DecimalFormat;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Transverse Mercator projection tests
+ */
+public class TransverseMercatorTest extends AbstractUnitTest implements BaseUnitTest {
+
+    private DecimalFormat decimalFormatter;
+    private DecimalFormat decimalFormatter3;
+
+    @Override
+    @Before
+    public void setUp() {
+        decimalFormatter = new DecimalFormat("#");
+        decimalFormatter3 = new DecimalFormat("#.###");
+        decimalFormatter.setRoundingMode(RoundingMode.DOWN);
+        decimalFormatter3.setRoundingMode(RoundingMode.HALF_UP);
+    }
+
+    @Override
+    public void clean() {
+    }
+
+    @Test
+    public void test_britishNationalGrid() {
+        // Ordnance Survey worked example: 52°39′27.2531″N, 1°43′4.5177″E (OSGB36)
+        TransverseMercator nationalGrid = TransverseMercator.britishNationalGrid();
+        double latitude = 52.0 + 39.0 / 60.0 + 27.2531 / 3600.0;
+        double longitude = 1.0 + 43.0 / 60.0 + 4.5177 / 3600.0;
+        GridCoordinate gridCoordinate = nationalGrid.forward(latitude, longitude);
+        assertEquals("651409.903", decimalFormatter3.format(gridCoordinate.getEasting()));
+        assertEquals("313177.27", decimalFormatter3.format(gridCoordinate.getNorthing()));
+
+        EllipsoidalPoint point = nationalGrid.inverse(gridCoordinate);
+        assertEquals(latitude, point.getLatitude().getDegrees(), 1e-9);
+        assertEquals(longitude, point.getLongitude().getDegrees(), 1e-9);
+    }
+
+    @Test
+    public void test_utm() {
+        TransverseMercator utm = TransverseMercator.utm(UtmZone.zoneOf(48.8582, 2.2945), true);
+        GridCoordinate gridCoordinate = utm.forward(48.8582, 2.2945);
+        assertEquals("448251", decimalFormatter.format(gridCoordinate.getEasting()));
+        assertEquals("5411932", decimalFormatter.format(gridCoordinate.getNorthing()));
+
+        TransverseMercator south = TransverseMercator.utm(UtmZone.zoneOf(-33.857, 151.215), false);
+        EllipsoidalPoint point = south.inverse(south.forward(-33.857, 151.215));
+        assertEquals(-33.857, point.getLatitude().getDegrees(), 1e-9);
+        assertEquals(151.215, point.getLongitude().getDegrees(), 1e-9);
+    }
+
+    @Test
+    public void test_batch() {
+        TransverseMercator utm = TransverseMercator.utm(31, true);
+        double[] latitudes = {48.8582, 51.0, 0.5};
+        double[] longitudes = {2.2945, 0.1, 5.9};
+        double[] eastings = new double[3];
+        double[] northings = new double[3];
+        double[] resultLatitudes = new double[3];
+        double[] resultLongitudes = new double[3];
+        utm.forward(latitudes, longitudes, eastings, northings, 3);
+        utm.inverse(eastings, northings, resultLatitudes, resultLongitudes, 3);
+        for (int i = 0; i < 3; i++) {
+            GridCoordinate gridCoordinate = utm.forward(latitudes[i], longitudes[i]);
+            assertEquals(gridCoordinate.getEasting(), eastings[i], 1e-9);
+            assertEquals(gridCoordinate.getNorthing(), northings[i], 1e-9);
+            assertEquals(latitudes[i], resultLatitudes[i], 1e-9);
+            assertEquals(longitudes[i], resultLongitudes[i], 1e-9);
+        }
+    }
+
+    @Test
+    public void test_zoneOf() {
+        assertEquals(31, UtmZone.zoneOf(48.8582, 2.2945));
+        assertEquals(32, UtmZone.zoneOf(60.0, 4.0));
+        assertEquals(33, UtmZone.zoneOf(78.0, 15.0));
+        assertEquals(1, UtmZone.zoneOf(0.0, -180.0));
+        assertEquals(60, UtmZone.zoneOf(0.0, 179.9));
+    }
+}
@@ -0,0 +1,247 @@
+package com.jgeodesy.server;
+
+import com.jgeodesy.AbstractUnitTest;
+import com.jgeodesy.BaseUnitTest;
+import com.jgeodesy.base.EllipsoidalPoint;
+import com.jgeodesy.base.SphericalPoint;
+import com.jgeodesy.coordinate.Latitude;
+import com.jgeodesy.coordinate.Longitude;
+import com.jgeodesy.shape.Datum;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Embedded geodesy server tests on localhost
+ */
+public class GeodesyServerTest extends AbstractUnitTest implements BaseUnitTest {
+
+    private static final double RADIUS = 6371e3;
+
+    private GeodesyServer server;
+    private String base;
+
+    @Override
+    @Before
+    public void setUp() {
+        try {
+            server = new GeodesyServer(new InetSocketAddress("127.0.0.1", 0), RADIUS);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        server.start();
+        base = "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    @Override
+    @After
+    public void clean() {
+        server.stop(0);
+    }
+
+    @Test
+    public void test_distanceJson() throws IOException {
+        String response = new String(post("/v1/distance", Payloads.JSON,
+                "[52.205, 0.119, 48.857, 2.351, 0, 0, 0, 0]".getBytes(StandardCharsets.UTF_8)), StandardCharsets.UTF_8);
+        double[] distances = Payloads.decodeJson(response);
+        SphericalPoint cambridge = new SphericalPoint(new Latitude(52.205), new Longitude(0.119));
+        SphericalPoint paris = new SphericalPoint(new Latitude(48.857), new Longitude(2.351));
+        assertEquals(2, distances.length);
+        assertEquals(cambridge.distanceTo(paris, RADIUS), distances[0], 1e-6);
+        assertEquals(0.0, distances[1], 0.0);
+
+        assertEquals(400, status("/v1/distance", Payloads.JSON, "[1, 2, 3]".getBytes(StandardCharsets.UTF_8)));
+        assertEquals(400, status("/v1/datum?from=WGS84&to=Nowhere", Payloads.JSON, "[]".getBytes(StandardCharsets.UTF_8)));
+        assertEquals(405, ((HttpURLConnection) new URL(base + "/v1/distance").openConnection()).getResponseCode());
+        String metrics = new String(get("/v1/metrics"), StandardCharsets.UTF_8);
+        assertTrue(metrics, metrics.contains("\"distance\":{\"requests\":1,\"errors\":2,\"records\":2,\"batches\":1"));
+    }
+
+    @Test
+    public void test_datumBinary() throws IOException {
+        double[] input = {51.47788, -0.00147, 45.0, 53.0, -1.5, 0.0};
+        double[] output = Payloads.decodeBinary(post("/v1/datum?from=WGS84&to=OSGB36", Payloads.BINARY,
+                Payloads.encode(input, true)));
+        assertEquals(input.length, output.length);
+        for (int i = 0; i < input.length; i += 3) {
+            EllipsoidalPoint point = new EllipsoidalPoint(new Latitude(input[i]), new Longitude(input[i + 1]), input[i + 2]);
+            point.setDatum(Datum.getDatum("WGS84"));
+            EllipsoidalPoint expected = point.convertToDatum(Datum.getDatum("OSGB36"));
+            assertEquals(expected.getLatitude().getDegrees(), output[i], 1e-12);
+            assertEquals(expected.getLongitude().getDegrees(), output[i + 1], 1e-12);
+            assertEquals(expected.getHeight(), output[i + 2], 1e-6);
+        }
+    }
+
+    @Test
+    public void test_coalescing() throws InterruptedException {
+        final CountDownLatch entered = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final BatchCoalescer coalescer = new BatchCoalescer(new BatchKernel() {
+            @Override
+            public int getInputWidth() {
+                return 1;
+            }
+
+            @Override
+            public int getOutputWidth() {
+                return 1;
+            }
+
+            @Override
+            public void apply(double[] input, double[] output, int count) {
+                entered.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                for (int i = 0; i < count; i++)
+                    output[i] = input[i] * 2.0;
+            }
+        }, 1000);
+
+        final double[][] results = new double[9][];
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < results.length; i++) {
+            final int index = i;
+            Thread thread = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    results[index] = coalescer.apply(new double[]{index, index + 0.5}, 2);
+                }
+            });
+            threads.add(thread);
+            thread.start();
+            if (i == 0)
+                entered.await();
+        }
+        while (coalescer.getRequests() < results.length)
+            Thread.sleep(1);
+        release.countDown();
+        for (Thread thread : threads)
+            thread.join();
+
+        for (int i = 0; i < results.length; i++)
+            assertArrayEquals(new double[]{2.0 * i, 2.0 * i + 1.0}, results[i], 0.0);
+        assertEquals(2, coalescer.getBatches());
+        assertEquals(18, coalescer.getRecords());
+    }
+
+    @Test
+    public void test_coalescingError() throws InterruptedException {
+        final CountDownLatch entered = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final BatchCoalescer coalescer = new BatchCoalescer(new BatchKernel() {
+            @Override
+            public int getInputWidth() {
+                return 1;
+            }
+
+            @Override
+            public int getOutputWidth() {
+                return 1;
+            }
+
+            @Override
+            public void apply(double[] input, double[] output, int count) {
+                if (entered.getCount() == 0)
+                    throw new AssertionError("kernel failure");
+                entered.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }, 1000);
+
+        // The first request holds the kernel while the others queue into one batch whose kernel call fails
+        final Throwable[] errors = new Throwable[5];
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < errors.length; i++) {
+            final int index = i;
+            Thread thread = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        coalescer.apply(new double[]{index}, 1);
+                    } catch (Throwable e) {
+                        errors[index] = e;
+                    }
+                }
+            });
+            threads.add(thread);
+            thread.start();
+            if (i == 0)
+                entered.await();
+        }
+        while (coalescer.getRequests() < errors.length)
+            Thread.sleep(1);
+        release.countDown();
+        for (Thread thread : threads) {
+            thread.join(10000);
+            assertFalse(thread.isAlive());
+        }
+
+        assertNull(errors[0]);
+        for (int i = 1; i < errors.length; i++)
+            assertTrue(errors[i] instanceof AssertionError);
+        assertEquals(2, coalescer.getBatches());
+    }
+
+    private byte[] post(final String path, final String contentType, final byte[] body) throws IOException {
+        HttpURLConnection connection = open(path, contentType, body);
+        assertEquals(200, connection.getResponseCode());
+        return read(connection.getInputStream());
+    }
+
+    private int status(final String path, final String contentType, final byte[] body) throws IOException {
+        return open(path, contentType, body).getResponseCode();
+    }
+
+    private byte[] get(final String path) throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) new URL(base + path).openConnection();
+        assertEquals(200, connection.getResponseCode());
+        return read(connection.getInputStream());
+    }
+
+    private HttpURLConnection open(final String path, final String contentType, final byte[] body) throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) new URL(base + path).openConnection();
+        connection.setRequestMethod("POST");
+        connection.setRequestProperty("Content-Type", contentType);
+        connection.setDoOutput(true);
+        try (OutputStream output = connection.getOutputStream()) {
+            output.write(body);
+        }
+        return connection;
+    }
+
+    private static byte[] read(final InputStream input) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        byte[] buffer = new byte[4096];
+        int read;
+        while ((read = input.read(buffer)) != -1)
+            bytes.write(buffer, 0, read);
+        input.close();
+        return bytes.toByteArray();
+    }
+}
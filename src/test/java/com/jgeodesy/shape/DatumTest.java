@@ -0,0 +1,74 @@
+package com.jgeodesy.shape;
+
+import com.jgeodesy.AbstractUnitTest;
+import com.jgeodesy.BaseUnitTest;
+import com.jgeodesy.base.EllipsoidalPoint;
+import com.jgeodesy.base.Transform;
+import com.jgeodesy.coordinate.Latitude;
+import com.jgeodesy.coordinate.Longitude;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.UUID;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Datum registry and datum conversion tests
+ */
+public class DatumTest extends AbstractUnitTest implements BaseUnitTest {
+
+    private EllipsoidalPoint greenwich;
+
+    @Override
+    @Before
+    public void setUp() {
+        greenwich = new EllipsoidalPoint(new Latitude(51.47788), new Longitude(-0.00147), 0.0);
+        greenwich.setDatum(Datum.getDatum("WGS84"));
+    }
+
+    @Override
+    public void clean() {
+    }
+
+    @Test
+    public void test_register() {
+        // The registries are global and cannot be cleared, so use a name no other test or run can collide with
+        String name = "DatumTestLocal-" + UUID.randomUUID();
+        Transform transform = new Transform(name, 10.0, -20.0, 30.0, 0.0, 0.0, 0.0, 0.0);
+        Transform.register(transform);
+        Datum datum = new Datum(Ellipsoid.GRS80, transform);
+        Datum.register(name, datum);
+
+        assertSame(transform, Transform.getTransform(name));
+        assertSame(datum, Datum.getDatum(name));
+        assertSame(Datum.getDatum("WGS84"), Datum.getDatums().get("WGS84"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_registerDuplicate() {
+        Datum.register("WGS84", new Datum(Ellipsoid.WGS84, Transform.getTransform("WGS84")));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void test_snapshotUnmodifiable() {
+        Datum.getDatums().remove("WGS84");
+    }
+
+    @Test
+    public void test_convertToDatum() {
+        EllipsoidalPoint osgb36 = greenwich.convertToDatum(Datum.getDatum("OSGB36"));
+        assertSame(Datum.getDatum("OSGB36"), osgb36.getDatum());
+        assertTrue(Math.abs(osgb36.getLatitude().getDegrees() - 51.47788) > 1e-4);
+
+        EllipsoidalPoint wgs84 = osgb36.convertToDatum(Datum.getDatum("WGS84"));
+        assertEquals(51.47788, wgs84.getLatitude().getDegrees(), 1e-6);
+        assertEquals(-0.00147, wgs84.getLongitude().getDegrees(), 1e-6);
+        assertEquals(0.0, wgs84.getHeight(), 0.05); // negated-parameter inverse is approximate
+
+        EllipsoidalPoint ed50 = osgb36.convertToDatum(Datum.getDatum("ED50"));
+        assertSame(Datum.getDatum("ED50"), ed50.getDatum());
+    }
+}
@@ -0,0 +1,106 @@
+package com.jgeodesy.stream;
+
+import com.jgeodesy.AbstractUnitTest;
+import com.jgeodesy.BaseUnitTest;
+import com.jgeodesy.base.EllipsoidalPoint;
+import com.jgeodesy.base.SphericalPoint;
+import com.jgeodesy.coordinate.Latitude;
+import com.jgeodesy.coordinate.Longitude;
+import com.jgeodesy.shape.Datum;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Position stream stage tests; stages must give the same result however the stream is split into batches
+ */
+public class FixStageTest extends AbstractUnitTest implements BaseUnitTest {
+
+    private static final double RADIUS = 6371e3;
+
+    private List<PositionFix> fixes;
+
+    @Override
+    @Before
+    public void setUp() {
+        fixes = new ArrayList<>();
+        for (int i = 0; i < 10; i++)
+            fixes.add(new PositionFix(1000L * i, 51.5 + 0.001 * i, -0.1 + 0.002 * i * i, 45.0));
+    }
+
+    @Override
+    public void clean() {
+    }
+
+    @Test
+    public void test_motion() {
+        List<PositionFix> result = run(new MotionStage(RADIUS), 3);
+        assertEquals(fixes.size(), result.size());
+        assertTrue(Double.isNaN(result.get(0).getDistance()));
+        assertTrue(Double.isNaN(result.get(0).getSpeed()));
+        for (int i = 1; i < result.size(); i++) {
+            SphericalPoint from = point(fixes.get(i - 1));
+            SphericalPoint to = point(fixes.get(i));
+            PositionFix fix = result.get(i);
+            assertEquals(from.distanceTo(to, RADIUS), fix.getDistance(), 1e-6);
+            assertEquals(from.initialBearingTo(to), fix.getBearing(), 1e-9);
+            assertEquals(fix.getDistance(), fix.getSpeed(), 1e-9);
+        }
+        assertEquals(run(new DistanceStage(RADIUS), 4).get(7).getDistance(), result.get(7).getDistance(), 0.0);
+    }
+
+    @Test
+    public void test_datumConversion() {
+        Datum wgs84 = Datum.getDatum("WGS84");
+        Datum osgb36 = Datum.getDatum("OSGB36");
+        List<PositionFix> result = run(new DatumConversionStage(wgs84, osgb36), 4);
+        for (int i = 0; i < result.size(); i++) {
+            PositionFix fix = fixes.get(i);
+            EllipsoidalPoint point = new EllipsoidalPoint(new Latitude(fix.getLatitude()),
+                    new Longitude(fix.getLongitude()), fix.getHeight());
+            point.setDatum(wgs84);
+            EllipsoidalPoint expected = point.convertToDatum(osgb36);
+            assertEquals(expected.getLatitude().getDegrees(), result.get(i).getLatitude(), 1e-12);
+            assertEquals(expected.getLongitude().getDegrees(), result.get(i).getLongitude(), 1e-12);
+            assertEquals(expected.getHeight(), result.get(i).getHeight(), 1e-6);
+            assertEquals(fix.getTime(), result.get(i).getTime());
+        }
+    }
+
+    @Test
+    public void test_geofence() {
+        double fence = point(fixes.get(0)).distanceTo(point(fixes.get(5)), RADIUS) + 1.0;
+        List<PositionFix> result = run(new GeofenceStage(51.5, -0.1, fence, RADIUS), 16);
+        for (int i = 0; i < result.size(); i++)
+            assertEquals(i <= 5, result.get(i).isInside());
+        assertFalse(result.get(9).isInside());
+    }
+
+    private List<PositionFix> run(final FixStage stage, final int batchSize) {
+        FixBatch batch = new FixBatch(batchSize);
+        List<PositionFix> result = new ArrayList<>();
+        for (PositionFix fix : fixes) {
+            if (batch.add(fix))
+                drain(stage, batch, result);
+        }
+        drain(stage, batch, result);
+        return result;
+    }
+
+    private static void drain(final FixStage stage, final FixBatch batch, final List<PositionFix> result) {
+        stage.process(batch);
+        for (int i = 0; i < batch.size(); i++)
+            result.add(batch.get(i));
+        batch.clear();
+    }
+
+    private static SphericalPoint point(final PositionFix fix) {
+        return new SphericalPoint(new Latitude(fix.getLatitude()), new Longitude(fix.getLongitude()));
+    }
+}
@@ -0,0 +1,157 @@
+package com.jgeodesy.stream;
+
+import com.jgeodesy.AbstractUnitTest;
+import com.jgeodesy.BaseUnitTest;
+import com.jgeodesy.util.SphericalMath;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Sliding-window proximity join tests
+ */
+public class ProximityJoinTest extends AbstractUnitTest implements BaseUnitTest {
+
+    private static final double RADIUS = 6371e3;
+    private static final double DISTANCE = 2000.0;
+    private static final long WINDOW = 60000L;
+    private static final int COUNT = 6000;
+
+    private long[] ids;
+    private long[] times;
+    private double[] latitudes;
+    private double[] longitudes;
+
+    @Override
+    @Before
+    public void setUp() {
+        // 300 objects around a harbour and across the antimeridian, one fix every 50 ms in time order
+        Random random = new Random(11);
+        ids = new long[COUNT];
+        times = new long[COUNT];
+        latitudes = new double[COUNT];
+        longitudes = new double[COUNT];
+        for (int i = 0; i < COUNT; i++) {
+            ids[i] = random.nextInt(300);
+            times[i] = i * 50L;
+            boolean pacific = ids[i] % 4 == 0;
+            latitudes[i] = pacific ? -17.0 + random.nextDouble() * 0.5 : 51.0 + random.nextDouble() * 0.5;
+            double longitude = pacific ? 179.8 + random.nextDouble() * 0.4 : 1.0 + random.nextDouble() * 0.8;
+            longitudes[i] = longitude > 180.0 ? longitude - 360.0 : longitude;
+        }
+    }
+
+    @Override
+    public void clean() {
+    }
+
+    @Test
+    public void test_bruteForce() {
+        Map<String, Double> expected = new HashMap<>();
+        for (int k = 0; k < COUNT; k++) {
+            Map<Long, Integer> best = new HashMap<>();
+            Map<Long, Double> bestDistance = new HashMap<>();
+            for (int j = 0; j < k; j++) {
+                if (ids[j] == ids[k] || times[k] - times[j] > WINDOW)
+                    continue;
+                double distance = RADIUS * SphericalMath.angularDistance(Math.toRadians(latitudes[k]),
+                        Math.toRadians(longitudes[k]), Math.toRadians(latitudes[j]), Math.toRadians(longitudes[j]));
+                Double previous = bestDistance.get(ids[j]);
+                if (distance <= DISTANCE && (previous == null || distance <= previous)) {
+                    best.put(ids[j], j);
+                    bestDistance.put(ids[j], distance);
+                }
+            }
+            for (Map.Entry<Long, Integer> entry : best.entrySet())
+                expected.put(key(ids[k], times[k], entry.getKey(), times[entry.getValue()]), bestDistance.get(entry.getKey()));
+        }
+        assertTrue(expected.size() > 1000);
+
+        Collector collector = new Collector();
+        ProximityJoin join = new ProximityJoin(DISTANCE, WINDOW, RADIUS, COUNT, collector);
+        for (int i = 0; i < COUNT; i++)
+            join.accept(ids[i], times[i], latitudes[i], longitudes[i]);
+
+        assertEquals(expected.size(), collector.events.size());
+        assertEquals(expected.size(), join.getEvents());
+        for (Map.Entry<String, Double> entry : expected.entrySet())
+            assertEquals(entry.getKey(), entry.getValue(), collector.events.get(entry.getKey()), 1e-6);
+        assertEquals(0, join.getLate());
+        assertEquals(0, join.getEvicted());
+        // About one window and up to a bucket of fixes held
+        assertTrue(join.size() <= (WINDOW + WINDOW / 4) / 50 + 1);
+    }
+
+    @Test
+    public void test_partitions() {
+        Collector single = new Collector();
+        ProximityJoin join = new ProximityJoin(DISTANCE, WINDOW, RADIUS, COUNT, single);
+        for (int i = 0; i < COUNT; i++)
+            join.accept(ids[i], times[i], latitudes[i], longitudes[i]);
+
+        ProximityPartitioner partitioner = new ProximityPartitioner(DISTANCE, RADIUS, 4);
+        Collector union = new Collector();
+        ProximityJoin[] joins = new ProximityJoin[partitioner.getPartitions()];
+        for (int p = 0; p < joins.length; p++)
+            joins[p] = new ProximityJoin(WINDOW, RADIUS, COUNT, union, partitioner, p);
+        int[] targets = new int[partitioner.getPartitions()];
+        int routed = 0;
+        for (int i = 0; i < COUNT; i++) {
+            int count = partitioner.targets(latitudes[i], longitudes[i], targets);
+            assertEquals(partitioner.owner(latitudes[i], longitudes[i]), targets[0]);
+            for (int t = 0; t < count; t++)
+                joins[targets[t]].accept(ids[i], times[i], latitudes[i], longitudes[i]);
+            routed += count;
+        }
+
+        assertTrue(routed > COUNT);
+        assertEquals(single.events.keySet(), union.events.keySet());
+        assertEquals(single.events.size(), union.count);
+    }
+
+    @Test
+    public void test_bounds() {
+        Collector collector = new Collector();
+        ProximityJoin join = new ProximityJoin(DISTANCE, WINDOW, RADIUS, 100, collector);
+        for (int i = 0; i < 1000; i++)
+            join.accept(i, 1000L, 51.0, 1.0);
+        assertTrue(join.size() <= 100);
+        assertEquals(1000 - join.size(), join.getEvicted());
+
+        join.accept(5000, 1000L + WINDOW * 3, 51.0, 1.0);
+        assertEquals(1, join.size());
+        join.accept(5001, 1000L, 51.0, 1.0);
+        assertEquals(1, join.getLate());
+        assertEquals(1002, join.getAccepted());
+
+        // Out of order within the window still joins, and the same object never pairs with itself
+        collector.events.clear();
+        join.accept(5002, 1000L + WINDOW * 2 + 1, 51.0, 1.0);
+        join.accept(5000, 1000L + WINDOW * 3, 51.0, 1.00001);
+        assertEquals(2, collector.events.size());
+        assertTrue(collector.events.containsKey(key(5002, 1000L + WINDOW * 2 + 1, 5000, 1000L + WINDOW * 3)));
+        assertTrue(collector.events.containsKey(key(5000, 1000L + WINDOW * 3, 5002, 1000L + WINDOW * 2 + 1)));
+    }
+
+    private static String key(long id, long time, long otherId, long otherTime) {
+        return id + "@" + time + "-" + otherId + "@" + otherTime;
+    }
+
+    private static final class Collector implements ProximitySink {
+
+        private final Map<String, Double> events = new HashMap<>();
+        private int count;
+
+        @Override
+        public void accept(long id, long time, long otherId, long otherTime, double distance) {
+            events.put(key(id, time, otherId, otherTime), distance);
+            count++;
+        }
+    }
+}
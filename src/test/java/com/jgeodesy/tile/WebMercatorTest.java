@@ -0,0 +1,75 @@
+package com.jgeodesy.tile;
+
+import com.jgeodesy.AbstractUnitTest;
+import com.jgeodesy.BaseUnitTest;
+import com.jgeodesy.base.SphericalPoint;
+import com.jgeodesy.coordinate.Latitude;
+import com.jgeodesy.coordinate.Longitude;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Web Mercator tile math tests
+ */
+public class WebMercatorTest extends AbstractUnitTest implements BaseUnitTest {
+
+    private SphericalPoint london;
+
+    @Override
+    @Before
+    public void setUp() {
+        london = new SphericalPoint(new Latitude(51.5074), new Longitude(-0.1278));
+    }
+
+    @Override
+    public void clean() {
+    }
+
+    @Test
+    public void test_tileKey() {
+        long key = WebMercator.tileKey(london, 10);
+        assertEquals(10, TileKey.zoom(key));
+        assertEquals(511, TileKey.x(key));
+        assertEquals(340, TileKey.y(key));
+        assertEquals("10/511/340", TileKey.toString(key));
+        assertEquals(0L, WebMercator.tileKey(89.9, -180.0, 0));
+    }
+
+    @Test
+    public void test_forwardInverse() {
+        double y = WebMercator.toMetersY(51.5074);
+        double x = WebMercator.toMetersX(-0.1278);
+        assertEquals(51.5074, WebMercator.toLatitude(y), 1e-9);
+        assertEquals(-0.1278, WebMercator.toLongitude(x), 1e-9);
+        assertEquals(WebMercator.MAX_LATITUDE, WebMercator.tileLatitude(0, 3), 1e-9);
+        assertEquals(-135.0, WebMercator.tileLongitude(1, 3), 1e-9);
+    }
+
+    @Test
+    public void test_quadKey() {
+        char[] buffer = new char[3];
+        WebMercator.quadKey(3, 5, 3, buffer, 0);
+        assertEquals("213", new String(buffer));
+        assertEquals("213", WebMercator.quadKey(3, 5, 3, new StringBuilder()).toString());
+        long key = WebMercator.parseQuadKey("x213y", 1, 4);
+        assertEquals(TileKey.of(3, 3, 5), key);
+    }
+
+    @Test
+    public void test_aggregate() {
+        double[] latitudes = {51.5074, 51.5075, 48.8566, -33.8688};
+        double[] longitudes = {-0.1278, -0.1279, 2.3522, 151.2093};
+        TileAggregator aggregator = TileAggregator.aggregate(latitudes, longitudes, 4, new int[]{0, 10}, 3);
+        assertEquals(4L, aggregator.getPoints());
+        assertEquals(4L, aggregator.count(TileKey.of(0, 0, 0)));
+        assertEquals(2L, aggregator.count(WebMercator.tileKey(51.5074, -0.1278, 10)));
+        assertEquals(3, aggregator.getCounter(10).size());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_aggregateChunks() {
+        TileAggregator.aggregate(new double[]{51.5}, new double[]{-0.1}, 1, new int[]{0}, 0);
+    }
+}
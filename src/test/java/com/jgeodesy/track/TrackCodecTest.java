@@ -0,0 +1,122 @@
+package com.jgeodesy.track;
+
+import com.jgeodesy.AbstractUnitTest;
+import com.jgeodesy.BaseUnitTest;
+import com.jgeodesy.base.CompactPointArray;
+import com.jgeodesy.base.SphericalPoint;
+import com.jgeodesy.coordinate.Latitude;
+import com.jgeodesy.coordinate.Longitude;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Polyline and binary track codec tests
+ */
+public class TrackCodecTest extends AbstractUnitTest implements BaseUnitTest {
+
+    private static final double RADIUS = 6371e3;
+
+    private double[] latitudes;
+    private double[] longitudes;
+    private List<SphericalPoint> points;
+
+    @Override
+    @Before
+    public void setUp() {
+        latitudes = new double[]{38.5, 40.7, 43.252};
+        longitudes = new double[]{-120.2, -120.95, -126.453};
+        points = new ArrayList<>();
+        for (int i = 0; i < latitudes.length; i++)
+            points.add(new SphericalPoint(new Latitude(latitudes[i]), new Longitude(longitudes[i])));
+    }
+
+    @Override
+    public void clean() {
+    }
+
+    @Test
+    public void test_polyline() {
+        String polyline = PolylineCodec.encode(points);
+        assertEquals("_p~iF~ps|U_ulLnnqC_mqNvxq`@", polyline);
+
+        final List<double[]> decoded = new ArrayList<>();
+        int count = PolylineCodec.decode(polyline, PolylineCodec.DEFAULT_PRECISION, new CoordinateSink() {
+            @Override
+            public void accept(double latitude, double longitude) {
+                decoded.add(new double[]{latitude, longitude});
+            }
+        });
+        assertEquals(3, count);
+        for (int i = 0; i < count; i++) {
+            assertEquals(latitudes[i], decoded.get(i)[0], 1e-9);
+            assertEquals(longitudes[i], decoded.get(i)[1], 1e-9);
+        }
+
+        double expected = points.get(0).distanceTo(points.get(1), RADIUS) + points.get(1).distanceTo(points.get(2), RADIUS);
+        assertEquals(expected, PolylineCodec.length(polyline, PolylineCodec.DEFAULT_PRECISION, RADIUS), 1e-6);
+    }
+
+    @Test
+    public void test_polyline6() {
+        // Micro-degree steps that precision 5 would round away
+        double[] trackLatitudes = {38.500001, 40.7, 43.252, 43.252003};
+        double[] trackLongitudes = {-120.200002, -120.95, -126.453, -126.452999};
+        String polyline = PolylineCodec.encode(trackLatitudes, trackLongitudes, 4, 6, new StringBuilder()).toString();
+        assertEquals("aizlhAbslgdF}zgeCzywl@_kwzCn`{nIEA", polyline);
+
+        final List<double[]> decoded = new ArrayList<>();
+        int count = PolylineCodec.decode(polyline, 6, new CoordinateSink() {
+            @Override
+            public void accept(double latitude, double longitude) {
+                decoded.add(new double[]{latitude, longitude});
+            }
+        });
+        assertEquals(4, count);
+        TrackLength length = new TrackLength(RADIUS);
+        for (int i = 0; i < count; i++) {
+            assertEquals(trackLatitudes[i], decoded.get(i)[0], 1e-12);
+            assertEquals(trackLongitudes[i], decoded.get(i)[1], 1e-12);
+            length.accept(trackLatitudes[i], trackLongitudes[i]);
+        }
+        assertEquals(length.getLength(), PolylineCodec.length(polyline, 6, RADIUS), 1e-6);
+    }
+
+    @Test
+    public void test_binary() {
+        int count = 1000;
+        double[] trackLatitudes = new double[count];
+        double[] trackLongitudes = new double[count];
+        for (int i = 0; i < count; i++) {
+            trackLatitudes[i] = 52.2 + i * 1.3e-4;
+            trackLongitudes[i] = 179.99 + i * 2.1e-5 > 180.0 ? 179.99 + i * 2.1e-5 - 360.0 : 179.99 + i * 2.1e-5;
+        }
+        byte[] data = TrackCodec.encode(trackLatitudes, trackLongitudes, count);
+        assertTrue(data.length < count * 16 / 3);
+
+        CompactPointArray decoded = TrackCodec.decode(data);
+        assertEquals(count, decoded.size());
+        for (int i = 0; i < count; i++) {
+            assertEquals(trackLatitudes[i], decoded.getLatitude(i), 1e-7);
+            assertEquals(trackLongitudes[i], decoded.getLongitude(i), 1e-7);
+        }
+        assertTrue(Arrays.equals(data, TrackCodec.encode(decoded)));
+
+        TrackLength length = new TrackLength(RADIUS);
+        for (int i = 0; i < count; i++)
+            length.accept(trackLatitudes[i], trackLongitudes[i]);
+        assertEquals(length.getLength(), TrackCodec.length(data, RADIUS), 0.5);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_truncated() {
+        byte[] data = TrackCodec.encode(latitudes, longitudes, 3);
+        TrackCodec.decode(Arrays.copyOf(data, data.length - 1));
+    }
+}
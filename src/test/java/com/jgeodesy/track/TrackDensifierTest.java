@@ -0,0 +1,93 @@
+package com.jgeodesy.track;
+
+import com.jgeodesy.AbstractUnitTest;
+import com.jgeodesy.BaseUnitTest;
+import com.jgeodesy.base.SphericalPoint;
+import com.jgeodesy.coordinate.Latitude;
+import com.jgeodesy.coordinate.Longitude;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Great circle densification tests
+ */
+public class TrackDensifierTest extends AbstractUnitTest implements BaseUnitTest {
+
+    private static final double RADIUS = 6371e3;
+
+    private double[] latitudes;
+    private double[] longitudes;
+
+    @Override
+    @Before
+    public void setUp() {
+        // London - New York - Los Angeles, then a leg across the antimeridian to Tokyo
+        latitudes = new double[]{51.4700, 40.6413, 33.9416, 35.5494};
+        longitudes = new double[]{-0.4543, -73.7781, -118.4085, 139.7798};
+    }
+
+    @Override
+    public void clean() {
+    }
+
+    @Test
+    public void test_pointsPerSegment() {
+        int perSegment = 1000;
+        int expected = 4 + 3 * perSegment;
+        double[] outLatitudes = new double[expected];
+        double[] outLongitudes = new double[expected];
+        assertEquals(expected, TrackDensifier.densify(latitudes, longitudes, 4, perSegment, outLatitudes, outLongitudes));
+
+        for (int segment = 0; segment < 3; segment++) {
+            SphericalPoint from = point(latitudes[segment], longitudes[segment]);
+            SphericalPoint to = point(latitudes[segment + 1], longitudes[segment + 1]);
+            int base = segment * (perSegment + 1);
+            assertEquals(latitudes[segment], outLatitudes[base], 0.0);
+            for (int k = 1; k <= perSegment; k += 37) {
+                SphericalPoint reference = from.intermediatePointTo(to, (double) k / (perSegment + 1));
+                SphericalPoint densified = point(outLatitudes[base + k], outLongitudes[base + k]);
+                assertEquals(0.0, reference.distanceTo(densified, RADIUS), 1e-4);
+            }
+        }
+        assertEquals(latitudes[3], outLatitudes[expected - 1], 0.0);
+        assertEquals(longitudes[3], outLongitudes[expected - 1], 0.0);
+    }
+
+    @Test
+    public void test_spacing() {
+        double spacing = 50e3;
+        int count = TrackDensifier.densifiedCount(latitudes, longitudes, 4, spacing, RADIUS);
+        double[] outLatitudes = new double[count];
+        double[] outLongitudes = new double[count];
+        assertEquals(count, TrackDensifier.densify(latitudes, longitudes, 4, spacing, RADIUS, outLatitudes, outLongitudes));
+
+        double length = 0.0;
+        for (int i = 0; i < 3; i++)
+            length += point(latitudes[i], longitudes[i]).distanceTo(point(latitudes[i + 1], longitudes[i + 1]), RADIUS);
+        double densifiedLength = 0.0;
+        for (int i = 1; i < count; i++) {
+            double step = point(outLatitudes[i - 1], outLongitudes[i - 1]).distanceTo(point(outLatitudes[i], outLongitudes[i]), RADIUS);
+            assertTrue(step <= spacing + 1e-6);
+            densifiedLength += step;
+        }
+        assertEquals(length, densifiedLength, 1e-3);
+        assertTrue(count < length / spacing + 5);
+    }
+
+    @Test
+    public void test_degenerate() {
+        double[] outLatitudes = new double[5];
+        double[] outLongitudes = new double[5];
+        assertEquals(5, TrackDensifier.densify(new double[]{10.0, 10.0}, new double[]{20.0, 20.0}, 2, 3,
+                outLatitudes, outLongitudes));
+        assertEquals(10.0, outLatitudes[2], 0.0);
+        assertEquals(1, TrackDensifier.densify(new double[]{10.0}, new double[]{20.0}, 1, 3, outLatitudes, outLongitudes));
+    }
+
+    private static SphericalPoint point(final double latitude, final double longitude) {
+        return new SphericalPoint(new Latitude(latitude), new Longitude(longitude));
+    }
+}
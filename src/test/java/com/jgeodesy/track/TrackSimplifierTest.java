@@ -0,0 +1,162 @@
+package com.jgeodesy.track;
+
+import com.jgeodesy.AbstractUnitTest;
+import com.jgeodesy.BaseUnitTest;
+import com.jgeodesy.base.SphericalPoint;
+import com.jgeodesy.coordinate.Latitude;
+import com.jgeodesy.coordinate.Longitude;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Douglas-Peucker, Visvalingam and streaming simplification tests
+ */
+public class TrackSimplifierTest extends AbstractUnitTest implements BaseUnitTest {
+
+    private static final double RADIUS = 6371e3;
+    private static final int COUNT = 3600;
+
+    private double[] latitudes;
+    private double[] longitudes;
+
+    @Override
+    @Before
+    public void setUp() {
+        // An hour of 1 Hz fixes: a winding drive at about 15 m/s with 2 m of GPS noise
+        Random random = new Random(42);
+        latitudes = new double[COUNT];
+        longitudes = new double[COUNT];
+        double latitude = 52.2;
+        double longitude = 0.12;
+        double heading = 0.0;
+        for (int i = 0; i < COUNT; i++) {
+            if (i % 120 == 0)
+                heading += random.nextGaussian() * 0.8;
+            latitude += Math.cos(heading) * 15.0 / 111_195.0;
+            longitude += Math.sin(heading) * 15.0 / (111_195.0 * Math.cos(Math.toRadians(latitude)));
+            latitudes[i] = latitude + random.nextGaussian() * 2.0 / 111_195.0;
+            longitudes[i] = longitude + random.nextGaussian() * 2.0 / 68_000.0;
+        }
+    }
+
+    @Override
+    public void clean() {
+    }
+
+    @Test
+    public void test_douglasPeucker() {
+        boolean[] keep = new boolean[COUNT];
+        int kept = TrackSimplifier.douglasPeucker(latitudes, longitudes, COUNT, 10.0, RADIUS, keep);
+        assertTrue(kept < COUNT / 10);
+        assertCovered(keep, 10.0);
+
+        // Out-and-back spike lies on the great circle of its ends but is far from the segment
+        double[] spikeLatitudes = {50.0, 50.0, 50.0, 50.0};
+        double[] spikeLongitudes = {0.0, 0.01, 0.1, 0.02};
+        assertEquals(3, TrackSimplifier.douglasPeucker(spikeLatitudes, spikeLongitudes, 4, 10.0, RADIUS, keep));
+        assertTrue(keep[2]);
+    }
+
+    @Test
+    public void test_visvalingam() {
+        boolean[] keep = new boolean[COUNT];
+        int kept = TrackSimplifier.visvalingam(latitudes, longitudes, COUNT, 2000.0, RADIUS, keep);
+        assertTrue(kept < COUNT / 10);
+        assertTrue(keep[0] && keep[COUNT - 1]);
+        int flagged = 0;
+        for (boolean k : keep)
+            flagged += k ? 1 : 0;
+        assertEquals(kept, flagged);
+
+        // Triangle of 1 km sides has about 433 000 m2 and survives a smaller threshold only
+        double[] triangleLatitudes = {0.0, 0.00779, 0.0};
+        double[] triangleLongitudes = {0.0, 0.0045, 0.009};
+        assertEquals(3, TrackSimplifier.visvalingam(triangleLatitudes, triangleLongitudes, 3, 400_000.0, RADIUS, keep));
+        assertTrue(keep[1]);
+        assertEquals(2, TrackSimplifier.visvalingam(triangleLatitudes, triangleLongitudes, 3, 500_000.0, RADIUS, keep));
+    }
+
+    @Test
+    public void test_streaming() {
+        final boolean[] keep = new boolean[COUNT];
+        StreamingSimplifier simplifier = new StreamingSimplifier(10.0, RADIUS, 64, new CoordinateSink() {
+            private int next;
+
+            @Override
+            public void accept(double latitude, double longitude) {
+                while (latitudes[next] != latitude || longitudes[next] != longitude)
+                    next++;
+                keep[next++] = true;
+            }
+        });
+        for (int i = 0; i < COUNT; i++)
+            simplifier.accept(latitudes[i], longitudes[i]);
+        simplifier.flush();
+        assertEquals(COUNT, simplifier.getAccepted());
+        assertTrue(simplifier.getEmitted() < COUNT / 5);
+        assertTrue(keep[0] && keep[COUNT - 1]);
+        assertCovered(keep, 10.0);
+    }
+
+    @Test
+    public void test_parallel() {
+        int tracks = 8;
+        double[][] trackLatitudes = new double[tracks][];
+        double[][] trackLongitudes = new double[tracks][];
+        int[] counts = new int[tracks];
+        for (int t = 0; t < tracks; t++) {
+            counts[t] = COUNT - t * 300;
+            trackLatitudes[t] = Arrays.copyOf(latitudes, counts[t]);
+            trackLongitudes[t] = Arrays.copyOf(longitudes, counts[t]);
+        }
+        long total = TrackSimplifier.douglasPeucker(trackLatitudes, trackLongitudes, counts, 10.0, RADIUS);
+
+        long expected = 0;
+        for (int t = 0; t < tracks; t++) {
+            int count = COUNT - t * 300;
+            double[] lat = Arrays.copyOf(latitudes, count);
+            double[] lon = Arrays.copyOf(longitudes, count);
+            boolean[] keep = new boolean[count];
+            TrackSimplifier.douglasPeucker(lat, lon, count, 10.0, RADIUS, keep);
+            int kept = TrackSimplifier.compact(lat, lon, count, keep);
+            assertEquals(kept, counts[t]);
+            assertArrayEquals(Arrays.copyOf(lat, kept), Arrays.copyOf(trackLatitudes[t], kept), 0.0);
+            expected += kept;
+        }
+        assertEquals(expected, total);
+    }
+
+    /**
+     * Checks every dropped point against the kept segment spanning it using the SphericalPoint formulas
+     */
+    private void assertCovered(final boolean[] keep, final double tolerance) {
+        int first = 0;
+        for (int i = 1; i < COUNT; i++) {
+            if (!keep[i])
+                continue;
+            SphericalPoint start = point(first);
+            SphericalPoint end = point(i);
+            double length = start.distanceTo(end, RADIUS);
+            for (int j = first + 1; j < i; j++) {
+                SphericalPoint p = point(j);
+                double along = p.alongTrackDistanceTo(start, end, RADIUS);
+                double distance = along >= 0.0 && along <= length
+                        ? Math.abs(p.crossTrackDistanceTo(start, end, RADIUS))
+                        : Math.min(p.distanceTo(start, RADIUS), p.distanceTo(end, RADIUS));
+                assertTrue(distance <= tolerance + 1e-6);
+            }
+            first = i;
+        }
+    }
+
+    private SphericalPoint point(final int i) {
+        return new SphericalPoint(new Latitude(latitudes[i]), new Longitude(longitudes[i]));
+    }
+}
@@ -0,0 +1,187 @@
+package com.jgeodesy.track;
+
+import com.jgeodesy.AbstractUnitTest;
+import com.jgeodesy.BaseUnitTest;
+import com.jgeodesy.base.SphericalPoint;
+import com.jgeodesy.coordinate.Latitude;
+import com.jgeodesy.coordinate.Longitude;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Timestamped track lookup, resampling and memory-mapped storage tests
+ */
+public class TrackStoreTest extends AbstractUnitTest implements BaseUnitTest {
+
+    private static final long START = 1500000000000L;
+
+    private TrackStore track;
+    private Path trackFile;
+
+    @Override
+    @Before
+    public void setUp() {
+        // A vessel crossing the antimeridian, one fix every 1-20 s with some repeated timestamps
+        Random random = new Random(5);
+        track = new TrackStore();
+        long time = START;
+        double latitude = -16.0;
+        double longitude = 179.0;
+        for (int i = 0; i < 1000; i++) {
+            track.add(time, latitude, longitude);
+            time += i % 97 == 0 ? 0 : 1000 + random.nextInt(19000);
+            latitude += (random.nextDouble() - 0.3) * 0.01;
+            longitude += random.nextDouble() * 0.01;
+            if (longitude > 180.0)
+                longitude -= 360.0;
+        }
+        try {
+            trackFile = Files.createTempFile("track", ".trk");
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Override
+    @After
+    public void clean() {
+        try {
+            Files.deleteIfExists(trackFile);
+        } catch (IOException e) {
+            logger.warn("Could not delete {}", trackFile);
+        }
+    }
+
+    @Test
+    public void test_lookup() {
+        assertEquals(-1, track.floorIndex(START - 1));
+        assertEquals(1, track.floorIndex(START));
+        assertEquals(999, track.floorIndex(track.getEndTime() + 1));
+        for (int i = 0; i < track.size(); i++) {
+            int floor = track.floorIndex(track.getTime(i));
+            assertEquals(track.getTime(i), track.getTime(floor));
+            assertTrue(floor == track.size() - 1 || track.getTime(floor + 1) > track.getTime(i));
+        }
+
+        assertNull(track.positionAt(START - 1));
+        assertNull(track.positionAt(track.getEndTime() + 1));
+        SphericalPoint last = track.positionAt(track.getEndTime());
+        assertEquals(track.getLatitude(999), last.getLatitude().getDegrees(), 0.0);
+        assertEquals(track.getLongitude(999), last.getLongitude().getDegrees(), 0.0);
+
+        double[] position = new double[2];
+        for (int i = 2; i < track.size() - 1; i += 7) {
+            long time0 = track.getTime(i);
+            long time1 = track.getTime(i + 1);
+            if (time1 == time0)
+                continue;
+            long time = time0 + (time1 - time0) / 3;
+            SphericalPoint from = new SphericalPoint(new Latitude(track.getLatitude(i)), new Longitude(track.getLongitude(i)));
+            SphericalPoint to = new SphericalPoint(new Latitude(track.getLatitude(i + 1)), new Longitude(track.getLongitude(i + 1)));
+            SphericalPoint expected = from.intermediatePointTo(to, (time - time0) / (double) (time1 - time0));
+            assertTrue(track.positionAt(time, position));
+            assertEquals(expected.getLatitude().getDegrees(), position[0], 1e-9);
+            assertEquals(expected.getLongitude().getDegrees(), position[1], 1e-9);
+        }
+    }
+
+    @Test
+    public void test_resample() {
+        int count = 5000;
+        double[] latitudes = new double[count];
+        double[] longitudes = new double[count];
+        long start = START - 30000;
+        long step = 2500;
+        int inside = track.resample(start, step, count, latitudes, longitudes);
+
+        int expected = 0;
+        double[] position = new double[2];
+        for (int k = 0; k < count; k++) {
+            if (track.positionAt(start + k * step, position)) {
+                expected++;
+                assertEquals(position[0], latitudes[k], 1e-12);
+                assertEquals(position[1], longitudes[k], 1e-12);
+            } else {
+                assertTrue(Double.isNaN(latitudes[k]) && Double.isNaN(longitudes[k]));
+            }
+        }
+        assertEquals(expected, inside);
+        assertTrue(Double.isNaN(latitudes[0]));
+        assertTrue(Double.isNaN(latitudes[count - 1]));
+        assertEquals((track.getEndTime() - START) / step + 1, inside);
+    }
+
+    @Test
+    public void test_mapped() throws IOException {
+        MappedTrackStore.write(trackFile, track);
+        assertEquals(16 + 24 * 1000, Files.size(trackFile));
+
+        // Small bands so lookups cross band boundaries
+        try (MappedTrackStore mapped = MappedTrackStore.open(trackFile, 64)) {
+            assertEquals(track.size(), mapped.size());
+            for (int i = 0; i < track.size(); i++) {
+                assertEquals(track.getTime(i), mapped.getTime(i));
+                assertEquals(track.getLatitude(i), mapped.getLatitude(i), 0.0);
+                assertEquals(track.getLongitude(i), mapped.getLongitude(i), 0.0);
+                assertEquals(track.floorIndex(track.getTime(i) + 1), mapped.floorIndex(track.getTime(i) + 1));
+            }
+            double[] heapLatitudes = new double[700];
+            double[] heapLongitudes = new double[700];
+            double[] mappedLatitudes = new double[700];
+            double[] mappedLongitudes = new double[700];
+            assertEquals(track.resample(START, 15000, 700, heapLatitudes, heapLongitudes),
+                    mapped.resample(START, 15000, 700, mappedLatitudes, mappedLongitudes));
+            for (int k = 0; k < 700; k++) {
+                assertEquals(heapLatitudes[k], mappedLatitudes[k], 0.0);
+                assertEquals(heapLongitudes[k], mappedLongitudes[k], 0.0);
+            }
+        }
+
+        try (MappedTrackStore mapped = MappedTrackStore.open(trackFile)) {
+            assertEquals(track.getEndTime(), mapped.getEndTime());
+        }
+    }
+
+    @Test
+    public void test_invalid() throws IOException {
+        try (MappedTrackStore.Writer writer = MappedTrackStore.writer(trackFile)) {
+            writer.append(START, 10.0, 20.0);
+            try {
+                writer.append(START - 1, 10.0, 20.0);
+                fail();
+            } catch (IllegalArgumentException e) {
+                assertEquals(1, writer.getCount());
+            }
+        }
+        try (MappedTrackStore mapped = MappedTrackStore.open(trackFile)) {
+            assertEquals(1, mapped.size());
+            assertFalse(mapped.positionAt(START + 1, new double[2]));
+        }
+
+        Files.write(trackFile, new byte[]{1, 2, 3});
+        try {
+            MappedTrackStore.open(trackFile).close();
+            fail();
+        } catch (IOException e) {
+            // expected
+        }
+        try {
+            track.add(START, 10.0, 20.0);
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertEquals(1000, track.size());
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.jgeodesy.util;
+
+import com.jgeodesy.AbstractUnitTest;
+import com.jgeodesy.BaseUnitTest;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Latitude/longitude bucketing grid tests
+ */
+public class LatLonGridTest extends AbstractUnitTest implements BaseUnitTest {
+
+    private LatLonGrid grid;
+
+    @Override
+    @Before
+    public void setUp() {
+        // 0.7 does not divide 360, so the columns are widened to 360 / 514
+        grid = new LatLonGrid(0.7);
+    }
+
+    @Override
+    public void clean() {
+    }
+
+    @Test
+    public void test_cells() {
+        assertEquals(258, grid.getRows());
+        assertEquals(514, grid.getColumns());
+        assertEquals(360.0 / 514, grid.getColumnSize(), 0.0);
+        assertEquals(258L * 514, grid.getCells());
+
+        assertEquals(0, grid.row(-90.0));
+        assertEquals(257, grid.row(90.0));
+        assertEquals(0, grid.column(-180.0));
+        assertEquals(0, grid.column(180.0));
+        assertEquals(513, grid.column(179.9999));
+        assertEquals(-1, grid.unwrappedColumn(-180.0001));
+        assertEquals(grid.key(3, 0), grid.key(3, 514));
+        assertEquals(grid.key(3, 513), grid.key(3, -1));
+        assertEquals(-90.0 + 3 * 0.7, grid.rowLatitude(3), 1e-12);
+        assertEquals(-180.0, grid.columnLongitude(0), 0.0);
+        assertTrue(grid.key(257, 513) < grid.getCells());
+    }
+
+    @Test
+    public void test_neighbourhood() {
+        int[] cells = new int[4];
+        // Across the antimeridian the columns run on past the last one
+        grid.neighbourhood(10.0, 179.9, 0.5, cells);
+        assertEquals(grid.row(9.5), cells[0]);
+        assertEquals(grid.row(10.5), cells[1]);
+        assertEquals(grid.column(179.9), cells[2]);
+        assertEquals(2, cells[3]);
+
+        // The reach contains the pole: whole rows
+        grid.neighbourhood(89.8, 0.0, 0.5, cells);
+        assertEquals(257, cells[1]);
+        assertEquals(0, cells[2]);
+        assertEquals(514, cells[3]);
+
+        assertEquals(LatLonGrid.MIN_CELL_SIZE, LatLonGrid.forReach(0.0).getCellSize(), 0.0);
+        assertEquals(90.0, LatLonGrid.forReach(200.0).getCellSize(), 0.0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_cellSizeTooSmall() {
+        new LatLonGrid(1e-6);
+    }
+}
@@ -0,0 +1,209 @@
+package com.jgeodesy.stream;
+
+import com.jgeodesy.AbstractUnitTest;
+import com.jgeodesy.BaseUnitTest;
+import com.jgeodesy.base.SphericalPoint;
+import com.jgeodesy.coordinate.Latitude;
+import com.jgeodesy.coordinate.Longitude;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Flow processor tests driving a publisher, the processor and a slow subscriber on separate threads
+ */
+public class FixProcessorTest extends AbstractUnitTest implements BaseUnitTest {
+
+    private static final double RADIUS = 6371e3;
+    private static final int BATCH_SIZE = 2;
+    private static final int BUFFER = 2;
+
+    private ExecutorService executor;
+    private SubmissionPublisher<PositionFix> upstream;
+    private List<PositionFix> fixes;
+
+    @Override
+    @Before
+    public void setUp() {
+        executor = Executors.newCachedThreadPool();
+        upstream = new SubmissionPublisher<>(executor, BUFFER);
+        fixes = new ArrayList<>();
+        for (int i = 0; i < 11; i++)
+            fixes.add(new PositionFix(1000L * i, 51.5 + 0.001 * i, -0.1 + 0.002 * i, 0.0));
+    }
+
+    @Override
+    public void clean() {
+        upstream.close();
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void test_backpressure() throws InterruptedException {
+        Recorder subscriber = new Recorder(5L);
+        List<Integer> lags = Collections.synchronizedList(new ArrayList<>());
+        List<Integer> sizes = Collections.synchronizedList(new ArrayList<>());
+        FixStage distance = new DistanceStage(RADIUS);
+        FixProcessor processor = new FixProcessor(batch -> {
+            lags.add(sizes.stream().mapToInt(Integer::intValue).sum() - subscriber.received.size());
+            sizes.add(batch.size());
+            distance.process(batch);
+        }, BATCH_SIZE, executor, BUFFER);
+        upstream.subscribe(processor);
+        processor.subscribe(subscriber);
+        for (PositionFix fix : fixes)
+            upstream.submit(fix);
+        upstream.close();
+
+        assertTrue(subscriber.done.await(10, TimeUnit.SECONDS));
+        assertNull(subscriber.error);
+        // Full batches, then the partial one flushed on completion
+        assertEquals(List.of(2, 2, 2, 2, 2, 1), sizes);
+        assertEquals(fixes.size(), subscriber.received.size());
+        assertTrue(Double.isNaN(subscriber.received.get(0).getDistance()));
+        for (int i = 1; i < fixes.size(); i++) {
+            assertEquals(fixes.get(i).getTime(), subscriber.received.get(i).getTime());
+            assertEquals(point(fixes.get(i - 1)).distanceTo(point(fixes.get(i)), RADIUS),
+                    subscriber.received.get(i).getDistance(), 1e-6);
+        }
+        // The slow subscriber holds back the stage: it never runs more than a buffer and a batch ahead
+        for (int lag : lags)
+            assertTrue("lag " + lag, lag <= BUFFER + BATCH_SIZE);
+    }
+
+    @Test
+    public void test_stageError() throws InterruptedException {
+        RuntimeException failure = new IllegalStateException("stage failed");
+        AtomicInteger batches = new AtomicInteger();
+        FixProcessor processor = new FixProcessor(batch -> {
+            if (batches.incrementAndGet() == 2)
+                throw failure;
+        }, BATCH_SIZE, executor, BUFFER);
+        Recorder subscriber = new Recorder(0L);
+        upstream.subscribe(processor);
+        processor.subscribe(subscriber);
+        for (PositionFix fix : fixes) {
+            if (upstream.isClosed() || !upstream.hasSubscribers())
+                break;
+            upstream.submit(fix);
+        }
+
+        assertTrue(subscriber.done.await(10, TimeUnit.SECONDS));
+        assertSame(failure, subscriber.error);
+        // Fixes already published may be dropped by the error, but none of the failed batch is delivered
+        assertTrue(subscriber.received.size() <= BATCH_SIZE);
+        // The upstream is cancelled, and the failed batch is not run again
+        assertTrue(awaitNoSubscribers());
+        assertEquals(2, batches.get());
+    }
+
+    @Test
+    public void test_upstreamError() throws InterruptedException {
+        List<Integer> sizes = Collections.synchronizedList(new ArrayList<>());
+        FixProcessor processor = new FixProcessor(batch -> sizes.add(batch.size()), BATCH_SIZE, executor, BUFFER);
+        Recorder subscriber = new Recorder(0L);
+        upstream.subscribe(processor);
+        processor.subscribe(subscriber);
+        for (int i = 0; i < 3; i++)
+            upstream.submit(fixes.get(i));
+        // Let the processor take every fix, as an error may drop undelivered ones
+        for (int i = 0; i < 1000 && upstream.estimateMaximumLag() > 0; i++)
+            Thread.sleep(10L);
+        RuntimeException failure = new IllegalStateException("feed lost");
+        upstream.closeExceptionally(failure);
+
+        // The partial batch is processed before the error is passed on
+        assertTrue(subscriber.done.await(10, TimeUnit.SECONDS));
+        assertSame(failure, subscriber.error);
+        assertEquals(List.of(2, 1), sizes);
+    }
+
+    @Test
+    public void test_closeCancels() throws InterruptedException {
+        FixProcessor processor = new FixProcessor(new DistanceStage(RADIUS), BATCH_SIZE, executor, BUFFER);
+        Recorder subscriber = new Recorder(0L);
+        upstream.subscribe(processor);
+        processor.subscribe(subscriber);
+        processor.close();
+        for (int i = 0; i < BATCH_SIZE; i++)
+            upstream.submit(fixes.get(i));
+
+        assertTrue(subscriber.done.await(10, TimeUnit.SECONDS));
+        assertNull(subscriber.error);
+        assertTrue(subscriber.received.isEmpty());
+        assertTrue(awaitNoSubscribers());
+        assertFalse(processor.hasSubscribers());
+    }
+
+    private boolean awaitNoSubscribers() throws InterruptedException {
+        for (int i = 0; i < 1000 && upstream.hasSubscribers(); i++)
+            Thread.sleep(10L);
+        return !upstream.hasSubscribers();
+    }
+
+    private static SphericalPoint point(final PositionFix fix) {
+        return new SphericalPoint(new Latitude(fix.getLatitude()), new Longitude(fix.getLongitude()));
+    }
+
+    /**
+     * Subscriber requesting one fix at a time, optionally pausing on each
+     */
+    private static final class Recorder implements Flow.Subscriber<PositionFix> {
+
+        private final long pause;
+        private final List<PositionFix> received = Collections.synchronizedList(new ArrayList<>());
+        private final CountDownLatch done = new CountDownLatch(1);
+        private volatile Throwable error;
+        private Flow.Subscription subscription;
+
+        Recorder(final long pause) {
+            this.pause = pause;
+        }
+
+        @Override
+        public void onSubscribe(final Flow.Subscription subscription) {
+            this.subscription = subscription;
+            subscription.request(1);
+        }
+
+        @Override
+        public void onNext(final PositionFix fix) {
+            received.add(fix);
+            if (pause > 0) {
+                try {
+                    Thread.sleep(pause);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            subscription.request(1);
+        }
+
+        @Override
+        public void onError(final Throwable throwable) {
+            error = throwable;
+            done.countDown();
+        }
+
+        @Override
+        public void onComplete() {
+            done.countDown();
+        }
+    }
+}